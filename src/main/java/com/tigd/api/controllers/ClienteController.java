@@ -2,15 +2,29 @@ package com.tigd.api.controllers;
 
 import com.tigd.api.dto.ClienteDTO;
 import com.tigd.api.dto.ClienteUpdateDTO;
+import com.tigd.api.dto.ExtratoDTO;
+import com.tigd.api.dto.PaginaClientesDTO;
+import com.tigd.api.dto.ResultadoImportacaoDTO;
+import com.tigd.api.dto.ResumoContaDTO;
+import com.tigd.api.dto.SaldoHistoricoDTO;
 import com.tigd.api.service.ClienteService;
+import com.tigd.api.service.TipoImportacao;
+import com.tigd.api.service.importacao.ImportacaoService;
+import com.tigd.api.service.resumo.ResumoDiarioService;
+import com.tigd.api.service.saldo.CheckpointSaldoService;
+import com.tigd.api.service.saldo.ExtratoService;
+import com.tigd.api.service.saldo.TipoConta;
 import com.tigd.api.domain.Cliente;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.InputStream;
 import java.net.URI;
-import java.util.List;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -31,15 +45,33 @@ public class ClienteController {
     @Autowired
     private ClienteService service;
 
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Autowired
+    private CheckpointSaldoService checkpointSaldoService;
+
+    @Autowired
+    private ExtratoService extratoService;
+
     /**
-     * Lista todos os clientes cadastrados.
+     * Lista uma página dos clientes cadastrados, em ordem de id.
      *
-     * @return uma resposta HTTP contendo a lista de todos os clientes
+     * Para a página seguinte, repita a requisição com o mesmo filtro e o {@code cursor} devolvido.
+     *
+     * @param ativo lista os clientes ativos ou, com {@code false}, os inativos
+     * @param cursor o cursor devolvido na página anterior
+     * @param limite a quantidade máxima de clientes da página
+     * @return uma resposta HTTP contendo a página de clientes e o cursor da página seguinte
      */
     @GetMapping
-    public ResponseEntity<List<Cliente>> listAllClient() {
-        List<Cliente> cliente = service.findAllClients();
-        return ResponseEntity.ok(cliente);
+    public ResponseEntity<PaginaClientesDTO> listAllClient(@RequestParam(defaultValue = "true") boolean ativo,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int limite) {
+        return ResponseEntity.ok(service.buscarPagina(ativo, cursor, limite));
     }
 
     /**
@@ -57,6 +89,66 @@ public class ClienteController {
         return ResponseEntity.created(uri).body(clienteSave);
     }
 
+    /**
+     * Consulta o movimento diário do cliente: quantidade e volume de depósitos e de saques e taxas cobradas.
+     *
+     * @param id o ID do cliente
+     * @param inicio o primeiro dia do período; por padrão, 29 dias antes do fim
+     * @param fim o último dia do período, inclusive; por padrão, hoje
+     * @return uma resposta HTTP contendo os totais do período e o movimento de cada dia com transações
+     */
+    @GetMapping("/{id}/resumo")
+    public ResponseEntity<ResumoContaDTO> resumoCliente(@PathVariable Long id,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        return ResponseEntity.ok(resumoDiarioService.resumoCliente(id, inicio, fim));
+    }
+
+    /**
+     * Consulta o extrato do cliente: as transações do período em ordem cronológica, com o saldo depois de cada uma.
+     *
+     * @param id o ID do cliente
+     * @param inicio o início do período; por padrão, o primeiro dia do mês atual
+     * @param fim o fim do período, exclusivo; por padrão, um mês depois do início
+     * @param cursor o cursor devolvido na página anterior; ausente na primeira página
+     * @param limite a quantidade máxima de transações da página
+     * @return uma resposta HTTP contendo a página do extrato e o cursor da página seguinte
+     */
+    @GetMapping("/{id}/extrato")
+    public ResponseEntity<ExtratoDTO> extratoCliente(@PathVariable Long id,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "50") int limite) {
+        return ResponseEntity.ok(extratoService.extratoCliente(id, inicio, fim, cursor, limite));
+    }
+
+    /**
+     * Consulta o saldo do cliente num momento passado.
+     *
+     * @param id o ID do cliente
+     * @param momento o momento consultado
+     * @return uma resposta HTTP contendo o saldo depois de todas as transações até o momento
+     */
+    @GetMapping("/{id}/saldo")
+    public ResponseEntity<SaldoHistoricoDTO> saldoCliente(@PathVariable Long id,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime momento) {
+        return ResponseEntity.ok(checkpointSaldoService.saldoEm(TipoConta.CLIENTE, id, momento));
+    }
+
+    /**
+     * Importa clientes de um arquivo CSV enviado no corpo da requisição.
+     *
+     * O arquivo é lido e gravado em lotes à medida que chega, sem ser carregado inteiro em memória.
+     *
+     * @param arquivo o conteúdo do arquivo CSV, em UTF-8 e com cabeçalho
+     * @return uma resposta HTTP contendo os totais da importação e o motivo de cada registro recusado
+     */
+    @PostMapping(value = "/importacao", consumes = "text/csv")
+    public ResponseEntity<ResultadoImportacaoDTO> importClientes(InputStream arquivo) {
+        return ResponseEntity.ok(importacaoService.importar(TipoImportacao.CLIENTES, arquivo));
+    }
+
     /**
      * Atualiza um cliente existente.
      *
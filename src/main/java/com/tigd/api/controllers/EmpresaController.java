@@ -3,14 +3,26 @@ package com.tigd.api.controllers;
 import com.tigd.api.domain.Empresa;
 import com.tigd.api.dto.EmpresaDTO;
 import com.tigd.api.dto.EmpresaUpdateDTO;
+import com.tigd.api.dto.PaginaEmpresasDTO;
+import com.tigd.api.dto.ResultadoImportacaoDTO;
+import com.tigd.api.dto.ResumoContaDTO;
+import com.tigd.api.dto.SaldoHistoricoDTO;
 import com.tigd.api.service.EmpresaService;
+import com.tigd.api.service.TipoImportacao;
+import com.tigd.api.service.importacao.ImportacaoService;
+import com.tigd.api.service.resumo.ResumoDiarioService;
+import com.tigd.api.service.saldo.CheckpointSaldoService;
+import com.tigd.api.service.saldo.TipoConta;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.InputStream;
 import java.net.URI;
-import java.util.List;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -30,15 +42,30 @@ public class EmpresaController {
     @Autowired
     private EmpresaService service;
 
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Autowired
+    private CheckpointSaldoService checkpointSaldoService;
+
     /**
-     * Lista todas as empresas cadastradas.
+     * Lista uma página das empresas cadastradas, em ordem de id.
      *
-     * @return uma resposta HTTP contendo a lista de todas as empresas
+     * Para a página seguinte, repita a requisição com o mesmo filtro e o {@code cursor} devolvido.
+     *
+     * @param ativo lista as empresas ativas ou, com {@code false}, as inativas
+     * @param cursor o cursor devolvido na página anterior
+     * @param limite a quantidade máxima de empresas da página
+     * @return uma resposta HTTP contendo a página de empresas e o cursor da página seguinte
      */
     @GetMapping
-    public ResponseEntity<List<Empresa>> listFindAllEmpresa() {
-        List<Empresa> empresas = service.findAllEmpresa();
-        return ResponseEntity.ok(empresas);
+    public ResponseEntity<PaginaEmpresasDTO> listFindAllEmpresa(@RequestParam(defaultValue = "true") boolean ativo,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "50") int limite) {
+        return ResponseEntity.ok(service.buscarPagina(ativo, cursor, limite));
     }
 
     /**
@@ -58,6 +85,47 @@ public class EmpresaController {
         return ResponseEntity.created(uri).body(empresaSave);
     }
 
+    /**
+     * Consulta o movimento diário da empresa: quantidade e volume de depósitos e de saques e taxas cobradas.
+     *
+     * @param id o ID da empresa
+     * @param inicio o primeiro dia do período; por padrão, 29 dias antes do fim
+     * @param fim o último dia do período, inclusive; por padrão, hoje
+     * @return uma resposta HTTP contendo os totais do período e o movimento de cada dia com transações
+     */
+    @GetMapping("/{id}/resumo")
+    public ResponseEntity<ResumoContaDTO> resumoEmpresa(@PathVariable Long id,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        return ResponseEntity.ok(resumoDiarioService.resumoEmpresa(id, inicio, fim));
+    }
+
+    /**
+     * Consulta o saldo da empresa num momento passado.
+     *
+     * @param id o ID da empresa
+     * @param momento o momento consultado
+     * @return uma resposta HTTP contendo o saldo depois de todas as transações até o momento
+     */
+    @GetMapping("/{id}/saldo")
+    public ResponseEntity<SaldoHistoricoDTO> saldoEmpresa(@PathVariable Long id,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime momento) {
+        return ResponseEntity.ok(checkpointSaldoService.saldoEm(TipoConta.EMPRESA, id, momento));
+    }
+
+    /**
+     * Importa empresas de um arquivo CSV enviado no corpo da requisição.
+     *
+     * O arquivo é lido e gravado em lotes à medida que chega, sem ser carregado inteiro em memória.
+     *
+     * @param arquivo o conteúdo do arquivo CSV, em UTF-8 e com cabeçalho
+     * @return uma resposta HTTP contendo os totais da importação e o motivo de cada registro recusado
+     */
+    @PostMapping(value = "/importacao", consumes = "text/csv")
+    public ResponseEntity<ResultadoImportacaoDTO> importEmpresas(InputStream arquivo) {
+        return ResponseEntity.ok(importacaoService.importar(TipoImportacao.EMPRESAS, arquivo));
+    }
+
     /**
      * Atualiza uma empresa existente.
      *
@@ -0,0 +1,41 @@
+package com.tigd.api.controllers;
+
+import com.tigd.api.dto.ResultadoReconstrucaoDTO;
+import com.tigd.api.service.resumo.ResumoDiarioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Controlador para a manutenção dos resumos diários de clientes e empresas.
+ *
+ * Os resumos são atualizados junto com cada transação; este controlador permite recalculá-los a partir das
+ * transações gravadas, para preencher períodos anteriores aos resumos ou corrigir divergências.
+ *
+ * As requisições são mapeadas para o caminho "/resumos".
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@RestController
+@RequestMapping("/resumos")
+public class ResumoController {
+    @Autowired
+    private ResumoDiarioService service;
+
+    /**
+     * Reconstrói os resumos diários de clientes e empresas de um período, vários dias em paralelo.
+     *
+     * @param inicio o primeiro dia a reconstruir
+     * @param fim o último dia a reconstruir, inclusive
+     * @return uma resposta HTTP contendo a quantidade de dias e de resumos reconstruídos
+     */
+    @PostMapping("/reconstrucao")
+    public ResponseEntity<ResultadoReconstrucaoDTO> rebuildResumos(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+                                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        return ResponseEntity.ok(service.reconstruir(inicio, fim));
+    }
+}
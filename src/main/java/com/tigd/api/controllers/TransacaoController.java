@@ -1,21 +1,39 @@
 package com.tigd.api.controllers;
 
 import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.FiltroTransacoesDTO;
+import com.tigd.api.dto.PaginaTransacoesDTO;
+import com.tigd.api.dto.RespostaTransacaoDTO;
+import com.tigd.api.dto.ResultadoLoteDTO;
+import com.tigd.api.dto.SituacaoTransacaoDTO;
 import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.service.FormatoExportacao;
+import com.tigd.api.service.IdempotenciaService;
+import com.tigd.api.service.ModoLote;
+import com.tigd.api.service.TransacaoAssincronaService;
+import com.tigd.api.service.TransacaoExportacaoService;
+import com.tigd.api.service.TransacaoLoteService;
 import com.tigd.api.service.TransacaoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Controlador para operações relacionadas às transações.
  *
  * Este controlador gerencia operações relacionadas às transações, como processamento de novas transações e listagem
- * de todas as transações.
+ * paginada das transações.
  *
  * As requisições são mapeadas para o caminho "/transacoes".
  *
@@ -28,30 +46,133 @@ public class TransacaoController {
     @Autowired
     private TransacaoService service;
 
+    @Autowired
+    private TransacaoLoteService loteService;
+
+    @Autowired
+    private TransacaoAssincronaService assincronaService;
+
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+
+    @Autowired
+    private TransacaoExportacaoService exportacaoService;
+
     /**
      * Processa uma nova transação.
      *
+     * A resposta traz o cliente e a empresa identificados apenas pelo id, sem documentos nem saldos, e é montada
+     * sem carregar as contas da base de dados. Com o cabeçalho {@code Idempotency-Key}, a transação é processada
+     * uma única vez por chave e as repetições recebem a resposta da primeira requisição.
+     *
      * @param transacaoDTO o DTO da transação contendo as informações para processar a transação
+     * @param chaveIdempotencia a chave que identifica repetições da mesma requisição, opcional
      * @param uriComponentsBuilder o construtor de componentes de URI para construir a URI da nova transação
      * @return uma resposta HTTP contendo a transação processada e a URI para acessá-la
      */
     @PostMapping
-    public ResponseEntity<Transacao> createTransacao(@RequestBody TransacaoDTO transacaoDTO,
-                                                     UriComponentsBuilder uriComponentsBuilder) {
-        Transacao transacao = new Transacao(transacaoDTO);
-        service.processarTransacao(transacao);
-        URI uri = uriComponentsBuilder.buildAndExpand(transacao).toUri();
-        return ResponseEntity.created(uri).body(transacao);
+    public ResponseEntity<RespostaTransacaoDTO> createTransacao(@RequestBody TransacaoDTO transacaoDTO,
+                                                                @RequestHeader(value = "Idempotency-Key", required = false) String chaveIdempotencia,
+                                                                UriComponentsBuilder uriComponentsBuilder) {
+        Transacao transacao = chaveIdempotencia == null
+                ? service.processarTransacao(new Transacao(transacaoDTO))
+                : idempotenciaService.executar(chaveIdempotencia,
+                        gravarResposta -> service.processarTransacao(new Transacao(transacaoDTO), gravarResposta));
+        RespostaTransacaoDTO resposta = RespostaTransacaoDTO.de(transacao);
+        URI uri = uriComponentsBuilder.buildAndExpand(resposta.id()).toUri();
+        return ResponseEntity.created(uri).body(resposta);
     }
 
     /**
-     * Lista todas as transações cadastradas.
+     * Aceita uma nova transação para processamento em segundo plano.
+     *
+     * A transação é validada e colocada numa fila; a resposta 202 (Accepted) é devolvida sem esperar pela base de
+     * dados e aponta para o endereço onde a situação da transação pode ser consultada.
+     *
+     * @param transacaoDTO o DTO da transação contendo as informações para processar a transação
+     * @param uriComponentsBuilder o construtor de componentes de URI para construir a URI da situação
+     * @return uma resposta HTTP contendo a situação inicial da transação
+     */
+    @PostMapping(params = "assincrono=true")
+    public ResponseEntity<SituacaoTransacaoDTO> createTransacaoAssincrona(@RequestBody TransacaoDTO transacaoDTO,
+                                                                         UriComponentsBuilder uriComponentsBuilder) {
+        SituacaoTransacaoDTO situacao = assincronaService.enviar(transacaoDTO);
+        URI uri = uriComponentsBuilder.path("/transacoes/{id}/status").buildAndExpand(situacao.id()).toUri();
+        return ResponseEntity.accepted().location(uri).body(situacao);
+    }
+
+    /**
+     * Consulta a situação de uma transação enviada de forma assíncrona.
+     *
+     * @param id o identificador devolvido quando a transação foi aceita
+     * @return uma resposta HTTP contendo a situação atual da transação
+     */
+    @GetMapping("/{id}/status")
+    public ResponseEntity<SituacaoTransacaoDTO> findSituacaoTransacao(@PathVariable UUID id) {
+        return ResponseEntity.ok(assincronaService.buscarSituacao(id));
+    }
+
+    /**
+     * Processa um lote de transações numa única transação de banco.
+     *
+     * No modo {@link ModoLote#TUDO_OU_NADA} a recusa de qualquer item desfaz o lote inteiro e a resposta é
+     * 422 (Unprocessable Entity). No modo {@link ModoLote#MELHOR_ESFORCO} os itens válidos são aplicados e a
+     * resposta indica, item a item, o que foi recusado. Lotes com mais itens que {@code api.transacao.lote.maximo}
+     * são recusados inteiros com 413 (Payload Too Large), sem processar nenhum item.
+     *
+     * @param transacoes as transações do lote, aplicadas na ordem recebida
+     * @param modo o que fazer quando um item é recusado
+     * @return uma resposta HTTP contendo o resultado de cada item do lote
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ResultadoLoteDTO> createTransacoesEmLote(@RequestBody List<TransacaoDTO> transacoes,
+                                                                   @RequestParam(defaultValue = "TUDO_OU_NADA") ModoLote modo) {
+        ResultadoLoteDTO resultado = loteService.processarLote(transacoes, modo);
+        if (modo == ModoLote.TUDO_OU_NADA && resultado.recusadas() > 0) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(resultado);
+        }
+        return ResponseEntity.ok(resultado);
+    }
+
+    /**
+     * Exporta todas as transações, escrevendo cada linha na resposta assim que é lida da base de dados.
+     *
+     * @param formato o formato da exportação, NDJSON (padrão) ou CSV
+     * @return uma resposta HTTP cujo corpo é escrito sob demanda
+     */
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportTransacoes(@RequestParam(defaultValue = "NDJSON") FormatoExportacao formato) {
+        StreamingResponseBody corpo = saida -> exportacaoService.exportar(formato, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getTipoConteudo()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transacoes." + formato.name().toLowerCase() + "\"")
+                .body(corpo);
+    }
+
+    /**
+     * Lista as transações cadastradas, da mais recente para a mais antiga, em páginas.
+     *
+     * Para a página seguinte, repita a requisição com os mesmos filtros e o {@code cursor} devolvido.
      *
-     * @return uma resposta HTTP contendo a lista de todas as transações
+     * @param cliente filtra pelo id do cliente
+     * @param empresa filtra pelo id da empresa
+     * @param tipo filtra pelo tipo de transação, 'S' (saque) ou 'D' (depósito)
+     * @param inicio filtra as transações a partir desta data, inclusiva
+     * @param fim filtra as transações até esta data, exclusiva
+     * @param cursor o cursor devolvido na página anterior
+     * @param limite a quantidade máxima de transações da página
+     * @return uma resposta HTTP contendo a página de transações e o cursor da página seguinte
      */
     @GetMapping
-    public ResponseEntity<List<Transacao>> listAllTransacao() {
-        List<Transacao> transacaos = service.findAllTransacoes();
-        return ResponseEntity.ok(transacaos);
+    public ResponseEntity<PaginaTransacoesDTO> listAllTransacao(@RequestParam(required = false) Long cliente,
+                                                               @RequestParam(required = false) Long empresa,
+                                                               @RequestParam(required = false) Character tipo,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = "50") int limite) {
+        FiltroTransacoesDTO filtro = new FiltroTransacoesDTO(cliente, empresa, tipo, inicio, fim);
+        return ResponseEntity.ok(service.buscarPagina(filtro, cursor, limite));
     }
 }
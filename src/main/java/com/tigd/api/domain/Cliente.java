@@ -2,6 +2,7 @@ package com.tigd.api.domain;
 
 import com.tigd.api.dto.ClienteDTO;
 import com.tigd.api.dto.ClienteUpdateDTO;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.validator.constraints.br.CPF;
@@ -20,9 +21,9 @@ import java.math.BigDecimal;
 @Table(name = "clientes")
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 @EqualsAndHashCode(of = "id")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Cliente {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -35,11 +36,35 @@ public class Cliente {
     @Column(name = "email", unique = true)
     private String email;
     @Column(name = "saldo")
-    private BigDecimal saldo;
+    private Money saldo;
 
     @Column(name = "ativo")
     private boolean ativo;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    /**
+     * Construtor para criar um objeto Cliente com todos os seus dados.
+     * A versão é controlada pelo Hibernate e não faz parte dos argumentos.
+     *
+     * @param id o id do cliente
+     * @param nome o nome do cliente
+     * @param cpf o CPF do cliente
+     * @param email o email do cliente
+     * @param saldo o saldo do cliente
+     * @param ativo se a conta do cliente está ativa
+     */
+    public Cliente(Long id, String nome, String cpf, String email, BigDecimal saldo, boolean ativo) {
+        this.id = id;
+        this.nome = nome;
+        this.cpf = cpf;
+        this.email = email;
+        this.saldo = Money.ofNullable(saldo);
+        this.ativo = ativo;
+    }
+
     /**
      * Construtor para criar um objeto Cliente a partir de um objeto ClienteDTO.
      *
@@ -49,7 +74,7 @@ public class Cliente {
         this.nome = clienteDTO.nome().trim().replaceAll("\\s+", " ");
         this.cpf = clienteDTO.cpf().trim().replaceAll("\\s+", "");;
         this.email = clienteDTO.email().trim().replaceAll("\\s+", "");;
-        this.saldo = clienteDTO.saldo();
+        this.saldo = Money.ofNullable(clienteDTO.saldo());
         this.ativo = true;
     }
 
@@ -2,6 +2,7 @@ package com.tigd.api.domain;
 
 import com.tigd.api.dto.EmpresaDTO;
 import com.tigd.api.dto.EmpresaUpdateDTO;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.validator.constraints.br.CNPJ;
@@ -19,9 +20,9 @@ import java.math.BigDecimal;
 @Table(name = "empresas")
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 @EqualsAndHashCode(of = "id")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Empresa {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,12 +35,38 @@ public class Empresa {
     @Column(name = "email", unique = true)
     private String email;
     @Column(name = "saldo")
-    private BigDecimal saldo;
+    private Money saldo;
     @Column(name = "taxa_sistema")
     private BigDecimal taxaSistema;
     @Column(name = "ativo")
     private boolean ativo;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    /**
+     * Construtor para criar um objeto Empresa com todos os seus dados.
+     * A versão é controlada pelo Hibernate e não faz parte dos argumentos.
+     *
+     * @param id o id da empresa
+     * @param nome o nome da empresa
+     * @param cnpj o CNPJ da empresa
+     * @param email o email da empresa
+     * @param saldo o saldo da empresa
+     * @param taxaSistema a taxa cobrada pela empresa em cada transação
+     * @param ativo se a conta da empresa está ativa
+     */
+    public Empresa(Long id, String nome, String cnpj, String email, BigDecimal saldo, BigDecimal taxaSistema, boolean ativo) {
+        this.id = id;
+        this.nome = nome;
+        this.cnpj = cnpj;
+        this.email = email;
+        this.saldo = Money.ofNullable(saldo);
+        this.taxaSistema = taxaSistema;
+        this.ativo = ativo;
+    }
+
     /**
      * Construtor para criar um objeto Empresa a partir de um objeto EmpresaDTO.
      *
@@ -49,7 +76,7 @@ public class Empresa {
         this.nome = empresaDTO.nome().trim().replaceAll("\\s+", " ");
         this.cnpj = empresaDTO.cnpj().trim().replaceAll("\\s+", "");
         this.email = empresaDTO.email().trim().replaceAll("\\s+", "");
-        this.saldo = empresaDTO.saldo();
+        this.saldo = Money.ofNullable(empresaDTO.saldo());
         if (empresaDTO.taxaSistema() == null) {
             this.taxaSistema = BigDecimal.valueOf(0.01);
         } else {
@@ -0,0 +1,162 @@
+package com.tigd.api.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário em centavos.
+ *
+ * Os saldos e valores são gravados em colunas {@code DECIMAL(18,2)}, então todo valor cabe num {@code long} de
+ * centavos. As operações de soma, subtração e cálculo de taxa são feitas sobre esse {@code long}, sem criar objetos
+ * intermediários, e falham com {@link ArithmeticException} em caso de estouro em vez de perder precisão.
+ * <br>
+ * Regras de arredondamento: a conversão de {@link BigDecimal} e o cálculo da taxa arredondam para o centavo
+ * mais próximo, com empates para longe de zero ({@link RoundingMode#HALF_UP}), como o MySQL faz ao gravar numa
+ * coluna {@code DECIMAL(18,2)}.
+ * <br>
+ * Em JSON o valor é escrito e lido como número decimal, como antes era o {@link BigDecimal}.
+ *
+ * @author viniciuslemes10
+ * @author gemeoslemes
+ */
+public final class Money implements Comparable<Money> {
+    /**
+     * Casas decimais das colunas de saldo, valor e taxa.
+     */
+    public static final int ESCALA = 2;
+
+    public static final Money ZERO = new Money(0L);
+
+    private static final long CENTESIMOS = 100L;
+
+    private final long centavos;
+
+    private Money(long centavos) {
+        this.centavos = centavos;
+    }
+
+    /**
+     * Cria um valor a partir da quantidade de centavos.
+     *
+     * @param centavos o valor em centavos.
+     * @return o valor monetário.
+     */
+    public static Money deCentavos(long centavos) {
+        return centavos == 0L ? ZERO : new Money(centavos);
+    }
+
+    /**
+     * Converte um {@link BigDecimal}, arredondando para o centavo mais próximo.
+     *
+     * @param valor o valor a converter.
+     * @return o valor monetário.
+     * @throws ArithmeticException se o valor não couber em {@code DECIMAL(18,2)}.
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal valor) {
+        return deCentavos(valor.setScale(ESCALA, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Converte um {@link BigDecimal} que pode ser nulo.
+     *
+     * @param valor o valor a converter, ou {@code null}.
+     * @return o valor monetário, ou {@code null} se o valor for nulo.
+     */
+    public static Money ofNullable(BigDecimal valor) {
+        return valor == null ? null : of(valor);
+    }
+
+    /**
+     * Converte uma taxa gravada em {@code DECIMAL(10,2)} para centésimos, a unidade usada por {@link #comTaxa(long)}.
+     *
+     * @param taxa a taxa, por exemplo {@code 0.05} para 5%.
+     * @return a taxa em centésimos, por exemplo {@code 5}.
+     */
+    public static long taxaEmCentesimos(BigDecimal taxa) {
+        return taxa.setScale(ESCALA, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public long centavos() {
+        return centavos;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    public Money somar(Money outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Money subtrair(Money outro) {
+        return deCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public Money negar() {
+        return deCentavos(Math.negateExact(centavos));
+    }
+
+    /**
+     * Calcula o valor acrescido da taxa: {@code valor + valor * taxa}, com a parcela da taxa arredondada
+     * para o centavo.
+     *
+     * @param taxaCentesimos a taxa em centésimos, como devolvida por {@link #taxaEmCentesimos(BigDecimal)}.
+     * @return o valor com a taxa.
+     */
+    public Money comTaxa(long taxaCentesimos) {
+        return deCentavos(Math.addExact(centavos, dividirArredondando(Math.multiplyExact(centavos, taxaCentesimos), CENTESIMOS)));
+    }
+
+    /**
+     * Calcula o valor acrescido da taxa.
+     *
+     * @param taxa a taxa, por exemplo {@code 0.05} para 5%.
+     * @return o valor com a taxa.
+     * @see #comTaxa(long)
+     */
+    public Money comTaxa(BigDecimal taxa) {
+        return comTaxa(taxaEmCentesimos(taxa));
+    }
+
+    public boolean menorQue(Money outro) {
+        return centavos < outro.centavos;
+    }
+
+    public int signum() {
+        return Long.signum(centavos);
+    }
+
+    private static long dividirArredondando(long dividendo, long divisor) {
+        long quociente = dividendo / divisor;
+        long resto = dividendo % divisor;
+        if (Math.abs(resto) * 2 >= divisor) {
+            quociente += Long.signum(dividendo);
+        }
+        return quociente;
+    }
+
+    @Override
+    public int compareTo(Money outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money outro && centavos == outro.centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
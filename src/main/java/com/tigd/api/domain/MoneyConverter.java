@@ -0,0 +1,27 @@
+package com.tigd.api.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Converte {@link Money} para as colunas {@code DECIMAL(18,2)} e de volta.
+ * Aplicado automaticamente a todos os atributos do tipo {@link Money}.
+ *
+ * @author viniciuslemes10
+ * @author gemeoslemes
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money valor) {
+        return valor == null ? null : valor.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal coluna) {
+        return Money.ofNullable(coluna);
+    }
+}
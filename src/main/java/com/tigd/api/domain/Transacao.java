@@ -1,16 +1,20 @@
 package com.tigd.api.domain;
 
 import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.service.id.GeradorIds;
+import com.tigd.api.service.id.IdSequencial;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
  * Classe que representa uma transação.
  *
  * Esta classe representa uma transação realizada entre um cliente e uma empresa na aplicação.
+ * O cliente e a empresa são carregados apenas quando acessados; as listagens leem as transações por projeções
+ * como {@link com.tigd.api.dto.TransacaoResumoDTO}, que trazem só os ids das contas.
+ * O id vem do {@link GeradorIds}, e não do {@code AUTO_INCREMENT}, para que as inserções possam ser agrupadas em lote.
  *
  * @author viniciuslemes10
  * @author gemeoslemes
@@ -24,20 +28,23 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(of = "id")
 public class Transacao {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSequencial(GeradorIds.TRANSACAO)
     private Long id;
 
-    private BigDecimal valor;
+    private Money valor;
     private LocalDateTime data;
 
+    @Column(name = "valor_taxa")
+    private Money valorTaxa;
+
     @Column(name = "tipo")
     private char tipo;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id")
     private Cliente cliente;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "empresa_id")
     private Empresa empresa;
 
@@ -48,7 +55,7 @@ public class Transacao {
      */
     public Transacao(TransacaoDTO transacaoDTO) {
         this.data = LocalDateTime.now();
-        this.valor = transacaoDTO.valor();
+        this.valor = Money.ofNullable(transacaoDTO.valor());
         this.tipo = transacaoDTO.tipo();
         this.cliente = new Cliente();
         this.cliente.setId(transacaoDTO.cliente());
@@ -59,16 +66,19 @@ public class Transacao {
     /**
      * Retorna uma representação em forma de string do objeto Transacao.
      *
+     * O cliente e a empresa aparecem apenas pelo id, que não inicializa as referências preguiçosas.
+     *
      * @return uma string representando o objeto Transacao
      */
     @Override
     public String toString() {
         return "Transacao{" +
                 "valor=" + valor +
+                ", valorTaxa=" + valorTaxa +
                 ", data=" + data +
                 ", tipo=" + tipo +
-                ", cliente=" + cliente +
-                ", empresa=" + empresa +
+                ", cliente=" + (cliente == null ? null : cliente.getId()) +
+                ", empresa=" + (empresa == null ? null : empresa.getId()) +
                 '}';
     }
 }
@@ -0,0 +1,25 @@
+package com.tigd.api.dto;
+
+import com.tigd.api.domain.Money;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa um cliente na listagem de clientes.
+ * </p>
+ * @param id O id do cliente.
+ * @param nome O nome do cliente.
+ * @param cpf O CPF do cliente.
+ * @param email O email do cliente.
+ * @param saldo O saldo do cliente.
+ * @param ativo Se a conta do cliente está ativa.
+ **/
+public record ClienteResumoDTO(
+        Long id,
+        String nome,
+        String cpf,
+        String email,
+        Money saldo,
+        boolean ativo
+) {}
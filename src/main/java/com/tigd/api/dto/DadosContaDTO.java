@@ -0,0 +1,28 @@
+package com.tigd.api.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) com os dados cadastrais de um cliente ou de uma empresa usados no processamento
+ *  das transações.
+ * </p>
+ * <p>
+ *  Não inclui o saldo: ele muda a cada transação e é sempre lido ou alterado diretamente na base de dados
+ *  (ou no ledger em memória), por isso estes dados podem ficar em cache sem serem invalidados pelas transações.
+ * </p>
+ * @param id O id da conta.
+ * @param taxaSistema A taxa cobrada pela empresa; {@code null} para clientes.
+ * @param ativo Se a conta está ativa.
+ **/
+public record DadosContaDTO(
+        Long id,
+        BigDecimal taxaSistema,
+        boolean ativo
+) {
+    public DadosContaDTO(Long id, boolean ativo) {
+        this(id, null, ativo);
+    }
+}
@@ -0,0 +1,29 @@
+package com.tigd.api.dto;
+
+import com.tigd.api.domain.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa uma empresa na listagem de empresas.
+ * </p>
+ * @param id O id da empresa.
+ * @param nome O nome da empresa.
+ * @param cnpj O CNPJ da empresa.
+ * @param email O email da empresa.
+ * @param saldo O saldo da empresa.
+ * @param taxaSistema A taxa cobrada nas transações da empresa.
+ * @param ativo Se a conta da empresa está ativa.
+ **/
+public record EmpresaResumoDTO(
+        Long id,
+        String nome,
+        String cnpj,
+        String email,
+        Money saldo,
+        BigDecimal taxaSistema,
+        boolean ativo
+) {}
@@ -0,0 +1,15 @@
+package com.tigd.api.dto;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa uma linha recusada numa importação.
+ * </p>
+ * @param linha A linha do arquivo em que o registro começa, contando o cabeçalho como linha 1.
+ * @param motivo O motivo da recusa.
+ **/
+public record ErroImportacaoDTO(
+        long linha,
+        String motivo
+) {}
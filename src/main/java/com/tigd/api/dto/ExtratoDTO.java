@@ -0,0 +1,27 @@
+package com.tigd.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa uma página do extrato de uma conta.
+ * </p>
+ * @param conta O id do cliente ou da empresa.
+ * @param inicio O início do período do extrato.
+ * @param fim O fim do período do extrato, exclusivo.
+ * @param saldoAnterior O saldo da conta antes da primeira transação da página.
+ * @param lancamentos As transações da página, da mais antiga para a mais recente, com o saldo depois de cada uma.
+ * @param proximoCursor O cursor da página seguinte, ou {@code null} quando esta é a última página do período.
+ **/
+public record ExtratoDTO(
+        Long conta,
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        BigDecimal saldoAnterior,
+        List<LancamentoExtratoDTO> lancamentos,
+        String proximoCursor
+) {}
@@ -0,0 +1,23 @@
+package com.tigd.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) com os filtros da listagem de transações. Filtros nulos são ignorados.
+ * </p>
+ * @param cliente O id do cliente.
+ * @param empresa O id da empresa.
+ * @param tipo O tipo de transação 'S' (Saque) ou 'D' (depósito).
+ * @param inicio A data mínima da transação, inclusiva.
+ * @param fim A data máxima da transação, exclusiva.
+ **/
+public record FiltroTransacoesDTO(
+        Long cliente,
+        Long empresa,
+        Character tipo,
+        LocalDateTime inicio,
+        LocalDateTime fim
+) {}
@@ -0,0 +1,28 @@
+package com.tigd.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa uma transação no extrato de uma conta.
+ * </p>
+ * @param transacao O id da transação.
+ * @param data A data da transação.
+ * @param tipo O tipo da transação, 'D' (depósito) ou 'S' (saque).
+ * @param valor O valor da transação, sem a taxa.
+ * @param taxa A taxa cobrada na transação.
+ * @param variacao A variação do saldo da conta causada pela transação.
+ * @param saldo O saldo da conta logo depois da transação.
+ **/
+public record LancamentoExtratoDTO(
+        Long transacao,
+        LocalDateTime data,
+        char tipo,
+        BigDecimal valor,
+        BigDecimal taxa,
+        BigDecimal variacao,
+        BigDecimal saldo
+) {}
@@ -0,0 +1,17 @@
+package com.tigd.api.dto;
+
+import java.util.List;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa uma página da listagem de empresas.
+ * </p>
+ * @param empresas As empresas da página, em ordem de id.
+ * @param proximoCursor O cursor da página seguinte, ou {@code null} se esta for a última.
+ **/
+public record PaginaEmpresasDTO(
+        List<EmpresaResumoDTO> empresas,
+        String proximoCursor
+) {}
@@ -0,0 +1,17 @@
+package com.tigd.api.dto;
+
+import java.util.List;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa uma página da listagem de transações.
+ * </p>
+ * @param transacoes As transações da página, da mais recente para a mais antiga.
+ * @param proximoCursor O cursor da página seguinte, ou {@code null} se esta for a última.
+ **/
+public record PaginaTransacoesDTO(
+        List<TransacaoResumoDTO> transacoes,
+        String proximoCursor
+) {}
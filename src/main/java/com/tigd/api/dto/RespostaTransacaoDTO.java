@@ -0,0 +1,49 @@
+package com.tigd.api.dto;
+
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Money;
+import com.tigd.api.domain.Transacao;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa a resposta da criação de uma transação, também guardada para chaves
+ *  de idempotência, apenas com os ids do cliente e da empresa, sem documentos nem saldos das contas.
+ * </p>
+ * @param id O id da transação.
+ * @param valor O valor da transação.
+ * @param valorTaxa A taxa cobrada na transação.
+ * @param data A data da transação.
+ * @param tipo O tipo de transação 'S' (Saque) ou 'D' (depósito).
+ * @param cliente O id do cliente da transação.
+ * @param empresa O id da empresa da transação.
+ **/
+public record RespostaTransacaoDTO(
+        Long id,
+        Money valor,
+        Money valorTaxa,
+        LocalDateTime data,
+        char tipo,
+        Long cliente,
+        Long empresa
+) {
+    public static RespostaTransacaoDTO de(Transacao transacao) {
+        return new RespostaTransacaoDTO(transacao.getId(), transacao.getValor(), transacao.getValorTaxa(),
+                transacao.getData(), transacao.getTipo(), transacao.getCliente().getId(), transacao.getEmpresa().getId());
+    }
+
+    /**
+     * @return a transação da resposta, com o cliente e a empresa identificados apenas pelo id.
+     */
+    public Transacao transacao() {
+        Cliente cliente = new Cliente();
+        cliente.setId(this.cliente);
+        Empresa empresa = new Empresa();
+        empresa.setId(this.empresa);
+        return new Transacao(id, valor, data, valorTaxa, tipo, cliente, empresa);
+    }
+}
@@ -0,0 +1,19 @@
+package com.tigd.api.dto;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa o resultado da geração de uma carga sintética.
+ * </p>
+ * @param clientesCriados Quantidade de clientes inseridos; os que já existiam não são contados.
+ * @param empresasCriadas Quantidade de empresas inseridas; as que já existiam não são contadas.
+ * @param transacoes Quantidade de transações gravadas.
+ * @param duracaoMs Duração da geração, em milissegundos.
+ **/
+public record ResultadoCargaDTO(
+        long clientesCriados,
+        long empresasCriadas,
+        long transacoes,
+        long duracaoMs
+) {}
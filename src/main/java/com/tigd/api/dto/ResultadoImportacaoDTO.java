@@ -0,0 +1,27 @@
+package com.tigd.api.dto;
+
+import com.tigd.api.service.TipoImportacao;
+
+import java.util.List;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa o resultado de uma importação de clientes ou empresas.
+ * </p>
+ * @param tipo O cadastro importado.
+ * @param registros Quantidade de registros lidos, sem contar o cabeçalho.
+ * @param importados Quantidade de registros gravados.
+ * @param recusados Quantidade de registros recusados.
+ * @param erros Os registros recusados, na ordem do arquivo, limitados a {@code api.importacao.maximo-erros}.
+ * @param errosOmitidos Se havia mais recusas do que as listadas em {@code erros}.
+ **/
+public record ResultadoImportacaoDTO(
+        TipoImportacao tipo,
+        long registros,
+        long importados,
+        long recusados,
+        List<ErroImportacaoDTO> erros,
+        boolean errosOmitidos
+) {}
@@ -0,0 +1,27 @@
+package com.tigd.api.dto;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa o resultado de um item de um lote de transações.
+ * </p>
+ * @param indice A posição do item no lote recebido.
+ * @param aplicada Se a transação foi aplicada.
+ * @param transacao O id da transação gravada, quando aplicada.
+ * @param motivo O motivo da recusa, quando não aplicada.
+ **/
+public record ResultadoItemLoteDTO(
+        int indice,
+        boolean aplicada,
+        Long transacao,
+        String motivo
+) {
+    public static ResultadoItemLoteDTO aplicada(int indice, Long transacao) {
+        return new ResultadoItemLoteDTO(indice, true, transacao, null);
+    }
+
+    public static ResultadoItemLoteDTO recusada(int indice, String motivo) {
+        return new ResultadoItemLoteDTO(indice, false, null, motivo);
+    }
+}
@@ -0,0 +1,23 @@
+package com.tigd.api.dto;
+
+import com.tigd.api.service.ModoLote;
+
+import java.util.List;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa o resultado de um lote de transações.
+ * </p>
+ * @param modo O modo em que o lote foi processado.
+ * @param aplicadas Quantidade de transações aplicadas.
+ * @param recusadas Quantidade de transações recusadas.
+ * @param itens O resultado de cada item, na mesma ordem do lote recebido.
+ **/
+public record ResultadoLoteDTO(
+        ModoLote modo,
+        int aplicadas,
+        int recusadas,
+        List<ResultadoItemLoteDTO> itens
+) {}
@@ -0,0 +1,23 @@
+package com.tigd.api.dto;
+
+import java.time.LocalDate;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa o resultado da reconstrução dos resumos diários.
+ * </p>
+ * @param inicio O primeiro dia reconstruído.
+ * @param fim O último dia reconstruído, inclusive.
+ * @param dias Quantidade de dias reconstruídos.
+ * @param resumosGravados Quantidade de resumos diários de clientes e de empresas gravados.
+ * @param duracaoMs Duração da reconstrução, em milissegundos.
+ **/
+public record ResultadoReconstrucaoDTO(
+        LocalDate inicio,
+        LocalDate fim,
+        long dias,
+        long resumosGravados,
+        long duracaoMs
+) {}
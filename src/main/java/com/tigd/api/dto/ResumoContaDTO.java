@@ -0,0 +1,50 @@
+package com.tigd.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa o movimento de um cliente ou de uma empresa num período.
+ * </p>
+ * @param id O id do cliente ou da empresa.
+ * @param inicio O primeiro dia do período.
+ * @param fim O último dia do período, inclusive.
+ * @param quantidadeDepositos Quantidade de depósitos no período.
+ * @param quantidadeSaques Quantidade de saques no período.
+ * @param volumeDepositos Soma dos valores depositados no período, sem a taxa.
+ * @param volumeSaques Soma dos valores sacados no período, sem a taxa.
+ * @param taxas Soma das taxas cobradas no período.
+ * @param dias O movimento de cada dia do período que teve transações, do mais antigo para o mais recente.
+ **/
+public record ResumoContaDTO(
+        Long id,
+        LocalDate inicio,
+        LocalDate fim,
+        long quantidadeDepositos,
+        long quantidadeSaques,
+        BigDecimal volumeDepositos,
+        BigDecimal volumeSaques,
+        BigDecimal taxas,
+        List<ResumoDiarioDTO> dias
+) {
+    public static ResumoContaDTO somar(Long id, LocalDate inicio, LocalDate fim, List<ResumoDiarioDTO> dias) {
+        long quantidadeDepositos = 0;
+        long quantidadeSaques = 0;
+        BigDecimal volumeDepositos = BigDecimal.ZERO;
+        BigDecimal volumeSaques = BigDecimal.ZERO;
+        BigDecimal taxas = BigDecimal.ZERO;
+        for (ResumoDiarioDTO dia : dias) {
+            quantidadeDepositos += dia.quantidadeDepositos();
+            quantidadeSaques += dia.quantidadeSaques();
+            volumeDepositos = volumeDepositos.add(dia.volumeDepositos());
+            volumeSaques = volumeSaques.add(dia.volumeSaques());
+            taxas = taxas.add(dia.taxas());
+        }
+        return new ResumoContaDTO(id, inicio, fim, quantidadeDepositos, quantidadeSaques,
+                volumeDepositos, volumeSaques, taxas, dias);
+    }
+}
@@ -0,0 +1,26 @@
+package com.tigd.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa o movimento de um cliente ou de uma empresa num dia.
+ * </p>
+ * @param dia O dia do movimento.
+ * @param quantidadeDepositos Quantidade de depósitos ('D') do dia.
+ * @param quantidadeSaques Quantidade de saques ('S') do dia.
+ * @param volumeDepositos Soma dos valores depositados, sem a taxa.
+ * @param volumeSaques Soma dos valores sacados, sem a taxa.
+ * @param taxas Soma das taxas cobradas nas transações do dia.
+ **/
+public record ResumoDiarioDTO(
+        LocalDate dia,
+        long quantidadeDepositos,
+        long quantidadeSaques,
+        BigDecimal volumeDepositos,
+        BigDecimal volumeSaques,
+        BigDecimal taxas
+) {}
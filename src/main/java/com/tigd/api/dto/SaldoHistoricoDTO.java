@@ -0,0 +1,20 @@
+package com.tigd.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa o saldo de um cliente ou de uma empresa num momento passado.
+ * </p>
+ * @param conta O id do cliente ou da empresa.
+ * @param momento O momento consultado.
+ * @param saldo O saldo da conta depois de todas as transações com data até o momento, inclusive.
+ **/
+public record SaldoHistoricoDTO(
+        Long conta,
+        LocalDateTime momento,
+        BigDecimal saldo
+) {}
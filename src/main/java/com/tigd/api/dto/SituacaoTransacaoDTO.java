@@ -0,0 +1,40 @@
+package com.tigd.api.dto;
+
+import com.tigd.api.service.StatusTransacao;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa a situação de uma transação enviada de forma assíncrona.
+ * </p>
+ * @param id O identificador devolvido quando a transação foi aceita.
+ * @param status A situação atual da transação.
+ * @param transacao O id da transação gravada, quando aplicada.
+ * @param motivo O motivo da recusa, quando recusada.
+ * @param recebidaEm O momento em que a transação foi aceita.
+ * @param concluidaEm O momento em que a transação foi aplicada ou recusada.
+ **/
+public record SituacaoTransacaoDTO(
+        UUID id,
+        StatusTransacao status,
+        Long transacao,
+        String motivo,
+        LocalDateTime recebidaEm,
+        LocalDateTime concluidaEm
+) {
+    public static SituacaoTransacaoDTO pendente(UUID id) {
+        return new SituacaoTransacaoDTO(id, StatusTransacao.PENDENTE, null, null, LocalDateTime.now(), null);
+    }
+
+    public SituacaoTransacaoDTO aplicada(Long transacao) {
+        return new SituacaoTransacaoDTO(id, StatusTransacao.APLICADA, transacao, null, recebidaEm, LocalDateTime.now());
+    }
+
+    public SituacaoTransacaoDTO recusada(String motivo) {
+        return new SituacaoTransacaoDTO(id, StatusTransacao.RECUSADA, null, motivo, recebidaEm, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,27 @@
+package com.tigd.api.dto;
+
+import com.tigd.api.domain.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author gemeoslemes, vinicius lemes<br>
+ *
+ * <p>
+ *  Um DTO (Data Transfer Object) que representa uma transação na listagem, sem carregar o cliente e a empresa.
+ * </p>
+ * @param id O id da transação.
+ * @param valor O valor da transação.
+ * @param data A data da transação.
+ * @param tipo O tipo de transação 'S' (Saque) ou 'D' (depósito).
+ * @param cliente O id do cliente da transação.
+ * @param empresa O id da empresa da transação.
+ **/
+public record TransacaoResumoDTO(
+        Long id,
+        Money valor,
+        LocalDateTime data,
+        Character tipo,
+        Long cliente,
+        Long empresa
+) {}
@@ -0,0 +1,25 @@
+package com.tigd.api.exceptions;
+
+/**
+ * @author gemeoslemes, viniciuslemes10<br>
+ * Exceção lançada quando o arquivo de importação não pode ser lido, por cabeçalho ausente ou formato CSV inválido.
+ **/
+public class ArquivoImportacaoInvalidoException extends IllegalArgumentException {
+
+    /**
+     * Construtor padrão para criar a instância ArquivoImportacaoInvalidoException
+     * com a menssagem "Arquivo de importação inválido.".
+     **/
+    public ArquivoImportacaoInvalidoException() {
+        super("Arquivo de importação inválido.");
+    }
+
+    /**
+     * Construtor que cria a instância ArquivoImportacaoInvalidoException
+     * com a menssagem personalizada.
+     * @param message A menssagem de erro
+     **/
+    public ArquivoImportacaoInvalidoException(String message) {
+        super(message);
+    }
+}
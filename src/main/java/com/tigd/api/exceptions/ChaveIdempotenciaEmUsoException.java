@@ -0,0 +1,25 @@
+package com.tigd.api.exceptions;
+
+/**
+ * @author gemeoslemes, viniciuslemes10<br>
+ * Exceção lançada quando uma requisição repete uma chave de idempotência cuja transação ainda não terminou.
+ **/
+public class ChaveIdempotenciaEmUsoException extends RuntimeException {
+
+    /**
+     * Construtor padrão para criar a instância ChaveIdempotenciaEmUsoException
+     * com a menssagem "Transação com esta chave de idempotência ainda em processamento, tente novamente.".
+     **/
+    public ChaveIdempotenciaEmUsoException() {
+        super("Transação com esta chave de idempotência ainda em processamento, tente novamente.");
+    }
+
+    /**
+     * Construtor que cria a instância ChaveIdempotenciaEmUsoException
+     * com a menssagem personalizada.
+     * @param message A menssagem de erro
+     **/
+    public ChaveIdempotenciaEmUsoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.tigd.api.exceptions;
+
+/**
+ * @author gemeoslemes, viniciuslemes10<br>
+ * Exceção lançada quando a chave de idempotência informada é vazia ou longa demais.
+ **/
+public class ChaveIdempotenciaInvalidaException extends IllegalArgumentException {
+
+    /**
+     * Construtor padrão para criar a instância ChaveIdempotenciaInvalidaException
+     * com a menssagem "Chave de idempotência inválida: deve ter entre 1 e 255 caracteres.".
+     **/
+    public ChaveIdempotenciaInvalidaException() {
+        super("Chave de idempotência inválida: deve ter entre 1 e 255 caracteres.");
+    }
+
+    /**
+     * Construtor que cria a instância ChaveIdempotenciaInvalidaException
+     * com a menssagem personalizada.
+     * @param message A menssagem de erro
+     **/
+    public ChaveIdempotenciaInvalidaException(String message) {
+        super(message);
+    }
+}
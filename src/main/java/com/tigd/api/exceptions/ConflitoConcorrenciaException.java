@@ -0,0 +1,26 @@
+package com.tigd.api.exceptions;
+
+/**
+ * @author gemeoslemes, viniciuslemes10<br>
+ * Exceção lançada quando uma transação não consegue atualizar o saldo de uma conta
+ * porque outras transações a alteraram em todas as tentativas permitidas.
+ **/
+public class ConflitoConcorrenciaException extends RuntimeException {
+
+    /**
+     * Construtor padrão para criar a instância ConflitoConcorrenciaException
+     * com a menssagem "Conta em uso por outras transações, tente novamente.".
+     **/
+    public ConflitoConcorrenciaException() {
+        super("Conta em uso por outras transações, tente novamente.");
+    }
+
+    /**
+     * Construtor que cria a instância ConflitoConcorrenciaException
+     * com a menssagem personalizada.
+     * @param message A menssagem de erro
+     **/
+    public ConflitoConcorrenciaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.tigd.api.exceptions;
+
+/**
+ * @author gemeoslemes, viniciuslemes10<br>
+ * Exceção lançada quando o cursor de paginação recebido não foi gerado pela API.
+ **/
+public class CursorInvalidoException extends IllegalArgumentException {
+
+    /**
+     * Construtor padrão para criar a instância CursorInvalidoException
+     * com a menssagem "Cursor de paginação inválido.".
+     **/
+    public CursorInvalidoException() {
+        super("Cursor de paginação inválido.");
+    }
+
+    /**
+     * Construtor que cria a instância CursorInvalidoException
+     * com a menssagem personalizada.
+     * @param message A menssagem de erro
+     **/
+    public CursorInvalidoException(String message) {
+        super(message);
+    }
+}
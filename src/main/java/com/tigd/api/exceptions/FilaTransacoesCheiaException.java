@@ -0,0 +1,25 @@
+package com.tigd.api.exceptions;
+
+/**
+ * @author gemeoslemes, viniciuslemes10<br>
+ * Exceção lançada quando a fila de transações assíncronas está cheia e não aceita novas transações.
+ **/
+public class FilaTransacoesCheiaException extends RuntimeException {
+
+    /**
+     * Construtor padrão para criar a instância FilaTransacoesCheiaException
+     * com a menssagem "Fila de transações cheia, tente novamente mais tarde.".
+     **/
+    public FilaTransacoesCheiaException() {
+        super("Fila de transações cheia, tente novamente mais tarde.");
+    }
+
+    /**
+     * Construtor que cria a instância FilaTransacoesCheiaException
+     * com a menssagem personalizada.
+     * @param message A menssagem de erro
+     **/
+    public FilaTransacoesCheiaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.tigd.api.exceptions;
+
+/**
+ * @author gemeoslemes, viniciuslemes10<br>
+ * Exceção lançada quando o lote de transações tem mais itens do que o máximo aceito numa requisição.
+ **/
+public class LoteMuitoGrandeException extends RuntimeException {
+
+    /**
+     * Construtor que cria a instância LoteMuitoGrandeException
+     * com a menssagem "Lote com {itens} transações excede o máximo de {maximo}.".
+     * @param itens A quantidade de transações do lote
+     * @param maximo A quantidade máxima de transações por lote
+     **/
+    public LoteMuitoGrandeException(int itens, int maximo) {
+        super("Lote com " + itens + " transações excede o máximo de " + maximo + ".");
+    }
+}
@@ -0,0 +1,25 @@
+package com.tigd.api.exceptions;
+
+/**
+ * @author gemeoslemes, viniciuslemes10<br>
+ * Exceção lançada quando o lote de transações não pode ser processado no modo solicitado.
+ **/
+public class LoteNaoSuportadoException extends IllegalArgumentException {
+
+    /**
+     * Construtor padrão para criar a instância LoteNaoSuportadoException
+     * com a menssagem "Lote tudo ou nada não é suportado no processamento em memória.".
+     **/
+    public LoteNaoSuportadoException() {
+        super("Lote tudo ou nada não é suportado no processamento em memória.");
+    }
+
+    /**
+     * Construtor que cria a instância LoteNaoSuportadoException
+     * com a menssagem personalizada.
+     * @param message A menssagem de erro
+     **/
+    public LoteNaoSuportadoException(String message) {
+        super(message);
+    }
+}
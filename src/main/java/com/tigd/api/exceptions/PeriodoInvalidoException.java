@@ -0,0 +1,25 @@
+package com.tigd.api.exceptions;
+
+/**
+ * @author gemeoslemes, viniciuslemes10<br>
+ * Exceção lançada quando o período de uma consulta ou reconstrução de resumos é inválido.
+ **/
+public class PeriodoInvalidoException extends IllegalArgumentException {
+
+    /**
+     * Construtor padrão para criar a instância PeriodoInvalidoException
+     * com a menssagem "Período inválido.".
+     **/
+    public PeriodoInvalidoException() {
+        super("Período inválido.");
+    }
+
+    /**
+     * Construtor que cria a instância PeriodoInvalidoException
+     * com a menssagem personalizada.
+     * @param message A menssagem de erro
+     **/
+    public PeriodoInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.tigd.api.exceptions;
+
+import java.util.NoSuchElementException;
+
+/**
+ * @author gemeoslemes, viniciuslemes10<br>
+ * Exceção lançada quando não existe transação assíncrona com o identificador informado.
+ **/
+public class SituacaoTransacaoNotFoundException extends NoSuchElementException {
+
+    /**
+     * Construtor padrão para criar a instância SituacaoTransacaoNotFoundException
+     * com a menssagem "Transação assíncrona não encontrada!".
+     **/
+    public SituacaoTransacaoNotFoundException() {
+        super("Transação assíncrona não encontrada!");
+    }
+
+    /**
+     * Construtor que cria a instância SituacaoTransacaoNotFoundException
+     * com a menssagem personalizada.
+     * @param message A menssagem de erro
+     **/
+    public SituacaoTransacaoNotFoundException(String message) {
+        super(message);
+    }
+}
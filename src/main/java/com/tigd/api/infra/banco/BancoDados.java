@@ -0,0 +1,42 @@
+package com.tigd.api.infra.banco;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Identifica o banco de dados em uso: MySQL em produção e nos testes, ou o H2 em modo MySQL do perfil {@code perf}.
+ * <br>
+ * O modo MySQL do H2 aceita o SQL da aplicação, mas não o particionamento de tabelas nem {@code LOCK IN SHARE MODE};
+ * esses recursos só são usados quando {@link #isMySql()}.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Component
+public class BancoDados {
+    private static final String MYSQL = "MySQL";
+
+    @Autowired
+    private DataSource dataSource;
+
+    private boolean mySql;
+
+    @PostConstruct
+    void iniciar() throws SQLException {
+        try (Connection conexao = dataSource.getConnection()) {
+            mySql = MYSQL.equals(conexao.getMetaData().getDatabaseProductName());
+        }
+    }
+
+    /**
+     * @return se o banco de dados é um MySQL.
+     */
+    public boolean isMySql() {
+        return mySql;
+    }
+}
@@ -3,6 +3,7 @@ package com.tigd.api.infra.exceptions;
 import com.tigd.api.exceptions.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
@@ -233,4 +234,226 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         RestErrorMenssage restError = new RestErrorMenssage(HttpStatus.BAD_REQUEST, exception.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(restError);
     }
+
+    /**
+     * Método responsável por lidar com a exceção {@link ConflitoConcorrenciaException}.
+     *
+     * <p>
+     * Este método é acionado quando uma {@code ConflitoConcorrenciaException} é lançada durante o processamento de uma solicitação REST.
+     * Ele cria uma instância de {@link RestErrorMenssage} com o status HTTP {@link HttpStatus#CONFLICT} e a mensagem de erro
+     * fornecida pela exceção, e a retorna em uma resposta HTTP com status {@link HttpStatus#CONFLICT}.
+     * </p>
+     *
+     * @param exception A exceção {@code ConflitoConcorrenciaException} capturada.
+     * @return Uma resposta HTTP com status {@code CONFLICT} contendo a mensagem de erro adequada.
+     * @see ConflitoConcorrenciaException
+     * @see RestErrorMenssage
+     */
+    @ExceptionHandler(ConflitoConcorrenciaException.class)
+    private ResponseEntity<RestErrorMenssage> conflitoConcorrencia(ConflitoConcorrenciaException exception) {
+        RestErrorMenssage restError = new RestErrorMenssage(HttpStatus.CONFLICT, exception.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(restError);
+    }
+
+    /**
+     * Método responsável por lidar com a exceção {@link ObjectOptimisticLockingFailureException}.
+     *
+     * <p>
+     * Este método é acionado quando a gravação de um cliente ou de uma empresa inteiros encontra uma versão mais nova
+     * da conta, alterada por uma transação enquanto a solicitação REST era processada.
+     * Ele cria uma instância de {@link RestErrorMenssage} com o status HTTP {@link HttpStatus#CONFLICT} e a mesma
+     * mensagem de {@link ConflitoConcorrenciaException}, e a retorna em uma resposta HTTP com status {@link HttpStatus#CONFLICT}.
+     * </p>
+     *
+     * @param exception A exceção {@code ObjectOptimisticLockingFailureException} capturada.
+     * @return Uma resposta HTTP com status {@code CONFLICT} contendo a mensagem de erro adequada.
+     * @see ConflitoConcorrenciaException
+     * @see RestErrorMenssage
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    private ResponseEntity<RestErrorMenssage> versaoDesatualizada(ObjectOptimisticLockingFailureException exception) {
+        RestErrorMenssage restError = new RestErrorMenssage(HttpStatus.CONFLICT,
+                new ConflitoConcorrenciaException().getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(restError);
+    }
+
+    /**
+     * Método responsável por lidar com a exceção {@link LoteNaoSuportadoException}.
+     *
+     * <p>
+     * Este método é acionado quando uma {@code LoteNaoSuportadoException} é lançada durante o processamento de uma solicitação REST.
+     * Ele cria uma instância de {@link RestErrorMenssage} com o status HTTP {@link HttpStatus#BAD_REQUEST} e a mensagem de erro
+     * fornecida pela exceção, e a retorna em uma resposta HTTP com status {@link HttpStatus#BAD_REQUEST}.
+     * </p>
+     *
+     * @param exception A exceção {@code LoteNaoSuportadoException} capturada.
+     * @return Uma resposta HTTP com status {@code BAD_REQUEST} contendo a mensagem de erro adequada.
+     * @see LoteNaoSuportadoException
+     * @see RestErrorMenssage
+     */
+    @ExceptionHandler(LoteNaoSuportadoException.class)
+    private ResponseEntity<RestErrorMenssage> loteNaoSuportado(LoteNaoSuportadoException exception) {
+        RestErrorMenssage restError = new RestErrorMenssage(HttpStatus.BAD_REQUEST, exception.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(restError);
+    }
+
+    /**
+     * Método responsável por lidar com a exceção {@link LoteMuitoGrandeException}.
+     *
+     * <p>
+     * Este método é acionado quando uma {@code LoteMuitoGrandeException} é lançada durante o processamento de uma solicitação REST.
+     * Ele cria uma instância de {@link RestErrorMenssage} com o status HTTP {@link HttpStatus#PAYLOAD_TOO_LARGE} e a mensagem de erro
+     * fornecida pela exceção, e a retorna em uma resposta HTTP com status {@link HttpStatus#PAYLOAD_TOO_LARGE}.
+     * </p>
+     *
+     * @param exception A exceção {@code LoteMuitoGrandeException} capturada.
+     * @return Uma resposta HTTP com status {@code PAYLOAD_TOO_LARGE} contendo a mensagem de erro adequada.
+     * @see LoteMuitoGrandeException
+     * @see RestErrorMenssage
+     */
+    @ExceptionHandler(LoteMuitoGrandeException.class)
+    private ResponseEntity<RestErrorMenssage> loteMuitoGrande(LoteMuitoGrandeException exception) {
+        RestErrorMenssage restError = new RestErrorMenssage(HttpStatus.PAYLOAD_TOO_LARGE, exception.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(restError);
+    }
+
+    /**
+     * Método responsável por lidar com a exceção {@link FilaTransacoesCheiaException}.
+     *
+     * <p>
+     * Este método é acionado quando uma {@code FilaTransacoesCheiaException} é lançada durante o processamento de uma solicitação REST.
+     * Ele cria uma instância de {@link RestErrorMenssage} com o status HTTP {@link HttpStatus#SERVICE_UNAVAILABLE} e a mensagem de erro
+     * fornecida pela exceção, e a retorna em uma resposta HTTP com status {@link HttpStatus#SERVICE_UNAVAILABLE}.
+     * </p>
+     *
+     * @param exception A exceção {@code FilaTransacoesCheiaException} capturada.
+     * @return Uma resposta HTTP com status {@code SERVICE_UNAVAILABLE} contendo a mensagem de erro adequada.
+     * @see FilaTransacoesCheiaException
+     * @see RestErrorMenssage
+     */
+    @ExceptionHandler(FilaTransacoesCheiaException.class)
+    private ResponseEntity<RestErrorMenssage> filaTransacoesCheia(FilaTransacoesCheiaException exception) {
+        RestErrorMenssage restError = new RestErrorMenssage(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(restError);
+    }
+
+    /**
+     * Método responsável por lidar com a exceção {@link SituacaoTransacaoNotFoundException}.
+     *
+     * <p>
+     * Este método é acionado quando uma {@code SituacaoTransacaoNotFoundException} é lançada durante o processamento de uma solicitação REST.
+     * Ele cria uma instância de {@link RestErrorMenssage} com o status HTTP {@link HttpStatus#NOT_FOUND} e a mensagem de erro
+     * fornecida pela exceção, e a retorna em uma resposta HTTP com status {@link HttpStatus#NOT_FOUND}.
+     * </p>
+     *
+     * @param exception A exceção {@code SituacaoTransacaoNotFoundException} capturada.
+     * @return Uma resposta HTTP com status {@code NOT_FOUND} contendo a mensagem de erro adequada.
+     * @see SituacaoTransacaoNotFoundException
+     * @see RestErrorMenssage
+     */
+    @ExceptionHandler(SituacaoTransacaoNotFoundException.class)
+    private ResponseEntity<RestErrorMenssage> situacaoTransacaoNotFound(SituacaoTransacaoNotFoundException exception) {
+        RestErrorMenssage restError = new RestErrorMenssage(HttpStatus.NOT_FOUND, exception.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(restError);
+    }
+
+    /**
+     * Método responsável por lidar com a exceção {@link ChaveIdempotenciaEmUsoException}.
+     *
+     * <p>
+     * Este método é acionado quando uma {@code ChaveIdempotenciaEmUsoException} é lançada durante o processamento de uma solicitação REST.
+     * Ele cria uma instância de {@link RestErrorMenssage} com o status HTTP {@link HttpStatus#CONFLICT} e a mensagem de erro
+     * fornecida pela exceção, e a retorna em uma resposta HTTP com status {@link HttpStatus#CONFLICT}.
+     * </p>
+     *
+     * @param exception A exceção {@code ChaveIdempotenciaEmUsoException} capturada.
+     * @return Uma resposta HTTP com status {@code CONFLICT} contendo a mensagem de erro adequada.
+     * @see ChaveIdempotenciaEmUsoException
+     * @see RestErrorMenssage
+     */
+    @ExceptionHandler(ChaveIdempotenciaEmUsoException.class)
+    private ResponseEntity<RestErrorMenssage> chaveIdempotenciaEmUso(ChaveIdempotenciaEmUsoException exception) {
+        RestErrorMenssage restError = new RestErrorMenssage(HttpStatus.CONFLICT, exception.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(restError);
+    }
+
+    /**
+     * Método responsável por lidar com a exceção {@link ChaveIdempotenciaInvalidaException}.
+     *
+     * <p>
+     * Este método é acionado quando uma {@code ChaveIdempotenciaInvalidaException} é lançada durante o processamento de uma solicitação REST.
+     * Ele cria uma instância de {@link RestErrorMenssage} com o status HTTP {@link HttpStatus#BAD_REQUEST} e a mensagem de erro
+     * fornecida pela exceção, e a retorna em uma resposta HTTP com status {@link HttpStatus#BAD_REQUEST}.
+     * </p>
+     *
+     * @param exception A exceção {@code ChaveIdempotenciaInvalidaException} capturada.
+     * @return Uma resposta HTTP com status {@code BAD_REQUEST} contendo a mensagem de erro adequada.
+     * @see ChaveIdempotenciaInvalidaException
+     * @see RestErrorMenssage
+     */
+    @ExceptionHandler(ChaveIdempotenciaInvalidaException.class)
+    private ResponseEntity<RestErrorMenssage> chaveIdempotenciaInvalida(ChaveIdempotenciaInvalidaException exception) {
+        RestErrorMenssage restError = new RestErrorMenssage(HttpStatus.BAD_REQUEST, exception.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(restError);
+    }
+
+    /**
+     * Método responsável por lidar com a exceção {@link CursorInvalidoException}.
+     *
+     * <p>
+     * Este método é acionado quando uma {@code CursorInvalidoException} é lançada durante o processamento de uma solicitação REST.
+     * Ele cria uma instância de {@link RestErrorMenssage} com o status HTTP {@link HttpStatus#BAD_REQUEST} e a mensagem de erro
+     * fornecida pela exceção, e a retorna em uma resposta HTTP com status {@link HttpStatus#BAD_REQUEST}.
+     * </p>
+     *
+     * @param exception A exceção {@code CursorInvalidoException} capturada.
+     * @return Uma resposta HTTP com status {@code BAD_REQUEST} contendo a mensagem de erro adequada.
+     * @see CursorInvalidoException
+     * @see RestErrorMenssage
+     */
+    @ExceptionHandler(CursorInvalidoException.class)
+    private ResponseEntity<RestErrorMenssage> cursorInvalido(CursorInvalidoException exception) {
+        RestErrorMenssage restError = new RestErrorMenssage(HttpStatus.BAD_REQUEST, exception.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(restError);
+    }
+
+    /**
+     * Método responsável por lidar com a exceção {@link ArquivoImportacaoInvalidoException}.
+     *
+     * <p>
+     * Este método é acionado quando uma {@code ArquivoImportacaoInvalidoException} é lançada durante o processamento de uma solicitação REST.
+     * Ele cria uma instância de {@link RestErrorMenssage} com o status HTTP {@link HttpStatus#BAD_REQUEST} e a mensagem de erro
+     * fornecida pela exceção, e a retorna em uma resposta HTTP com status {@link HttpStatus#BAD_REQUEST}.
+     * </p>
+     *
+     * @param exception A exceção {@code ArquivoImportacaoInvalidoException} capturada.
+     * @return Uma resposta HTTP com status {@code BAD_REQUEST} contendo a mensagem de erro adequada.
+     * @see ArquivoImportacaoInvalidoException
+     * @see RestErrorMenssage
+     */
+    @ExceptionHandler(ArquivoImportacaoInvalidoException.class)
+    private ResponseEntity<RestErrorMenssage> arquivoImportacaoInvalidoException(ArquivoImportacaoInvalidoException exception) {
+        RestErrorMenssage restError = new RestErrorMenssage(HttpStatus.BAD_REQUEST, exception.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(restError);
+    }
+
+    /**
+     * Método responsável por lidar com a exceção {@link PeriodoInvalidoException}.
+     *
+     * <p>
+     * Este método é acionado quando uma {@code PeriodoInvalidoException} é lançada durante o processamento de uma solicitação REST.
+     * Ele cria uma instância de {@link RestErrorMenssage} com o status HTTP {@link HttpStatus#BAD_REQUEST} e a mensagem de erro
+     * fornecida pela exceção, e a retorna em uma resposta HTTP com status {@link HttpStatus#BAD_REQUEST}.
+     * </p>
+     *
+     * @param exception A exceção {@code PeriodoInvalidoException} capturada.
+     * @return Uma resposta HTTP com status {@code BAD_REQUEST} contendo a mensagem de erro adequada.
+     * @see PeriodoInvalidoException
+     * @see RestErrorMenssage
+     */
+    @ExceptionHandler(PeriodoInvalidoException.class)
+    private ResponseEntity<RestErrorMenssage> periodoInvalidoException(PeriodoInvalidoException exception) {
+        RestErrorMenssage restError = new RestErrorMenssage(HttpStatus.BAD_REQUEST, exception.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(restError);
+    }
 }
@@ -1,10 +1,21 @@
 package com.tigd.api.repository;
 
 import com.tigd.api.domain.Cliente;
+import com.tigd.api.dto.ClienteResumoDTO;
+import com.tigd.api.dto.DadosContaDTO;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Interface para acesso aos dados dos clientes.
  *
@@ -41,4 +52,73 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
      */
     @Query("SELECT c FROM Cliente c WHERE id = :id AND ativo = :ativo")
     Cliente findByAtivo(Long id, boolean ativo);
+
+    /**
+     * Retorna um cliente pelo ID bloqueando a linha para escrita ({@code SELECT ... FOR UPDATE}).
+     *
+     * O bloqueio permanece até o fim da transação corrente, impedindo que outra transação leia
+     * o saldo para atualizá-lo ao mesmo tempo.
+     *
+     * @param id o ID do cliente a ser bloqueado
+     * @return o cliente bloqueado, ou vazio se nenhum cliente for encontrado
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cliente c WHERE c.id = :id")
+    Optional<Cliente> findByIdParaAtualizacao(Long id);
+
+    /**
+     * Retorna os clientes dos IDs informados, bloqueando as linhas para escrita em ordem crescente de ID.
+     *
+     * @param ids os IDs a serem bloqueados
+     * @return os clientes encontrados, ordenados por ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cliente c WHERE c.id IN :ids ORDER BY c.id")
+    List<Cliente> findAllByIdParaAtualizacao(Collection<Long> ids);
+
+    /**
+     * Subtrai o valor do saldo numa única instrução, somente se o saldo for suficiente.
+     *
+     * A verificação e a gravação acontecem atomicamente no banco, sem ler a entidade antes.
+     *
+     * @param id o ID do cliente
+     * @param valor o valor a ser debitado
+     * @return 1 se o saldo foi debitado; 0 se o saldo é insuficiente ou cliente não existe
+     */
+    @Modifying
+    @Query(value = "UPDATE clientes SET saldo = saldo - :valor, version = version + 1 WHERE id = :id AND saldo >= :valor", nativeQuery = true)
+    int debitarSaldo(Long id, BigDecimal valor);
+
+    /**
+     * Soma o valor ao saldo numa única instrução, sem ler a entidade antes.
+     *
+     * @param id o ID do cliente
+     * @param valor o valor a ser creditado
+     * @return 1 se o saldo foi creditado; 0 se cliente não existe
+     */
+    @Modifying
+    @Query(value = "UPDATE clientes SET saldo = saldo + :valor, version = version + 1 WHERE id = :id", nativeQuery = true)
+    int creditarSaldo(Long id, BigDecimal valor);
+
+    /**
+     * Retorna apenas a situação do cliente, sem carregar a entidade.
+     *
+     * @param id o ID do cliente
+     * @return os dados do cliente, ou vazio se nenhum cliente for encontrado
+     */
+    @Query("SELECT new com.tigd.api.dto.DadosContaDTO(c.id, c.ativo) FROM Cliente c WHERE c.id = :id")
+    Optional<DadosContaDTO> findDadosContaById(Long id);
+
+    /**
+     * Lista os clientes com a situação informada e id maior que {@code apos}, em ordem de id, sem carregar as
+     * entidades. A consulta percorre o índice {@code (ativo, id)} a partir da posição, sem contar as linhas;
+     * a ordem inclui {@code ativo}, fixo no filtro, para que o H2 também leia o índice em ordem em vez de ordenar as linhas.
+     *
+     * @param ativo a situação das contas listadas
+     * @param apos o id da última conta da página anterior, ou 0 para a primeira página
+     * @param pagina a quantidade de linhas a ler, com {@code PageRequest.of(0, tamanho)}
+     * @return os dados dos clientes da página
+     */
+    @Query("SELECT new com.tigd.api.dto.ClienteResumoDTO(c.id, c.nome, c.cpf, c.email, c.saldo, c.ativo) FROM Cliente c WHERE c.ativo = :ativo AND c.id > :apos ORDER BY c.ativo, c.id")
+    List<ClienteResumoDTO> buscarPagina(boolean ativo, Long apos, Pageable pagina);
 }
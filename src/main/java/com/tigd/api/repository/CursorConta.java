@@ -0,0 +1,42 @@
+package com.tigd.api.repository;
+
+import com.tigd.api.exceptions.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição na listagem de clientes ou de empresas: o id da última conta entregue.
+ * <br>
+ * A listagem é ordenada por {@code id}, então a página seguinte começa logo depois desse id e é lida diretamente
+ * pelos índices {@code (ativo, id)}, sem contar ou pular as linhas anteriores.
+ *
+ * @param id o id da última conta entregue.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public record CursorConta(Long id) {
+
+    /**
+     * @return o cursor em texto opaco, seguro para uso em URLs.
+     */
+    public String codificar() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê um cursor gerado por {@link #codificar()}.
+     *
+     * @param cursor o cursor recebido.
+     * @return a posição representada pelo cursor.
+     * @throws CursorInvalidoException se o cursor não tiver sido gerado pela API.
+     */
+    public static CursorConta decodificar(String cursor) {
+        try {
+            return new CursorConta(Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            throw new CursorInvalidoException();
+        }
+    }
+}
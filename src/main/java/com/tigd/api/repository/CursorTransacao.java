@@ -0,0 +1,51 @@
+package com.tigd.api.repository;
+
+import com.tigd.api.exceptions.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição na listagem de transações: a data e o id da última transação entregue.
+ * <br>
+ * A listagem é ordenada por {@code data} e {@code id} decrescentes, então a página seguinte começa logo depois
+ * desse par e é lida diretamente pelo índice, sem contar ou pular as linhas anteriores. O extrato usa a mesma posição
+ * em ordem crescente.
+ *
+ * @param data a data da última transação entregue.
+ * @param id o id da última transação entregue.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public record CursorTransacao(LocalDateTime data, Long id) {
+    private static final String SEPARADOR = "|";
+
+    /**
+     * @return o cursor em texto opaco, seguro para uso em URLs.
+     */
+    public String codificar() {
+        String texto = data + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê um cursor gerado por {@link #codificar()}.
+     *
+     * @param cursor o cursor recebido.
+     * @return a posição representada pelo cursor.
+     * @throws CursorInvalidoException se o cursor não tiver sido gerado pela API.
+     */
+    public static CursorTransacao decodificar(String cursor) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = texto.lastIndexOf(SEPARADOR);
+            return new CursorTransacao(LocalDateTime.parse(texto.substring(0, separador)),
+                    Long.parseLong(texto.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new CursorInvalidoException();
+        }
+    }
+}
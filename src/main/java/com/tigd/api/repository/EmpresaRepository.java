@@ -1,10 +1,21 @@
 package com.tigd.api.repository;
 
 import com.tigd.api.domain.Empresa;
+import com.tigd.api.dto.EmpresaResumoDTO;
+import com.tigd.api.dto.DadosContaDTO;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 
 /**
  * Interface para acesso aos dados das empresas.
@@ -44,4 +55,73 @@ public interface EmpresaRepository extends JpaRepository<Empresa, Long> {
      * @return true se a empresa existir pelo email fornecido, false caso contrário
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Retorna uma empresa pelo ID bloqueando a linha para escrita ({@code SELECT ... FOR UPDATE}).
+     *
+     * O bloqueio permanece até o fim da transação corrente, impedindo que outra transação leia
+     * o saldo para atualizá-lo ao mesmo tempo.
+     *
+     * @param id o ID da empresa a ser bloqueada
+     * @return a empresa bloqueada, ou vazio se nenhuma empresa for encontrada
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Empresa e WHERE e.id = :id")
+    Optional<Empresa> findByIdParaAtualizacao(Long id);
+
+    /**
+     * Retorna as empresas dos IDs informados, bloqueando as linhas para escrita em ordem crescente de ID.
+     *
+     * @param ids os IDs a serem bloqueados
+     * @return as empresas encontradas, ordenadas por ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Empresa e WHERE e.id IN :ids ORDER BY e.id")
+    List<Empresa> findAllByIdParaAtualizacao(Collection<Long> ids);
+
+    /**
+     * Subtrai o valor do saldo numa única instrução, somente se o saldo for suficiente.
+     *
+     * A verificação e a gravação acontecem atomicamente no banco, sem ler a entidade antes.
+     *
+     * @param id o ID da empresa
+     * @param valor o valor a ser debitado
+     * @return 1 se o saldo foi debitado; 0 se o saldo é insuficiente ou empresa não existe
+     */
+    @Modifying
+    @Query(value = "UPDATE empresas SET saldo = saldo - :valor, version = version + 1 WHERE id = :id AND saldo >= :valor", nativeQuery = true)
+    int debitarSaldo(Long id, BigDecimal valor);
+
+    /**
+     * Soma o valor ao saldo numa única instrução, sem ler a entidade antes.
+     *
+     * @param id o ID da empresa
+     * @param valor o valor a ser creditado
+     * @return 1 se o saldo foi creditado; 0 se empresa não existe
+     */
+    @Modifying
+    @Query(value = "UPDATE empresas SET saldo = saldo + :valor, version = version + 1 WHERE id = :id", nativeQuery = true)
+    int creditarSaldo(Long id, BigDecimal valor);
+
+    /**
+     * Retorna apenas a taxa do sistema e a situação da empresa, sem carregar a entidade.
+     *
+     * @param id o ID da empresa
+     * @return os dados da empresa, ou vazio se nenhuma empresa for encontrada
+     */
+    @Query("SELECT new com.tigd.api.dto.DadosContaDTO(e.id, e.taxaSistema, e.ativo) FROM Empresa e WHERE e.id = :id")
+    Optional<DadosContaDTO> findDadosContaById(Long id);
+
+    /**
+     * Lista as empresas com a situação informada e id maior que {@code apos}, em ordem de id, sem carregar as
+     * entidades. A consulta percorre o índice {@code (ativo, id)} a partir da posição, sem contar as linhas;
+     * a ordem inclui {@code ativo}, fixo no filtro, para que o H2 também leia o índice em ordem em vez de ordenar as linhas.
+     *
+     * @param ativo a situação das contas listadas
+     * @param apos o id da última conta da página anterior, ou 0 para a primeira página
+     * @param pagina a quantidade de linhas a ler, com {@code PageRequest.of(0, tamanho)}
+     * @return os dados das empresas da página
+     */
+    @Query("SELECT new com.tigd.api.dto.EmpresaResumoDTO(e.id, e.nome, e.cnpj, e.email, e.saldo, e.taxaSistema, e.ativo) FROM Empresa e WHERE e.ativo = :ativo AND e.id > :apos ORDER BY e.ativo, e.id")
+    List<EmpresaResumoDTO> buscarPagina(boolean ativo, Long apos, Pageable pagina);
 }
@@ -1,17 +1,43 @@
 package com.tigd.api.repository;
 
 import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.TransacaoResumoDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
 /**
  * Interface para acesso aos dados das transações.
  *
  * Esta interface estende JpaRepository para acessar e manipular dados relacionados às transações no banco de dados.
+ * A listagem paginada e filtrada está em {@link TransacaoRepositoryCustom}.
  *
  * @author gemeoslemes
  * @author viniciuslemes10
  */
 @Repository
-public interface TransacaoRepository extends JpaRepository<Transacao, Long> {
+public interface TransacaoRepository extends JpaRepository<Transacao, Long>, TransacaoRepositoryCustom {
+
+    /**
+     * Lê todas as transações em ordem de id, em blocos de {@code 1000} linhas pelo cursor do servidor.
+     * <br>
+     * As linhas são projetadas diretamente em {@link TransacaoResumoDTO}: nenhuma entidade entra no contexto
+     * de persistência, então a memória usada não cresce com a quantidade de linhas lidas.
+     * Deve ser consumido dentro de uma transação somente leitura e fechado ao final.
+     *
+     * @return as transações, lidas sob demanda.
+     */
+    @Query("select new com.tigd.api.dto.TransacaoResumoDTO(t.id, t.valor, t.data, t.tipo, t.cliente.id, t.empresa.id) "
+            + "from Transacao t order by t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<TransacaoResumoDTO> streamAllResumos();
 }
@@ -0,0 +1,25 @@
+package com.tigd.api.repository;
+
+import com.tigd.api.dto.FiltroTransacoesDTO;
+import com.tigd.api.dto.TransacaoResumoDTO;
+
+import java.util.List;
+
+/**
+ * Consultas de transações montadas de acordo com os filtros recebidos.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public interface TransacaoRepositoryCustom {
+
+    /**
+     * Busca uma página de transações ordenadas por {@code data} e {@code id} decrescentes.
+     *
+     * @param filtro os filtros da listagem.
+     * @param cursor a posição da última transação da página anterior, ou {@code null} para a primeira página.
+     * @param limite a quantidade máxima de transações.
+     * @return as transações da página, sem carregar cliente e empresa.
+     */
+    List<TransacaoResumoDTO> buscarPagina(FiltroTransacoesDTO filtro, CursorTransacao cursor, int limite);
+}
@@ -0,0 +1,65 @@
+package com.tigd.api.repository;
+
+import com.tigd.api.dto.FiltroTransacoesDTO;
+import com.tigd.api.dto.TransacaoResumoDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação de {@link TransacaoRepositoryCustom}.
+ * <br>
+ * Cada filtro informado vira uma condição de igualdade ou de intervalo, e o cursor vira a condição
+ * {@code (data, id) < (:data, :id)}. Com os índices {@code (cliente_id, data, id)}, {@code (empresa_id, data, id)}
+ * e {@code (data, id)} a consulta lê apenas as linhas da página, qualquer que seja o tamanho da tabela.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+class TransacaoRepositoryCustomImpl implements TransacaoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransacaoResumoDTO> buscarPagina(FiltroTransacoesDTO filtro, CursorTransacao cursor, int limite) {
+        StringBuilder jpql = new StringBuilder("select new com.tigd.api.dto.TransacaoResumoDTO("
+                + "t.id, t.valor, t.data, t.tipo, t.cliente.id, t.empresa.id) from Transacao t where 1 = 1");
+        Map<String, Object> parametros = new HashMap<>();
+
+        if (filtro.cliente() != null) {
+            jpql.append(" and t.cliente.id = :cliente");
+            parametros.put("cliente", filtro.cliente());
+        }
+        if (filtro.empresa() != null) {
+            jpql.append(" and t.empresa.id = :empresa");
+            parametros.put("empresa", filtro.empresa());
+        }
+        if (filtro.tipo() != null) {
+            jpql.append(" and t.tipo = :tipo");
+            parametros.put("tipo", Character.toUpperCase(filtro.tipo()));
+        }
+        if (filtro.inicio() != null) {
+            jpql.append(" and t.data >= :inicio");
+            parametros.put("inicio", filtro.inicio());
+        }
+        if (filtro.fim() != null) {
+            jpql.append(" and t.data < :fim");
+            parametros.put("fim", filtro.fim());
+        }
+        if (cursor != null) {
+            jpql.append(" and (t.data < :dataCursor or (t.data = :dataCursor and t.id < :idCursor))");
+            parametros.put("dataCursor", cursor.data());
+            parametros.put("idCursor", cursor.id());
+        }
+        jpql.append(" order by t.data desc, t.id desc");
+
+        TypedQuery<TransacaoResumoDTO> consulta = entityManager.createQuery(jpql.toString(), TransacaoResumoDTO.class);
+        parametros.forEach(consulta::setParameter);
+        return consulta.setMaxResults(limite).getResultList();
+    }
+}
@@ -0,0 +1,108 @@
+package com.tigd.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tigd.api.dto.DadosContaDTO;
+import com.tigd.api.exceptions.ClienteNotFoundException;
+import com.tigd.api.exceptions.EmpresaNotFoundException;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache dos {@link DadosContaDTO} de clientes e empresas consultados a cada transação.
+ * Os dados são lidos por projeção, sem carregar entidades no contexto de persistência, para não interferir
+ * nas leituras com bloqueio feitas depois na mesma requisição.
+ * <br>
+ * Cada cache tem tamanho máximo e expiração após a escrita; ao atingir o limite o Caffeine descarta as entradas
+ * menos úteis (W-TinyLFU). Numa única instância os dados são invalidados quando o cadastro é alterado ou desativado;
+ * com várias instâncias, uma alteração feita em outra instância é vista depois de no máximo
+ * {@code api.cache.contas.expiracao-segundos}.
+ * <br>
+ * Acertos, falhas e descartes são publicados em {@code /actuator/metrics/cache.gets} e {@code cache.evictions},
+ * com a tag {@code cache=contas.clientes} ou {@code cache=contas.empresas}.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Component
+public class CacheContas {
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.cache.contas.maximo-entradas:10000}")
+    private long maximoEntradas;
+
+    @Value("${api.cache.contas.expiracao-segundos:60}")
+    private long expiracaoSegundos;
+
+    private Cache<Long, DadosContaDTO> clientes;
+
+    private Cache<Long, DadosContaDTO> empresas;
+
+    @PostConstruct
+    void iniciar() {
+        clientes = criarCache();
+        empresas = criarCache();
+        CaffeineCacheMetrics.monitor(meterRegistry, clientes, "contas.clientes");
+        CaffeineCacheMetrics.monitor(meterRegistry, empresas, "contas.empresas");
+    }
+
+    /**
+     * @param id o id do cliente.
+     * @return os dados do cliente, do cache ou da base de dados.
+     * @throws ClienteNotFoundException se o cliente não existir na base de dados.
+     */
+    public DadosContaDTO cliente(Long id) {
+        return clientes.get(id, chave -> clienteRepository.findDadosContaById(chave).orElseThrow(ClienteNotFoundException::new));
+    }
+
+    /**
+     * @param id o id da empresa.
+     * @return os dados da empresa, do cache ou da base de dados.
+     * @throws EmpresaNotFoundException se a empresa não existir na base de dados.
+     */
+    public DadosContaDTO empresa(Long id) {
+        return empresas.get(id, chave -> empresaRepository.findDadosContaById(chave).orElseThrow(EmpresaNotFoundException::new));
+    }
+
+    /**
+     * Descarta os dados do cliente; a próxima consulta lê a base de dados.
+     *
+     * @param id o id do cliente alterado.
+     */
+    public void invalidarCliente(Long id) {
+        clientes.invalidate(id);
+    }
+
+    /**
+     * Descarta os dados da empresa; a próxima consulta lê a base de dados.
+     *
+     * @param id o id da empresa alterada.
+     */
+    public void invalidarEmpresa(Long id) {
+        empresas.invalidate(id);
+    }
+
+    private Cache<Long, DadosContaDTO> criarCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maximoEntradas)
+                .expireAfterWrite(Duration.ofSeconds(expiracaoSegundos))
+                .recordStats()
+                .build();
+    }
+}
@@ -1,12 +1,19 @@
 package com.tigd.api.service;
 
+import com.tigd.api.dto.ClienteResumoDTO;
 import com.tigd.api.dto.ClienteUpdateDTO;
+import com.tigd.api.dto.PaginaClientesDTO;
 import com.tigd.api.exceptions.*;
 import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.CursorConta;
 import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Money;
+import com.tigd.api.service.unicidade.CampoUnico;
+import com.tigd.api.service.unicidade.FiltroUnicidade;
 import com.tigd.api.validators.ValidadorAtualizadorEntidade;
 import com.tigd.api.validators.DocumentValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,6 +26,7 @@ import java.util.Optional;
  **/
 @Service
 public class ClienteService {
+    private static final int LIMITE_MAXIMO_PAGINA = 500;
 
     @Autowired
     private ClienteRepository clienteRepository;
@@ -29,12 +37,33 @@ public class ClienteService {
     @Autowired
     private ValidadorAtualizadorEntidade atualizadorEntidade;
 
+    @Autowired
+    private CacheContas cacheContas;
+
+    @Autowired
+    private FiltroUnicidade filtroUnicidade;
+
     /**
-     * Retorna uma lista de todos os clientes
-     * @return Uma lista contendo todos os clientes.
+     * Lista uma página dos clientes com a situação informada, em ordem de id.
+     * <br>
+     * A página é lida como projeção, sem carregar entidades no contexto de persistência, e localizada pelo cursor da
+     * página anterior, então o custo da consulta depende do tamanho da página e não da quantidade de clientes.
+     *
+     * @param ativo a situação dos clientes listados.
+     * @param cursor o cursor devolvido na página anterior, ou {@code null} para a primeira página.
+     * @param limite a quantidade máxima de clientes, entre 1 e {@value #LIMITE_MAXIMO_PAGINA}.
+     * @return os clientes da página e o cursor da página seguinte.
+     * @throws CursorInvalidoException se o cursor não tiver sido gerado pela API.
      **/
-    public List<Cliente> findAllClients() {
-        return clienteRepository.findAll();
+    public PaginaClientesDTO buscarPagina(boolean ativo, String cursor, int limite) {
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO_PAGINA));
+        long apos = cursor == null || cursor.isBlank() ? 0L : CursorConta.decodificar(cursor).id();
+        List<ClienteResumoDTO> clientes = clienteRepository.buscarPagina(ativo, apos, PageRequest.of(0, tamanho + 1));
+        if (clientes.size() <= tamanho) {
+            return new PaginaClientesDTO(clientes, null);
+        }
+        List<ClienteResumoDTO> pagina = clientes.subList(0, tamanho);
+        return new PaginaClientesDTO(pagina, new CursorConta(pagina.get(tamanho - 1).id()).codificar());
     }
 
     /**
@@ -53,7 +82,10 @@ public class ClienteService {
         cliente.setCpf(documentCpf);
         isCpfPresent(cliente);
         isEmailPresent(cliente);
-        return clienteRepository.save(cliente);
+        Cliente clienteSalvo = clienteRepository.save(cliente);
+        filtroUnicidade.registrar(CampoUnico.CPF, cliente.getCpf());
+        filtroUnicidade.registrar(CampoUnico.EMAIL_CLIENTE, cliente.getEmail());
+        return clienteSalvo;
     }
 
     /**
@@ -72,11 +104,12 @@ public class ClienteService {
      * @param cliente O Cliente é passado como parâmetro.<br>
      * Método <b>findByCpf()</b> verifica se o cliente é diferente de null,
      *  se o resultado esperado for true.
+     * A base de dados só é consultada se o {@link FiltroUnicidade} não descartar o cpf.
      * @return cliente.
      * **/
     protected boolean findByCpf(Cliente cliente) {
-        Cliente clientes = clienteRepository.findByCpf(cliente.getCpf());
-        return clientes != null;
+        return filtroUnicidade.existe(CampoUnico.CPF, cliente.getCpf(),
+                cpf -> clienteRepository.findByCpf(cpf) != null);
     }
 
     /**
@@ -96,10 +129,11 @@ public class ClienteService {
     /**
      * @param cliente cliente.
      * @return <p>Um cliente se for diferente de null.</p>
+     * A base de dados só é consultada se o {@link FiltroUnicidade} não descartar o email.
      **/
     protected boolean findByEmail(Cliente cliente) {
-       Cliente clientes = clienteRepository.findByEmail(cliente.getEmail());
-       return clientes != null;
+       return filtroUnicidade.existe(CampoUnico.EMAIL_CLIENTE, cliente.getEmail(),
+               email -> clienteRepository.findByEmail(email) != null);
     }
 
     /**
@@ -115,6 +149,55 @@ public class ClienteService {
         }
     }
 
+    /**
+     * Busca um cliente pelo id bloqueando a linha até o fim da transação corrente.
+     *
+     * @param id o id do cliente.
+     * @return o cliente bloqueado para atualização de saldo.
+     * @throws ClienteNotFoundException se o cliente não existir na base de dados.
+     **/
+    public Cliente bloquearParaAtualizacao(Long id) {
+        return clienteRepository.findByIdParaAtualizacao(id).orElseThrow(ClienteNotFoundException::new);
+    }
+
+    /**
+     * Retorna uma referência ao cliente sem consultar a base de dados.
+     * Os dados só são carregados quando algum atributo além do id for acessado.
+     *
+     * @param id o id do cliente.
+     * @return a referência ao cliente.
+     **/
+    public Cliente referenciaPorId(Long id) {
+        return clienteRepository.getReferenceById(id);
+    }
+
+    /**
+     * Debita o valor do saldo do cliente numa única instrução condicionada ao saldo disponível.
+     *
+     * @param id o id do cliente.
+     * @param valor o valor a ser debitado.
+     * @throws ClienteNotFoundException se o cliente não existir na base de dados.
+     * @throws SaldoNegativoException se o saldo do cliente for menor que o valor.
+     **/
+    public void debitarSaldo(Long id, Money valor) {
+        if (clienteRepository.debitarSaldo(id, valor.toBigDecimal()) == 0) {
+            findById(id);
+            throw new SaldoNegativoException();
+        }
+    }
+
+    /**
+     * Credita o valor no saldo do cliente numa única instrução.
+     *
+     * @param id o id do cliente.
+     * @param valor o valor a ser creditado.
+     * @throws ClienteNotFoundException se o cliente não existir na base de dados.
+     **/
+    public void creditarSaldo(Long id, Money valor) {
+        if (clienteRepository.creditarSaldo(id, valor.toBigDecimal()) == 0) {
+            throw new ClienteNotFoundException();
+        }
+    }
 
     /**
      @param cliente cliente.
@@ -135,7 +218,10 @@ public class ClienteService {
         Cliente clienteAtivo = byAtivo(clienteAtualizado.getId(), clienteAtualizado.isAtivo());
         validarContaAtiva(clienteAtivo);
         isEmailPresent(clienteAtivo);
-        return clienteRepository.save(clienteAtualizado);
+        Cliente clienteSalvo = clienteRepository.save(clienteAtualizado);
+        filtroUnicidade.registrar(CampoUnico.EMAIL_CLIENTE, clienteAtualizado.getEmail());
+        cacheContas.invalidarCliente(clienteSalvo.getId());
+        return clienteSalvo;
     }
 
     protected Cliente atualizaDados(ClienteUpdateDTO dto, Optional<Cliente> cliente) {
@@ -177,6 +263,7 @@ public class ClienteService {
         Cliente clienteInativado = cliente.get();
         clienteInativado.setAtivo(false);
         clienteRepository.save(clienteInativado);
+        cacheContas.invalidarCliente(clienteInativado.getId());
         return clienteInativado;
     }
 }
@@ -1,16 +1,28 @@
 package com.tigd.api.service;
 
 import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Money;
+import com.tigd.api.dto.EmpresaResumoDTO;
+import com.tigd.api.dto.PaginaEmpresasDTO;
 import com.tigd.api.exceptions.CnpjUniqueException;
 import com.tigd.api.exceptions.ContaInativaException;
+import com.tigd.api.exceptions.CursorInvalidoException;
 import com.tigd.api.exceptions.EmailUniqueException;
 import com.tigd.api.exceptions.EmpresaNotFoundException;
+import com.tigd.api.exceptions.SaldoNegativoException;
+import com.tigd.api.repository.CursorConta;
 import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.ledger.LedgerMemoria;
+import com.tigd.api.service.unicidade.CampoUnico;
+import com.tigd.api.service.unicidade.FiltroUnicidade;
 import com.tigd.api.validators.ValidadorAtualizadorEntidade;
 import com.tigd.api.validators.DocumentValidator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +32,8 @@ import java.util.Optional;
  **/
 @Service
 public class EmpresaService {
+    private static final int LIMITE_MAXIMO_PAGINA = 500;
+
     @Autowired
     private EmpresaRepository empresaRepository;
 
@@ -29,14 +43,36 @@ public class EmpresaService {
     @Autowired
     private ValidadorAtualizadorEntidade atualizadorEntidade;
 
+    @Autowired
+    private ObjectProvider<LedgerMemoria> ledgerMemoria;
+
+    @Autowired
+    private CacheContas cacheContas;
+
+    @Autowired
+    private FiltroUnicidade filtroUnicidade;
+
     /**
-     * <p>Método <b>findAllEmpresa()</b> para listar todas as empresas
-     * cadastradas na base de dados.</p>
+     * Lista uma página das empresas com a situação informada, em ordem de id.
+     * <br>
+     * A página é lida como projeção, sem carregar entidades no contexto de persistência, e localizada pelo cursor da
+     * página anterior, então o custo da consulta depende do tamanho da página e não da quantidade de empresas.
      *
-     * @return Lista de empresas cadastradas.
+     * @param ativo a situação das empresas listadas.
+     * @param cursor o cursor devolvido na página anterior, ou {@code null} para a primeira página.
+     * @param limite a quantidade máxima de empresas, entre 1 e {@value #LIMITE_MAXIMO_PAGINA}.
+     * @return as empresas da página e o cursor da página seguinte.
+     * @throws CursorInvalidoException se o cursor não tiver sido gerado pela API.
      **/
-    public List<Empresa> findAllEmpresa() {
-        return empresaRepository.findAll();
+    public PaginaEmpresasDTO buscarPagina(boolean ativo, String cursor, int limite) {
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO_PAGINA));
+        long apos = cursor == null || cursor.isBlank() ? 0L : CursorConta.decodificar(cursor).id();
+        List<EmpresaResumoDTO> empresas = empresaRepository.buscarPagina(ativo, apos, PageRequest.of(0, tamanho + 1));
+        if (empresas.size() <= tamanho) {
+            return new PaginaEmpresasDTO(empresas, null);
+        }
+        List<EmpresaResumoDTO> pagina = empresas.subList(0, tamanho);
+        return new PaginaEmpresasDTO(pagina, new CursorConta(pagina.get(tamanho - 1).id()).codificar());
     }
 
     /**
@@ -57,7 +93,10 @@ public class EmpresaService {
         empresa.setCnpj(documentCnpj);
         verificarExistenciaEmailNaBaseDeDados(empresa);
         isPresentCnpj(empresa);
-        return empresaRepository.save(empresa);
+        Empresa empresaSalva = empresaRepository.save(empresa);
+        filtroUnicidade.registrar(CampoUnico.CNPJ, empresa.getCnpj());
+        filtroUnicidade.registrar(CampoUnico.EMAIL_EMPRESA, empresa.getEmail());
+        return empresaSalva;
     }
 
     /**
@@ -86,12 +125,20 @@ public class EmpresaService {
 
     /**
      * @param empresa Empresa empresa.
-     *                <p>Método <b>findByCnpj()</b> verifica na base de dados se já existe o cnpj passado e se está ativo.</p>
-     * @return Caso esteja ativo ele retorna true se não ele lança uma exception.
+     *                <p>Método <b>findByCnpj()</b> verifica na base de dados se já existe o cnpj passado e se está ativo.
+     *                A base de dados só é consultada se o {@link FiltroUnicidade} não descartar o cnpj.</p>
+     * @return Caso esteja ativo ele retorna true, e false se o cnpj não estiver cadastrado.
      * @throws ContaInativaException Mostrando o status e a mensagem.
      */
     private boolean findByCnpj(Empresa empresa) {
-        Empresa empresas = empresaRepository.findByCnpj(empresa.getCnpj(), empresa.isAtivo());
+        return filtroUnicidade.existe(CampoUnico.CNPJ, empresa.getCnpj(), cnpj -> cnpjAtivo(cnpj, empresa.isAtivo()));
+    }
+
+    private boolean cnpjAtivo(String cnpj, boolean ativo) {
+        Empresa empresas = empresaRepository.findByCnpj(cnpj, ativo);
+        if (empresas == null) {
+            return false;
+        }
         if (!empresas.isAtivo()) {
             throw new ContaInativaException();
         }
@@ -113,7 +160,8 @@ public class EmpresaService {
      * @throws EmailUniqueException Mostrando o status e a mensagem.
      **/
     private void verificarExistenciaEmailNaBaseDeDados(Empresa empresa) {
-        boolean emailExistente = empresaRepository.existsByEmail(empresa.getEmail());
+        boolean emailExistente = filtroUnicidade.existe(CampoUnico.EMAIL_EMPRESA, empresa.getEmail(),
+                empresaRepository::existsByEmail);
         if (emailExistente) {
             throw new EmailUniqueException();
         }
@@ -154,6 +202,67 @@ public class EmpresaService {
         }
     }
 
+    /**
+     * Busca uma empresa pelo id bloqueando a linha até o fim da transação corrente.
+     *
+     * @param id o id da empresa.
+     * @return a empresa bloqueada para atualização de saldo.
+     * @throws EmpresaNotFoundException se a empresa não existir na base de dados.
+     **/
+    public Empresa bloquearParaAtualizacao(Long id) {
+        return empresaRepository.findByIdParaAtualizacao(id).orElseThrow(EmpresaNotFoundException::new);
+    }
+
+    /**
+     * Retorna uma referência à empresa sem consultar a base de dados.
+     * Os dados só são carregados quando algum atributo além do id for acessado.
+     *
+     * @param id o id da empresa.
+     * @return a referência à empresa.
+     **/
+    public Empresa referenciaPorId(Long id) {
+        return empresaRepository.getReferenceById(id);
+    }
+
+    /**
+     * Busca apenas a taxa do sistema da empresa, servida pelo {@link CacheContas}.
+     *
+     * @param id o id da empresa.
+     * @return a taxa do sistema da empresa.
+     * @throws EmpresaNotFoundException se a empresa não existir na base de dados.
+     **/
+    public BigDecimal buscarTaxaSistema(Long id) {
+        return cacheContas.empresa(id).taxaSistema();
+    }
+
+    /**
+     * Debita o valor do saldo da empresa numa única instrução condicionada ao saldo disponível.
+     *
+     * @param id o id da empresa.
+     * @param valor o valor a ser debitado.
+     * @throws EmpresaNotFoundException se a empresa não existir na base de dados.
+     * @throws SaldoNegativoException se o saldo da empresa for menor que o valor.
+     **/
+    public void debitarSaldo(Long id, Money valor) {
+        if (empresaRepository.debitarSaldo(id, valor.toBigDecimal()) == 0) {
+            buscarEmpresaPorId(id);
+            throw new SaldoNegativoException();
+        }
+    }
+
+    /**
+     * Credita o valor no saldo da empresa numa única instrução.
+     *
+     * @param id o id da empresa.
+     * @param valor o valor a ser creditado.
+     * @throws EmpresaNotFoundException se a empresa não existir na base de dados.
+     **/
+    public void creditarSaldo(Long id, Money valor) {
+        if (empresaRepository.creditarSaldo(id, valor.toBigDecimal()) == 0) {
+            throw new EmpresaNotFoundException();
+        }
+    }
+
     /**
      * Atualiza uma empresa na base de dados com base no ID fornecido.
      *
@@ -173,8 +282,11 @@ public class EmpresaService {
         verificarEmailAtivoDaEmpresa(empresaById.get());
         verificarExistenciaEmailNaBaseDeDados(empresa);
         Empresa updateCompany = atualizadorEntidade.verifyNameAndEmailAndRateSystemNotNull(empresa, empresaById);
-
-        return empresaRepository.save(updateCompany);
+        Empresa empresaAtualizada = empresaRepository.save(updateCompany);
+        filtroUnicidade.registrar(CampoUnico.EMAIL_EMPRESA, empresaAtualizada.getEmail());
+        cacheContas.invalidarEmpresa(empresaAtualizada.getId());
+        ledgerMemoria.ifAvailable(ledger -> ledger.atualizarTaxaSistema(empresaAtualizada.getId(), empresaAtualizada.getTaxaSistema()));
+        return empresaAtualizada;
     }
 
     /**
@@ -188,6 +300,7 @@ public class EmpresaService {
         Empresa empresa = empresaOpitinal.get();
         empresa.setAtivo(false);
         empresaRepository.save(empresa);
+        cacheContas.invalidarEmpresa(empresa.getId());
         return empresa;
     }
 }
\ No newline at end of file
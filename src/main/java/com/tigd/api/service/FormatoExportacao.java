@@ -0,0 +1,30 @@
+package com.tigd.api.service;
+
+/**
+ * Formatos da exportação de transações.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public enum FormatoExportacao {
+
+    /**
+     * Um objeto JSON por linha.
+     */
+    NDJSON("application/x-ndjson"),
+
+    /**
+     * Valores separados por vírgula, com linha de cabeçalho.
+     */
+    CSV("text/csv");
+
+    private final String tipoConteudo;
+
+    FormatoExportacao(String tipoConteudo) {
+        this.tipoConteudo = tipoConteudo;
+    }
+
+    public String getTipoConteudo() {
+        return tipoConteudo;
+    }
+}
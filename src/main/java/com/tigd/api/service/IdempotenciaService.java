@@ -0,0 +1,194 @@
+package com.tigd.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.RespostaTransacaoDTO;
+import com.tigd.api.exceptions.ChaveIdempotenciaEmUsoException;
+import com.tigd.api.exceptions.ChaveIdempotenciaInvalidaException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * @author gemeoslemes viniciuslemes10<br>
+ * A classe IdempotenciaService garante que uma transação enviada com a mesma chave de idempotência
+ * ({@code Idempotency-Key}) seja processada uma única vez.
+ * <br>
+ * As respostas recentes ficam num cache limitado e com expiração. Atrás do cache está a tabela {@code idempotencia}:
+ * a chave e a resposta são inseridas na mesma transação de banco que altera os saldos, então uma resposta gravada
+ * corresponde sempre a uma transação aplicada, e uma queda no meio do processamento não deixa a chave presa. Se duas
+ * instâncias da aplicação processarem a mesma chave, a inserção da segunda espera pela primeira e falha com chave
+ * duplicada, desfazendo a segunda transação, que devolve a resposta da primeira. Requisições simultâneas com a mesma
+ * chave na mesma instância esperam pelo resultado da primeira.
+ * <br>
+ * A resposta guardada tem só os ids do cliente e da empresa, sem os dados e saldos das contas.
+ **/
+@Service
+public class IdempotenciaService {
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+    private static final String GRAVAR_RESPOSTA = "INSERT INTO idempotencia (chave, resposta, criada_em) VALUES (?, ?, ?)";
+    private static final String BUSCAR_RESPOSTA = "SELECT resposta FROM idempotencia WHERE chave = ?";
+    private static final String REMOVER_EXPIRADAS = "DELETE FROM idempotencia WHERE criada_em < ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.idempotencia.maximo-chaves:100000}")
+    private long maximoChaves;
+
+    @Value("${api.idempotencia.retencao-horas:24}")
+    private long retencaoHoras;
+
+    private Cache<String, RespostaTransacaoDTO> respostas;
+
+    private final ConcurrentMap<String, CompletableFuture<Transacao>> emAndamento = new ConcurrentHashMap<>();
+
+    /**
+     * Cria o cache de respostas e registra suas métricas, disponíveis em {@code /actuator/metrics}.
+     **/
+    @PostConstruct
+    void iniciar() {
+        respostas = Caffeine.newBuilder()
+                .maximumSize(maximoChaves)
+                .expireAfterWrite(Duration.ofHours(retencaoHoras))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, respostas, "idempotencia");
+    }
+
+    /**
+     * Executa a operação uma única vez por chave e devolve sempre a mesma transação para a mesma chave.
+     * <br>
+     * A operação recebe a gravação da resposta, que deve ser executada na transação de banco que aplica a
+     * transação, como faz {@link TransacaoService#processarTransacao(Transacao, Consumer)}. Se a operação falhar,
+     * nada é gravado e o cliente pode repetir a requisição.
+     *
+     * @param chave    a chave de idempotência enviada pelo cliente.
+     * @param operacao o processamento da transação, que recebe a gravação da resposta.
+     * @return a transação processada na primeira requisição com esta chave, com o cliente e a empresa identificados
+     * apenas pelo id.
+     * @throws ChaveIdempotenciaInvalidaException se a chave for vazia ou longa demais.
+     * @throws ChaveIdempotenciaEmUsoException se outra instância gravou a chave, mas a resposta não pôde ser lida.
+     */
+    public Transacao executar(String chave, Function<Consumer<Transacao>, Transacao> operacao) {
+        validarChave(chave);
+        RespostaTransacaoDTO resposta = respostas.getIfPresent(chave);
+        if (resposta != null) {
+            return resposta.transacao();
+        }
+
+        CompletableFuture<Transacao> resultado = new CompletableFuture<>();
+        CompletableFuture<Transacao> existente = emAndamento.putIfAbsent(chave, resultado);
+        if (existente != null) {
+            return aguardar(existente);
+        }
+        try {
+            Transacao transacao = executarUmaVez(chave, operacao);
+            resultado.complete(transacao);
+            return transacao;
+        } catch (RuntimeException e) {
+            resultado.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, resultado);
+        }
+    }
+
+    /**
+     * Executa a operação se a chave ainda não tiver sido usada, consultando o cache de novo e depois a tabela.
+     */
+    private Transacao executarUmaVez(String chave, Function<Consumer<Transacao>, Transacao> operacao) {
+        Optional<RespostaTransacaoDTO> armazenada = Optional.ofNullable(respostas.getIfPresent(chave))
+                .or(() -> buscarRespostaGravada(chave));
+        if (armazenada.isPresent()) {
+            respostas.put(chave, armazenada.get());
+            return armazenada.get().transacao();
+        }
+
+        RespostaTransacaoDTO resposta;
+        try {
+            resposta = RespostaTransacaoDTO.de(operacao.apply(processada -> gravarResposta(chave, processada)));
+        } catch (DuplicateKeyException e) {
+            resposta = buscarRespostaGravada(chave).orElseThrow(ChaveIdempotenciaEmUsoException::new);
+        }
+        respostas.put(chave, resposta);
+        return resposta.transacao();
+    }
+
+    private void gravarResposta(String chave, Transacao transacao) {
+        jdbcTemplate.update(GRAVAR_RESPOSTA, chave, serializar(RespostaTransacaoDTO.de(transacao)),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private Optional<RespostaTransacaoDTO> buscarRespostaGravada(String chave) {
+        String resposta = jdbcTemplate.query(BUSCAR_RESPOSTA, rs -> rs.next() ? rs.getString(1) : null, chave);
+        return Optional.ofNullable(resposta).map(this::desserializar);
+    }
+
+    private Transacao aguardar(CompletableFuture<Transacao> resultado) {
+        try {
+            return resultado.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private void validarChave(String chave) {
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new ChaveIdempotenciaInvalidaException();
+        }
+    }
+
+    private String serializar(RespostaTransacaoDTO resposta) {
+        try {
+            return objectMapper.writeValueAsString(resposta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível gravar a resposta da transação " + resposta.id(), e);
+        }
+    }
+
+    private RespostaTransacaoDTO desserializar(String resposta) {
+        try {
+            return objectMapper.readValue(resposta, RespostaTransacaoDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta gravada para chave de idempotência ilegível", e);
+        }
+    }
+
+    /**
+     * Remove da tabela as chaves mais antigas que o período de retenção.
+     **/
+    @Scheduled(fixedDelayString = "${api.idempotencia.intervalo-limpeza-ms:3600000}")
+    void removerChavesExpiradas() {
+        jdbcTemplate.update(REMOVER_EXPIRADAS, Timestamp.valueOf(LocalDateTime.now().minusHours(retencaoHoras)));
+    }
+}
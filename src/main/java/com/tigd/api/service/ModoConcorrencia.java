@@ -0,0 +1,45 @@
+package com.tigd.api.service;
+
+/**
+ * Define como o {@link TransacaoService} protege os saldos de clientes e empresas contra
+ * atualizações concorrentes.
+ *
+ * O modo é escolhido por implantação através da propriedade {@code api.transacao.modo-concorrencia}.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public enum ModoConcorrencia {
+
+    /**
+     * Lê e grava os saldos sem nenhum bloqueio. Duas transações simultâneas sobre a mesma conta
+     * podem sobrescrever o saldo uma da outra.
+     */
+    SEM_BLOQUEIO,
+
+    /**
+     * Bloqueia as linhas do cliente e da empresa ({@code SELECT ... FOR UPDATE}) em ordem determinística
+     * durante toda a transação.
+     */
+    PESSIMISTA,
+
+    /**
+     * Não bloqueia as contas na leitura. A coluna {@code version} detecta gravações conflitantes e a transação
+     * é refeita com leituras novas, até o limite de tentativas configurado. Indicado para contas com pouca disputa.
+     */
+    OTIMISTA,
+
+    /**
+     * Não lê os saldos. Cada conta é debitada ou creditada por uma única instrução {@code UPDATE}
+     * condicionada ao saldo disponível, e o número de linhas afetadas indica se havia saldo suficiente.
+     */
+    ATOMICO,
+
+    /**
+     * Aplica as transações sobre saldos mantidos em memória por shards com uma única thread escritora
+     * e grava os resultados na base de dados em segundo plano, em lotes.
+     *
+     * @see com.tigd.api.service.ledger.LedgerMemoria
+     */
+    MEMORIA
+}
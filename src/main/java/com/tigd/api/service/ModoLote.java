@@ -0,0 +1,20 @@
+package com.tigd.api.service;
+
+/**
+ * Define o que acontece com um lote de transações quando algum item é recusado.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public enum ModoLote {
+
+    /**
+     * Se um item for recusado, nenhum item do lote é aplicado.
+     */
+    TUDO_OU_NADA,
+
+    /**
+     * Os itens recusados são ignorados e os demais são aplicados.
+     */
+    MELHOR_ESFORCO
+}
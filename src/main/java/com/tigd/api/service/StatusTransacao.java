@@ -0,0 +1,25 @@
+package com.tigd.api.service;
+
+/**
+ * Situação de uma transação enviada de forma assíncrona.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public enum StatusTransacao {
+
+    /**
+     * A transação foi aceita e aguarda na fila ou está sendo processada.
+     */
+    PENDENTE,
+
+    /**
+     * A transação foi processada e gravada.
+     */
+    APLICADA,
+
+    /**
+     * A transação foi processada e recusada; o motivo acompanha a situação.
+     */
+    RECUSADA
+}
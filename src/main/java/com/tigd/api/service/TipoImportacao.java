@@ -0,0 +1,20 @@
+package com.tigd.api.service;
+
+/**
+ * Define o cadastro preenchido por uma importação de arquivo CSV.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public enum TipoImportacao {
+
+    /**
+     * Colunas obrigatórias {@code nome}, {@code cpf} e {@code email}; opcional {@code saldo}.
+     */
+    CLIENTES,
+
+    /**
+     * Colunas obrigatórias {@code nome}, {@code cnpj} e {@code email}; opcionais {@code saldo} e {@code taxa_sistema}.
+     */
+    EMPRESAS
+}
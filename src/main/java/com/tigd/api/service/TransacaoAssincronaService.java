@@ -0,0 +1,223 @@
+package com.tigd.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.SituacaoTransacaoDTO;
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.exceptions.FilaTransacoesCheiaException;
+import com.tigd.api.exceptions.SituacaoTransacaoNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author gemeoslemes viniciuslemes10<br>
+ * A classe TransacaoAssincronaService aceita transações para processamento em segundo plano.
+ * <br>
+ * A transação é validada sem acessar a base de dados, colocada numa fila limitada e respondida na hora com um
+ * identificador. Um grupo fixo de threads consome a fila e chama {@link TransacaoService#processarTransacao(Transacao)},
+ * de modo que o tempo de resposta ao cliente não depende do tempo da base de dados. A situação de cada transação
+ * fica disponível por {@link #buscarSituacao(UUID)} até o fim do período de retenção, num cache limitado: quando
+ * ele está cheio, as situações concluídas mais antigas ou menos consultadas são descartadas primeiro. As pendentes
+ * nunca são descartadas, e são limitadas pela capacidade da fila.
+ **/
+@Service
+public class TransacaoAssincronaService {
+    private static final Logger log = LoggerFactory.getLogger(TransacaoAssincronaService.class);
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.transacao.assincrona.threads:4}")
+    private int threads;
+
+    @Value("${api.transacao.assincrona.capacidade-fila:10000}")
+    private int capacidadeFila;
+
+    @Value("${api.transacao.assincrona.retencao-minutos:60}")
+    private long retencaoMinutos;
+
+    @Value("${api.transacao.assincrona.maximo-situacoes:100000}")
+    private long maximoSituacoes;
+
+    private Cache<UUID, SituacaoTransacaoDTO> situacoes;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer espera;
+
+    private Timer processamento;
+
+    private Counter filaCheia;
+
+    /**
+     * Cria o grupo de threads e o cache de situações e registra as métricas dos dois, disponíveis em
+     * {@code /actuator/metrics}.
+     **/
+    @PostConstruct
+    void iniciar() {
+        situacoes = Caffeine.newBuilder()
+                .maximumWeight(maximoSituacoes)
+                .weigher((UUID id, SituacaoTransacaoDTO situacao) -> situacao.concluidaEm() == null ? 0 : 1)
+                .expireAfterWrite(Duration.ofMinutes(retencaoMinutos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, situacoes, "transacoes-assincronas");
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "transacao-assincrona-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("transacoes.assincronas.fila", executor, e -> e.getQueue().size())
+                .description("Transações aceitas aguardando uma thread livre")
+                .register(meterRegistry);
+        Gauge.builder("transacoes.assincronas.utilizacao", executor, e -> (double) e.getActiveCount() / e.getMaximumPoolSize())
+                .description("Fração das threads de processamento ocupadas")
+                .register(meterRegistry);
+        espera = Timer.builder("transacoes.assincronas.espera")
+                .description("Tempo entre a aceitação da transação e o início do processamento")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        processamento = Timer.builder("transacoes.assincronas.processamento")
+                .description("Tempo de processamento de cada transação assíncrona")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        filaCheia = Counter.builder("transacoes.assincronas.fila-cheia")
+                .description("Transações recusadas porque a fila estava cheia")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Valida a transação e a coloca na fila de processamento.
+     *
+     * @param transacaoDTO a transação a ser processada.
+     * @return a situação inicial, {@link StatusTransacao#PENDENTE}, com o identificador para consulta.
+     * @throws IllegalArgumentException se o tipo, o valor, o cliente ou a empresa forem inválidos.
+     * @throws FilaTransacoesCheiaException se a fila estiver cheia.
+     */
+    public SituacaoTransacaoDTO enviar(TransacaoDTO transacaoDTO) {
+        validar(transacaoDTO);
+        SituacaoTransacaoDTO situacao = SituacaoTransacaoDTO.pendente(UUID.randomUUID());
+        situacoes.put(situacao.id(), situacao);
+        long aceitaEm = System.nanoTime();
+        try {
+            executor.execute(new TarefaTransacao(situacao, transacaoDTO, aceitaEm));
+        } catch (RejectedExecutionException e) {
+            situacoes.invalidate(situacao.id());
+            filaCheia.increment();
+            throw new FilaTransacoesCheiaException();
+        }
+        return situacao;
+    }
+
+    /**
+     * Busca a situação de uma transação enviada por {@link #enviar(TransacaoDTO)}.
+     *
+     * @param id o identificador devolvido no envio.
+     * @return a situação atual da transação.
+     * @throws SituacaoTransacaoNotFoundException se o identificador for desconhecido, já tiver expirado ou tiver sido descartado com o cache cheio.
+     */
+    public SituacaoTransacaoDTO buscarSituacao(UUID id) {
+        SituacaoTransacaoDTO situacao = situacoes.getIfPresent(id);
+        if (situacao == null) {
+            throw new SituacaoTransacaoNotFoundException();
+        }
+        return situacao;
+    }
+
+    /**
+     * Uma transação aceita e ainda na fila. Guarda a situação para que a transação possa ser recusada se o serviço
+     * for encerrado antes de processá-la.
+     */
+    private class TarefaTransacao implements Runnable {
+        private final SituacaoTransacaoDTO situacao;
+        private final TransacaoDTO transacaoDTO;
+        private final long aceitaEm;
+
+        TarefaTransacao(SituacaoTransacaoDTO situacao, TransacaoDTO transacaoDTO, long aceitaEm) {
+            this.situacao = situacao;
+            this.transacaoDTO = transacaoDTO;
+            this.aceitaEm = aceitaEm;
+        }
+
+        @Override
+        public void run() {
+            espera.record(System.nanoTime() - aceitaEm, TimeUnit.NANOSECONDS);
+            processamento.record(() -> {
+                try {
+                    Transacao transacao = transacaoService.processarTransacao(new Transacao(transacaoDTO));
+                    situacoes.put(situacao.id(), situacao.aplicada(transacao.getId()));
+                } catch (RuntimeException e) {
+                    situacoes.put(situacao.id(), situacao.recusada(e.getMessage()));
+                }
+            });
+        }
+
+        void recusarNoEncerramento() {
+            situacoes.put(situacao.id(), situacao.recusada("Serviço encerrado antes do processamento da transação."));
+            log.error("Transação assíncrona {} recusada no encerramento sem ter sido processada: {}", situacao.id(), transacaoDTO);
+        }
+    }
+
+    /**
+     * Faz as verificações que não dependem da base de dados, para que uma transação claramente inválida
+     * seja recusada na própria requisição.
+     */
+    private void validar(TransacaoDTO transacaoDTO) {
+        char tipo = Character.toUpperCase(transacaoDTO.tipo());
+        if (tipo != 'D' && tipo != 'S') {
+            throw new IllegalArgumentException("Tipo de transação inválido: " + tipo);
+        }
+        if (transacaoDTO.valor() == null || transacaoDTO.valor().signum() <= 0) {
+            throw new IllegalArgumentException("Valor de transação inválido: " + transacaoDTO.valor());
+        }
+        if (transacaoDTO.cliente() == null || transacaoDTO.empresa() == null) {
+            throw new IllegalArgumentException("Cliente e empresa são obrigatórios.");
+        }
+    }
+
+    /**
+     * Para de aceitar transações e aguarda as que já estão na fila. Se a fila não esvaziar em 30 segundos, as
+     * threads são interrompidas e as transações que não começaram são marcadas como
+     * {@link StatusTransacao#RECUSADA} e registradas no log, para que nenhuma transação aceita desapareça sem aviso.
+     **/
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        executor.shutdown();
+        if (executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            return;
+        }
+        List<Runnable> naoIniciadas = executor.shutdownNow();
+        log.error("Encerramento com {} transações assíncronas não processadas", naoIniciadas.size());
+        for (Runnable tarefa : naoIniciadas) {
+            ((TarefaTransacao) tarefa).recusarNoEncerramento();
+        }
+    }
+}
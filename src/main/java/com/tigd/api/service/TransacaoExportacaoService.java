@@ -0,0 +1,109 @@
+package com.tigd.api.service;
+
+import com.tigd.api.dto.TransacaoResumoDTO;
+import com.tigd.api.repository.TransacaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * @author gemeoslemes viniciuslemes10<br>
+ * A classe TransacaoExportacaoService escreve todas as transações num {@link OutputStream}, linha a linha.
+ * <br>
+ * As transações são lidas por um cursor do banco em blocos e escritas assim que chegam, sem montar uma lista.
+ * A memória usada é a de um bloco de leitura e de um buffer de escrita, qualquer que seja o tamanho da tabela.
+ **/
+@Service
+public class TransacaoExportacaoService {
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final String CABECALHO_CSV = "id,valor,data,tipo,cliente,empresa\n";
+
+    @Autowired
+    private TransacaoRepository repository;
+
+    /**
+     * Exporta todas as transações, em ordem de id.
+     *
+     * @param formato o formato das linhas.
+     * @param saida onde as linhas são escritas; não é fechado por este método.
+     * @throws IOException se a escrita falhar, por exemplo quando o cliente HTTP desconecta.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(FormatoExportacao formato, OutputStream saida) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        if (formato == FormatoExportacao.CSV) {
+            escritor.write(CABECALHO_CSV);
+        }
+        try (Stream<TransacaoResumoDTO> transacoes = repository.streamAllResumos()) {
+            transacoes.forEach(transacao -> escrever(escritor, formato, transacao));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        escritor.flush();
+    }
+
+    private void escrever(Writer escritor, FormatoExportacao formato, TransacaoResumoDTO transacao) {
+        try {
+            if (formato == FormatoExportacao.CSV) {
+                escreverCsv(escritor, transacao);
+            } else {
+                escreverNdjson(escritor, transacao);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escreverNdjson(Writer escritor, TransacaoResumoDTO transacao) throws IOException {
+        escritor.write("{\"id\":");
+        escritor.write(String.valueOf(transacao.id()));
+        escritor.write(",\"valor\":");
+        escritor.write(String.valueOf(transacao.valor()));
+        escritor.write(",\"data\":");
+        escreverTextoJson(escritor, transacao.data());
+        escritor.write(",\"tipo\":");
+        escreverTextoJson(escritor, transacao.tipo());
+        escritor.write(",\"cliente\":");
+        escritor.write(String.valueOf(transacao.cliente()));
+        escritor.write(",\"empresa\":");
+        escritor.write(String.valueOf(transacao.empresa()));
+        escritor.write("}\n");
+    }
+
+    private void escreverCsv(Writer escritor, TransacaoResumoDTO transacao) throws IOException {
+        escritor.write(String.valueOf(transacao.id()));
+        escritor.write(',');
+        escritor.write(transacao.valor() == null ? "" : transacao.valor().toString());
+        escritor.write(',');
+        escritor.write(transacao.data() == null ? "" : transacao.data().toString());
+        escritor.write(',');
+        escritor.write(transacao.tipo() == null ? "" : transacao.tipo().toString());
+        escritor.write(',');
+        escritor.write(transacao.cliente() == null ? "" : transacao.cliente().toString());
+        escritor.write(',');
+        escritor.write(transacao.empresa() == null ? "" : transacao.empresa().toString());
+        escritor.write('\n');
+    }
+
+    /**
+     * Escreve datas e o tipo entre aspas. Nenhum dos dois contém caracteres que precisem de escape em JSON.
+     */
+    private void escreverTextoJson(Writer escritor, Object valor) throws IOException {
+        if (valor == null) {
+            escritor.write("null");
+            return;
+        }
+        escritor.write('"');
+        escritor.write(valor.toString());
+        escritor.write('"');
+    }
+}
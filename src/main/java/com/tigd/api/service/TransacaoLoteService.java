@@ -0,0 +1,241 @@
+package com.tigd.api.service;
+
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Money;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.ResultadoItemLoteDTO;
+import com.tigd.api.dto.ResultadoLoteDTO;
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.exceptions.ElementNotFoundException;
+import com.tigd.api.exceptions.LoteMuitoGrandeException;
+import com.tigd.api.exceptions.LoteNaoSuportadoException;
+import com.tigd.api.exceptions.SaldoNegativoException;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.id.GeradorIds;
+import com.tigd.api.service.resumo.ResumoDiarioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @author gemeoslemes viniciuslemes10<br>
+ * A classe TransacaoLoteService processa várias transações numa única transação de banco.
+ * <br>
+ * Cada cliente e cada empresa do lote é carregado e bloqueado uma única vez, na mesma ordem usada pelo
+ * {@link TransacaoService} (clientes antes de empresas, menor id primeiro). Os itens são aplicados em memória,
+ * na ordem recebida, as linhas de {@code transacao} são inseridas num único lote JDBC, os resumos diários recebem
+ * a soma do lote e os saldos alterados são gravados no commit.
+ **/
+@Service
+public class TransacaoLoteService {
+    private static final String INSERIR_TRANSACAO =
+            "INSERT INTO transacao (id, valor, valor_taxa, data, tipo, cliente_id, empresa_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GeradorIds geradorIds;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${api.transacao.modo-concorrencia:ATOMICO}")
+    private ModoConcorrencia modoConcorrencia;
+
+    @Value("${api.transacao.lote.maximo:1000}")
+    private int maximoItens;
+
+    /**
+     * Processa um lote de transações.
+     *
+     * @param itens as transações do lote, na ordem em que devem ser aplicadas.
+     * @param modo  o que fazer quando um item é recusado.
+     * @return o resultado de cada item, na mesma ordem do lote.
+     * @throws LoteMuitoGrandeException se o lote tiver mais itens que {@code api.transacao.lote.maximo}.
+     * @throws LoteNaoSuportadoException se o lote for {@link ModoLote#TUDO_OU_NADA} e os saldos estiverem em memória.
+     * @see #processarEmMemoria(List)
+     */
+    public ResultadoLoteDTO processarLote(List<TransacaoDTO> itens, ModoLote modo) {
+        if (itens.size() > maximoItens) {
+            throw new LoteMuitoGrandeException(itens.size(), maximoItens);
+        }
+        if (modoConcorrencia == ModoConcorrencia.MEMORIA) {
+            if (modo == ModoLote.TUDO_OU_NADA) {
+                throw new LoteNaoSuportadoException();
+            }
+            return processarEmMemoria(itens);
+        }
+        return transactionTemplate.execute(status -> {
+            Map<Long, Cliente> clientes = carregarClientes(itens);
+            Map<Long, Empresa> empresas = carregarEmpresas(itens);
+            ResultadoItemLoteDTO[] resultados = new ResultadoItemLoteDTO[itens.size()];
+            List<Transacao> aplicadas = new ArrayList<>(itens.size());
+            List<Integer> indicesAplicados = new ArrayList<>(itens.size());
+
+            for (int i = 0; i < itens.size(); i++) {
+                try {
+                    aplicadas.add(aplicar(itens.get(i), clientes, empresas));
+                    indicesAplicados.add(i);
+                } catch (IllegalArgumentException | NoSuchElementException e) {
+                    if (modo == ModoLote.TUDO_OU_NADA) {
+                        status.setRollbackOnly();
+                        return loteDesfeito(itens.size(), i, e.getMessage());
+                    }
+                    resultados[i] = ResultadoItemLoteDTO.recusada(i, e.getMessage());
+                }
+            }
+
+            List<Long> ids = inserir(aplicadas);
+            resumoDiarioService.registrar(aplicadas);
+            for (int i = 0; i < indicesAplicados.size(); i++) {
+                int indice = indicesAplicados.get(i);
+                resultados[indice] = ResultadoItemLoteDTO.aplicada(indice, ids.get(i));
+            }
+            return new ResultadoLoteDTO(modo, aplicadas.size(), itens.size() - aplicadas.size(), Arrays.asList(resultados));
+        });
+    }
+
+    /**
+     * Aplica os itens um a um pelo {@link TransacaoService} quando os saldos estão no ledger em memória,
+     * que não desfaz transações já aplicadas.
+     *
+     * @param itens as transações do lote.
+     * @return o resultado de cada item.
+     */
+    private ResultadoLoteDTO processarEmMemoria(List<TransacaoDTO> itens) {
+        List<ResultadoItemLoteDTO> resultados = new ArrayList<>(itens.size());
+        int aplicadas = 0;
+        for (int i = 0; i < itens.size(); i++) {
+            try {
+                Transacao transacao = transacaoService.processarTransacao(new Transacao(itens.get(i)));
+                resultados.add(ResultadoItemLoteDTO.aplicada(i, transacao.getId()));
+                aplicadas++;
+            } catch (IllegalArgumentException | NoSuchElementException e) {
+                resultados.add(ResultadoItemLoteDTO.recusada(i, e.getMessage()));
+            }
+        }
+        return new ResultadoLoteDTO(ModoLote.MELHOR_ESFORCO, aplicadas, itens.size() - aplicadas, resultados);
+    }
+
+    /**
+     * Valida um item e aplica seu movimento sobre o cliente e a empresa já carregados.
+     *
+     * @return a transação pronta para ser inserida.
+     * @throws IllegalArgumentException se o tipo ou o valor forem inválidos.
+     * @throws ElementNotFoundException se o cliente ou a empresa não existirem.
+     * @throws SaldoNegativoException se a conta debitada não tiver saldo para o valor com taxa.
+     */
+    private Transacao aplicar(TransacaoDTO dto, Map<Long, Cliente> clientes, Map<Long, Empresa> empresas) {
+        char tipo = Character.toUpperCase(dto.tipo());
+        if (tipo != 'D' && tipo != 'S') {
+            throw new IllegalArgumentException("Tipo de transação inválido: " + tipo);
+        }
+        if (dto.valor() == null || dto.valor().signum() <= 0) {
+            throw new IllegalArgumentException("Valor de transação inválido: " + dto.valor());
+        }
+        Cliente cliente = clientes.get(dto.cliente());
+        Empresa empresa = empresas.get(dto.empresa());
+        if (cliente == null || empresa == null) {
+            throw new ElementNotFoundException();
+        }
+
+        Money valor = Money.of(dto.valor());
+        Money valorComTaxa = valor.comTaxa(empresa.getTaxaSistema());
+        if (tipo == 'D') {
+            verificarSaldoSuficiente(cliente.getSaldo(), valorComTaxa);
+            cliente.setSaldo(cliente.getSaldo().subtrair(valorComTaxa));
+            empresa.setSaldo(empresa.getSaldo().somar(valor));
+        } else {
+            verificarSaldoSuficiente(empresa.getSaldo(), valorComTaxa);
+            empresa.setSaldo(empresa.getSaldo().subtrair(valorComTaxa));
+            cliente.setSaldo(cliente.getSaldo().somar(valor));
+        }
+
+        Transacao transacao = new Transacao(dto);
+        transacao.setTipo(tipo);
+        transacao.setValorTaxa(valorComTaxa.subtrair(valor));
+        transacao.setCliente(cliente);
+        transacao.setEmpresa(empresa);
+        return transacao;
+    }
+
+    private void verificarSaldoSuficiente(Money saldo, Money valor) {
+        if (saldo.menorQue(valor)) {
+            throw new SaldoNegativoException();
+        }
+    }
+
+    /**
+     * Insere as transações aplicadas num único lote JDBC, com ids do {@link GeradorIds}.
+     *
+     * @param transacoes as transações aplicadas, na ordem do lote.
+     * @return os ids das transações, na mesma ordem.
+     */
+    private List<Long> inserir(List<Transacao> transacoes) {
+        if (transacoes.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(transacoes.size());
+        for (Transacao transacao : transacoes) {
+            transacao.setId(geradorIds.proximo(GeradorIds.TRANSACAO));
+            ids.add(transacao.getId());
+        }
+        jdbcTemplate.batchUpdate(INSERIR_TRANSACAO, transacoes, transacoes.size(), (ps, transacao) -> {
+            ps.setLong(1, transacao.getId());
+            ps.setBigDecimal(2, transacao.getValor().toBigDecimal());
+            ps.setBigDecimal(3, transacao.getValorTaxa().toBigDecimal());
+            ps.setTimestamp(4, Timestamp.valueOf(transacao.getData()));
+            ps.setString(5, String.valueOf(transacao.getTipo()));
+            ps.setLong(6, transacao.getCliente().getId());
+            ps.setLong(7, transacao.getEmpresa().getId());
+        });
+        return ids;
+    }
+
+    private ResultadoLoteDTO loteDesfeito(int tamanho, int indiceRecusado, String motivo) {
+        List<ResultadoItemLoteDTO> resultados = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            resultados.add(ResultadoItemLoteDTO.recusada(i, i == indiceRecusado ? motivo : "Lote desfeito pela recusa do item " + indiceRecusado));
+        }
+        return new ResultadoLoteDTO(ModoLote.TUDO_OU_NADA, 0, tamanho, resultados);
+    }
+
+    private Map<Long, Cliente> carregarClientes(List<TransacaoDTO> itens) {
+        Set<Long> ids = itens.stream().map(TransacaoDTO::cliente).filter(id -> id != null).collect(Collectors.toSet());
+        return clienteRepository.findAllByIdParaAtualizacao(ids).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+    }
+
+    private Map<Long, Empresa> carregarEmpresas(List<TransacaoDTO> itens) {
+        Set<Long> ids = itens.stream().map(TransacaoDTO::empresa).filter(id -> id != null).collect(Collectors.toSet());
+        return empresaRepository.findAllByIdParaAtualizacao(ids).stream()
+                .collect(Collectors.toMap(Empresa::getId, Function.identity()));
+    }
+}
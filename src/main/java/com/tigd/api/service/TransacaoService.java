@@ -2,17 +2,38 @@ package com.tigd.api.service;
 
 import com.tigd.api.domain.Cliente;
 import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Money;
 import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.FiltroTransacoesDTO;
+import com.tigd.api.dto.PaginaTransacoesDTO;
+import com.tigd.api.dto.TransacaoResumoDTO;
+import com.tigd.api.exceptions.ClienteNotFoundException;
+import com.tigd.api.exceptions.ConflitoConcorrenciaException;
+import com.tigd.api.exceptions.CursorInvalidoException;
 import com.tigd.api.exceptions.ElementNotFoundException;
+import com.tigd.api.exceptions.EmpresaNotFoundException;
 import com.tigd.api.exceptions.SaldoNegativoException;
+import com.tigd.api.repository.CursorTransacao;
 import com.tigd.api.repository.TransacaoRepository;
+import com.tigd.api.service.ledger.LedgerMemoria;
+import com.tigd.api.service.resumo.ResumoDiarioService;
 import com.tigd.api.validators.TransacaoBancaria;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 /**
  * @author gemeoslemes viniciuslemes10<br>
@@ -23,6 +44,7 @@ import java.util.Optional;
  **/
 @Service
 public class TransacaoService {
+    private static final int LIMITE_MAXIMO_PAGINA = 500;
 
     @Autowired
     private ClienteService clienteService;
@@ -33,6 +55,55 @@ public class TransacaoService {
     @Autowired
     private TransacaoRepository repository;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectProvider<LedgerMemoria> ledgerMemoria;
+
+    @Autowired
+    private CacheContas cacheContas;
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Value("${api.transacao.modo-concorrencia:ATOMICO}")
+    private ModoConcorrencia modoConcorrencia;
+
+    @Value("${api.transacao.otimista.maximo-tentativas:5}")
+    private int maximoTentativas;
+
+    @Value("${api.transacao.otimista.espera-base-ms:5}")
+    private long esperaBaseMs;
+
+    @Value("${api.transacao.otimista.espera-maxima-ms:200}")
+    private long esperaMaximaMs;
+
+    private Counter conflitos;
+
+    private Counter retentativas;
+
+    private Counter tentativasEsgotadas;
+
+    /**
+     * Registra os contadores de concorrência otimista, disponíveis em {@code /actuator/metrics}.
+     **/
+    @PostConstruct
+    void registrarMetricas() {
+        conflitos = Counter.builder("transacoes.otimista.conflitos")
+                .description("Gravações de saldo rejeitadas porque a conta foi alterada por outra transação")
+                .register(meterRegistry);
+        retentativas = Counter.builder("transacoes.otimista.retentativas")
+                .description("Transações refeitas com leituras novas após um conflito")
+                .register(meterRegistry);
+        tentativasEsgotadas = Counter.builder("transacoes.otimista.tentativas-esgotadas")
+                .description("Transações recusadas após atingir o limite de tentativas")
+                .register(meterRegistry);
+    }
+
     /**
      * Verifica o tipo de transação que será realizada 'S' (saque) ou 'D' (depósito).<br>
      * Caso contrário, lança uma exceção IllegalArgumentException.
@@ -44,6 +115,7 @@ public class TransacaoService {
      */
     private Transacao validarTipoTransacao(Transacao transacao) {
         Character tipo = Character.toUpperCase(transacao.getTipo());
+        transacao.setTipo(tipo);
         return obterTransacaoDepositoOuSaqueValidada(transacao, tipo);
     }
 
@@ -65,28 +137,217 @@ public class TransacaoService {
     }
 
     /**
-     * Salva a nova transação realizada na base de dados.
+     * Salva a nova transação realizada na base de dados e a soma aos resumos diários do cliente e da empresa,
+     * na mesma transação de banco.
      *
      * @param transacao a transação que será salva.
+     * @see ResumoDiarioService#registrar(java.util.Collection)
      **/
     private void save(Transacao transacao) {
         repository.save(transacao);
+        resumoDiarioService.registrar(List.of(transacao));
     }
 
     /**
      * Processa uma transação e atualiza os saldos do cliente e da empresa.
+     * <br>
+     * Leitura dos saldos, atualização e registro da transação acontecem numa única transação de banco.
+     * No modo {@link ModoConcorrencia#PESSIMISTA} as contas são bloqueadas antes da leitura,
+     * evitando que duas requisições simultâneas sobrescrevam o saldo uma da outra.
+     * No modo {@link ModoConcorrencia#OTIMISTA} o conflito é detectado na gravação e a transação é refeita.
+     * No modo {@link ModoConcorrencia#ATOMICO} os saldos não são lidos: cada conta recebe uma única instrução condicional.
+     * No modo {@link ModoConcorrencia#MEMORIA} a transação é aplicada pelo {@link LedgerMemoria} e gravada depois.
      *
      * @param transacao a transação que será processada.
      * @return a transação processada que foi salva na base de dados.
+     * @see #processarTransacao(Transacao, Consumer)
+     */
+    public Transacao processarTransacao(Transacao transacao) {
+        return processarTransacao(transacao, processada -> { });
+    }
+
+    /**
+     * Processa uma transação como {@link #processarTransacao(Transacao)} e executa {@code aoGravar} com a transação
+     * processada na mesma transação de banco que altera os saldos e registra a transação, antes da confirmação: se
+     * {@code aoGravar} lançar uma exceção, nada é aplicado. No modo {@link ModoConcorrencia#MEMORIA} não há transação
+     * de banco no processamento, e {@code aoGravar} é executado logo depois da aplicação em memória.
+     *
+     * @param transacao a transação que será processada.
+     * @param aoGravar a gravação que deve ser confirmada junto com a transação.
+     * @return a transação processada que foi salva na base de dados.
      * @see #validarTipoTransacao(Transacao)
+     * @see #verificarContasExistentes(Transacao)
+     * @see #processarComRetentativaOtimista(Transacao, Consumer)
+     * @see #processarAtomicamente(Transacao, Consumer)
+     * @see #bloquearContasEmOrdem(Transacao)
      * @see #processarTipoEspecifico(Transacao)
      * @see #save(Transacao)
      */
-    public Transacao processarTransacao(Transacao transacao) {
+    public Transacao processarTransacao(Transacao transacao, Consumer<Transacao> aoGravar) {
         Transacao tipoVerificado = validarTipoTransacao(transacao);
-        processarTipoEspecifico(tipoVerificado);
-        save(transacao);
-        return transacao;
+        verificarContasExistentes(tipoVerificado);
+        if (modoConcorrencia == ModoConcorrencia.OTIMISTA) {
+            return processarComRetentativaOtimista(tipoVerificado, aoGravar);
+        }
+        if (modoConcorrencia == ModoConcorrencia.ATOMICO) {
+            return processarAtomicamente(tipoVerificado, aoGravar);
+        }
+        if (modoConcorrencia == ModoConcorrencia.MEMORIA) {
+            return processarEmMemoria(tipoVerificado, aoGravar);
+        }
+        return processarEmTransacao(tipoVerificado, aoGravar);
+    }
+
+    /**
+     * Verifica se o cliente e a empresa da transação existem, consultando o {@link CacheContas}.
+     *
+     * @param transacao a transação que será processada.
+     * @throws ClienteNotFoundException se o cliente não existir na base de dados.
+     * @throws EmpresaNotFoundException se a empresa não existir na base de dados.
+     */
+    private void verificarContasExistentes(Transacao transacao) {
+        cacheContas.cliente(transacao.getCliente().getId());
+        cacheContas.empresa(transacao.getEmpresa().getId());
+    }
+
+    /**
+     * Processa a transação no modo {@link ModoConcorrencia#MEMORIA}, aguardando apenas a aplicação em memória.
+     * A transação retornada ainda não tem id, pois a linha é inserida depois pela gravação em lote.
+     *
+     * @param transacao a transação que será processada.
+     * @param aoGravar executado depois da aplicação em memória.
+     * @return a transação aplicada.
+     */
+    private Transacao processarEmMemoria(Transacao transacao, Consumer<Transacao> aoGravar) {
+        try {
+            Transacao aplicada = ledgerMemoria.getObject().aplicar(transacao).join();
+            aoGravar.accept(aplicada);
+            return aplicada;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Processa a transação no modo {@link ModoConcorrencia#ATOMICO}.
+     * <br>
+     * Apenas a taxa do sistema da empresa é consultada. Os saldos são alterados diretamente no banco,
+     * sempre primeiro o do cliente e depois o da empresa, e o débito só acontece se o saldo cobrir o valor com taxa.
+     * Não há leitura seguida de gravação, portanto não há janela em que outra transação possa sobrescrever o saldo.
+     *
+     * @param transacao a transação que será processada.
+     * @param aoGravar executado na mesma transação de banco, depois do registro da transação.
+     * @return a transação processada, referenciando o cliente e a empresa sem carregá-los.
+     * @throws SaldoNegativoException se a conta debitada não tiver saldo suficiente.
+     */
+    private Transacao processarAtomicamente(Transacao transacao, Consumer<Transacao> aoGravar) {
+        return transactionTemplate.execute(status -> {
+            Long clienteId = transacao.getCliente().getId();
+            Long empresaId = transacao.getEmpresa().getId();
+            Money valorComTaxa = calcularValorComTaxa(transacao.getValor(), empresaService.buscarTaxaSistema(empresaId));
+            transacao.setValorTaxa(valorComTaxa.subtrair(transacao.getValor()));
+
+            if (transacao.getTipo() == 'D') {
+                clienteService.debitarSaldo(clienteId, valorComTaxa);
+                empresaService.creditarSaldo(empresaId, transacao.getValor());
+            } else {
+                clienteService.creditarSaldo(clienteId, transacao.getValor());
+                empresaService.debitarSaldo(empresaId, valorComTaxa);
+            }
+
+            transacao.setCliente(clienteService.referenciaPorId(clienteId));
+            transacao.setEmpresa(empresaService.referenciaPorId(empresaId));
+            save(transacao);
+            aoGravar.accept(transacao);
+            return transacao;
+        });
+    }
+
+    /**
+     * Executa bloqueio, atualização dos saldos e registro da transação numa única transação de banco.
+     *
+     * @param transacao a transação que será processada.
+     * @param aoGravar executado na mesma transação de banco, depois do registro da transação.
+     * @return a transação processada.
+     */
+    private Transacao processarEmTransacao(Transacao transacao, Consumer<Transacao> aoGravar) {
+        return transactionTemplate.execute(status -> {
+            bloquearContasEmOrdem(transacao);
+            processarTipoEspecifico(transacao);
+            save(transacao);
+            aoGravar.accept(transacao);
+            return transacao;
+        });
+    }
+
+    /**
+     * Processa a transação no modo {@link ModoConcorrencia#OTIMISTA}.
+     * <br>
+     * Se outra transação alterou o cliente ou a empresa entre a leitura e a gravação, a coluna {@code version}
+     * não confere e o Spring lança {@link OptimisticLockingFailureException}. Nesse caso a transação de banco já foi
+     * desfeita, então a operação é refeita do início, com leituras novas, após uma espera aleatória.
+     *
+     * @param transacao a transação que será processada.
+     * @param aoGravar executado na transação de banco de cada tentativa, depois do registro da transação.
+     * @return a transação processada.
+     * @throws ConflitoConcorrenciaException se todas as tentativas encontrarem conflito.
+     * @see #aguardarAntesDaRetentativa(int)
+     */
+    private Transacao processarComRetentativaOtimista(Transacao transacao, Consumer<Transacao> aoGravar) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return processarEmTransacao(transacao, aoGravar);
+            } catch (OptimisticLockingFailureException e) {
+                conflitos.increment();
+                if (tentativa >= maximoTentativas) {
+                    tentativasEsgotadas.increment();
+                    throw new ConflitoConcorrenciaException();
+                }
+                retentativas.increment();
+                transacao.setId(null);
+                aguardarAntesDaRetentativa(tentativa);
+            }
+        }
+    }
+
+    /**
+     * Aguarda antes de uma nova tentativa. O limite da espera dobra a cada tentativa, até {@code espera-maxima-ms},
+     * e o tempo efetivo é sorteado entre zero e esse limite para que transações em conflito não voltem juntas.
+     *
+     * @param tentativa o número da tentativa que acabou de falhar.
+     * @throws ConflitoConcorrenciaException se a thread for interrompida durante a espera.
+     */
+    private void aguardarAntesDaRetentativa(int tentativa) {
+        long limite = Math.min(esperaMaximaMs, esperaBaseMs << Math.min(tentativa - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(limite + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflitoConcorrenciaException();
+        }
+    }
+
+    /**
+     * Bloqueia o cliente e a empresa da transação quando o modo de concorrência é {@link ModoConcorrencia#PESSIMISTA}.
+     * <br>
+     * A ordem de bloqueio é sempre a mesma: primeiro a tabela de clientes e depois a de empresas,
+     * e dentro de cada tabela o menor id primeiro. Como todas as transações seguem a mesma ordem,
+     * nenhuma fica esperando por um bloqueio que outra segura enquanto espera pelo seu (deadlock).
+     * <br>
+     * As entidades bloqueadas ficam no contexto de persistência, então as buscas seguintes de
+     * {@link #encontrarCliente(Transacao)} e {@link #encontrarEmpresa(Transacao)} reutilizam as mesmas instâncias.
+     *
+     * @param transacao a transação cujas contas serão bloqueadas.
+     */
+    private void bloquearContasEmOrdem(Transacao transacao) {
+        if (modoConcorrencia != ModoConcorrencia.PESSIMISTA) {
+            return;
+        }
+        clienteService.bloquearParaAtualizacao(transacao.getCliente().getId());
+        empresaService.bloquearParaAtualizacao(transacao.getEmpresa().getId());
     }
 
     /**
@@ -125,11 +386,14 @@ public class TransacaoService {
     private void processarTransacao(Transacao transacao, boolean isDebito) {
         Empresa empresa = encontrarEmpresa(transacao);
         Cliente cliente = encontrarCliente(transacao);
+        transacao.setEmpresa(empresa);
+        transacao.setCliente(cliente);
 
-        BigDecimal valorTransacao = obterValorTransacao(transacao);
-        BigDecimal taxaSistema = obterTaxaSistema(empresa);
+        Money valorTransacao = obterValorTransacao(transacao);
+        Money valorComTaxa = calcularValorComTaxa(valorTransacao, obterTaxaSistema(empresa));
+        transacao.setValorTaxa(valorComTaxa.subtrair(valorTransacao));
 
-        TransacaoBancaria operacaoBancaria = new TransacaoBancaria(empresa, cliente, valorTransacao, taxaSistema, isDebito);
+        TransacaoBancaria operacaoBancaria = new TransacaoBancaria(empresa, cliente, valorTransacao, valorComTaxa, isDebito);
 
         processarMovimentoFinanceiroComValidacaoDeSaldo(operacaoBancaria);
 
@@ -140,22 +404,17 @@ public class TransacaoService {
 
     /**
      * Processa o movimento financeiro de uma transação bancária, incluindo a validação de saldo.
-     * Este método verifica se a transação é um débito ou não e realiza as seguintes etapas:<br>
-     * - Se for um débito, verifica se o saldo do cliente é suficiente para a transação e,
-     *   em seguida, calcula o valor da transação com a taxa aplicada.
-     * - Se não for um débito, calcula o valor da transação com a taxa aplicada e,
-     *   em seguida, verifica se o saldo da empresa é suficiente para a transação.
+     * Este método verifica se o saldo da conta debitada cobre o valor da transação com a taxa aplicada:<br>
+     * - Se for um débito, a conta debitada é a do cliente.
+     * - Se não for um débito, a conta debitada é a da empresa.
      *
      * @param transacaoBancaria a transação bancária a ser processada.
-     * @see #verificarSaldoSuficiente(BigDecimal, BigDecimal) método usado para verificar se o saldo é suficiente.
-     * @see #calcularValorComTaxa(BigDecimal, BigDecimal) método usado para calcular o valor da transação com a taxa aplicada.
+     * @see #verificarSaldoSuficiente(Money, Money) método usado para verificar se o saldo é suficiente.
      */
     private void processarMovimentoFinanceiroComValidacaoDeSaldo(TransacaoBancaria transacaoBancaria) {
         if (transacaoBancaria.getIsDebito()) {
-            verificarSaldoSuficiente(transacaoBancaria.getCliente().getSaldo(), transacaoBancaria.getValorTransacao());
-            transacaoBancaria.setValorComTaxa(calcularValorComTaxa(transacaoBancaria.getValorTransacao(), transacaoBancaria.getValorComTaxa()));
+            verificarSaldoSuficiente(transacaoBancaria.getCliente().getSaldo(), transacaoBancaria.getValorComTaxa());
         } else {
-            transacaoBancaria.setValorComTaxa(calcularValorComTaxa(transacaoBancaria.getValorTransacao(), transacaoBancaria.getValorComTaxa()));
             verificarSaldoSuficiente(transacaoBancaria.getEmpresa().getSaldo(), transacaoBancaria.getValorComTaxa());
         }
     }
@@ -186,7 +445,7 @@ public class TransacaoService {
      * @param transacao A transação da qual deseja-se obter o valor.
      * @return O valor da transação.
      */
-    private BigDecimal obterValorTransacao(Transacao transacao) {
+    private Money obterValorTransacao(Transacao transacao) {
         return transacao.getValor();
     }
 
@@ -209,21 +468,22 @@ public class TransacaoService {
      * @throws SaldoNegativoException caso saldo seja menor que o valor passado, a exception é passada
      *                                com a mensagem e seu status.
      **/
-    private void verificarSaldoSuficiente(BigDecimal saldo, BigDecimal valorTransacao) {
-        if (saldo.compareTo(valorTransacao) < 0) {
+    private void verificarSaldoSuficiente(Money saldo, Money valorTransacao) {
+        if (saldo.menorQue(valorTransacao)) {
             throw new SaldoNegativoException();
         }
     }
 
     /**
-     * Calcula o valor da transação com a taxa do sistema aplicada.
+     * Calcula o valor da transação com a taxa do sistema aplicada, com a taxa arredondada para o centavo.
      *
      * @param valorTransacao o valor da transação antes da aplicação da taxa.
      * @param taxaSistema a taxa do sistema a ser aplicada à transação.
      * @return o valor da transação após a aplicação da taxa do sistema.
+     * @see Money#comTaxa(BigDecimal)
      */
-    private BigDecimal calcularValorComTaxa(BigDecimal valorTransacao, BigDecimal taxaSistema) {
-        return valorTransacao.add(valorTransacao.multiply(taxaSistema));
+    private Money calcularValorComTaxa(Money valorTransacao, BigDecimal taxaSistema) {
+        return valorTransacao.comTaxa(taxaSistema);
     }
 
     /**
@@ -253,12 +513,12 @@ public class TransacaoService {
      * de acordo com o resultado do saque.
      *
      * @param operacaoDeSaque a transação bancária de saque a ser processada.
-     * @see #calculandoValorTotalSacado(Empresa, BigDecimal) método para calcular o valor total sacado.
+     * @see #calculandoValorTotalSacado(Empresa, Money) método para calcular o valor total sacado.
      */
     private void realizarTransacaoDeSaque(TransacaoBancaria operacaoDeSaque) {
-        BigDecimal valorASePagar = calculandoValorTotalSacado(operacaoDeSaque.getEmpresa(), operacaoDeSaque.getValorComTaxa());
+        Money valorASePagar = calculandoValorTotalSacado(operacaoDeSaque.getEmpresa(), operacaoDeSaque.getValorComTaxa());
         operacaoDeSaque.getEmpresa().setSaldo(valorASePagar);
-        operacaoDeSaque.getCliente().setSaldo(operacaoDeSaque.getCliente().getSaldo().add(operacaoDeSaque.getValorTransacao()));
+        operacaoDeSaque.getCliente().setSaldo(operacaoDeSaque.getCliente().getSaldo().somar(operacaoDeSaque.getValorTransacao()));
     }
 
     /**
@@ -271,8 +531,8 @@ public class TransacaoService {
      * @param valorComTaxa o valor da transação, incluindo a taxa aplicada.
      * @return o valor total a ser deduzido do saldo da empresa pagadora.
      */
-    private BigDecimal calculandoValorTotalSacado(Empresa empresaPagadora, BigDecimal valorComTaxa) {
-        return empresaPagadora.getSaldo().subtract(valorComTaxa);
+    private Money calculandoValorTotalSacado(Empresa empresaPagadora, Money valorComTaxa) {
+        return empresaPagadora.getSaldo().subtrair(valorComTaxa);
     }
 
     /**
@@ -284,8 +544,8 @@ public class TransacaoService {
      * @param operacaoDeDebito a transação bancária de depósito a ser processada.
      */
     private void realizarTransacaoDeDepositar(TransacaoBancaria operacaoDeDebito) {
-        operacaoDeDebito.getEmpresa().setSaldo(operacaoDeDebito.getEmpresa().getSaldo().add(operacaoDeDebito.getValorTransacao()));
-        operacaoDeDebito.getCliente().setSaldo(operacaoDeDebito.getCliente().getSaldo().subtract(operacaoDeDebito.getValorComTaxa()));
+        operacaoDeDebito.getEmpresa().setSaldo(operacaoDeDebito.getEmpresa().getSaldo().somar(operacaoDeDebito.getValorTransacao()));
+        operacaoDeDebito.getCliente().setSaldo(operacaoDeDebito.getCliente().getSaldo().subtrair(operacaoDeDebito.getValorComTaxa()));
     }
 
     /**
@@ -332,9 +592,26 @@ public class TransacaoService {
     }
 
     /**
-     * Lista todas as transações já cadastradas na base de dados.
+     * Lista uma página de transações, da mais recente para a mais antiga.
+     * <br>
+     * A página é localizada pelo cursor da página anterior e não por um deslocamento, então o custo da consulta
+     * depende do tamanho da página e não da quantidade de transações na base de dados.
+     *
+     * @param filtro os filtros da listagem.
+     * @param cursor o cursor devolvido na página anterior, ou {@code null} para a primeira página.
+     * @param limite a quantidade máxima de transações, entre 1 e {@value #LIMITE_MAXIMO_PAGINA}.
+     * @return as transações da página e o cursor da página seguinte.
+     * @throws CursorInvalidoException se o cursor não tiver sido gerado pela API.
      **/
-    public List<Transacao> findAllTransacoes() {
-        return repository.findAll();
+    public PaginaTransacoesDTO buscarPagina(FiltroTransacoesDTO filtro, String cursor, int limite) {
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO_PAGINA));
+        CursorTransacao posicao = cursor == null || cursor.isBlank() ? null : CursorTransacao.decodificar(cursor);
+        List<TransacaoResumoDTO> transacoes = repository.buscarPagina(filtro, posicao, tamanho + 1);
+        if (transacoes.size() <= tamanho) {
+            return new PaginaTransacoesDTO(transacoes, null);
+        }
+        List<TransacaoResumoDTO> pagina = transacoes.subList(0, tamanho);
+        TransacaoResumoDTO ultima = pagina.get(tamanho - 1);
+        return new PaginaTransacoesDTO(pagina, new CursorTransacao(ultima.data(), ultima.id()).codificar());
     }
 }
\ No newline at end of file
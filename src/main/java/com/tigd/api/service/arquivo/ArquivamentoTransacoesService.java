@@ -0,0 +1,220 @@
+package com.tigd.api.service.arquivo;
+
+import com.tigd.api.infra.banco.BancoDados;
+import com.tigd.api.service.saldo.CheckpointSaldoService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mantém a tabela {@code transacao} particionada por mês e leva os meses fechados para os arquivos do
+ * {@link ArquivoTransacoes}.
+ * <br>
+ * As partições mensais são criadas ao iniciar a aplicação e diariamente, com
+ * {@code api.transacao.particoes.meses-adiantados} meses de antecedência, separando-as da partição {@code p_futuras},
+ * que fica vazia. Criá-las ao iniciar evita que as linhas novas se acumulem em {@code p_futuras} até a primeira execução
+ * agendada, que teria de reorganizá-las todas de uma vez. Consultas com intervalo de datas leem apenas as partições
+ * do intervalo, e um mês arquivado sai da tabela com {@code DROP PARTITION}, sem apagar linha a linha.
+ * <br>
+ * Arquivar um mês grava o arquivo, depois registra o mês e os fechamentos de saldo numa transação de banco e só então
+ * remove as transações da tabela. Uma execução interrompida é retomada na seguinte a partir do passo em que parou: um
+ * arquivo já gravado não é regravado, e um mês já registrado só tem as transações removidas.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Service
+public class ArquivamentoTransacoesService {
+    private static final Logger log = LoggerFactory.getLogger(ArquivamentoTransacoesService.class);
+
+    private static final int TAMANHO_FETCH = 1000;
+    private static final int LINHAS_POR_EXCLUSAO = 10_000;
+    private static final String PARTICAO_FUTURAS = "p_futuras";
+    private static final DateTimeFormatter NOME_PARTICAO = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String PARTICOES = "SELECT partition_name FROM information_schema.partitions"
+            + " WHERE table_schema = DATABASE() AND table_name = 'transacao' AND partition_name IS NOT NULL";
+    private static final String INICIO_PARTICAO_FUTURAS = "SELECT FROM_UNIXTIME(MAX(CAST(partition_description AS UNSIGNED)))"
+            + " FROM information_schema.partitions WHERE table_schema = DATABASE() AND table_name = 'transacao'"
+            + " AND partition_description <> 'MAXVALUE'";
+    private static final String PRIMEIRA_DATA = "SELECT MIN(data) FROM transacao";
+    private static final String EXISTE_TRANSACAO_ENTRE = "SELECT EXISTS(SELECT 1 FROM transacao WHERE data >= ? AND data < ?)";
+    private static final String CONTAR_TRANSACOES_ENTRE = "SELECT COUNT(*) FROM transacao WHERE data >= ? AND data < ?";
+    private static final String MES_ARQUIVADO = "SELECT COUNT(*) FROM arquivo_transacao WHERE mes = ?";
+    private static final String REGISTRAR_MES = "INSERT INTO arquivo_transacao (mes, arquivo, linhas) VALUES (?, ?, ?)";
+    private static final String TRANSACOES_DO_MES = "SELECT t.id, t.data, t.tipo, t.valor,"
+            + " COALESCE(t.valor_taxa, ROUND(t.valor * e.taxa_sistema, 2)) AS taxa, t.cliente_id, t.empresa_id"
+            + " FROM transacao t JOIN empresas e ON e.id = t.empresa_id WHERE t.data >= ? AND t.data < ?"
+            + " ORDER BY t.data, t.id";
+    private static final String EXCLUIR_TRANSACOES_ENTRE = "DELETE FROM transacao WHERE data >= ? AND data < ? LIMIT "
+            + LINHAS_POR_EXCLUSAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CheckpointSaldoService checkpointSaldoService;
+
+    @Autowired
+    private ArquivoTransacoes arquivoTransacoes;
+
+    @Autowired
+    private BancoDados bancoDados;
+
+    @Value("${api.transacao.particoes.meses-adiantados:3}")
+    private int mesesAdiantados;
+
+    @Value("${api.arquivo.meses-retidos:12}")
+    private int mesesRetidos;
+
+    private JdbcTemplate leituraEmFluxo;
+
+    @PostConstruct
+    void iniciar() {
+        leituraEmFluxo = new JdbcTemplate(dataSource);
+        leituraEmFluxo.setFetchSize(TAMANHO_FETCH);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void criarParticoesAoIniciar() {
+        criarParticoes();
+    }
+
+    /**
+     * Cria as partições mensais que faltam até {@code api.transacao.particoes.meses-adiantados} meses depois do mês
+     * atual, reorganizando a partição {@code p_futuras}.
+     *
+     * @return os nomes das partições criadas; vazio se a tabela não estiver particionada.
+     */
+    @Scheduled(cron = "${api.transacao.particoes.cron:0 0 3 * * *}")
+    public synchronized List<String> criarParticoes() {
+        if (!bancoDados.isMySql()) {
+            return List.of();
+        }
+        List<String> existentes = jdbcTemplate.queryForList(PARTICOES, String.class);
+        if (!existentes.contains(PARTICAO_FUTURAS)) {
+            return List.of();
+        }
+        LocalDateTime inicioFuturas = jdbcTemplate.queryForObject(INICIO_PARTICAO_FUTURAS, LocalDateTime.class);
+        YearMonth ultimo = YearMonth.now().plusMonths(mesesAdiantados);
+        List<String> criadas = new ArrayList<>();
+        StringBuilder definicoes = new StringBuilder();
+        for (YearMonth mes = YearMonth.from(inicioFuturas); !mes.isAfter(ultimo); mes = mes.plusMonths(1)) {
+            String nome = mes.format(NOME_PARTICAO);
+            definicoes.append("PARTITION ").append(nome).append(" VALUES LESS THAN (UNIX_TIMESTAMP('")
+                    .append(mes.plusMonths(1).atDay(1)).append(" 00:00:00')), ");
+            criadas.add(nome);
+        }
+        if (criadas.isEmpty()) {
+            return criadas;
+        }
+        jdbcTemplate.execute("ALTER TABLE transacao REORGANIZE PARTITION " + PARTICAO_FUTURAS + " INTO ("
+                + definicoes + "PARTITION " + PARTICAO_FUTURAS + " VALUES LESS THAN MAXVALUE)");
+        log.info("Partições de transacao criadas: {}", criadas);
+        return criadas;
+    }
+
+    /**
+     * Arquiva, do mais antigo para o mais recente, os meses anteriores aos últimos {@code api.arquivo.meses-retidos}
+     * meses.
+     *
+     * @return os meses arquivados nesta execução.
+     */
+    @Scheduled(cron = "${api.arquivo.cron:0 30 3 * * *}")
+    public synchronized List<YearMonth> arquivar() {
+        List<YearMonth> arquivados = new ArrayList<>();
+        LocalDateTime primeiraData = jdbcTemplate.queryForObject(PRIMEIRA_DATA, LocalDateTime.class);
+        if (primeiraData == null) {
+            return arquivados;
+        }
+        YearMonth primeiroRetido = YearMonth.now().minusMonths(mesesRetidos);
+        for (YearMonth mes = YearMonth.from(primeiraData); mes.isBefore(primeiroRetido); mes = mes.plusMonths(1)) {
+            if (arquivar(mes)) {
+                arquivados.add(mes);
+            }
+        }
+        if (!arquivados.isEmpty()) {
+            log.info("Meses de transacao arquivados: {}", arquivados);
+        }
+        return arquivados;
+    }
+
+    private boolean arquivar(YearMonth mes) {
+        Timestamp inicio = Timestamp.valueOf(mes.atDay(1).atStartOfDay());
+        Timestamp fim = Timestamp.valueOf(mes.plusMonths(1).atDay(1).atStartOfDay());
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTE_TRANSACAO_ENTRE, Boolean.class, inicio, fim))) {
+            return false;
+        }
+        Date primeiroDia = Date.valueOf(mes.atDay(1));
+        Long registrado = jdbcTemplate.queryForObject(MES_ARQUIVADO, Long.class, primeiroDia);
+        if (registrado == null || registrado == 0) {
+            long linhas = arquivoTransacoes.existe(mes)
+                    ? jdbcTemplate.queryForObject(CONTAR_TRANSACOES_ENTRE, Long.class, inicio, fim)
+                    : gravarArquivo(mes, inicio, fim);
+            transactionTemplate.executeWithoutResult(status -> {
+                checkpointSaldoService.fecharMes(mes);
+                jdbcTemplate.update(REGISTRAR_MES, primeiroDia, arquivoTransacoes.nome(mes), linhas);
+            });
+            arquivoTransacoes.atualizarLimite();
+        }
+        removerTransacoes(mes, inicio, fim);
+        return true;
+    }
+
+    private long gravarArquivo(YearMonth mes, Timestamp inicio, Timestamp fim) {
+        try (ArquivoTransacoes.Gravacao gravacao = arquivoTransacoes.iniciarGravacao(mes)) {
+            leituraEmFluxo.query(TRANSACOES_DO_MES, (RowCallbackHandler) rs -> gravacao.escrever(new TransacaoArquivada(
+                    rs.getLong("id"),
+                    rs.getTimestamp("data").toLocalDateTime(),
+                    rs.getString("tipo").charAt(0),
+                    rs.getBigDecimal("valor"),
+                    rs.getBigDecimal("taxa"),
+                    rs.getObject("cliente_id", Long.class),
+                    rs.getObject("empresa_id", Long.class))), inicio, fim);
+            return gravacao.concluir();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Remove as transações de um mês já registrado como arquivado: a partição inteira, quando o mês tem partição
+     * própria; senão, em lotes de {@value #LINHAS_POR_EXCLUSAO} linhas, para não manter uma transação de banco longa.
+     */
+    private void removerTransacoes(YearMonth mes, Timestamp inicio, Timestamp fim) {
+        String particao = mes.format(NOME_PARTICAO);
+        if (bancoDados.isMySql() && jdbcTemplate.queryForList(PARTICOES, String.class).contains(particao)) {
+            jdbcTemplate.execute("ALTER TABLE transacao DROP PARTITION " + particao);
+            return;
+        }
+        while (jdbcTemplate.update(EXCLUIR_TRANSACOES_ENTRE, inicio, fim) > 0) {
+            log.debug("Removendo transações arquivadas de {}", mes);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.tigd.api.service.arquivo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tigd.api.service.saldo.TipoConta;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Os arquivos dos meses de transações que já saíram da tabela {@code transacao}: um arquivo NDJSON compactado com
+ * gzip por mês, com as transações em ordem de {@code (data, id)}.
+ * <br>
+ * Um arquivo é gravado com outro nome e só recebe o nome final depois de completo e sincronizado com o disco, e nunca
+ * é reescrito: o arquivo de um mês existe inteiro ou não existe. Os meses arquivados ficam registrados na tabela
+ * {@code arquivo_transacao}; tudo antes do {@link #limite()} é lido daqui.
+ * <br>
+ * A leitura percorre o arquivo do mês inteiro, então as transações de uma conta num mês ficam em cache para as
+ * páginas seguintes do mesmo extrato.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Component
+public class ArquivoTransacoes {
+    private static final String ULTIMO_MES_ARQUIVADO = "SELECT MAX(mes) FROM arquivo_transacao";
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final int MAXIMO_CONTAS_EM_CACHE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${api.arquivo.diretorio:arquivo/transacao}")
+    private String caminhoDiretorio;
+
+    private Path diretorio;
+
+    private Cache<ContaNoMes, List<TransacaoArquivada>> transacoesPorConta;
+
+    private volatile LocalDateTime limite;
+
+    @PostConstruct
+    void iniciar() {
+        diretorio = Path.of(caminhoDiretorio);
+        transacoesPorConta = Caffeine.newBuilder().maximumSize(MAXIMO_CONTAS_EM_CACHE).build();
+        atualizarLimite();
+    }
+
+    /**
+     * Relê o último mês arquivado. Outra instância da aplicação pode ter arquivado um mês desde a última leitura.
+     */
+    @Scheduled(fixedDelayString = "${api.arquivo.atualizacao-limite-ms:60000}")
+    public void atualizarLimite() {
+        LocalDate ultimoMes = jdbcTemplate.queryForObject(ULTIMO_MES_ARQUIVADO, LocalDate.class);
+        limite = ultimoMes == null ? null : ultimoMes.plusMonths(1).atStartOfDay();
+    }
+
+    /**
+     * @return o início do mês seguinte ao último mês arquivado, ou {@code null} se nenhum mês foi arquivado.
+     * As transações com data anterior estão nos arquivos, e não na tabela {@code transacao}.
+     */
+    public LocalDateTime limite() {
+        return limite;
+    }
+
+    /**
+     * @param mes o mês.
+     * @return se o arquivo do mês já foi gravado por completo.
+     */
+    public boolean existe(YearMonth mes) {
+        return Files.exists(arquivo(mes));
+    }
+
+    /**
+     * @param mes o mês.
+     * @return o nome do arquivo do mês, relativo ao diretório de arquivos.
+     */
+    public String nome(YearMonth mes) {
+        return "transacao-" + mes + ".ndjson.gz";
+    }
+
+    /**
+     * Lê as transações de uma conta num mês arquivado.
+     *
+     * @param mes o mês arquivado.
+     * @param tipo o tipo da conta.
+     * @param conta o id do cliente ou da empresa.
+     * @return as transações da conta no mês, em ordem de {@code (data, id)}.
+     * @throws UncheckedIOException se o arquivo do mês não puder ser lido.
+     */
+    public List<TransacaoArquivada> transacoes(YearMonth mes, TipoConta tipo, Long conta) {
+        return transacoesPorConta.get(new ContaNoMes(mes, tipo, conta), chave -> ler(mes, tipo, conta));
+    }
+
+    /**
+     * Inicia a gravação do arquivo de um mês.
+     *
+     * @param mes o mês a arquivar.
+     * @return a gravação, que deve ser concluída com {@link Gravacao#concluir()}; fechada sem concluir, é descartada.
+     * @throws UncheckedIOException se o arquivo não puder ser criado.
+     */
+    public Gravacao iniciarGravacao(YearMonth mes) {
+        try {
+            Files.createDirectories(diretorio);
+            return new Gravacao(mes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path arquivo(YearMonth mes) {
+        return diretorio.resolve(nome(mes));
+    }
+
+    private List<TransacaoArquivada> ler(YearMonth mes, TipoConta tipo, Long conta) {
+        String campoConta = "\"" + tipo.name().toLowerCase() + "\":" + conta;
+        List<TransacaoArquivada> transacoes = new ArrayList<>();
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(arquivo(mes)), TAMANHO_BUFFER), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (!linha.contains(campoConta)) {
+                    continue;
+                }
+                TransacaoArquivada transacao = objectMapper.readValue(linha, TransacaoArquivada.class);
+                if (conta.equals(transacao.conta(tipo))) {
+                    transacoes.add(transacao);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return transacoes;
+    }
+
+    private record ContaNoMes(YearMonth mes, TipoConta tipo, Long conta) {
+    }
+
+    /**
+     * A gravação em andamento do arquivo de um mês, num arquivo temporário no mesmo diretório.
+     */
+    public final class Gravacao implements Closeable {
+        private final Path destino;
+        private final Path temporario;
+        private final FileOutputStream saida;
+        private final GZIPOutputStream gzip;
+        private final Writer escritor;
+        private long linhas;
+        private boolean concluida;
+
+        private Gravacao(YearMonth mes) throws IOException {
+            this.destino = arquivo(mes);
+            this.temporario = diretorio.resolve(nome(mes) + ".parcial");
+            this.saida = new FileOutputStream(temporario.toFile());
+            this.gzip = new GZIPOutputStream(new BufferedOutputStream(saida, TAMANHO_BUFFER));
+            this.escritor = new OutputStreamWriter(gzip, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @param transacao a próxima transação do mês, em ordem de {@code (data, id)}.
+         * @throws UncheckedIOException se a linha não puder ser gravada.
+         */
+        public void escrever(TransacaoArquivada transacao) {
+            try {
+                escritor.write(objectMapper.writeValueAsString(transacao));
+                escritor.write('\n');
+                linhas++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Termina o arquivo, sincroniza com o disco e dá a ele o nome final, que não é mais alterado.
+         *
+         * @return a quantidade de transações gravadas.
+         * @throws UncheckedIOException se o arquivo não puder ser concluído.
+         */
+        public long concluir() {
+            try {
+                escritor.flush();
+                gzip.finish();
+                gzip.flush();
+                saida.getFD().sync();
+                escritor.close();
+                Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+                destino.toFile().setReadOnly();
+                concluida = true;
+                return linhas;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!concluida) {
+                escritor.close();
+                Files.deleteIfExists(temporario);
+            }
+        }
+    }
+}
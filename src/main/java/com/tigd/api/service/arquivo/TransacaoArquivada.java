@@ -0,0 +1,57 @@
+package com.tigd.api.service.arquivo;
+
+import com.tigd.api.repository.CursorTransacao;
+import com.tigd.api.service.saldo.TipoConta;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Uma transação gravada no arquivo do seu mês, uma por linha em NDJSON. A taxa fica gravada mesmo nas transações
+ * anteriores à coluna {@code valor_taxa}, calculada com a taxa da empresa no momento do arquivamento.
+ *
+ * @param id o id da transação.
+ * @param data a data da transação.
+ * @param tipo o tipo da transação, 'D' (depósito) ou 'S' (saque).
+ * @param valor o valor da transação.
+ * @param taxa a taxa cobrada na transação.
+ * @param cliente o id do cliente.
+ * @param empresa o id da empresa.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public record TransacaoArquivada(
+        long id,
+        LocalDateTime data,
+        char tipo,
+        BigDecimal valor,
+        BigDecimal taxa,
+        Long cliente,
+        Long empresa
+) {
+
+    /**
+     * @param tipoConta o tipo da conta.
+     * @return o id do cliente ou da empresa da transação.
+     */
+    public Long conta(TipoConta tipoConta) {
+        return tipoConta == TipoConta.CLIENTE ? cliente : empresa;
+    }
+
+    /**
+     * @param tipoConta o tipo da conta.
+     * @return a variação do saldo do cliente ou da empresa nesta transação.
+     */
+    public BigDecimal variacao(TipoConta tipoConta) {
+        return tipoConta.variacao(tipo, valor, taxa);
+    }
+
+    /**
+     * @param posicao uma posição no histórico da conta.
+     * @return se a transação vem depois da posição, na ordem {@code (data, id)}.
+     */
+    public boolean depoisDe(CursorTransacao posicao) {
+        return data.isAfter(posicao.data()) || (data.equals(posicao.data()) && id > posicao.id());
+    }
+}
@@ -0,0 +1,51 @@
+package com.tigd.api.service.carga;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gera a carga sintética ao iniciar a aplicação, antes de ela atender requisições, com o plano das propriedades
+ * {@code api.carga.*}.
+ *
+ * <pre>{@code
+ * java -jar api.jar --spring.profiles.active=perf --api.carga.ao-iniciar=true \
+ *     --api.carga.clientes=100000 --api.carga.transacoes=1000000
+ * }</pre>
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Component
+@ConditionalOnProperty(name = "api.carga.ao-iniciar", havingValue = "true")
+public class CargaInicial implements ApplicationRunner {
+
+    @Autowired
+    private GeradorCarga geradorCarga;
+
+    @Value("${api.carga.clientes:10000}")
+    private int clientes;
+
+    @Value("${api.carga.empresas:100}")
+    private int empresas;
+
+    @Value("${api.carga.transacoes:100000}")
+    private long transacoes;
+
+    @Value("${api.carga.expoente-zipf:1.1}")
+    private double expoenteZipf;
+
+    @Value("${api.carga.dias:90}")
+    private int dias;
+
+    @Value("${api.carga.semente:42}")
+    private long semente;
+
+    @Override
+    public void run(ApplicationArguments argumentos) {
+        geradorCarga.gerar(new PlanoCarga(clientes, empresas, transacoes, expoenteZipf, dias, semente));
+    }
+}
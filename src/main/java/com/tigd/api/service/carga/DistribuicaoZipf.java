@@ -0,0 +1,47 @@
+package com.tigd.api.service.carga;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sorteia posições de 0 a {@code elementos - 1} com a lei de Zipf: a posição {@code k} sai com probabilidade
+ * proporcional a {@code 1 / (k + 1)^expoente}. Com expoente perto de 1, poucas contas concentram boa parte das
+ * transações, como acontece com clientes e empresas reais.
+ * <br>
+ * A distribuição acumulada é calculada uma vez; cada sorteio é uma busca binária nela.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public final class DistribuicaoZipf {
+    private final double[] acumulada;
+
+    /**
+     * @param elementos a quantidade de posições, pelo menos 1.
+     * @param expoente o expoente da distribuição; 0 sorteia todas as posições com a mesma probabilidade.
+     * @throws IllegalArgumentException se não houver posições ou o expoente for negativo.
+     */
+    public DistribuicaoZipf(int elementos, double expoente) {
+        if (elementos < 1 || expoente < 0) {
+            throw new IllegalArgumentException("Distribuição de Zipf inválida: " + elementos + " elementos, expoente " + expoente);
+        }
+        acumulada = new double[elementos];
+        double soma = 0;
+        for (int k = 0; k < elementos; k++) {
+            soma += 1 / Math.pow(k + 1, expoente);
+            acumulada[k] = soma;
+        }
+        for (int k = 0; k < elementos; k++) {
+            acumulada[k] /= soma;
+        }
+    }
+
+    /**
+     * @param aleatorio o gerador de números aleatórios.
+     * @return uma posição sorteada, de 0 a {@code elementos - 1}.
+     */
+    public int sortear(RandomGenerator aleatorio) {
+        int posicao = Arrays.binarySearch(acumulada, aleatorio.nextDouble());
+        return Math.min(posicao >= 0 ? posicao : -posicao - 1, acumulada.length - 1);
+    }
+}
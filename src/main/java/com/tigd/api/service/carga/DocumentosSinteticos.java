@@ -0,0 +1,88 @@
+package com.tigd.api.service.carga;
+
+/**
+ * CPFs e CNPJs válidos e determinísticos para a carga sintética: o documento de número {@code n} é sempre o mesmo,
+ * então gerar a carga de novo não cria contas repetidas.
+ * <br>
+ * Os CPFs têm a base começando em 9 e os CNPJs a filial 0002, faixas que os documentos gerados pelos testes não usam.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public final class DocumentosSinteticos {
+
+    /**
+     * A quantidade de documentos distintos de cada tipo.
+     */
+    public static final int MAXIMO = 99_999_999;
+
+    private static final int[] PESOS_CNPJ = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+    private static final long BASE_CPF = 900_000_000L;
+    private static final int[] FILIAL_CNPJ = {0, 0, 0, 2};
+
+    private DocumentosSinteticos() {
+    }
+
+    /**
+     * @param numero o número do documento, de 0 a {@value #MAXIMO} (exclusivo).
+     * @return o CPF, só com dígitos.
+     */
+    public static String cpf(int numero) {
+        int[] digitos = new int[11];
+        preencher(digitos, 9, BASE_CPF + validar(numero));
+        for (int posicao = 9; posicao < 11; posicao++) {
+            int soma = 0;
+            for (int i = 0; i < posicao; i++) {
+                soma += digitos[i] * (posicao + 1 - i);
+            }
+            digitos[posicao] = digitoVerificador(soma);
+        }
+        return texto(digitos);
+    }
+
+    /**
+     * @param numero o número do documento, de 0 a {@value #MAXIMO} (exclusivo).
+     * @return o CNPJ, só com dígitos.
+     */
+    public static String cnpj(int numero) {
+        int[] digitos = new int[14];
+        preencher(digitos, 8, validar(numero));
+        System.arraycopy(FILIAL_CNPJ, 0, digitos, 8, FILIAL_CNPJ.length);
+        for (int posicao = 12; posicao < 14; posicao++) {
+            int soma = 0;
+            int deslocamento = PESOS_CNPJ.length - posicao;
+            for (int i = 0; i < posicao; i++) {
+                soma += digitos[i] * PESOS_CNPJ[deslocamento + i];
+            }
+            digitos[posicao] = digitoVerificador(soma);
+        }
+        return texto(digitos);
+    }
+
+    private static int validar(int numero) {
+        if (numero < 0 || numero >= MAXIMO) {
+            throw new IllegalArgumentException("Número de documento fora da faixa da carga: " + numero);
+        }
+        return numero;
+    }
+
+    private static void preencher(int[] digitos, int tamanho, long valor) {
+        for (int i = tamanho - 1; i >= 0; i--) {
+            digitos[i] = (int) (valor % 10);
+            valor /= 10;
+        }
+    }
+
+    private static int digitoVerificador(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+
+    private static String texto(int[] digitos) {
+        StringBuilder texto = new StringBuilder(digitos.length);
+        for (int digito : digitos) {
+            texto.append(digito);
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,293 @@
+package com.tigd.api.service.carga;
+
+import com.tigd.api.domain.Money;
+import com.tigd.api.dto.ResultadoCargaDTO;
+import com.tigd.api.service.id.GeradorIds;
+import com.tigd.api.service.resumo.ResumoDiarioService;
+import com.tigd.api.service.saldo.CheckpointSaldoService;
+import com.tigd.api.service.saldo.TipoConta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Gera uma carga sintética para testes de desempenho: clientes e empresas com documentos válidos e transações
+ * distribuídas de forma desigual entre eles.
+ * <br>
+ * O cliente e a empresa de cada transação são sorteados pela {@link DistribuicaoZipf}, numa ordem embaralhada das
+ * contas, e o valor segue uma distribuição log-normal com mediana de R$ 40,00: muitas transações pequenas, poucas
+ * grandes e algumas contas muito movimentadas. O tipo é sorteado; se a conta debitada não tiver saldo para o valor com
+ * taxa, o tipo é invertido, então nenhum saldo fica negativo.
+ * <br>
+ * As contas são identificadas pelo email e criadas com {@code INSERT IGNORE}, então gerar a carga de novo reaproveita
+ * as contas existentes e apenas acrescenta transações. Cada lote de transações é gravado na mesma transação de banco
+ * que soma as variações aos saldos das contas, e no fim os resumos diários do período são reconstruídos.
+ * <br>
+ * As transações têm data anterior ao saldo atual das contas, então os checkpoints de saldo dessas contas a partir do
+ * início do período são descartados na transação de banco de cada lote e gravados de novo no fim.
+ * <br>
+ * A carga grava direto nas tabelas; não deve rodar com {@code api.transacao.modo-concorrencia=MEMORIA}, cujos saldos
+ * ficam no ledger em memória.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Service
+public class GeradorCarga {
+    private static final Logger log = LoggerFactory.getLogger(GeradorCarga.class);
+
+    private static final int TAMANHO_LOTE = 5_000;
+    private static final BigDecimal TAXA_PADRAO = new BigDecimal("0.01");
+    private static final double LOG_MEDIANA_CENTAVOS = Math.log(4_000);
+    private static final double DESVIO_LOG_VALOR = 1.0;
+    private static final long VALOR_MAXIMO_CENTAVOS = 1_000_000;
+
+    private static final String INSERIR_CLIENTE =
+            "INSERT IGNORE INTO clientes (nome, cpf, email, saldo, ativo, version) VALUES (?, ?, ?, ?, true, 0)";
+    private static final String INSERIR_EMPRESA =
+            "INSERT IGNORE INTO empresas (nome, cnpj, email, saldo, taxa_sistema, ativo, version) VALUES (?, ?, ?, ?, ?, true, 0)";
+    private static final String CONTAR_CLIENTES_DA_CARGA = "SELECT COUNT(*) FROM clientes WHERE email LIKE 'carga.cliente%'";
+    private static final String CONTAR_EMPRESAS_DA_CARGA = "SELECT COUNT(*) FROM empresas WHERE email LIKE 'carga.empresa%'";
+    private static final String CLIENTES_DA_CARGA =
+            "SELECT id, saldo FROM clientes WHERE email LIKE 'carga.cliente%' ORDER BY id LIMIT ?";
+    private static final String EMPRESAS_DA_CARGA =
+            "SELECT id, saldo, taxa_sistema FROM empresas WHERE email LIKE 'carga.empresa%' ORDER BY id LIMIT ?";
+    private static final String INSERIR_TRANSACAO =
+            "INSERT INTO transacao (id, valor, valor_taxa, data, tipo, cliente_id, empresa_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String ATUALIZAR_SALDO_CLIENTE =
+            "UPDATE clientes SET saldo = saldo + ?, version = version + 1 WHERE id = ?";
+    private static final String ATUALIZAR_SALDO_EMPRESA =
+            "UPDATE empresas SET saldo = saldo + ?, version = version + 1 WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private GeradorIds geradorIds;
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Autowired
+    private CheckpointSaldoService checkpointSaldoService;
+
+    @Value("${api.carga.saldo-inicial:1000000.00}")
+    private BigDecimal saldoInicial;
+
+    /**
+     * Cria as contas que faltam e grava as transações do plano.
+     *
+     * @param plano o tamanho e a forma da carga.
+     * @return a quantidade de contas criadas e de transações gravadas.
+     * @throws IllegalArgumentException se o plano pedir mais contas do que há documentos sintéticos ou nenhuma conta.
+     */
+    public ResultadoCargaDTO gerar(PlanoCarga plano) {
+        if (plano.clientes() < 1 || plano.empresas() < 1
+                || plano.clientes() >= DocumentosSinteticos.MAXIMO || plano.empresas() >= DocumentosSinteticos.MAXIMO) {
+            throw new IllegalArgumentException("A carga precisa de 1 a " + DocumentosSinteticos.MAXIMO
+                    + " clientes e empresas.");
+        }
+        long comeco = System.nanoTime();
+        long clientesCriados = criarClientes(plano.clientes());
+        long empresasCriadas = criarEmpresas(plano.empresas());
+
+        Contas clientes = new Contas(plano.clientes());
+        jdbcTemplate.query(CLIENTES_DA_CARGA, (RowCallbackHandler) rs ->
+                clientes.adicionar(rs.getLong("id"), Money.of(rs.getBigDecimal("saldo")).centavos(), 0), plano.clientes());
+        Contas empresas = new Contas(plano.empresas());
+        jdbcTemplate.query(EMPRESAS_DA_CARGA, (RowCallbackHandler) rs -> empresas.adicionar(rs.getLong("id"),
+                Money.of(rs.getBigDecimal("saldo")).centavos(), Money.taxaEmCentesimos(rs.getBigDecimal("taxa_sistema"))),
+                plano.empresas());
+
+        SplittableRandom aleatorio = new SplittableRandom(plano.semente());
+        clientes.embaralhar(aleatorio);
+        empresas.embaralhar(aleatorio);
+        LocalDateTime fim = LocalDateTime.now().withNano(0);
+        LocalDateTime inicio = fim.minusDays(plano.dias());
+        Set<Long> clientesMovimentados = new TreeSet<>();
+        Set<Long> empresasMovimentadas = new TreeSet<>();
+        long transacoes = gravarTransacoes(plano, clientes, empresas, aleatorio, inicio, fim,
+                clientesMovimentados, empresasMovimentadas);
+
+        if (transacoes > 0) {
+            resumoDiarioService.reconstruir(inicio.toLocalDate(), fim.toLocalDate());
+            checkpointSaldoService.gerarCheckpoints(TipoConta.CLIENTE, clientesMovimentados);
+            checkpointSaldoService.gerarCheckpoints(TipoConta.EMPRESA, empresasMovimentadas);
+        }
+        ResultadoCargaDTO resultado = new ResultadoCargaDTO(clientesCriados, empresasCriadas, transacoes,
+                (System.nanoTime() - comeco) / 1_000_000);
+        log.info("Carga sintética: {} clientes e {} empresas criados, {} transações em {} ms",
+                resultado.clientesCriados(), resultado.empresasCriadas(), resultado.transacoes(), resultado.duracaoMs());
+        return resultado;
+    }
+
+    private long criarClientes(int quantidade) {
+        long existentes = jdbcTemplate.queryForObject(CONTAR_CLIENTES_DA_CARGA, Long.class);
+        List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < quantidade; i++) {
+            lote.add(new Object[]{"Cliente carga " + i, DocumentosSinteticos.cpf(i), "carga.cliente" + i + "@tgid.com", saldoInicial});
+            if (lote.size() == TAMANHO_LOTE || i == quantidade - 1) {
+                jdbcTemplate.batchUpdate(INSERIR_CLIENTE, lote);
+                lote.clear();
+            }
+        }
+        return jdbcTemplate.queryForObject(CONTAR_CLIENTES_DA_CARGA, Long.class) - existentes;
+    }
+
+    private long criarEmpresas(int quantidade) {
+        long existentes = jdbcTemplate.queryForObject(CONTAR_EMPRESAS_DA_CARGA, Long.class);
+        List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < quantidade; i++) {
+            lote.add(new Object[]{"Empresa carga " + i, DocumentosSinteticos.cnpj(i), "carga.empresa" + i + "@tgid.com",
+                    saldoInicial, TAXA_PADRAO});
+            if (lote.size() == TAMANHO_LOTE || i == quantidade - 1) {
+                jdbcTemplate.batchUpdate(INSERIR_EMPRESA, lote);
+                lote.clear();
+            }
+        }
+        return jdbcTemplate.queryForObject(CONTAR_EMPRESAS_DA_CARGA, Long.class) - existentes;
+    }
+
+    private long gravarTransacoes(PlanoCarga plano, Contas clientes, Contas empresas, SplittableRandom aleatorio,
+                                  LocalDateTime inicio, LocalDateTime fim,
+                                  Set<Long> clientesMovimentados, Set<Long> empresasMovimentadas) {
+        DistribuicaoZipf sorteioClientes = new DistribuicaoZipf(clientes.tamanho(), plano.expoenteZipf());
+        DistribuicaoZipf sorteioEmpresas = new DistribuicaoZipf(empresas.tamanho(), plano.expoenteZipf());
+        long periodoSegundos = Duration.between(inicio, fim).toSeconds();
+        long gravadas = 0;
+        for (long feitas = 0; feitas < plano.transacoes(); feitas += TAMANHO_LOTE) {
+            int tamanho = (int) Math.min(TAMANHO_LOTE, plano.transacoes() - feitas);
+            long primeiroId = geradorIds.reservar(GeradorIds.TRANSACAO, tamanho);
+            List<Object[]> linhas = new ArrayList<>(tamanho);
+            Map<Long, Long> variacoesClientes = new TreeMap<>();
+            Map<Long, Long> variacoesEmpresas = new TreeMap<>();
+            for (int i = 0; i < tamanho; i++) {
+                int cliente = clientes.posicao(sorteioClientes.sortear(aleatorio));
+                int empresa = empresas.posicao(sorteioEmpresas.sortear(aleatorio));
+                long valor = Math.min(VALOR_MAXIMO_CENTAVOS,
+                        Math.max(1, Math.round(Math.exp(LOG_MEDIANA_CENTAVOS + DESVIO_LOG_VALOR * aleatorio.nextGaussian()))));
+                long taxa = Money.deCentavos(valor).comTaxa(empresas.taxa(empresa)).centavos() - valor;
+                char tipo = aleatorio.nextBoolean() ? 'D' : 'S';
+                if (tipo == 'D' && clientes.saldo(cliente) < valor + taxa) {
+                    tipo = 'S';
+                } else if (tipo == 'S' && empresas.saldo(empresa) < valor + taxa) {
+                    tipo = 'D';
+                }
+                long variacaoCliente = tipo == 'D' ? -(valor + taxa) : valor;
+                long variacaoEmpresa = tipo == 'D' ? valor : -(valor + taxa);
+                if (clientes.saldo(cliente) + variacaoCliente < 0 || empresas.saldo(empresa) + variacaoEmpresa < 0) {
+                    continue;
+                }
+                clientes.somar(cliente, variacaoCliente);
+                empresas.somar(empresa, variacaoEmpresa);
+                variacoesClientes.merge(clientes.id(cliente), variacaoCliente, Long::sum);
+                variacoesEmpresas.merge(empresas.id(empresa), variacaoEmpresa, Long::sum);
+                LocalDateTime data = inicio.plusSeconds(periodoSegundos * (feitas + i) / plano.transacoes());
+                linhas.add(new Object[]{primeiroId + i, Money.deCentavos(valor).toBigDecimal(),
+                        Money.deCentavos(taxa).toBigDecimal(), Timestamp.valueOf(data), String.valueOf(tipo),
+                        clientes.id(cliente), empresas.id(empresa)});
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                checkpointSaldoService.descartarCheckpoints(TipoConta.CLIENTE, variacoesClientes.keySet(), inicio);
+                checkpointSaldoService.descartarCheckpoints(TipoConta.EMPRESA, variacoesEmpresas.keySet(), inicio);
+                jdbcTemplate.batchUpdate(INSERIR_TRANSACAO, linhas);
+                jdbcTemplate.batchUpdate(ATUALIZAR_SALDO_CLIENTE, parametros(variacoesClientes));
+                jdbcTemplate.batchUpdate(ATUALIZAR_SALDO_EMPRESA, parametros(variacoesEmpresas));
+            });
+            clientesMovimentados.addAll(variacoesClientes.keySet());
+            empresasMovimentadas.addAll(variacoesEmpresas.keySet());
+            gravadas += linhas.size();
+        }
+        return gravadas;
+    }
+
+    /**
+     * Parâmetros das atualizações de saldo, em ordem de id, a mesma ordem em que as transações da API bloqueiam as
+     * contas.
+     */
+    private static List<Object[]> parametros(Map<Long, Long> variacoes) {
+        List<Object[]> parametros = new ArrayList<>(variacoes.size());
+        variacoes.forEach((id, variacao) -> parametros.add(new Object[]{Money.deCentavos(variacao).toBigDecimal(), id}));
+        return parametros;
+    }
+
+    /**
+     * Os ids, saldos em centavos e taxas em centésimos das contas da carga, em arrays paralelos, e a ordem embaralhada
+     * em que as posições da {@link DistribuicaoZipf} são atribuídas a elas.
+     */
+    private static final class Contas {
+        private final long[] ids;
+        private final long[] saldos;
+        private final long[] taxas;
+        private final int[] ordem;
+        private int tamanho;
+
+        Contas(int capacidade) {
+            ids = new long[capacidade];
+            saldos = new long[capacidade];
+            taxas = new long[capacidade];
+            ordem = new int[capacidade];
+        }
+
+        void adicionar(long id, long saldo, long taxa) {
+            ids[tamanho] = id;
+            saldos[tamanho] = saldo;
+            taxas[tamanho] = taxa;
+            ordem[tamanho] = tamanho;
+            tamanho++;
+        }
+
+        void embaralhar(SplittableRandom aleatorio) {
+            for (int i = tamanho - 1; i > 0; i--) {
+                int j = aleatorio.nextInt(i + 1);
+                int troca = ordem[i];
+                ordem[i] = ordem[j];
+                ordem[j] = troca;
+            }
+        }
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        int posicao(int sorteada) {
+            return ordem[sorteada];
+        }
+
+        long id(int posicao) {
+            return ids[posicao];
+        }
+
+        long saldo(int posicao) {
+            return saldos[posicao];
+        }
+
+        long taxa(int posicao) {
+            return taxas[posicao];
+        }
+
+        void somar(int posicao, long variacao) {
+            saldos[posicao] += variacao;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.tigd.api.service.carga;
+
+/**
+ * O tamanho e a forma de uma carga sintética.
+ *
+ * @param clientes a quantidade de clientes da carga; os que já existirem são reaproveitados.
+ * @param empresas a quantidade de empresas da carga; as que já existirem são reaproveitadas.
+ * @param transacoes a quantidade de transações a gravar nesta execução.
+ * @param expoenteZipf o expoente da {@link DistribuicaoZipf} usada para sortear o cliente e a empresa de cada transação.
+ * @param dias o período, terminando agora, em que as datas das transações são distribuídas.
+ * @param semente a semente do gerador de números aleatórios; a mesma semente gera as mesmas transações.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public record PlanoCarga(
+        int clientes,
+        int empresas,
+        long transacoes,
+        double expoenteZipf,
+        int dias,
+        long semente
+) {
+}
@@ -0,0 +1,76 @@
+package com.tigd.api.service.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.resource.beans.container.spi.BeanContainer;
+import org.hibernate.resource.beans.spi.BeanInstanceProducer;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+
+import java.lang.reflect.Member;
+
+/**
+ * Gerador do Hibernate para os ids marcados com {@link IdSequencial}. O Hibernate cria o gerador fora do contexto do
+ * Spring, então os ids vêm do {@link GeradorIds} da aplicação, que reserva os blocos, obtido pelo contêiner de beans
+ * que o Spring registra no Hibernate. Cada {@code EntityManagerFactory} usa o gerador do seu próprio contexto.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public class GeradorIdSequencial implements IdentifierGenerator {
+    private final String sequencia;
+    private final GeradorIds gerador;
+
+    public GeradorIdSequencial(IdSequencial configuracao, Member membro, CustomIdGeneratorCreationContext contexto) {
+        this.sequencia = configuracao.value();
+        this.gerador = geradorDoContexto(contexto);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor sessao, Object entidade) {
+        return gerador.proximo(sequencia);
+    }
+
+    /**
+     * Busca o {@link GeradorIds} no contêiner de beans, pedindo o bean já gerenciado pelo contêiner em vez de uma
+     * instância nova, como o Hibernate faria para beans JPA.
+     *
+     * @throws IllegalStateException se o Hibernate não tiver um contêiner de beans configurado ou se o contêiner
+     * não tiver o gerador.
+     */
+    private static GeradorIds geradorDoContexto(CustomIdGeneratorCreationContext contexto) {
+        BeanContainer beans = contexto.getServiceRegistry().requireService(ManagedBeanRegistry.class).getBeanContainer();
+        if (beans == null) {
+            throw new IllegalStateException("O Hibernate precisa do contêiner de beans do Spring para gerar ids sequenciais.");
+        }
+        return beans.getBean(GeradorIds.class, BeanDoContexto.INSTANCIA, BeanDoContexto.INSTANCIA).getBeanInstance();
+    }
+
+    /**
+     * Pede ao contêiner o bean que ele já gerencia e não cria outro se o contêiner não o tiver: um segundo
+     * {@link GeradorIds} reservaria blocos por uma conexão própria, fora do ciclo de vida do contexto.
+     */
+    private enum BeanDoContexto implements BeanContainer.LifecycleOptions, BeanInstanceProducer {
+        INSTANCIA;
+
+        @Override
+        public boolean canUseCachedReferences() {
+            return true;
+        }
+
+        @Override
+        public boolean useJpaCompliantCreation() {
+            return false;
+        }
+
+        @Override
+        public <B> B produceBeanInstance(Class<B> tipo) {
+            throw new IllegalStateException("Bean " + tipo.getName() + " não encontrado no contexto do Spring.");
+        }
+
+        @Override
+        public <B> B produceBeanInstance(String nome, Class<B> tipo) {
+            return produceBeanInstance(tipo);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.tigd.api.service.id;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gera os ids das tabelas cujas linhas são inseridas em lote, como {@code transacao}.
+ * <br>
+ * A tabela {@code sequencia_id} guarda, por sequência, o próximo id ainda não reservado. Cada instância da aplicação
+ * reserva blocos de {@code api.id.tamanho-bloco} ids e os entrega da memória, então a base de dados é consultada uma
+ * vez por bloco e a inserção não precisa esperar o id gerado pelo banco, o que permite agrupá-la em lotes JDBC.
+ * <br>
+ * A reserva usa uma conexão própria, fora do pool da aplicação, e é confirmada na hora: um bloco nunca é devolvido,
+ * mesmo que a transação que pediu o id seja desfeita. Os ids são únicos e crescentes em cada instância, mas têm
+ * lacunas e não seguem a ordem de inserção entre instâncias.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Service
+public class GeradorIds {
+    public static final String TRANSACAO = "transacao";
+
+    private static final String LER_SEQUENCIA = "SELECT proximo_valor FROM sequencia_id WHERE nome = ? FOR UPDATE";
+    private static final String AVANCAR_SEQUENCIA = "UPDATE sequencia_id SET proximo_valor = ? WHERE nome = ?";
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Value("${api.id.tamanho-bloco:1000}")
+    private int tamanhoBloco;
+
+    private final Map<String, Bloco> blocos = new ConcurrentHashMap<>();
+
+    private HikariDataSource conexaoReserva;
+
+    private JdbcTemplate jdbcReserva;
+
+    private TransactionTemplate transacaoReserva;
+
+    @PostConstruct
+    void iniciar() {
+        conexaoReserva = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        conexaoReserva.setPoolName("sequencia-id");
+        conexaoReserva.setMaximumPoolSize(1);
+        jdbcReserva = new JdbcTemplate(conexaoReserva);
+        transacaoReserva = new TransactionTemplate(new DataSourceTransactionManager(conexaoReserva));
+        transacaoReserva.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        conexaoReserva.close();
+    }
+
+    /**
+     * Entrega o próximo id do bloco atual da sequência, reservando um novo bloco quando o atual acaba.
+     *
+     * @param sequencia o nome da sequência em {@code sequencia_id}.
+     * @return um id ainda não entregue por nenhuma instância.
+     */
+    public long proximo(String sequencia) {
+        return blocos.computeIfAbsent(sequencia, Bloco::new).proximo();
+    }
+
+    /**
+     * Reserva uma faixa contínua de ids diretamente na base de dados, sem passar pelo bloco da instância.
+     *
+     * @param sequencia o nome da sequência em {@code sequencia_id}.
+     * @param quantidade a quantidade de ids da faixa.
+     * @return o primeiro id da faixa; a faixa vai até {@code primeiro + quantidade - 1}.
+     */
+    public long reservar(String sequencia, int quantidade) {
+        return transacaoReserva.execute(status -> {
+            Long proximo = jdbcReserva.queryForObject(LER_SEQUENCIA, Long.class, sequencia);
+            jdbcReserva.update(AVANCAR_SEQUENCIA, proximo + quantidade, sequencia);
+            return proximo;
+        });
+    }
+
+    /**
+     * Os ids de uma sequência já reservados por esta instância e ainda não entregues.
+     */
+    private final class Bloco {
+        private final String sequencia;
+        private long proximo;
+        private long fim;
+
+        private Bloco(String sequencia) {
+            this.sequencia = sequencia;
+        }
+
+        private synchronized long proximo() {
+            if (proximo == fim) {
+                proximo = reservar(sequencia, tamanhoBloco);
+                fim = proximo + tamanhoBloco;
+            }
+            return proximo++;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.tigd.api.service.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca o id de uma entidade como gerado pelo {@link GeradorIds}, no lugar de {@code GenerationType.IDENTITY}.
+ * <br>
+ * Com o id conhecido antes do {@code INSERT}, o Hibernate agrupa as inserções da entidade em lotes JDBC de
+ * {@code hibernate.jdbc.batch_size} linhas.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@IdGeneratorType(GeradorIdSequencial.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface IdSequencial {
+
+    /**
+     * @return o nome da sequência em {@code sequencia_id}.
+     */
+    String value();
+}
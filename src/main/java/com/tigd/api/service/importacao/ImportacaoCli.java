@@ -0,0 +1,69 @@
+package com.tigd.api.service.importacao;
+
+import com.tigd.api.dto.ErroImportacaoDTO;
+import com.tigd.api.dto.ResultadoImportacaoDTO;
+import com.tigd.api.service.TipoImportacao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Executa uma importação pela linha de comando e encerra a aplicação.
+ *
+ * <pre>{@code
+ * java -jar api.jar --spring.main.web-application-type=none \
+ *     --api.importacao.arquivo=clientes.csv --api.importacao.tipo=CLIENTES
+ * }</pre>
+ *
+ * O código de saída é 0 se todos os registros forem importados e 1 se algum for recusado.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Component
+@ConditionalOnProperty(name = "api.importacao.arquivo")
+public class ImportacaoCli implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoCli.class);
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private ConfigurableApplicationContext contexto;
+
+    @Value("${api.importacao.arquivo}")
+    private Path arquivo;
+
+    @Value("${api.importacao.tipo}")
+    private TipoImportacao tipo;
+
+    @Override
+    public void run(ApplicationArguments argumentos) throws Exception {
+        ResultadoImportacaoDTO resultado;
+        try (InputStream entrada = Files.newInputStream(arquivo)) {
+            resultado = importacaoService.importar(tipo, entrada);
+        }
+        log.info("Importação de {} a partir de {}: {} registros, {} importados, {} recusados",
+                tipo, arquivo, resultado.registros(), resultado.importados(), resultado.recusados());
+        for (ErroImportacaoDTO erro : resultado.erros()) {
+            log.warn("Linha {}: {}", erro.linha(), erro.motivo());
+        }
+        if (resultado.errosOmitidos()) {
+            log.warn("{} recusas não listadas", resultado.recusados() - resultado.erros().size());
+        }
+        int codigoSaida = resultado.recusados() == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(contexto, () -> codigoSaida));
+    }
+}
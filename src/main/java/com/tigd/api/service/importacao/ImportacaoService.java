@@ -0,0 +1,378 @@
+package com.tigd.api.service.importacao;
+
+import com.tigd.api.domain.Money;
+import com.tigd.api.dto.ErroImportacaoDTO;
+import com.tigd.api.dto.ResultadoImportacaoDTO;
+import com.tigd.api.exceptions.ArquivoImportacaoInvalidoException;
+import com.tigd.api.service.TipoImportacao;
+import com.tigd.api.service.unicidade.CampoUnico;
+import com.tigd.api.service.unicidade.FiltroUnicidade;
+import com.tigd.api.validators.DocumentValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importa clientes ou empresas de um arquivo CSV.
+ *
+ * <p>
+ * O arquivo é lido em lotes de {@code api.importacao.tamanho-lote} registros, então a memória usada não depende do
+ * tamanho do arquivo. Em cada lote:
+ * </p>
+ * <ol>
+ *   <li>os documentos são validados em paralelo pelo {@link DocumentValidator}, com as mesmas regras do cadastro
+ *   pela API;</li>
+ *   <li>documentos e emails repetidos dentro do lote são recusados;</li>
+ *   <li>a unicidade de documentos e emails é verificada na base de dados com uma consulta {@code IN} por campo;</li>
+ *   <li>os registros válidos são inseridos num único lote JDBC.</li>
+ * </ol>
+ * <p>
+ * Cada lote é gravado na sua própria transação; uma importação interrompida mantém os lotes anteriores. Se a base de
+ * dados recusar algum registro do lote, por exemplo porque outra requisição gravou o mesmo documento ou email entre a
+ * verificação e a inserção, o lote é desfeito e seus registros são inseridos um a um, recusando apenas os que falharem.
+ * </p>
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Service
+public class ImportacaoService {
+
+    private static final String INSERIR_CLIENTE =
+            "INSERT INTO clientes (nome, cpf, email, saldo, ativo, version) VALUES (?, ?, ?, ?, true, 0)";
+
+    private static final String INSERIR_EMPRESA =
+            "INSERT INTO empresas (nome, cnpj, email, saldo, taxa_sistema, ativo, version) VALUES (?, ?, ?, ?, ?, true, 0)";
+
+    private static final BigDecimal TAXA_PADRAO = BigDecimal.valueOf(0.01);
+
+    @Autowired
+    private DocumentValidator documentValidator;
+
+    @Autowired
+    private FiltroUnicidade filtroUnicidade;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${api.importacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${api.importacao.maximo-erros:1000}")
+    private int maximoErros;
+
+    /**
+     * Importa os registros do arquivo.
+     *
+     * @param tipo o cadastro preenchido pelo arquivo.
+     * @param entrada o conteúdo do arquivo em UTF-8, com cabeçalho na primeira linha.
+     * @return a quantidade de registros importados e recusados e o motivo de cada recusa.
+     * @throws ArquivoImportacaoInvalidoException se o cabeçalho não tiver as colunas obrigatórias ou o arquivo
+     * não estiver no formato CSV.
+     */
+    public ResultadoImportacaoDTO importar(TipoImportacao tipo, InputStream entrada) {
+        Cadastro cadastro = tipo == TipoImportacao.CLIENTES ? Cadastro.CLIENTES : Cadastro.EMPRESAS;
+        Relatorio relatorio = new Relatorio(maximoErros);
+        try (LeitorCsv leitor = new LeitorCsv(new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8)))) {
+            Map<String, Integer> colunas = lerCabecalho(leitor, cadastro);
+            List<Registro> lote = new ArrayList<>(tamanhoLote);
+            String[] campos;
+            while ((campos = leitor.proximo()) != null) {
+                lote.add(new Registro(leitor.getLinhaRegistro(), campos, colunas, cadastro.colunaDocumento));
+                if (lote.size() == tamanhoLote) {
+                    processarLote(cadastro, lote, relatorio);
+                    lote.clear();
+                }
+            }
+            processarLote(cadastro, lote, relatorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return relatorio.resultado(tipo);
+    }
+
+    private Map<String, Integer> lerCabecalho(LeitorCsv leitor, Cadastro cadastro) throws IOException {
+        String[] cabecalho = leitor.proximo();
+        if (cabecalho == null) {
+            throw new ArquivoImportacaoInvalidoException("Arquivo de importação vazio.");
+        }
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.length; i++) {
+            String nome = cabecalho[i].replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            colunas.putIfAbsent(nome, i);
+        }
+        for (String obrigatoria : List.of("nome", cadastro.colunaDocumento, "email")) {
+            if (!colunas.containsKey(obrigatoria)) {
+                throw new ArquivoImportacaoInvalidoException("Coluna obrigatória ausente no cabeçalho: " + obrigatoria + ".");
+            }
+        }
+        return colunas;
+    }
+
+    private void processarLote(Cadastro cadastro, List<Registro> lote, Relatorio relatorio) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        lote.parallelStream().forEach(registro -> validar(cadastro, registro));
+        recusarRepetidosNoLote(lote);
+        recusarExistentes(cadastro, lote);
+
+        List<Registro> validos = new ArrayList<>(lote.size());
+        for (Registro registro : lote) {
+            if (registro.erro == null) {
+                validos.add(registro);
+            }
+        }
+        inserir(cadastro, validos);
+        for (Registro registro : lote) {
+            relatorio.registrar(registro);
+        }
+    }
+
+    /**
+     * Normaliza os campos como o cadastro pela API e valida o documento, o saldo e a taxa.
+     */
+    private void validar(Cadastro cadastro, Registro registro) {
+        try {
+            registro.nome = registro.nome == null ? "" : registro.nome.trim().replaceAll("\\s+", " ");
+            registro.email = registro.email == null ? "" : registro.email.trim().replaceAll("\\s+", "");
+            registro.documento = registro.documento == null ? "" : registro.documento.trim().replaceAll("\\s+", "");
+            if (registro.nome.isEmpty() || registro.nome.length() > 150) {
+                throw new IllegalArgumentException("Nome vazio ou com mais de 150 caracteres.");
+            }
+            if (registro.email.isEmpty() || registro.email.length() > 255) {
+                throw new IllegalArgumentException("Email vazio ou com mais de 255 caracteres.");
+            }
+            registro.documento = documentValidator.isValid(registro.documento, cadastro.contexto);
+            registro.saldo = lerValor(registro.textoSaldo, BigDecimal.ZERO, "Saldo");
+            if (cadastro == Cadastro.EMPRESAS) {
+                registro.taxaSistema = lerValor(registro.textoTaxa, TAXA_PADRAO, "Taxa do sistema");
+            }
+        } catch (IllegalArgumentException e) {
+            registro.erro = e.getMessage();
+        }
+    }
+
+    private BigDecimal lerValor(String texto, BigDecimal padrao, String campo) {
+        if (texto == null || texto.isBlank()) {
+            return padrao;
+        }
+        BigDecimal valor;
+        try {
+            valor = new BigDecimal(texto.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(campo + " inválido: " + texto.trim());
+        }
+        if (valor.signum() < 0) {
+            throw new IllegalArgumentException(campo + " negativo: " + texto.trim());
+        }
+        return Money.of(valor).toBigDecimal();
+    }
+
+    private void recusarRepetidosNoLote(List<Registro> lote) {
+        Set<String> documentos = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Registro registro : lote) {
+            if (registro.erro != null) {
+                continue;
+            }
+            if (!documentos.add(registro.documento)) {
+                registro.erro = "Documento repetido no arquivo: " + registro.documento;
+            } else if (!emails.add(registro.email)) {
+                registro.erro = "Email repetido no arquivo: " + registro.email;
+            }
+        }
+    }
+
+    /**
+     * Recusa os registros cujo documento ou email já estão gravados, com uma consulta por campo para o lote inteiro.
+     */
+    private void recusarExistentes(Cadastro cadastro, List<Registro> lote) {
+        List<String> documentos = new ArrayList<>(lote.size());
+        List<String> emails = new ArrayList<>(lote.size());
+        for (Registro registro : lote) {
+            if (registro.erro == null) {
+                documentos.add(registro.documento);
+                emails.add(registro.email);
+            }
+        }
+        if (documentos.isEmpty()) {
+            return;
+        }
+        Set<String> documentosExistentes = buscarExistentes(cadastro.consultaDocumentos, documentos);
+        Set<String> emailsExistentes = buscarExistentes(cadastro.consultaEmails, emails);
+        for (Registro registro : lote) {
+            if (registro.erro != null) {
+                continue;
+            }
+            if (documentosExistentes.contains(registro.documento)) {
+                registro.erro = cadastro.mensagemDocumentoExistente;
+            } else if (emailsExistentes.contains(registro.email)) {
+                registro.erro = "Email já está cadastrado.";
+            }
+        }
+    }
+
+    private Set<String> buscarExistentes(String consulta, List<String> valores) {
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(consulta, Map.of("valores", valores), String.class));
+    }
+
+    private void inserir(Cadastro cadastro, List<Registro> validos) {
+        if (validos.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(cadastro.insercao, validos, validos.size(), (ps, registro) -> definirParametros(cadastro, ps, registro)));
+        } catch (DataIntegrityViolationException e) {
+            for (Registro registro : validos) {
+                try {
+                    jdbcTemplate.update(cadastro.insercao, ps -> definirParametros(cadastro, ps, registro));
+                } catch (DuplicateKeyException repetido) {
+                    registro.erro = "Documento ou email já está cadastrado.";
+                } catch (DataIntegrityViolationException recusado) {
+                    registro.erro = "Registro recusado pela base de dados.";
+                }
+            }
+        }
+        for (Registro registro : validos) {
+            if (registro.erro == null) {
+                filtroUnicidade.registrar(cadastro.campoDocumento, registro.documento);
+                filtroUnicidade.registrar(cadastro.campoEmail, registro.email);
+            }
+        }
+    }
+
+    private void definirParametros(Cadastro cadastro, PreparedStatement ps, Registro registro) throws SQLException {
+        ps.setString(1, registro.nome);
+        ps.setString(2, registro.documento);
+        ps.setString(3, registro.email);
+        ps.setBigDecimal(4, registro.saldo);
+        if (cadastro == Cadastro.EMPRESAS) {
+            ps.setBigDecimal(5, registro.taxaSistema);
+        }
+    }
+
+    /**
+     * O que muda entre a importação de clientes e a de empresas.
+     */
+    private enum Cadastro {
+        CLIENTES("cpf", "cliente", INSERIR_CLIENTE,
+                "SELECT cpf FROM clientes WHERE cpf IN (:valores)",
+                "SELECT email FROM clientes WHERE email IN (:valores)",
+                "CPF já está cadastrado.", CampoUnico.CPF, CampoUnico.EMAIL_CLIENTE),
+        EMPRESAS("cnpj", "empresa", INSERIR_EMPRESA,
+                "SELECT cnpj FROM empresas WHERE cnpj IN (:valores)",
+                "SELECT email FROM empresas WHERE email IN (:valores)",
+                "CNPJ já está cadastrado.", CampoUnico.CNPJ, CampoUnico.EMAIL_EMPRESA);
+
+        private final String colunaDocumento;
+        private final String contexto;
+        private final String insercao;
+        private final String consultaDocumentos;
+        private final String consultaEmails;
+        private final String mensagemDocumentoExistente;
+        private final CampoUnico campoDocumento;
+        private final CampoUnico campoEmail;
+
+        Cadastro(String colunaDocumento, String contexto, String insercao, String consultaDocumentos, String consultaEmails,
+                 String mensagemDocumentoExistente, CampoUnico campoDocumento, CampoUnico campoEmail) {
+            this.colunaDocumento = colunaDocumento;
+            this.contexto = contexto;
+            this.insercao = insercao;
+            this.consultaDocumentos = consultaDocumentos;
+            this.consultaEmails = consultaEmails;
+            this.mensagemDocumentoExistente = mensagemDocumentoExistente;
+            this.campoDocumento = campoDocumento;
+            this.campoEmail = campoEmail;
+        }
+    }
+
+    /**
+     * Um registro do arquivo e o resultado da sua validação.
+     */
+    private static final class Registro {
+        private final long linha;
+        private String nome;
+        private String documento;
+        private String email;
+        private final String textoSaldo;
+        private final String textoTaxa;
+        private BigDecimal saldo;
+        private BigDecimal taxaSistema;
+        private String erro;
+
+        private Registro(long linha, String[] campos, Map<String, Integer> colunas, String colunaDocumento) {
+            this.linha = linha;
+            this.nome = campo(campos, colunas, "nome");
+            this.documento = campo(campos, colunas, colunaDocumento);
+            this.email = campo(campos, colunas, "email");
+            this.textoSaldo = campo(campos, colunas, "saldo");
+            this.textoTaxa = campo(campos, colunas, "taxa_sistema");
+        }
+
+        private static String campo(String[] campos, Map<String, Integer> colunas, String coluna) {
+            Integer indice = colunas.get(coluna);
+            return indice == null || indice >= campos.length ? null : campos[indice];
+        }
+    }
+
+    /**
+     * Totais da importação e as primeiras recusas, até o limite configurado.
+     */
+    private static final class Relatorio {
+        private final int maximoErros;
+        private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+        private long registros;
+        private long importados;
+        private long recusados;
+
+        private Relatorio(int maximoErros) {
+            this.maximoErros = maximoErros;
+        }
+
+        private void registrar(Registro registro) {
+            registros++;
+            if (registro.erro == null) {
+                importados++;
+                return;
+            }
+            recusados++;
+            if (erros.size() < maximoErros) {
+                erros.add(new ErroImportacaoDTO(registro.linha, registro.erro));
+            }
+        }
+
+        private ResultadoImportacaoDTO resultado(TipoImportacao tipo) {
+            return new ResultadoImportacaoDTO(tipo, registros, importados, recusados, List.copyOf(erros), recusados > erros.size());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.tigd.api.service.importacao;
+
+import com.tigd.api.exceptions.ArquivoImportacaoInvalidoException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê um arquivo CSV registro a registro, sem carregar o arquivo em memória.
+ *
+ * <p>
+ * Segue a RFC 4180: campos separados por vírgula, registros separados por {@code \n} ou {@code \r\n} e campos entre
+ * aspas podendo conter vírgulas, quebras de linha e aspas duplicadas ({@code ""}). Linhas vazias são ignoradas.
+ * Campos e registros têm tamanho máximo, para que um arquivo malformado não consuma memória sem limite.
+ * </p>
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public class LeitorCsv implements Closeable {
+
+    static final int TAMANHO_MAXIMO_CAMPO = 1024;
+
+    static final int MAXIMO_CAMPOS = 32;
+
+    private static final int FIM = -1;
+
+    private final Reader leitor;
+
+    private final char[] buffer = new char[8192];
+
+    private int posicao;
+
+    private int limite;
+
+    private long linha = 1;
+
+    private long linhaRegistro;
+
+    private final StringBuilder campo = new StringBuilder();
+
+    /**
+     * @param leitor o conteúdo do arquivo; é fechado junto com o {@code LeitorCsv}.
+     */
+    public LeitorCsv(Reader leitor) {
+        this.leitor = leitor;
+    }
+
+    /**
+     * Lê o próximo registro.
+     *
+     * @return os campos do registro, ou {@code null} no fim do arquivo.
+     * @throws IOException se o arquivo não puder ser lido.
+     * @throws ArquivoImportacaoInvalidoException se o registro não estiver no formato CSV ou exceder os limites.
+     */
+    public String[] proximo() throws IOException {
+        int caractere = ler();
+        while (caractere == '\n' || caractere == '\r') {
+            caractere = ler();
+        }
+        if (caractere == FIM) {
+            return null;
+        }
+        linhaRegistro = linha;
+        List<String> campos = new ArrayList<>();
+        while (true) {
+            campo.setLength(0);
+            if (caractere == '"') {
+                caractere = lerCampoEntreAspas();
+            } else {
+                while (caractere != ',' && caractere != '\n' && caractere != '\r' && caractere != FIM) {
+                    acrescentar(caractere);
+                    caractere = ler();
+                }
+            }
+            if (campos.size() == MAXIMO_CAMPOS) {
+                throw new ArquivoImportacaoInvalidoException("Registro da linha " + linhaRegistro + " tem mais de " + MAXIMO_CAMPOS + " campos.");
+            }
+            campos.add(campo.toString());
+            if (caractere != ',') {
+                return campos.toArray(new String[0]);
+            }
+            caractere = ler();
+        }
+    }
+
+    /**
+     * @return a linha do arquivo em que começa o último registro lido, contando a partir de 1.
+     */
+    public long getLinhaRegistro() {
+        return linhaRegistro;
+    }
+
+    @Override
+    public void close() throws IOException {
+        leitor.close();
+    }
+
+    /**
+     * Lê um campo iniciado por aspas até as aspas de fechamento.
+     *
+     * @return o caractere seguinte às aspas de fechamento.
+     */
+    private int lerCampoEntreAspas() throws IOException {
+        while (true) {
+            int caractere = ler();
+            if (caractere == FIM) {
+                throw new ArquivoImportacaoInvalidoException("Aspas abertas na linha " + linhaRegistro + " não foram fechadas.");
+            }
+            if (caractere == '"') {
+                caractere = ler();
+                if (caractere != '"') {
+                    if (caractere != ',' && caractere != '\n' && caractere != '\r' && caractere != FIM) {
+                        throw new ArquivoImportacaoInvalidoException("Caractere inesperado após aspas na linha " + linha + ".");
+                    }
+                    return caractere;
+                }
+            }
+            acrescentar(caractere);
+        }
+    }
+
+    private void acrescentar(int caractere) {
+        if (campo.length() == TAMANHO_MAXIMO_CAMPO) {
+            throw new ArquivoImportacaoInvalidoException("Campo da linha " + linhaRegistro + " excede " + TAMANHO_MAXIMO_CAMPO + " caracteres.");
+        }
+        campo.append((char) caractere);
+    }
+
+    /**
+     * Lê o próximo caractere, tratando {@code \r\n} como uma única quebra de linha {@code \n}.
+     */
+    private int ler() throws IOException {
+        int caractere = lerBruto();
+        if (caractere == '\r') {
+            if (espiar() == '\n') {
+                posicao++;
+            }
+            caractere = '\n';
+        }
+        if (caractere == '\n') {
+            linha++;
+        }
+        return caractere;
+    }
+
+    private int lerBruto() throws IOException {
+        if (posicao == limite && !preencher()) {
+            return FIM;
+        }
+        return buffer[posicao++];
+    }
+
+    private int espiar() throws IOException {
+        if (posicao == limite && !preencher()) {
+            return FIM;
+        }
+        return buffer[posicao];
+    }
+
+    private boolean preencher() throws IOException {
+        limite = leitor.read(buffer, 0, buffer.length);
+        posicao = 0;
+        if (limite <= 0) {
+            limite = 0;
+            return false;
+        }
+        return true;
+    }
+}
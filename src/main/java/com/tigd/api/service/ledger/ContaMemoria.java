@@ -0,0 +1,49 @@
+package com.tigd.api.service.ledger;
+
+import com.tigd.api.domain.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Estado em memória de uma conta de cliente ou de empresa.
+ *
+ * Cada instância pertence a um único {@link ShardLedger} e só é lida ou alterada pela thread desse shard,
+ * por isso não precisa de sincronização. O saldo é guardado em centavos e a taxa em centésimos,
+ * as mesmas unidades usadas por {@link Money}.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+class ContaMemoria {
+    private long saldoCentavos;
+    private long taxaCentesimos;
+
+    ContaMemoria(BigDecimal saldo, BigDecimal taxaSistema) {
+        this.saldoCentavos = saldo == null ? 0L : Money.of(saldo).centavos();
+        setTaxaSistema(taxaSistema);
+    }
+
+    Money getSaldo() {
+        return Money.deCentavos(saldoCentavos);
+    }
+
+    long getTaxaCentesimos() {
+        return taxaCentesimos;
+    }
+
+    void setTaxaSistema(BigDecimal taxaSistema) {
+        this.taxaCentesimos = taxaSistema == null ? 0L : Money.taxaEmCentesimos(taxaSistema);
+    }
+
+    boolean possuiSaldo(Money valor) {
+        return saldoCentavos >= valor.centavos();
+    }
+
+    void debitar(Money valor) {
+        saldoCentavos = Math.subtractExact(saldoCentavos, valor.centavos());
+    }
+
+    void creditar(Money valor) {
+        saldoCentavos = Math.addExact(saldoCentavos, valor.centavos());
+    }
+}
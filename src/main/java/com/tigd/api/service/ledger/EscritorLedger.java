@@ -0,0 +1,260 @@
+package com.tigd.api.service.ledger;
+
+import com.tigd.api.domain.Money;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.service.id.GeradorIds;
+import com.tigd.api.service.resumo.ResumoDiarioService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grava na base de dados, em segundo plano e em lotes, as transações aplicadas pelo {@link LedgerMemoria}.
+ *
+ * Cada lote é gravado numa única transação de banco: as linhas de {@code transacao} são inseridas em lote JDBC
+ * e os saldos de {@code clientes} e {@code empresas} e os resumos diários recebem a soma das variações do lote.
+ * Como as variações são somadas, a ordem em que os lotes chegam ao banco não altera o saldo final.
+ * <br>
+ * Se a gravação falhar, por qualquer exceção, o mesmo lote é tentado novamente e o indicador de saúde fica
+ * {@code DOWN} até que um lote seja gravado; a fila é limitada, então um banco indisponível por muito tempo acaba
+ * segurando os shards até que haja espaço. No encerramento as tentativas continuam até que a fila esteja gravada:
+ * uma transação já confirmada ao cliente nunca é descartada. Se a thread de gravação parar por um erro, novas
+ * transações são recusadas em vez de se acumularem numa fila que ninguém esvazia.
+ * <br>
+ * As datas das transações em andamento no ledger e ainda não confirmadas no banco ficam registradas, para que os
+ * checkpoints de saldo não sejam gravados depois de uma transação que ainda vai ser inserida com data anterior.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Component
+@ConditionalOnProperty(name = "api.transacao.modo-concorrencia", havingValue = "MEMORIA")
+class EscritorLedger implements HealthIndicator {
+    private static final Logger log = LoggerFactory.getLogger(EscritorLedger.class);
+
+    private static final String INSERIR_TRANSACAO =
+            "INSERT INTO transacao (id, valor, valor_taxa, data, tipo, cliente_id, empresa_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String ATUALIZAR_SALDO_CLIENTE =
+            "UPDATE clientes SET saldo = saldo + ?, version = version + 1 WHERE id = ?";
+    private static final String ATUALIZAR_SALDO_EMPRESA =
+            "UPDATE empresas SET saldo = saldo + ?, version = version + 1 WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Autowired
+    private GeradorIds geradorIds;
+
+    @Value("${api.transacao.memoria.capacidade-fila:100000}")
+    private int capacidadeFila;
+
+    @Value("${api.transacao.memoria.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${api.transacao.memoria.intervalo-gravacao-ms:50}")
+    private long intervaloGravacaoMs;
+
+    private BlockingQueue<LancamentoLedger> fila;
+
+    private final ConcurrentNavigableMap<LocalDateTime, Integer> naoGravadas = new ConcurrentSkipListMap<>();
+
+    private Thread gravador;
+
+    private volatile boolean ativo = true;
+
+    private volatile boolean parado;
+
+    private volatile RuntimeException falhaGravacao;
+
+    @PostConstruct
+    void iniciar() {
+        fila = new ArrayBlockingQueue<>(capacidadeFila);
+        gravador = new Thread(this::gravarContinuamente, "ledger-gravador");
+        gravador.start();
+    }
+
+    /**
+     * Grava o que restou na fila antes de a aplicação encerrar.
+     */
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        ativo = false;
+        gravador.join();
+    }
+
+    /**
+     * Enfileira uma transação aplicada para gravação. Bloqueia enquanto a fila estiver cheia.
+     *
+     * @param lancamento a transação aplicada e as variações de saldo que ela causou.
+     * @throws IllegalStateException se a thread de gravação parou.
+     */
+    void enfileirar(LancamentoLedger lancamento) {
+        try {
+            verificarGravador();
+            while (!fila.offer(lancamento, intervaloGravacaoMs, TimeUnit.MILLISECONDS)) {
+                verificarGravador();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao enfileirar transação para gravação", e);
+        }
+    }
+
+    /**
+     * @return a quantidade de transações aplicadas em memória que ainda não foram gravadas.
+     */
+    int pendentes() {
+        return fila.size();
+    }
+
+    /**
+     * Registra uma transação que começou a ser aplicada e cuja linha ainda não foi confirmada no banco.
+     *
+     * @param data a data da transação.
+     * @throws IllegalStateException se a thread de gravação parou.
+     */
+    void reservar(LocalDateTime data) {
+        verificarGravador();
+        naoGravadas.merge(data, 1, Integer::sum);
+    }
+
+    /**
+     * Retira o registro de uma transação gravada ou recusada pelo ledger.
+     *
+     * @param data a data da transação.
+     */
+    void liberar(LocalDateTime data) {
+        naoGravadas.computeIfPresent(data, (chave, quantidade) -> quantidade == 1 ? null : quantidade - 1);
+    }
+
+    /**
+     * @return a data mais antiga entre as transações em andamento ou aguardando gravação, se houver alguma.
+     */
+    Optional<LocalDateTime> dataMaisAntigaNaoGravada() {
+        return Optional.ofNullable(naoGravadas.firstEntry()).map(Map.Entry::getKey);
+    }
+
+    @Override
+    public Health health() {
+        RuntimeException falha = falhaGravacao;
+        Health.Builder saude = parado ? Health.down() : falha != null ? Health.down(falha) : Health.up();
+        return saude.withDetail("pendentes", pendentes()).build();
+    }
+
+    private void verificarGravador() {
+        if (parado) {
+            throw new IllegalStateException("A gravação do ledger em memória parou; transações não são aceitas");
+        }
+    }
+
+    private void gravarContinuamente() {
+        List<LancamentoLedger> lote = new ArrayList<>(tamanhoLote);
+        try {
+            while (ativo || !fila.isEmpty() || !lote.isEmpty()) {
+                if (lote.isEmpty()) {
+                    LancamentoLedger primeiro = fila.poll(intervaloGravacaoMs, TimeUnit.MILLISECONDS);
+                    if (primeiro == null) {
+                        continue;
+                    }
+                    lote.add(primeiro);
+                    fila.drainTo(lote, tamanhoLote - 1);
+                }
+                try {
+                    gravar(lote);
+                    lote.clear();
+                    falhaGravacao = null;
+                } catch (RuntimeException e) {
+                    falhaGravacao = e;
+                    if (ativo) {
+                        log.warn("Falha ao gravar lote de {} transações, tentando novamente", lote.size(), e);
+                    } else {
+                        log.error("Falha ao gravar lote no encerramento; aguardando a base de dados para gravar {}"
+                                + " transações antes de encerrar", lote.size() + fila.size(), e);
+                    }
+                    aguardar();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Gravação do ledger interrompida com {} transações não gravadas", lote.size() + fila.size());
+        } catch (Error e) {
+            log.error("Gravação do ledger parou com {} transações não gravadas", lote.size() + fila.size(), e);
+            throw e;
+        } finally {
+            parado = true;
+        }
+    }
+
+    private void gravar(List<LancamentoLedger> lote) {
+        Map<Long, Money> variacoesClientes = new HashMap<>();
+        Map<Long, Money> variacoesEmpresas = new HashMap<>();
+        List<Transacao> transacoes = new ArrayList<>(lote.size());
+        for (LancamentoLedger lancamento : lote) {
+            if (lancamento.transacao().getId() == null) {
+                lancamento.transacao().setId(geradorIds.proximo(GeradorIds.TRANSACAO));
+            }
+            transacoes.add(lancamento.transacao());
+            variacoesClientes.merge(lancamento.transacao().getCliente().getId(), lancamento.variacaoCliente(), Money::somar);
+            variacoesEmpresas.merge(lancamento.transacao().getEmpresa().getId(), lancamento.variacaoEmpresa(), Money::somar);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERIR_TRANSACAO, lote, lote.size(), (ps, lancamento) -> {
+                Transacao transacao = lancamento.transacao();
+                ps.setLong(1, transacao.getId());
+                ps.setBigDecimal(2, transacao.getValor().toBigDecimal());
+                ps.setBigDecimal(3, transacao.getValorTaxa().toBigDecimal());
+                ps.setTimestamp(4, Timestamp.valueOf(transacao.getData()));
+                ps.setString(5, String.valueOf(transacao.getTipo()));
+                ps.setLong(6, transacao.getCliente().getId());
+                ps.setLong(7, transacao.getEmpresa().getId());
+            });
+            jdbcTemplate.batchUpdate(ATUALIZAR_SALDO_CLIENTE, parametros(variacoesClientes));
+            jdbcTemplate.batchUpdate(ATUALIZAR_SALDO_EMPRESA, parametros(variacoesEmpresas));
+            resumoDiarioService.registrar(transacoes);
+        });
+        transacoes.forEach(transacao -> liberar(transacao.getData()));
+    }
+
+    private List<Object[]> parametros(Map<Long, Money> variacoes) {
+        List<Object[]> parametros = new ArrayList<>(variacoes.size());
+        variacoes.forEach((id, variacao) -> parametros.add(new Object[]{variacao.toBigDecimal(), id}));
+        return parametros;
+    }
+
+    private void aguardar() {
+        try {
+            Thread.sleep(Math.max(intervaloGravacaoMs, 100));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
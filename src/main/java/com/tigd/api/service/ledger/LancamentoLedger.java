@@ -0,0 +1,17 @@
+package com.tigd.api.service.ledger;
+
+import com.tigd.api.domain.Money;
+import com.tigd.api.domain.Transacao;
+
+/**
+ * Transação aplicada pelo ledger em memória e ainda não gravada na base de dados.
+ *
+ * @param transacao a transação aplicada.
+ * @param variacaoCliente o valor somado ao saldo do cliente (negativo em depósitos).
+ * @param variacaoEmpresa o valor somado ao saldo da empresa (negativo em saques).
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+record LancamentoLedger(Transacao transacao, Money variacaoCliente, Money variacaoEmpresa) {
+}
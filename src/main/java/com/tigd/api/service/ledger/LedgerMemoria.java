@@ -0,0 +1,213 @@
+package com.tigd.api.service.ledger;
+
+import com.tigd.api.domain.Money;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.exceptions.ClienteNotFoundException;
+import com.tigd.api.exceptions.EmpresaNotFoundException;
+import com.tigd.api.exceptions.SaldoNegativoException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Ledger em memória usado pelo modo {@link com.tigd.api.service.ModoConcorrencia#MEMORIA}.
+ *
+ * <p>
+ * Os saldos de clientes e empresas ficam em memória, divididos por id entre um número fixo de {@link ShardLedger},
+ * cada um com uma única thread escritora. Uma transação passa pelos shards das duas contas envolvidas, debitando
+ * primeiro a conta que paga e só então creditando a que recebe, de modo que um saldo nunca fica negativo e o
+ * caminho da transação não consulta a base de dados nem usa bloqueios.
+ * </p>
+ *
+ * <p>
+ * As transações aplicadas são gravadas depois, em lotes, pelo {@link EscritorLedger}. Na inicialização o estado
+ * é recuperado a partir dos saldos gravados em {@code clientes} e {@code empresas}; contas criadas depois disso
+ * são carregadas na primeira transação em que aparecem. Transações aplicadas que ainda estavam na fila quando o
+ * processo foi interrompido abruptamente não são recuperadas.
+ * </p>
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Component
+@ConditionalOnProperty(name = "api.transacao.modo-concorrencia", havingValue = "MEMORIA")
+public class LedgerMemoria {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EscritorLedger escritor;
+
+    @Value("${api.transacao.memoria.shards:4}")
+    private int quantidadeShards;
+
+    private ShardLedger[] shards;
+
+    /**
+     * Cria os shards e recupera os saldos gravados na base de dados.
+     */
+    @PostConstruct
+    void iniciar() {
+        shards = new ShardLedger[quantidadeShards];
+        for (int i = 0; i < quantidadeShards; i++) {
+            shards[i] = new ShardLedger(i, this::carregarCliente, this::carregarEmpresa);
+        }
+        jdbcTemplate.query("SELECT id, saldo FROM clientes", (RowCallbackHandler) rs ->
+                shardDe(rs.getLong("id")).registrarCliente(rs.getLong("id"), new ContaMemoria(rs.getBigDecimal("saldo"), null)));
+        jdbcTemplate.query("SELECT id, saldo, taxa_sistema FROM empresas", (RowCallbackHandler) rs ->
+                shardDe(rs.getLong("id")).registrarEmpresa(rs.getLong("id"),
+                        new ContaMemoria(rs.getBigDecimal("saldo"), rs.getBigDecimal("taxa_sistema"))));
+    }
+
+    @PreDestroy
+    void encerrar() {
+        for (ShardLedger shard : shards) {
+            shard.encerrar();
+        }
+    }
+
+    /**
+     * Aplica a transação sobre os saldos em memória.
+     * <br>
+     * Depósito ('D'): lê a taxa no shard da empresa, debita o valor com taxa no shard do cliente e credita o valor
+     * no shard da empresa. Saque ('S'): debita o valor com taxa no shard da empresa e credita o valor no shard do
+     * cliente; se o cliente não existir, o débito da empresa é estornado.
+     *
+     * @param transacao a transação já validada.
+     * @return a transação, concluída quando as duas contas foram atualizadas e a gravação foi enfileirada.
+     * O resultado é concluído com {@link SaldoNegativoException}, {@link ClienteNotFoundException} ou
+     * {@link EmpresaNotFoundException} quando a transação é recusada.
+     */
+    public CompletableFuture<Transacao> aplicar(Transacao transacao) {
+        LocalDateTime data = transacao.getData();
+        escritor.reservar(data);
+        return aplicarNosShards(transacao).whenComplete((aplicada, erro) -> {
+            if (erro != null) {
+                escritor.liberar(data);
+            }
+        });
+    }
+
+    private CompletableFuture<Transacao> aplicarNosShards(Transacao transacao) {
+        Long clienteId = transacao.getCliente().getId();
+        Long empresaId = transacao.getEmpresa().getId();
+        Money valor = transacao.getValor();
+        ShardLedger shardCliente = shardDe(clienteId);
+        ShardLedger shardEmpresa = shardDe(empresaId);
+
+        if (transacao.getTipo() == 'D') {
+            return shardEmpresa.executar(() -> empresa(shardEmpresa, empresaId).getTaxaCentesimos())
+                    .thenCompose(taxa -> shardCliente.executar(() -> {
+                        Money valorComTaxa = valor.comTaxa(taxa);
+                        debitar(cliente(shardCliente, clienteId), valorComTaxa);
+                        return valorComTaxa;
+                    }))
+                    .thenCompose(valorComTaxa -> shardEmpresa.executar(() -> {
+                        empresa(shardEmpresa, empresaId).creditar(valor);
+                        transacao.setValorTaxa(valorComTaxa.subtrair(valor));
+                        return registrar(transacao, valorComTaxa.negar(), valor);
+                    }));
+        }
+
+        return shardEmpresa.executar(() -> {
+                    ContaMemoria empresa = empresa(shardEmpresa, empresaId);
+                    Money valorComTaxa = valor.comTaxa(empresa.getTaxaCentesimos());
+                    debitar(empresa, valorComTaxa);
+                    return valorComTaxa;
+                })
+                .thenCompose(valorComTaxa -> shardCliente.executar(() -> {
+                    Optional<ContaMemoria> cliente = shardCliente.cliente(clienteId);
+                    cliente.ifPresent(conta -> conta.creditar(valor));
+                    return cliente.isPresent();
+                }).thenCompose(creditado -> {
+                    if (!creditado) {
+                        return estornarEmpresa(shardEmpresa, empresaId, valorComTaxa);
+                    }
+                    transacao.setValorTaxa(valorComTaxa.subtrair(valor));
+                    return CompletableFuture.completedFuture(registrar(transacao, valor, valorComTaxa.negar()));
+                }));
+    }
+
+    /**
+     * Atualiza a taxa do sistema de uma empresa que já está em memória.
+     *
+     * @param empresaId o id da empresa.
+     * @param taxaSistema a nova taxa.
+     */
+    public void atualizarTaxaSistema(Long empresaId, BigDecimal taxaSistema) {
+        ShardLedger shard = shardDe(empresaId);
+        shard.executar(() -> {
+            shard.empresa(empresaId).ifPresent(empresa -> empresa.setTaxaSistema(taxaSistema));
+            return null;
+        });
+    }
+
+    /**
+     * @return a quantidade de transações aplicadas em memória que ainda não foram gravadas na base de dados.
+     */
+    public int transacoesPendentesDeGravacao() {
+        return escritor.pendentes();
+    }
+
+    /**
+     * @return a data mais antiga entre as transações que estão sendo aplicadas ou que ainda não foram confirmadas na
+     * base de dados, se houver alguma. Nenhuma linha com data anterior a ela vai ser inserida depois pelo ledger.
+     */
+    public Optional<LocalDateTime> dataMaisAntigaNaoGravada() {
+        return escritor.dataMaisAntigaNaoGravada();
+    }
+
+    private CompletableFuture<Transacao> estornarEmpresa(ShardLedger shardEmpresa, Long empresaId, Money valorComTaxa) {
+        return shardEmpresa.executar(() -> {
+            empresa(shardEmpresa, empresaId).creditar(valorComTaxa);
+            throw new ClienteNotFoundException();
+        });
+    }
+
+    private Transacao registrar(Transacao transacao, Money variacaoCliente, Money variacaoEmpresa) {
+        escritor.enfileirar(new LancamentoLedger(transacao, variacaoCliente, variacaoEmpresa));
+        return transacao;
+    }
+
+    private ContaMemoria cliente(ShardLedger shard, Long id) {
+        return shard.cliente(id).orElseThrow(ClienteNotFoundException::new);
+    }
+
+    private ContaMemoria empresa(ShardLedger shard, Long id) {
+        return shard.empresa(id).orElseThrow(EmpresaNotFoundException::new);
+    }
+
+    private void debitar(ContaMemoria conta, Money valor) {
+        if (!conta.possuiSaldo(valor)) {
+            throw new SaldoNegativoException();
+        }
+        conta.debitar(valor);
+    }
+
+    private ShardLedger shardDe(long id) {
+        return shards[(int) Math.floorMod(id, (long) shards.length)];
+    }
+
+    private Optional<ContaMemoria> carregarCliente(Long id) {
+        return jdbcTemplate.query("SELECT saldo FROM clientes WHERE id = ?", rs -> rs.next()
+                ? Optional.of(new ContaMemoria(rs.getBigDecimal("saldo"), null))
+                : Optional.<ContaMemoria>empty(), id);
+    }
+
+    private Optional<ContaMemoria> carregarEmpresa(Long id) {
+        return jdbcTemplate.query("SELECT saldo, taxa_sistema FROM empresas WHERE id = ?", rs -> rs.next()
+                ? Optional.of(new ContaMemoria(rs.getBigDecimal("saldo"), rs.getBigDecimal("taxa_sistema")))
+                : Optional.<ContaMemoria>empty(), id);
+    }
+}
@@ -0,0 +1,97 @@
+package com.tigd.api.service.ledger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Partição do ledger em memória com uma única thread escritora.
+ *
+ * Todas as operações sobre as contas do shard são enfileiradas e executadas em sequência pela mesma thread,
+ * no estilo de um ator. Assim nenhuma conta é alterada por duas threads ao mesmo tempo e não há bloqueios.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+class ShardLedger {
+    private final Map<Long, ContaMemoria> clientes = new HashMap<>();
+    private final Map<Long, ContaMemoria> empresas = new HashMap<>();
+    private final ExecutorService executor;
+    private final Function<Long, Optional<ContaMemoria>> carregadorCliente;
+    private final Function<Long, Optional<ContaMemoria>> carregadorEmpresa;
+
+    /**
+     * @param indice o número do shard, usado no nome da thread.
+     * @param carregadorCliente busca na base de dados um cliente que ainda não está em memória.
+     * @param carregadorEmpresa busca na base de dados uma empresa que ainda não está em memória.
+     */
+    ShardLedger(int indice, Function<Long, Optional<ContaMemoria>> carregadorCliente,
+                Function<Long, Optional<ContaMemoria>> carregadorEmpresa) {
+        this.executor = Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "ledger-shard-" + indice);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.carregadorCliente = carregadorCliente;
+        this.carregadorEmpresa = carregadorEmpresa;
+    }
+
+    /**
+     * Registra uma conta recuperada da base de dados. Só deve ser chamado antes de o shard receber operações.
+     */
+    void registrarCliente(Long id, ContaMemoria conta) {
+        clientes.put(id, conta);
+    }
+
+    /**
+     * Registra uma conta recuperada da base de dados. Só deve ser chamado antes de o shard receber operações.
+     */
+    void registrarEmpresa(Long id, ContaMemoria conta) {
+        empresas.put(id, conta);
+    }
+
+    /**
+     * Enfileira uma operação para a thread do shard.
+     *
+     * @param operacao a operação que será executada sobre as contas do shard.
+     * @return o resultado da operação, concluído pela thread do shard.
+     */
+    <T> CompletableFuture<T> executar(Supplier<T> operacao) {
+        return CompletableFuture.supplyAsync(operacao, executor);
+    }
+
+    /**
+     * Retorna o cliente em memória, carregando-o da base de dados na primeira vez que é usado.
+     * Só pode ser chamado pela thread do shard.
+     */
+    Optional<ContaMemoria> cliente(Long id) {
+        return buscar(clientes, id, carregadorCliente);
+    }
+
+    /**
+     * Retorna a empresa em memória, carregando-a da base de dados na primeira vez que é usada.
+     * Só pode ser chamado pela thread do shard.
+     */
+    Optional<ContaMemoria> empresa(Long id) {
+        return buscar(empresas, id, carregadorEmpresa);
+    }
+
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    private Optional<ContaMemoria> buscar(Map<Long, ContaMemoria> contas, Long id, Function<Long, Optional<ContaMemoria>> carregador) {
+        ContaMemoria conta = contas.get(id);
+        if (conta != null) {
+            return Optional.of(conta);
+        }
+        Optional<ContaMemoria> carregada = carregador.apply(id);
+        carregada.ifPresent(encontrada -> contas.put(id, encontrada));
+        return carregada;
+    }
+}
@@ -0,0 +1,257 @@
+package com.tigd.api.service.resumo;
+
+import com.tigd.api.domain.Money;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.ResultadoReconstrucaoDTO;
+import com.tigd.api.dto.ResumoContaDTO;
+import com.tigd.api.dto.ResumoDiarioDTO;
+import com.tigd.api.exceptions.ClienteNotFoundException;
+import com.tigd.api.exceptions.EmpresaNotFoundException;
+import com.tigd.api.exceptions.PeriodoInvalidoException;
+import com.tigd.api.infra.banco.BancoDados;
+import com.tigd.api.service.CacheContas;
+import com.tigd.api.service.arquivo.ArquivoTransacoes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Mantém os resumos diários de movimento por cliente e por empresa: quantidade e volume de depósitos e de saques e
+ * soma das taxas cobradas.
+ * <br>
+ * Os resumos são atualizados na mesma transação de banco que grava as transações, por {@link #registrar(Collection)},
+ * então um resumo nunca conta uma transação desfeita nem deixa de contar uma transação gravada. Consultar um período
+ * lê uma linha por dia, sem percorrer a tabela {@code transacao}.
+ * <br>
+ * Para preencher resumos de transações antigas, ou corrigi-los, {@link #reconstruir(LocalDate, LocalDate)} recalcula
+ * os dias a partir da tabela {@code transacao}, vários dias em paralelo.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Service
+public class ResumoDiarioService {
+    private static final int PERIODO_PADRAO_DIAS = 30;
+
+    private static final int PERIODO_MAXIMO_DIAS = 366;
+
+    private static final String BLOQUEAR_TRANSACOES_DIA =
+            "SELECT COUNT(*) FROM transacao WHERE data >= ? AND data < ? LOCK IN SHARE MODE";
+
+    private static final Comparator<ChaveResumo> ORDEM_CHAVES =
+            Comparator.comparing(ChaveResumo::conta).thenComparing(ChaveResumo::dia);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheContas cacheContas;
+
+    @Autowired
+    private ArquivoTransacoes arquivoTransacoes;
+
+    @Autowired
+    private BancoDados bancoDados;
+
+    @Value("${api.resumo.reconstrucao.threads:4}")
+    private int threadsReconstrucao;
+
+    /**
+     * Soma as transações aos resumos diários do cliente e da empresa de cada uma.
+     * <br>
+     * Deve ser chamado dentro da transação de banco que grava as transações e depois que os saldos das contas
+     * foram bloqueados ou atualizados. As transações são agrupadas por conta e dia antes da gravação, e os resumos
+     * são gravados sempre na mesma ordem (clientes antes de empresas, menor id e dia mais antigo primeiro), a mesma
+     * ordem dos bloqueios de saldo, para que gravações simultâneas não esperem uma pela outra em ciclo.
+     *
+     * @param transacoes as transações gravadas, com {@code valorTaxa} preenchido.
+     */
+    public void registrar(Collection<Transacao> transacoes) {
+        if (transacoes.isEmpty()) {
+            return;
+        }
+        Map<ChaveResumo, Acumulado> clientes = new TreeMap<>(ORDEM_CHAVES);
+        Map<ChaveResumo, Acumulado> empresas = new TreeMap<>(ORDEM_CHAVES);
+        for (Transacao transacao : transacoes) {
+            LocalDate dia = transacao.getData().toLocalDate();
+            clientes.computeIfAbsent(new ChaveResumo(transacao.getCliente().getId(), dia), chave -> new Acumulado())
+                    .adicionar(transacao);
+            empresas.computeIfAbsent(new ChaveResumo(transacao.getEmpresa().getId(), dia), chave -> new Acumulado())
+                    .adicionar(transacao);
+        }
+        jdbcTemplate.batchUpdate(TabelaResumo.CLIENTE.getAcumular(), parametros(clientes));
+        jdbcTemplate.batchUpdate(TabelaResumo.EMPRESA.getAcumular(), parametros(empresas));
+    }
+
+    /**
+     * Consulta o movimento diário de um cliente.
+     *
+     * @param clienteId o id do cliente.
+     * @param inicio o primeiro dia, ou {@code null} para {@value #PERIODO_PADRAO_DIAS} dias antes de {@code fim}.
+     * @param fim o último dia, inclusive, ou {@code null} para hoje.
+     * @return os totais do período e o movimento de cada dia com transações.
+     * @throws ClienteNotFoundException se o cliente não existir na base de dados.
+     * @throws PeriodoInvalidoException se {@code inicio} for depois de {@code fim} ou o período passar de
+     * {@value #PERIODO_MAXIMO_DIAS} dias.
+     */
+    public ResumoContaDTO resumoCliente(Long clienteId, LocalDate inicio, LocalDate fim) {
+        cacheContas.cliente(clienteId);
+        return consultar(TabelaResumo.CLIENTE, clienteId, inicio, fim);
+    }
+
+    /**
+     * Consulta o movimento diário de uma empresa.
+     *
+     * @param empresaId o id da empresa.
+     * @param inicio o primeiro dia, ou {@code null} para {@value #PERIODO_PADRAO_DIAS} dias antes de {@code fim}.
+     * @param fim o último dia, inclusive, ou {@code null} para hoje.
+     * @return os totais do período e o movimento de cada dia com transações.
+     * @throws EmpresaNotFoundException se a empresa não existir na base de dados.
+     * @throws PeriodoInvalidoException se {@code inicio} for depois de {@code fim} ou o período passar de
+     * {@value #PERIODO_MAXIMO_DIAS} dias.
+     */
+    public ResumoContaDTO resumoEmpresa(Long empresaId, LocalDate inicio, LocalDate fim) {
+        cacheContas.empresa(empresaId);
+        return consultar(TabelaResumo.EMPRESA, empresaId, inicio, fim);
+    }
+
+    /**
+     * Recalcula os resumos de clientes e de empresas de cada dia do período a partir da tabela {@code transacao}.
+     * <br>
+     * Cada dia é reconstruído numa transação de banco própria, em até {@code api.resumo.reconstrucao.threads}
+     * dias ao mesmo tempo. Antes de apagar os resumos do dia, as transações do dia são bloqueadas para leitura;
+     * uma transação nova nesse dia espera a reconstrução terminar e é somada ao resumo reconstruído. O H2 do perfil
+     * {@code perf} não tem esse bloqueio, então lá a reconstrução deve rodar sem transações novas nos dias reconstruídos.
+     *
+     * @param inicio o primeiro dia.
+     * @param fim o último dia, inclusive.
+     * @return a quantidade de dias e de resumos reconstruídos.
+     * @throws PeriodoInvalidoException se um dos dias não for informado, {@code inicio} for depois de {@code fim} ou
+     * {@code inicio} estiver num mês arquivado, cujas transações não estão mais na tabela {@code transacao}.
+     */
+    public ResultadoReconstrucaoDTO reconstruir(LocalDate inicio, LocalDate fim) {
+        if (inicio == null || fim == null || inicio.isAfter(fim)) {
+            throw new PeriodoInvalidoException("Informe o início e o fim da reconstrução, com o início até o fim.");
+        }
+        LocalDateTime limiteArquivo = arquivoTransacoes.limite();
+        if (limiteArquivo != null && inicio.atStartOfDay().isBefore(limiteArquivo)) {
+            throw new PeriodoInvalidoException("Os resumos só podem ser reconstruídos a partir de "
+                    + limiteArquivo.toLocalDate() + "; os meses anteriores estão arquivados.");
+        }
+        long comeco = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threadsReconstrucao);
+        try {
+            List<Future<Integer>> dias = new ArrayList<>();
+            for (LocalDate dia = inicio; !dia.isAfter(fim); dia = dia.plusDays(1)) {
+                LocalDate reconstruido = dia;
+                dias.add(executor.submit(() -> reconstruirDia(reconstruido)));
+            }
+            long resumos = 0;
+            for (Future<Integer> dia : dias) {
+                resumos += dia.get();
+            }
+            return new ResultadoReconstrucaoDTO(inicio, fim, dias.size(), resumos, (System.nanoTime() - comeco) / 1_000_000);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstrução dos resumos interrompida", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int reconstruirDia(LocalDate dia) {
+        Timestamp de = Timestamp.valueOf(dia.atStartOfDay());
+        Timestamp ate = Timestamp.valueOf(dia.plusDays(1).atStartOfDay());
+        return transactionTemplate.execute(status -> {
+            if (bancoDados.isMySql()) {
+                jdbcTemplate.queryForObject(BLOQUEAR_TRANSACOES_DIA, Long.class, de, ate);
+            }
+            int resumos = 0;
+            for (TabelaResumo tabela : TabelaResumo.values()) {
+                jdbcTemplate.update(tabela.getExcluirDia(), Date.valueOf(dia));
+                resumos += jdbcTemplate.update(tabela.getReconstruirDia(), de, ate);
+            }
+            return resumos;
+        });
+    }
+
+    private ResumoContaDTO consultar(TabelaResumo tabela, Long conta, LocalDate inicio, LocalDate fim) {
+        LocalDate ultimo = fim == null ? LocalDate.now() : fim;
+        LocalDate primeiro = inicio == null ? ultimo.minusDays(PERIODO_PADRAO_DIAS - 1) : inicio;
+        if (primeiro.isAfter(ultimo) || ChronoUnit.DAYS.between(primeiro, ultimo) >= PERIODO_MAXIMO_DIAS) {
+            throw new PeriodoInvalidoException("O período deve começar até o fim e ter no máximo "
+                    + PERIODO_MAXIMO_DIAS + " dias.");
+        }
+        List<ResumoDiarioDTO> dias = jdbcTemplate.query(tabela.getConsultar(), (rs, linha) -> new ResumoDiarioDTO(
+                rs.getDate("dia").toLocalDate(),
+                rs.getLong("quantidade_depositos"),
+                rs.getLong("quantidade_saques"),
+                rs.getBigDecimal("volume_depositos"),
+                rs.getBigDecimal("volume_saques"),
+                rs.getBigDecimal("taxas")), conta, Date.valueOf(primeiro), Date.valueOf(ultimo));
+        return ResumoContaDTO.somar(conta, primeiro, ultimo, dias);
+    }
+
+    private List<Object[]> parametros(Map<ChaveResumo, Acumulado> resumos) {
+        List<Object[]> parametros = new ArrayList<>(resumos.size());
+        resumos.forEach((chave, acumulado) -> parametros.add(new Object[]{
+                chave.conta(),
+                Date.valueOf(chave.dia()),
+                acumulado.quantidadeDepositos,
+                acumulado.quantidadeSaques,
+                acumulado.volumeDepositos.toBigDecimal(),
+                acumulado.volumeSaques.toBigDecimal(),
+                acumulado.taxas.toBigDecimal()}));
+        return parametros;
+    }
+
+    private record ChaveResumo(Long conta, LocalDate dia) {
+    }
+
+    private static final class Acumulado {
+        private long quantidadeDepositos;
+        private long quantidadeSaques;
+        private Money volumeDepositos = Money.ZERO;
+        private Money volumeSaques = Money.ZERO;
+        private Money taxas = Money.ZERO;
+
+        private void adicionar(Transacao transacao) {
+            if (transacao.getTipo() == 'D') {
+                quantidadeDepositos++;
+                volumeDepositos = volumeDepositos.somar(transacao.getValor());
+            } else {
+                quantidadeSaques++;
+                volumeSaques = volumeSaques.somar(transacao.getValor());
+            }
+            if (transacao.getValorTaxa() != null) {
+                taxas = taxas.somar(transacao.getValorTaxa());
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.tigd.api.service.resumo;
+
+/**
+ * As tabelas de resumo diário e as instruções SQL usadas sobre cada uma.
+ * <br>
+ * As duas tabelas têm as mesmas colunas e diferem apenas na conta que identifica a linha, então as instruções são
+ * montadas uma única vez a partir do nome da tabela e da coluna da conta.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+enum TabelaResumo {
+
+    CLIENTE("resumo_diario_cliente", "cliente_id"),
+
+    EMPRESA("resumo_diario_empresa", "empresa_id");
+
+    private static final String COLUNAS =
+            "dia, quantidade_depositos, quantidade_saques, volume_depositos, volume_saques, taxas";
+
+    private final String acumular;
+
+    private final String consultar;
+
+    private final String excluirDia;
+
+    private final String reconstruirDia;
+
+    TabelaResumo(String tabela, String colunaConta) {
+        this.acumular = "INSERT INTO " + tabela + " (" + colunaConta + ", " + COLUNAS + ") VALUES (?, ?, ?, ?, ?, ?, ?)"
+                + " ON DUPLICATE KEY UPDATE"
+                + " quantidade_depositos = quantidade_depositos + VALUES(quantidade_depositos),"
+                + " quantidade_saques = quantidade_saques + VALUES(quantidade_saques),"
+                + " volume_depositos = volume_depositos + VALUES(volume_depositos),"
+                + " volume_saques = volume_saques + VALUES(volume_saques),"
+                + " taxas = taxas + VALUES(taxas)";
+        this.consultar = "SELECT " + COLUNAS + " FROM " + tabela
+                + " WHERE " + colunaConta + " = ? AND dia BETWEEN ? AND ? ORDER BY dia";
+        this.excluirDia = "DELETE FROM " + tabela + " WHERE dia = ?";
+        this.reconstruirDia = "INSERT INTO " + tabela + " (" + colunaConta + ", " + COLUNAS + ")"
+                + " SELECT t." + colunaConta + ", DATE(t.data),"
+                + " SUM(CASE WHEN t.tipo = 'D' THEN 1 ELSE 0 END),"
+                + " SUM(CASE WHEN t.tipo = 'S' THEN 1 ELSE 0 END),"
+                + " SUM(CASE WHEN t.tipo = 'D' THEN t.valor ELSE 0 END),"
+                + " SUM(CASE WHEN t.tipo = 'S' THEN t.valor ELSE 0 END),"
+                + " SUM(COALESCE(t.valor_taxa, ROUND(t.valor * e.taxa_sistema, 2)))"
+                + " FROM transacao t JOIN empresas e ON e.id = t.empresa_id"
+                + " WHERE t.data >= ? AND t.data < ?"
+                + " GROUP BY t." + colunaConta + ", DATE(t.data)";
+    }
+
+    /**
+     * @return a instrução que soma o movimento de uma conta num dia ao resumo existente, criando-o se preciso.
+     */
+    String getAcumular() {
+        return acumular;
+    }
+
+    /**
+     * @return a consulta dos resumos de uma conta entre dois dias, inclusive.
+     */
+    String getConsultar() {
+        return consultar;
+    }
+
+    /**
+     * @return a instrução que remove os resumos de todas as contas num dia.
+     */
+    String getExcluirDia() {
+        return excluirDia;
+    }
+
+    /**
+     * Transações gravadas antes da coluna {@code valor_taxa} existir não têm a taxa registrada; para elas a taxa é
+     * recalculada com a taxa atual da empresa, com o mesmo arredondamento de {@link com.tigd.api.domain.Money#comTaxa(long)}.
+     *
+     * @return a instrução que grava os resumos de todas as contas a partir das transações de um intervalo.
+     */
+    String getReconstruirDia() {
+        return reconstruirDia;
+    }
+}
@@ -0,0 +1,389 @@
+package com.tigd.api.service.saldo;
+
+import com.tigd.api.dto.SaldoHistoricoDTO;
+import com.tigd.api.exceptions.ClienteNotFoundException;
+import com.tigd.api.exceptions.EmpresaNotFoundException;
+import com.tigd.api.repository.CursorTransacao;
+import com.tigd.api.service.CacheContas;
+import com.tigd.api.service.arquivo.ArquivoTransacoes;
+import com.tigd.api.service.arquivo.TransacaoArquivada;
+import com.tigd.api.service.ledger.LedgerMemoria;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grava periodicamente checkpoints de saldo por conta e usa esses checkpoints para calcular o saldo de uma conta em
+ * qualquer posição do seu histórico de transações.
+ * <br>
+ * Um checkpoint é o saldo da conta logo depois de uma transação. Para saber o saldo numa posição, parte-se do
+ * checkpoint mais próximo e somam-se apenas as transações entre ele e a posição, no máximo cerca de
+ * {@code api.saldo.checkpoint.transacoes} linhas lidas pelo índice {@code (conta, data, id)}, qualquer que seja o
+ * tamanho do histórico.
+ * <br>
+ * Os checkpoints são calculados para trás a partir do saldo atual, numa leitura consistente em que o saldo e as
+ * transações gravadas correspondem um ao outro (toda gravação de transação altera o saldo na mesma transação de
+ * banco). Só recebem checkpoint transações com data anterior a {@code api.saldo.checkpoint.atraso-segundos}, para que
+ * uma transação ainda não confirmada com data anterior ao checkpoint não o torne incorreto. No modo
+ * {@link com.tigd.api.service.ModoConcorrencia#MEMORIA} as linhas são inseridas depois, em lotes, e podem demorar
+ * bem mais do que esse atraso se o banco estiver indisponível; por isso a marca também não passa da data mais antiga
+ * que o {@link LedgerMemoria} ainda não confirmou no banco.
+ * <br>
+ * Quando um mês é arquivado, cada conta com transações no mês recebe um fechamento com o saldo inicial e final do mês
+ * e um checkpoint na sua última transação do mês. Assim o checkpoint anterior a uma posição ainda na tabela
+ * {@code transacao} nunca depende de transações arquivadas, e posições nos meses arquivados partem do fechamento.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Service
+public class CheckpointSaldoService {
+    private static final Logger log = LoggerFactory.getLogger(CheckpointSaldoService.class);
+
+    private static final int TAMANHO_FETCH = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheContas cacheContas;
+
+    @Autowired
+    private ArquivoTransacoes arquivoTransacoes;
+
+    @Autowired
+    private ObjectProvider<LedgerMemoria> ledgerMemoria;
+
+    @Value("${api.saldo.checkpoint.transacoes:1000}")
+    private int transacoesEntreCheckpoints;
+
+    @Value("${api.saldo.checkpoint.atraso-segundos:60}")
+    private long atrasoSegundos;
+
+    private JdbcTemplate leituraEmFluxo;
+
+    private TransactionTemplate leituraConsistente;
+
+    private LocalDateTime ultimaMarca;
+
+    @PostConstruct
+    void iniciar() {
+        leituraEmFluxo = new JdbcTemplate(dataSource);
+        leituraEmFluxo.setFetchSize(TAMANHO_FETCH);
+        leituraConsistente = new TransactionTemplate(transactionManager);
+        leituraConsistente.setReadOnly(true);
+        leituraConsistente.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Grava checkpoints para as contas que acumularam pelo menos {@code api.saldo.checkpoint.transacoes} transações
+     * desde o último checkpoint.
+     * <br>
+     * Na primeira execução todas as contas com transações são percorridas, o que preenche os checkpoints do histórico
+     * existente; nas seguintes, apenas as contas com transações desde a execução anterior.
+     *
+     * @return a quantidade de checkpoints gravados.
+     */
+    @Scheduled(fixedDelayString = "${api.saldo.checkpoint.intervalo-ms:60000}")
+    public synchronized int gerarCheckpoints() {
+        LocalDateTime marca = marca();
+        int gravados = 0;
+        for (TipoConta tipo : TipoConta.values()) {
+            List<Long> contas = ultimaMarca == null
+                    ? jdbcTemplate.queryForList(tipo.getContasComTransacoes(), Long.class)
+                    : jdbcTemplate.queryForList(tipo.getContasComTransacoesDesde(), Long.class, Timestamp.valueOf(ultimaMarca));
+            gravados += gravarCheckpoints(tipo, contas, marca);
+        }
+        ultimaMarca = marca;
+        if (gravados > 0) {
+            log.info("{} checkpoints de saldo gravados até {}", gravados, marca);
+        }
+        return gravados;
+    }
+
+    /**
+     * Grava checkpoints para as contas informadas, qualquer que seja a data das suas transações.
+     * <br>
+     * Usado depois de gravar transações com data anterior à última execução de {@link #gerarCheckpoints()}, que não
+     * revisita essas contas, e de descartar os checkpoints que elas invalidaram com
+     * {@link #descartarCheckpoints(TipoConta, Collection, LocalDateTime)}.
+     *
+     * @param tipo o tipo das contas.
+     * @param contas os ids das contas.
+     * @return a quantidade de checkpoints gravados.
+     */
+    public synchronized int gerarCheckpoints(TipoConta tipo, Collection<Long> contas) {
+        return gravarCheckpoints(tipo, contas, marca());
+    }
+
+    /**
+     * Remove os checkpoints das contas a partir de uma data, inclusive. Deve ser chamado na transação de banco que
+     * grava transações com data anterior ao saldo atual das contas: os checkpoints posteriores a essas transações
+     * deixam de corresponder ao saldo nas suas posições, e os anteriores continuam corretos.
+     *
+     * @param tipo o tipo das contas.
+     * @param contas os ids das contas.
+     * @param desde a data da transação mais antiga gravada.
+     */
+    public void descartarCheckpoints(TipoConta tipo, Collection<Long> contas, LocalDateTime desde) {
+        Timestamp data = Timestamp.valueOf(desde);
+        jdbcTemplate.batchUpdate(tipo.getRemoverCheckpointsDesde(),
+                contas.stream().map(conta -> new Object[]{conta, data}).toList());
+    }
+
+    /**
+     * Calcula o saldo de uma conta num momento, usado para responder contestações sem reprocessar o histórico.
+     *
+     * @param tipo o tipo da conta.
+     * @param conta o id do cliente ou da empresa.
+     * @param momento o momento consultado.
+     * @return o saldo depois de todas as transações da conta com data até o momento, inclusive.
+     * @throws ClienteNotFoundException se a conta for de cliente e o cliente não existir na base de dados.
+     * @throws EmpresaNotFoundException se a conta for de empresa e a empresa não existir na base de dados.
+     * @see #saldoApos(TipoConta, Long, CursorTransacao)
+     */
+    public SaldoHistoricoDTO saldoEm(TipoConta tipo, Long conta, LocalDateTime momento) {
+        if (tipo == TipoConta.CLIENTE) {
+            cacheContas.cliente(conta);
+        } else {
+            cacheContas.empresa(conta);
+        }
+        return new SaldoHistoricoDTO(conta, momento, saldoApos(tipo, conta, new CursorTransacao(momento, Long.MAX_VALUE)));
+    }
+
+    /**
+     * Calcula o saldo de uma conta logo depois de uma posição do seu histórico, isto é, depois de todas as transações
+     * da conta com {@code (data, id)} até a posição, inclusive.
+     * <br>
+     * Parte do checkpoint anterior à posição e soma as transações seguintes; sem checkpoint anterior, parte do
+     * checkpoint seguinte e desfaz as transações até ele; sem nenhum checkpoint, parte do saldo atual. Posições em
+     * meses arquivados partem do fechamento mensal.
+     *
+     * @param tipo o tipo da conta.
+     * @param conta o id da conta, que deve existir.
+     * @param posicao a posição no histórico da conta.
+     * @return o saldo da conta depois da posição.
+     */
+    public BigDecimal saldoApos(TipoConta tipo, Long conta, CursorTransacao posicao) {
+        LocalDateTime limiteArquivo = arquivoTransacoes.limite();
+        if (limiteArquivo != null && posicao.data().isBefore(limiteArquivo)) {
+            return saldoArquivado(tipo, conta, posicao, limiteArquivo);
+        }
+        Timestamp data = Timestamp.valueOf(posicao.data());
+        Long id = posicao.id();
+        return leituraConsistente.execute(status -> {
+            Checkpoint anterior = checkpoint(tipo.getCheckpointAnterior(), conta, data, data, id);
+            if (anterior != null) {
+                return anterior.saldo().add(somar(tipo.getSomarVariacoesEntre(),
+                        conta, anterior.data(), anterior.data(), anterior.data(), anterior.transacao(), data, data, data, id));
+            }
+            Checkpoint posterior = checkpoint(tipo.getCheckpointPosterior(), conta, data, data, id);
+            if (posterior != null) {
+                return posterior.saldo().subtract(somar(tipo.getSomarVariacoesEntre(),
+                        conta, data, data, data, id, posterior.data(), posterior.data(), posterior.data(), posterior.transacao()));
+            }
+            return saldoAtual(tipo, conta).subtract(somar(tipo.getSomarVariacoesApos(), conta, data, data, data, id));
+        });
+    }
+
+    /**
+     * Grava o fechamento de um mês que vai sair da tabela {@code transacao}: para cada conta com transações no mês,
+     * o saldo no início e no fim do mês e um checkpoint na última transação da conta no mês.
+     * <br>
+     * Deve ser chamado dentro da transação de banco que registra o mês como arquivado, com os meses anteriores já
+     * arquivados e as transações do mês ainda na tabela.
+     *
+     * @param mes o mês fechado.
+     */
+    public void fecharMes(YearMonth mes) {
+        Timestamp inicio = Timestamp.valueOf(mes.atDay(1).atStartOfDay());
+        LocalDateTime fim = mes.plusMonths(1).atDay(1).atStartOfDay();
+        CursorTransacao fimDoMes = new CursorTransacao(fim, 0L);
+        for (TipoConta tipo : TipoConta.values()) {
+            Map<Long, BigDecimal> variacoes = new LinkedHashMap<>();
+            jdbcTemplate.query(tipo.getVariacoesPorContaEntre(), (RowCallbackHandler) rs ->
+                    variacoes.put(rs.getLong("conta"), rs.getBigDecimal("variacao")), inicio, Timestamp.valueOf(fim));
+
+            List<Object[]> fechamentos = new ArrayList<>(variacoes.size());
+            List<Object[]> checkpoints = new ArrayList<>(variacoes.size());
+            variacoes.forEach((conta, variacao) -> {
+                BigDecimal saldoFinal = saldoApos(tipo, conta, fimDoMes);
+                fechamentos.add(new Object[]{conta, Date.valueOf(mes.atDay(1)), saldoFinal.subtract(variacao), saldoFinal});
+                jdbcTemplate.query(tipo.getUltimaTransacaoAntes(), (RowCallbackHandler) rs -> checkpoints.add(
+                        new Object[]{conta, rs.getTimestamp("data"), rs.getLong("id"), saldoFinal}), conta, Timestamp.valueOf(fim));
+            });
+            jdbcTemplate.batchUpdate(tipo.getInserirFechamento(), fechamentos);
+            jdbcTemplate.batchUpdate(tipo.getInserirCheckpoint(), checkpoints);
+        }
+    }
+
+    /**
+     * Calcula o saldo numa posição de um mês arquivado a partir do primeiro fechamento da conta desde o mês da
+     * posição: se o fechamento é do próprio mês, soma ao saldo inicial as transações arquivadas até a posição; se é
+     * de um mês seguinte, a conta não teve transações entre a posição e esse mês; sem fechamento, a conta não teve
+     * transações entre a posição e o limite do arquivo.
+     */
+    private BigDecimal saldoArquivado(TipoConta tipo, Long conta, CursorTransacao posicao, LocalDateTime limiteArquivo) {
+        YearMonth mes = YearMonth.from(posicao.data());
+        List<Fechamento> fechamentos = jdbcTemplate.query(tipo.getFechamentoAPartirDe(), (rs, linha) -> new Fechamento(
+                YearMonth.from(rs.getDate("mes").toLocalDate()), rs.getBigDecimal("saldo_inicial")), conta, Date.valueOf(mes.atDay(1)));
+        if (fechamentos.isEmpty()) {
+            return saldoApos(tipo, conta, new CursorTransacao(limiteArquivo, 0L));
+        }
+        Fechamento fechamento = fechamentos.get(0);
+        BigDecimal saldo = fechamento.saldoInicial();
+        if (fechamento.mes().equals(mes)) {
+            for (TransacaoArquivada transacao : arquivoTransacoes.transacoes(mes, tipo, conta)) {
+                if (transacao.depoisDe(posicao)) {
+                    break;
+                }
+                saldo = saldo.add(transacao.variacao(tipo));
+            }
+        }
+        return saldo;
+    }
+
+    /**
+     * @return a data até a qual, exclusive, as transações já estão todas confirmadas: o atraso configurado, limitado
+     * pela transação mais antiga que o ledger em memória ainda vai gravar.
+     */
+    private LocalDateTime marca() {
+        LocalDateTime marca = LocalDateTime.now().minusSeconds(atrasoSegundos);
+        LedgerMemoria ledger = ledgerMemoria.getIfAvailable();
+        if (ledger == null) {
+            return marca;
+        }
+        return ledger.dataMaisAntigaNaoGravada().filter(marca::isAfter).orElse(marca);
+    }
+
+    private int gravarCheckpoints(TipoConta tipo, Collection<Long> contas, LocalDateTime marca) {
+        int gravados = 0;
+        for (Long conta : contas) {
+            List<Object[]> checkpoints = calcularCheckpoints(tipo, conta, Timestamp.valueOf(marca));
+            if (!checkpoints.isEmpty()) {
+                jdbcTemplate.batchUpdate(tipo.getInserirCheckpoint(), checkpoints);
+                gravados += checkpoints.size();
+            }
+        }
+        return gravados;
+    }
+
+    /**
+     * Percorre as transações da conta posteriores ao último checkpoint, da mais recente para a mais antiga,
+     * desfazendo cada uma a partir do saldo atual.
+     *
+     * @return os checkpoints a gravar, como parâmetros de {@link TipoConta#getInserirCheckpoint()}.
+     */
+    private List<Object[]> calcularCheckpoints(TipoConta tipo, Long conta, Timestamp marca) {
+        return leituraConsistente.execute(status -> {
+            PercursoCheckpoints percurso = new PercursoCheckpoints(conta, saldoAtual(tipo, conta), marca);
+            Checkpoint ultimo = checkpoint(tipo.getUltimoCheckpoint(), conta);
+            if (ultimo == null) {
+                leituraEmFluxo.query(tipo.getTransacoesDecrescentes(), percurso, conta);
+            } else {
+                leituraEmFluxo.query(tipo.getTransacoesDecrescentesApos(), percurso,
+                        conta, ultimo.data(), ultimo.data(), ultimo.data(), ultimo.transacao());
+            }
+            return percurso.checkpoints();
+        });
+    }
+
+    private BigDecimal saldoAtual(TipoConta tipo, Long conta) {
+        BigDecimal saldo = jdbcTemplate.queryForObject(tipo.getSaldoAtual(), BigDecimal.class, conta);
+        return saldo == null ? BigDecimal.ZERO : saldo;
+    }
+
+    private BigDecimal somar(String consulta, Object... parametros) {
+        return jdbcTemplate.queryForObject(consulta, BigDecimal.class, parametros);
+    }
+
+    private Checkpoint checkpoint(String consulta, Object... parametros) {
+        List<Checkpoint> checkpoints = jdbcTemplate.query(consulta, (rs, linha) -> new Checkpoint(
+                rs.getTimestamp("data"), rs.getLong("transacao_id"), rs.getBigDecimal("saldo")), parametros);
+        return checkpoints.isEmpty() ? null : checkpoints.get(0);
+    }
+
+    private record Checkpoint(Timestamp data, long transacao, BigDecimal saldo) {
+    }
+
+    private record Fechamento(YearMonth mes, BigDecimal saldoInicial) {
+    }
+
+    /**
+     * Recebe as transações da conta da mais recente para a mais antiga. O saldo começa no saldo atual e cada
+     * transação é desfeita depois de lida, então, ao ler uma transação, o saldo é o saldo logo depois dela.
+     * <br>
+     * A cada {@code api.saldo.checkpoint.transacoes} transações anteriores à marca uma posição é anotada; no fim,
+     * as posições que ficaram a menos desse número de transações do checkpoint anterior são descartadas.
+     */
+    private final class PercursoCheckpoints implements RowCallbackHandler {
+        private final Long conta;
+        private final Timestamp marca;
+        private final List<Object[]> candidatos = new ArrayList<>();
+        private final List<Long> indices = new ArrayList<>();
+        private BigDecimal saldo;
+        private long lidas;
+
+        private PercursoCheckpoints(Long conta, BigDecimal saldoAtual, Timestamp marca) {
+            this.conta = conta;
+            this.saldo = saldoAtual;
+            this.marca = marca;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            Timestamp data = rs.getTimestamp("data");
+            BigDecimal variacao = rs.getBigDecimal("variacao");
+            if (!data.before(marca)) {
+                saldo = saldo.subtract(variacao);
+                return;
+            }
+            if (lidas % transacoesEntreCheckpoints == 0) {
+                candidatos.add(new Object[]{conta, data, rs.getLong("id"), saldo});
+                indices.add(lidas);
+            }
+            saldo = saldo.subtract(variacao);
+            lidas++;
+        }
+
+        private List<Object[]> checkpoints() {
+            List<Object[]> checkpoints = new ArrayList<>(candidatos.size());
+            for (int i = 0; i < candidatos.size(); i++) {
+                if (lidas - indices.get(i) >= transacoesEntreCheckpoints) {
+                    checkpoints.add(candidatos.get(i));
+                }
+            }
+            return checkpoints;
+        }
+    }
+}
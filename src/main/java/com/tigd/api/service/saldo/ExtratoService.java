@@ -0,0 +1,165 @@
+package com.tigd.api.service.saldo;
+
+import com.tigd.api.dto.ExtratoDTO;
+import com.tigd.api.dto.LancamentoExtratoDTO;
+import com.tigd.api.exceptions.ClienteNotFoundException;
+import com.tigd.api.exceptions.CursorInvalidoException;
+import com.tigd.api.exceptions.PeriodoInvalidoException;
+import com.tigd.api.repository.CursorTransacao;
+import com.tigd.api.service.CacheContas;
+import com.tigd.api.service.arquivo.ArquivoTransacoes;
+import com.tigd.api.service.arquivo.TransacaoArquivada;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monta o extrato de uma conta: as transações de um período, da mais antiga para a mais recente, com o saldo da conta
+ * depois de cada uma.
+ * <br>
+ * O saldo antes da primeira transação da página vem do {@link CheckpointSaldoService}, que soma apenas as transações
+ * desde o checkpoint mais próximo; a página em si é lida pelo índice {@code (cliente_id, data, id)} a partir da
+ * posição do cursor. O custo de uma página não depende, portanto, do tamanho do histórico da conta.
+ * <br>
+ * Transações de meses arquivados são lidas dos arquivos pelo {@link ArquivoTransacoes}, apenas dos meses em que a
+ * conta tem fechamento, e a página continua na tabela {@code transacao} a partir do limite do arquivo.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Service
+public class ExtratoService {
+    private static final int LIMITE_MAXIMO_PAGINA = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CheckpointSaldoService checkpointSaldoService;
+
+    @Autowired
+    private CacheContas cacheContas;
+
+    @Autowired
+    private ArquivoTransacoes arquivoTransacoes;
+
+    private TransactionTemplate leituraConsistente;
+
+    @PostConstruct
+    void iniciar() {
+        leituraConsistente = new TransactionTemplate(transactionManager);
+        leituraConsistente.setReadOnly(true);
+        leituraConsistente.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Monta uma página do extrato de um cliente.
+     *
+     * @param clienteId o id do cliente.
+     * @param inicio o início do período; por padrão, um mês antes do fim ou, sem fim, o primeiro dia do mês atual.
+     * @param fim o fim do período, exclusivo; por padrão, um mês depois do início.
+     * @param cursor o cursor devolvido na página anterior, ou {@code null} para a primeira página.
+     * @param limite a quantidade máxima de transações, entre 1 e {@value #LIMITE_MAXIMO_PAGINA}.
+     * @return as transações da página com o saldo depois de cada uma e o cursor da página seguinte.
+     * @throws ClienteNotFoundException se o cliente não existir na base de dados.
+     * @throws PeriodoInvalidoException se o início não for anterior ao fim.
+     * @throws CursorInvalidoException se o cursor não tiver sido gerado pela API.
+     */
+    public ExtratoDTO extratoCliente(Long clienteId, LocalDateTime inicio, LocalDateTime fim, String cursor, int limite) {
+        cacheContas.cliente(clienteId);
+        return extrato(TipoConta.CLIENTE, clienteId, inicio, fim, cursor, limite);
+    }
+
+    private ExtratoDTO extrato(TipoConta tipo, Long conta, LocalDateTime inicio, LocalDateTime fim, String cursor, int limite) {
+        LocalDateTime primeiro = inicio != null ? inicio
+                : fim != null ? fim.minusMonths(1) : LocalDate.now().withDayOfMonth(1).atStartOfDay();
+        LocalDateTime ultimo = fim != null ? fim : primeiro.plusMonths(1);
+        if (!primeiro.isBefore(ultimo)) {
+            throw new PeriodoInvalidoException("O início do extrato deve ser anterior ao fim.");
+        }
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO_PAGINA));
+        CursorTransacao posicao = cursor == null || cursor.isBlank()
+                ? new CursorTransacao(primeiro, 0L)
+                : CursorTransacao.decodificar(cursor);
+
+        return leituraConsistente.execute(status -> {
+            BigDecimal saldoAnterior = checkpointSaldoService.saldoApos(tipo, conta, posicao);
+            LocalDateTime limiteArquivo = arquivoTransacoes.limite();
+            List<LancamentoExtratoDTO> lancamentos = lancamentosArquivados(tipo, conta, posicao, ultimo, limiteArquivo, tamanho + 1);
+            if (lancamentos.size() <= tamanho) {
+                CursorTransacao inicioNaTabela = limiteArquivo != null && posicao.data().isBefore(limiteArquivo)
+                        ? new CursorTransacao(limiteArquivo, 0L) : posicao;
+                Timestamp data = Timestamp.valueOf(inicioNaTabela.data());
+                lancamentos.addAll(jdbcTemplate.query(tipo.getLancamentos(), (rs, linha) -> new LancamentoExtratoDTO(
+                        rs.getLong("id"),
+                        rs.getTimestamp("data").toLocalDateTime(),
+                        rs.getString("tipo").charAt(0),
+                        rs.getBigDecimal("valor"),
+                        rs.getBigDecimal("taxa"),
+                        rs.getBigDecimal("variacao"),
+                        null), conta, data, data, data, inicioNaTabela.id(), Timestamp.valueOf(ultimo), tamanho + 1 - lancamentos.size()));
+            }
+
+            List<LancamentoExtratoDTO> pagina = new ArrayList<>(Math.min(lancamentos.size(), tamanho));
+            BigDecimal saldo = saldoAnterior;
+            for (LancamentoExtratoDTO lancamento : lancamentos.subList(0, Math.min(lancamentos.size(), tamanho))) {
+                saldo = saldo.add(lancamento.variacao());
+                pagina.add(new LancamentoExtratoDTO(lancamento.transacao(), lancamento.data(), lancamento.tipo(),
+                        lancamento.valor(), lancamento.taxa(), lancamento.variacao(), saldo));
+            }
+            String proximoCursor = null;
+            if (lancamentos.size() > tamanho) {
+                LancamentoExtratoDTO ultima = pagina.get(tamanho - 1);
+                proximoCursor = new CursorTransacao(ultima.data(), ultima.transacao()).codificar();
+            }
+            return new ExtratoDTO(conta, primeiro, ultimo, saldoAnterior, pagina, proximoCursor);
+        });
+    }
+
+    /**
+     * Lê dos arquivos as transações da conta depois da posição e antes do fim do período ou do limite do arquivo, o
+     * que vier primeiro.
+     */
+    private List<LancamentoExtratoDTO> lancamentosArquivados(TipoConta tipo, Long conta, CursorTransacao posicao,
+            LocalDateTime ultimo, LocalDateTime limiteArquivo, int quantidade) {
+        List<LancamentoExtratoDTO> lancamentos = new ArrayList<>();
+        if (limiteArquivo == null || !posicao.data().isBefore(limiteArquivo)) {
+            return lancamentos;
+        }
+        LocalDateTime fimArquivado = ultimo.isBefore(limiteArquivo) ? ultimo : limiteArquivo;
+        Date primeiroMes = Date.valueOf(YearMonth.from(posicao.data()).atDay(1));
+        List<LocalDate> meses = jdbcTemplate.queryForList(tipo.getMesesComFechamento(), LocalDate.class,
+                conta, primeiroMes, Timestamp.valueOf(fimArquivado));
+        for (LocalDate mes : meses) {
+            for (TransacaoArquivada transacao : arquivoTransacoes.transacoes(YearMonth.from(mes), tipo, conta)) {
+                if (!transacao.data().isBefore(fimArquivado)) {
+                    return lancamentos;
+                }
+                if (transacao.depoisDe(posicao)) {
+                    lancamentos.add(new LancamentoExtratoDTO(transacao.id(), transacao.data(), transacao.tipo(),
+                            transacao.valor(), transacao.taxa(), transacao.variacao(tipo), null));
+                    if (lancamentos.size() == quantidade) {
+                        return lancamentos;
+                    }
+                }
+            }
+        }
+        return lancamentos;
+    }
+}
@@ -0,0 +1,255 @@
+package com.tigd.api.service.saldo;
+
+import java.math.BigDecimal;
+
+/**
+ * Os tipos de conta que têm saldo e as instruções SQL usadas para reconstituir o saldo de cada um a partir das
+ * transações.
+ * <br>
+ * A variação de saldo de uma transação depende do lado da conta: num depósito ('D') o cliente paga o valor com taxa
+ * e a empresa recebe o valor; num saque ('S') a empresa paga o valor com taxa e o cliente recebe o valor.
+ * Transações gravadas antes da coluna {@code valor_taxa} existir têm a taxa recalculada com a taxa atual da empresa.
+ * <br>
+ * Todas as posições são pares {@code (data, id)} na ordem das transações da conta, lidos pelos índices
+ * {@code (cliente_id, data, id)} e {@code (empresa_id, data, id)} da tabela {@code transacao} e pela chave primária
+ * das tabelas de checkpoint. Os meses arquivados têm, por conta com transações no mês, o saldo inicial e final na
+ * tabela de fechamento mensal.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public enum TipoConta {
+
+    CLIENTE("clientes", "cliente_id", "checkpoint_saldo_cliente", "fechamento_mensal_cliente", 'D'),
+
+    EMPRESA("empresas", "empresa_id", "checkpoint_saldo_empresa", "fechamento_mensal_empresa", 'S');
+
+    private static final String TAXA = "COALESCE(t.valor_taxa, ROUND(t.valor * e.taxa_sistema, 2))";
+
+    /**
+     * A data repetida fora do {@code OR} limita a leitura à faixa do índice {@code (conta, data, id)} a partir da
+     * posição; sem ela, o H2 lê todas as transações da conta. Pelo mesmo motivo, as consultas de uma conta ordenam
+     * também pela coluna da conta, fixa no filtro: assim o H2 lê o índice em ordem em vez de ordenar as linhas.
+     */
+    private static final String APOS_POSICAO = " t.data >= ? AND (t.data > ? OR (t.data = ? AND t.id > ?))";
+
+    private static final String ATE_POSICAO = " t.data <= ? AND (t.data < ? OR (t.data = ? AND t.id <= ?))";
+
+    private final char tipoDebito;
+
+    private final String saldoAtual;
+
+    private final String ultimoCheckpoint;
+
+    private final String checkpointAnterior;
+
+    private final String checkpointPosterior;
+
+    private final String inserirCheckpoint;
+
+    private final String removerCheckpointsDesde;
+
+    private final String somarVariacoesEntre;
+
+    private final String somarVariacoesApos;
+
+    private final String transacoesDecrescentes;
+
+    private final String transacoesDecrescentesApos;
+
+    private final String lancamentos;
+
+    private final String contasComTransacoes;
+
+    private final String contasComTransacoesDesde;
+
+    private final String variacoesPorContaEntre;
+
+    private final String ultimaTransacaoAntes;
+
+    private final String inserirFechamento;
+
+    private final String fechamentoAPartirDe;
+
+    private final String mesesComFechamento;
+
+    TipoConta(String tabela, String colunaConta, String tabelaCheckpoint, String tabelaFechamento, char tipoDebito) {
+        String variacao = "CASE WHEN t.tipo = '" + tipoDebito + "' THEN -(t.valor + " + TAXA + ") ELSE t.valor END";
+        String transacoes = " FROM transacao t JOIN empresas e ON e.id = t.empresa_id WHERE t." + colunaConta + " = ?";
+        String checkpoint = "SELECT data, transacao_id, saldo FROM " + tabelaCheckpoint + " WHERE " + colunaConta + " = ?";
+
+        this.tipoDebito = tipoDebito;
+        this.saldoAtual = "SELECT saldo FROM " + tabela + " WHERE id = ?";
+        this.ultimoCheckpoint = checkpoint + " ORDER BY " + colunaConta + " DESC, data DESC, transacao_id DESC LIMIT 1";
+        this.checkpointAnterior = checkpoint + " AND (data < ? OR (data = ? AND transacao_id <= ?))"
+                + " ORDER BY " + colunaConta + " DESC, data DESC, transacao_id DESC LIMIT 1";
+        this.checkpointPosterior = checkpoint + " AND (data > ? OR (data = ? AND transacao_id > ?))"
+                + " ORDER BY " + colunaConta + ", data, transacao_id LIMIT 1";
+        this.inserirCheckpoint = "INSERT IGNORE INTO " + tabelaCheckpoint
+                + " (" + colunaConta + ", data, transacao_id, saldo) VALUES (?, ?, ?, ?)";
+        this.removerCheckpointsDesde = "DELETE FROM " + tabelaCheckpoint + " WHERE " + colunaConta + " = ? AND data >= ?";
+        this.somarVariacoesEntre = "SELECT COALESCE(SUM(" + variacao + "), 0)" + transacoes
+                + " AND" + APOS_POSICAO + " AND" + ATE_POSICAO;
+        this.somarVariacoesApos = "SELECT COALESCE(SUM(" + variacao + "), 0)" + transacoes + " AND" + APOS_POSICAO;
+        this.transacoesDecrescentes = "SELECT t.id, t.data, " + variacao + " AS variacao" + transacoes
+                + " ORDER BY t." + colunaConta + " DESC, t.data DESC, t.id DESC";
+        this.transacoesDecrescentesApos = "SELECT t.id, t.data, " + variacao + " AS variacao" + transacoes
+                + " AND" + APOS_POSICAO + " ORDER BY t." + colunaConta + " DESC, t.data DESC, t.id DESC";
+        this.lancamentos = "SELECT t.id, t.data, t.tipo, t.valor, " + TAXA + " AS taxa, " + variacao + " AS variacao"
+                + transacoes + " AND" + APOS_POSICAO + " AND t.data < ? ORDER BY t." + colunaConta
+                + ", t.data, t.id LIMIT ?";
+        this.contasComTransacoes = "SELECT DISTINCT " + colunaConta + " FROM transacao WHERE " + colunaConta + " IS NOT NULL";
+        this.contasComTransacoesDesde = "SELECT DISTINCT " + colunaConta + " FROM transacao WHERE data >= ? AND "
+                + colunaConta + " IS NOT NULL";
+        this.variacoesPorContaEntre = "SELECT t." + colunaConta + " AS conta, SUM(" + variacao + ") AS variacao"
+                + " FROM transacao t JOIN empresas e ON e.id = t.empresa_id WHERE t.data >= ? AND t.data < ?"
+                + " AND t." + colunaConta + " IS NOT NULL GROUP BY t." + colunaConta;
+        this.ultimaTransacaoAntes = "SELECT t.id, t.data FROM transacao t WHERE t." + colunaConta + " = ? AND t.data < ?"
+                + " ORDER BY t." + colunaConta + " DESC, t.data DESC, t.id DESC LIMIT 1";
+        this.inserirFechamento = "INSERT IGNORE INTO " + tabelaFechamento
+                + " (" + colunaConta + ", mes, saldo_inicial, saldo_final) VALUES (?, ?, ?, ?)";
+        this.fechamentoAPartirDe = "SELECT mes, saldo_inicial FROM " + tabelaFechamento + " WHERE " + colunaConta + " = ?"
+                + " AND mes >= ? ORDER BY " + colunaConta + ", mes LIMIT 1";
+        this.mesesComFechamento = "SELECT mes FROM " + tabelaFechamento + " WHERE " + colunaConta + " = ?"
+                + " AND mes >= ? AND mes < ? ORDER BY " + colunaConta + ", mes";
+    }
+
+    /**
+     * Calcula a variação de saldo da conta numa transação.
+     *
+     * @param tipo o tipo da transação, 'D' (depósito) ou 'S' (saque).
+     * @param valor o valor da transação.
+     * @param taxa a taxa cobrada na transação.
+     * @return o valor com taxa, negativo, se a conta pagou a transação; o valor, se recebeu.
+     */
+    public BigDecimal variacao(char tipo, BigDecimal valor, BigDecimal taxa) {
+        return tipo == tipoDebito ? valor.add(taxa).negate() : valor;
+    }
+
+    /**
+     * @return a consulta do saldo atual da conta.
+     */
+    String getSaldoAtual() {
+        return saldoAtual;
+    }
+
+    /**
+     * @return a consulta do checkpoint mais recente da conta.
+     */
+    String getUltimoCheckpoint() {
+        return ultimoCheckpoint;
+    }
+
+    /**
+     * @return a consulta do checkpoint mais recente da conta até uma posição, inclusive.
+     */
+    String getCheckpointAnterior() {
+        return checkpointAnterior;
+    }
+
+    /**
+     * @return a consulta do checkpoint mais antigo da conta depois de uma posição.
+     */
+    String getCheckpointPosterior() {
+        return checkpointPosterior;
+    }
+
+    /**
+     * @return a instrução que grava um checkpoint, ignorando um checkpoint já gravado na mesma posição.
+     */
+    String getInserirCheckpoint() {
+        return inserirCheckpoint;
+    }
+
+    /**
+     * @return a instrução que remove os checkpoints da conta a partir de uma data, inclusive.
+     */
+    String getRemoverCheckpointsDesde() {
+        return removerCheckpointsDesde;
+    }
+
+    /**
+     * @return a soma das variações de saldo da conta depois de uma posição e até outra, inclusive.
+     */
+    String getSomarVariacoesEntre() {
+        return somarVariacoesEntre;
+    }
+
+    /**
+     * @return a soma das variações de saldo da conta depois de uma posição.
+     */
+    String getSomarVariacoesApos() {
+        return somarVariacoesApos;
+    }
+
+    /**
+     * @return as transações da conta com a variação de saldo, da mais recente para a mais antiga.
+     */
+    String getTransacoesDecrescentes() {
+        return transacoesDecrescentes;
+    }
+
+    /**
+     * @return as transações da conta depois de uma posição com a variação de saldo, da mais recente para a mais antiga.
+     */
+    String getTransacoesDecrescentesApos() {
+        return transacoesDecrescentesApos;
+    }
+
+    /**
+     * @return uma página das transações da conta depois de uma posição e antes de uma data, da mais antiga para a
+     * mais recente, com a taxa e a variação de saldo.
+     */
+    String getLancamentos() {
+        return lancamentos;
+    }
+
+    /**
+     * @return os ids das contas que têm transações.
+     */
+    String getContasComTransacoes() {
+        return contasComTransacoes;
+    }
+
+    /**
+     * @return os ids das contas que têm transações a partir de uma data.
+     */
+    String getContasComTransacoesDesde() {
+        return contasComTransacoesDesde;
+    }
+
+    /**
+     * @return a soma das variações de saldo de cada conta com transações entre duas datas, a segunda exclusiva.
+     */
+    String getVariacoesPorContaEntre() {
+        return variacoesPorContaEntre;
+    }
+
+    /**
+     * @return a posição da última transação da conta antes de uma data.
+     */
+    String getUltimaTransacaoAntes() {
+        return ultimaTransacaoAntes;
+    }
+
+    /**
+     * @return a instrução que grava o fechamento de um mês arquivado, ignorando um fechamento já gravado.
+     */
+    String getInserirFechamento() {
+        return inserirFechamento;
+    }
+
+    /**
+     * @return o fechamento mais antigo da conta a partir de um mês, inclusive.
+     */
+    String getFechamentoAPartirDe() {
+        return fechamentoAPartirDe;
+    }
+
+    /**
+     * @return os meses arquivados em que a conta tem transações, entre dois meses, o segundo exclusivo.
+     */
+    String getMesesComFechamento() {
+        return mesesComFechamento;
+    }
+}
@@ -0,0 +1,32 @@
+package com.tigd.api.service.unicidade;
+
+/**
+ * Campos com restrição de unicidade verificados no cadastro de clientes e empresas.
+ * Cada campo tem o seu próprio {@link FiltroBloom} no {@link FiltroUnicidade}.
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public enum CampoUnico {
+
+    CPF("SELECT cpf FROM clientes"),
+
+    EMAIL_CLIENTE("SELECT email FROM clientes"),
+
+    CNPJ("SELECT cnpj FROM empresas"),
+
+    EMAIL_EMPRESA("SELECT email FROM empresas");
+
+    private final String consultaValores;
+
+    CampoUnico(String consultaValores) {
+        this.consultaValores = consultaValores;
+    }
+
+    /**
+     * @return a consulta que lista todos os valores já gravados do campo.
+     */
+    String getConsultaValores() {
+        return consultaValores;
+    }
+}
@@ -0,0 +1,116 @@
+package com.tigd.api.service.unicidade;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de textos, seguro para uso por várias threads.
+ *
+ * <p>
+ * Responde se um valor <b>certamente não</b> foi adicionado ou se <b>talvez</b> tenha sido. Não há falsos negativos;
+ * a chance de falso positivo depende do número de bits e de quantos valores já foram adicionados, e é calculada
+ * na criação para a capacidade informada. Valores não podem ser removidos.
+ * </p>
+ *
+ * <p>
+ * Os bits ficam num {@link AtomicLongArray}, então adições e consultas simultâneas não precisam de bloqueio.
+ * As posições de cada valor são obtidas por hashing duplo a partir de um hash de 64 bits dos caracteres.
+ * </p>
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public final class FiltroBloom {
+
+    private final AtomicLongArray palavras;
+
+    private final long quantidadeBits;
+
+    private final int quantidadeHashes;
+
+    /**
+     * @param capacidade quantidade de valores esperada.
+     * @param taxaFalsosPositivos taxa de falsos positivos desejada ao atingir a capacidade, entre 0 e 1.
+     * @throws IllegalArgumentException se a capacidade não for positiva ou a taxa estiver fora do intervalo.
+     */
+    public FiltroBloom(long capacidade, double taxaFalsosPositivos) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade do filtro deve ser positiva: " + capacidade);
+        }
+        if (taxaFalsosPositivos <= 0 || taxaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException("Taxa de falsos positivos deve estar entre 0 e 1: " + taxaFalsosPositivos);
+        }
+        long bits = (long) Math.ceil(-capacidade * Math.log(taxaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+        int palavrasNecessarias = Math.toIntExact((bits + 63) / 64);
+        this.palavras = new AtomicLongArray(palavrasNecessarias);
+        this.quantidadeBits = palavrasNecessarias * 64L;
+        this.quantidadeHashes = Math.max(1, (int) Math.round((double) quantidadeBits / capacidade * Math.log(2)));
+    }
+
+    /**
+     * Adiciona o valor ao filtro.
+     *
+     * @param valor o valor adicionado.
+     */
+    public void adicionar(CharSequence valor) {
+        long hash = hash(valor);
+        long h1 = hash;
+        long h2 = misturar(hash) | 1;
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, quantidadeBits);
+            int indice = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            if ((palavras.get(indice) & mascara) == 0) {
+                palavras.getAndAccumulate(indice, mascara, (atual, novo) -> atual | novo);
+            }
+        }
+    }
+
+    /**
+     * @param valor o valor consultado.
+     * @return {@code false} se o valor certamente não foi adicionado; {@code true} se talvez tenha sido.
+     */
+    public boolean talvezContenha(CharSequence valor) {
+        long hash = hash(valor);
+        long h1 = hash;
+        long h2 = misturar(hash) | 1;
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, quantidadeBits);
+            if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getQuantidadeBits() {
+        return quantidadeBits;
+    }
+
+    public int getQuantidadeHashes() {
+        return quantidadeHashes;
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os caracteres, seguido de uma mistura final para espalhar os bits.
+     */
+    private static long hash(CharSequence valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return misturar(hash);
+    }
+
+    /**
+     * Etapa final do MurmurHash3 de 64 bits.
+     */
+    private static long misturar(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
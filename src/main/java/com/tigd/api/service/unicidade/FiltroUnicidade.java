@@ -0,0 +1,161 @@
+package com.tigd.api.service.unicidade;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Pré-verificação em memória dos campos únicos de clientes e empresas (CPF, CNPJ e emails).
+ *
+ * <p>
+ * Na inicialização todos os valores gravados são carregados num {@link FiltroBloom} por campo, dimensionado para
+ * o maior valor entre {@code api.unicidade.capacidade} e o dobro da quantidade de registros existentes. Cada cadastro
+ * ou alteração adiciona os novos valores com {@link #registrar(CampoUnico, String)}. Quando o filtro responde que o
+ * valor certamente não existe, a consulta à base de dados é evitada; só os possíveis acertos chegam ao repositório.
+ * </p>
+ *
+ * <p>
+ * Os valores entram no filtro sem espaços nas pontas, em minúsculas e sem acentos, porque a base de dados compara
+ * os campos únicos sem diferenciar maiúsculas nem acentos: um valor que a restrição {@code unique} considera igual a
+ * um gravado nunca é descartado pelo filtro. A consulta à base de dados recebe o valor original.
+ * </p>
+ *
+ * <p>
+ * Registros gravados por outra instância da aplicação depois da inicialização não estão no filtro desta instância.
+ * Nesse caso a restrição {@code unique} das tabelas continua impedindo a duplicidade, mas o erro não é o
+ * {@link com.tigd.api.exceptions.CpfUniqueException} ou equivalente.
+ * </p>
+ *
+ * <p>
+ * Métricas: {@code unicidade.consultas} com as tags {@code campo} e {@code resultado}
+ * ({@code evitada}, {@code confirmada} ou {@code falso-positivo}) e {@code unicidade.falsos-positivos.taxa},
+ * a fração das consultas de valores inexistentes em que o filtro não evitou a ida à base de dados.
+ * </p>
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+@Component
+public class FiltroUnicidade {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.unicidade.capacidade:1000000}")
+    private long capacidade;
+
+    @Value("${api.unicidade.taxa-falsos-positivos:0.01}")
+    private double taxaFalsosPositivos;
+
+    private final Map<CampoUnico, FiltroBloom> filtros = new EnumMap<>(CampoUnico.class);
+
+    private final Map<CampoUnico, Counter> evitadas = new EnumMap<>(CampoUnico.class);
+
+    private final Map<CampoUnico, Counter> confirmadas = new EnumMap<>(CampoUnico.class);
+
+    private final Map<CampoUnico, Counter> falsosPositivos = new EnumMap<>(CampoUnico.class);
+
+    /**
+     * Cria os filtros e carrega os valores gravados na base de dados.
+     */
+    @PostConstruct
+    void iniciar() {
+        long clientes = contar("SELECT COUNT(*) FROM clientes");
+        long empresas = contar("SELECT COUNT(*) FROM empresas");
+        for (CampoUnico campo : CampoUnico.values()) {
+            long existentes = campo == CampoUnico.CPF || campo == CampoUnico.EMAIL_CLIENTE ? clientes : empresas;
+            FiltroBloom filtro = new FiltroBloom(Math.max(capacidade, existentes * 2), taxaFalsosPositivos);
+            jdbcTemplate.query(campo.getConsultaValores(), (RowCallbackHandler) rs -> {
+                String valor = rs.getString(1);
+                if (valor != null) {
+                    filtro.adicionar(chave(valor));
+                }
+            });
+            filtros.put(campo, filtro);
+            registrarMetricas(campo);
+        }
+    }
+
+    /**
+     * Verifica se o valor já está gravado, consultando a base de dados só quando o filtro não descarta o valor.
+     *
+     * @param campo o campo verificado.
+     * @param valor o valor procurado.
+     * @param consulta a consulta à base de dados, chamada apenas se o valor talvez exista.
+     * @return o resultado da consulta, ou {@code false} se o filtro garantir que o valor não existe.
+     */
+    public boolean existe(CampoUnico campo, String valor, Predicate<String> consulta) {
+        if (valor == null || !filtros.get(campo).talvezContenha(chave(valor))) {
+            evitadas.get(campo).increment();
+            return false;
+        }
+        boolean existe = consulta.test(valor);
+        (existe ? confirmadas : falsosPositivos).get(campo).increment();
+        return existe;
+    }
+
+    /**
+     * Adiciona um valor gravado ao filtro do campo.
+     *
+     * @param campo o campo gravado.
+     * @param valor o novo valor.
+     */
+    public void registrar(CampoUnico campo, String valor) {
+        if (valor != null) {
+            filtros.get(campo).adicionar(chave(valor));
+        }
+    }
+
+    /**
+     * @return o valor como a base de dados o compara: sem espaços nas pontas, em minúsculas e sem acentos.
+     */
+    static String chave(String valor) {
+        return Normalizer.normalize(valor.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private void registrarMetricas(CampoUnico campo) {
+        String tag = campo.name().toLowerCase();
+        evitadas.put(campo, contador(tag, "evitada"));
+        confirmadas.put(campo, contador(tag, "confirmada"));
+        falsosPositivos.put(campo, contador(tag, "falso-positivo"));
+        Gauge.builder("unicidade.falsos-positivos.taxa", this, filtro -> filtro.taxaFalsosPositivosObservada(campo))
+                .description("Fração das consultas de valores inexistentes que foram à base de dados")
+                .tag("campo", tag)
+                .register(meterRegistry);
+    }
+
+    private Counter contador(String campo, String resultado) {
+        return Counter.builder("unicidade.consultas")
+                .tag("campo", campo)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    private double taxaFalsosPositivosObservada(CampoUnico campo) {
+        double falsos = falsosPositivos.get(campo).count();
+        double inexistentes = falsos + evitadas.get(campo).count();
+        return inexistentes == 0 ? 0 : falsos / inexistentes;
+    }
+
+    private long contar(String sql) {
+        Long quantidade = jdbcTemplate.queryForObject(sql, Long.class);
+        return quantidade == null ? 0 : quantidade;
+    }
+}
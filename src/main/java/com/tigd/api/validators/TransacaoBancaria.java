@@ -2,13 +2,12 @@ package com.tigd.api.validators;
 
 import com.tigd.api.domain.Cliente;
 import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Money;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.math.BigDecimal;
-
 /**
  * Classe que representa uma transação bancária.
  *
@@ -27,9 +26,9 @@ public class TransacaoBancaria {
     @Autowired
     private Cliente cliente;
     @Autowired
-    private BigDecimal valorTransacao;
+    private Money valorTransacao;
     @Autowired
-    private BigDecimal valorComTaxa;
+    private Money valorComTaxa;
     @Autowired
     private boolean isDebito;
 
@@ -37,7 +36,7 @@ public class TransacaoBancaria {
         return this.isDebito;
     }
 
-    public void setValorComTaxa(BigDecimal valorComTaxa) {
+    public void setValorComTaxa(Money valorComTaxa) {
         this.valorComTaxa = valorComTaxa;
     }
 
@@ -0,0 +1,129 @@
+package com.tigd.api.validators;
+
+/**
+ * Validação de CPF e CNPJ numa única passada sobre o texto, sem criar objetos.
+ *
+ * <p>
+ * Os caracteres de formatação ({@code .}, {@code -} e {@code /}) são ignorados durante a leitura; qualquer outro
+ * caractere que não seja dígito torna o documento inválido. Na mesma passada são contados os dígitos, verificado se
+ * todos são iguais e acumuladas as somas ponderadas dos dois dígitos verificadores, de modo que não há
+ * {@code String} intermediária, expressão regular nem exceção no caminho de validação.
+ * </p>
+ *
+ * <p>
+ * As regras são as do cadastro pelo {@link DocumentValidator}: módulo 11, dígito 0 quando o resto for menor que 2
+ * e rejeição de documentos com todos os dígitos iguais.
+ * </p>
+ *
+ * @author gemeoslemes
+ * @author viniciuslemes10
+ */
+public final class ValidacaoDocumento {
+
+    public static final int TAMANHO_CPF = 11;
+
+    public static final int TAMANHO_CNPJ = 14;
+
+    /**
+     * Pesos do segundo dígito verificador do CNPJ; os do primeiro são os mesmos a partir da segunda posição.
+     */
+    private static final int[] PESOS_CNPJ = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    private ValidacaoDocumento() {
+    }
+
+    /**
+     * @param documento o CPF, com ou sem formatação.
+     * @return {@code true} se o documento tiver 11 dígitos, não forem todos iguais e os dígitos verificadores conferirem.
+     */
+    public static boolean isCpfValido(CharSequence documento) {
+        int quantidade = 0;
+        int primeiro = -1;
+        boolean iguais = true;
+        int somaPrimeiro = 0;
+        int somaSegundo = 0;
+        int primeiroVerificador = -1;
+        int segundoVerificador = -1;
+        for (int i = 0; i < documento.length(); i++) {
+            char caractere = documento.charAt(i);
+            if (isFormatacao(caractere)) {
+                continue;
+            }
+            if (caractere < '0' || caractere > '9' || quantidade == TAMANHO_CPF) {
+                return false;
+            }
+            int digito = caractere - '0';
+            if (quantidade == 0) {
+                primeiro = digito;
+            } else if (digito != primeiro) {
+                iguais = false;
+            }
+            if (quantidade < 9) {
+                somaPrimeiro += digito * (10 - quantidade);
+                somaSegundo += digito * (11 - quantidade);
+            } else if (quantidade == 9) {
+                primeiroVerificador = digito;
+                somaSegundo += digito * 2;
+            } else {
+                segundoVerificador = digito;
+            }
+            quantidade++;
+        }
+        return quantidade == TAMANHO_CPF
+                && !iguais
+                && primeiroVerificador == digitoVerificador(somaPrimeiro)
+                && segundoVerificador == digitoVerificador(somaSegundo);
+    }
+
+    /**
+     * @param documento o CNPJ, com ou sem formatação.
+     * @return {@code true} se o documento tiver 14 dígitos, não forem todos iguais e os dígitos verificadores conferirem.
+     */
+    public static boolean isCnpjValido(CharSequence documento) {
+        int quantidade = 0;
+        int primeiro = -1;
+        boolean iguais = true;
+        int somaPrimeiro = 0;
+        int somaSegundo = 0;
+        int primeiroVerificador = -1;
+        int segundoVerificador = -1;
+        for (int i = 0; i < documento.length(); i++) {
+            char caractere = documento.charAt(i);
+            if (isFormatacao(caractere)) {
+                continue;
+            }
+            if (caractere < '0' || caractere > '9' || quantidade == TAMANHO_CNPJ) {
+                return false;
+            }
+            int digito = caractere - '0';
+            if (quantidade == 0) {
+                primeiro = digito;
+            } else if (digito != primeiro) {
+                iguais = false;
+            }
+            if (quantidade < 12) {
+                somaPrimeiro += digito * PESOS_CNPJ[quantidade + 1];
+                somaSegundo += digito * PESOS_CNPJ[quantidade];
+            } else if (quantidade == 12) {
+                primeiroVerificador = digito;
+                somaSegundo += digito * PESOS_CNPJ[12];
+            } else {
+                segundoVerificador = digito;
+            }
+            quantidade++;
+        }
+        return quantidade == TAMANHO_CNPJ
+                && !iguais
+                && primeiroVerificador == digitoVerificador(somaPrimeiro)
+                && segundoVerificador == digitoVerificador(somaSegundo);
+    }
+
+    private static boolean isFormatacao(char caractere) {
+        return caractere == '.' || caractere == '-' || caractere == '/';
+    }
+
+    private static int digitoVerificador(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
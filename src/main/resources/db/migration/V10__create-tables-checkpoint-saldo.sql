@@ -0,0 +1,17 @@
+CREATE TABLE checkpoint_saldo_cliente (
+     cliente_id bigint not null,
+     data TIMESTAMP not null,
+     transacao_id bigint not null,
+     saldo DECIMAL(18,2) not null,
+     PRIMARY KEY (cliente_id, data, transacao_id),
+     FOREIGN KEY (cliente_id) REFERENCES clientes(id)
+);
+
+CREATE TABLE checkpoint_saldo_empresa (
+     empresa_id bigint not null,
+     data TIMESTAMP not null,
+     transacao_id bigint not null,
+     saldo DECIMAL(18,2) not null,
+     PRIMARY KEY (empresa_id, data, transacao_id),
+     FOREIGN KEY (empresa_id) REFERENCES empresas(id)
+);
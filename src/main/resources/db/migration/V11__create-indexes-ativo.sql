@@ -0,0 +1,2 @@
+CREATE INDEX idx_clientes_ativo_id ON clientes (ativo, id);
+CREATE INDEX idx_empresas_ativo_id ON empresas (ativo, id);
@@ -0,0 +1,8 @@
+CREATE TABLE sequencia_id (
+     nome varchar(64) not null PRIMARY KEY,
+     proximo_valor bigint not null
+);
+
+INSERT INTO sequencia_id (nome, proximo_valor) SELECT 'transacao', COALESCE(MAX(id), 0) + 1 FROM transacao;
+
+ALTER TABLE transacao MODIFY id bigint not null;
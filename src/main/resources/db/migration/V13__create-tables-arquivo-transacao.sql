@@ -0,0 +1,24 @@
+CREATE TABLE arquivo_transacao (
+     mes DATE not null PRIMARY KEY,
+     arquivo varchar(255) not null,
+     linhas bigint not null,
+     arquivado_em TIMESTAMP not null DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE fechamento_mensal_cliente (
+     cliente_id bigint not null,
+     mes DATE not null,
+     saldo_inicial DECIMAL(18,2) not null,
+     saldo_final DECIMAL(18,2) not null,
+     PRIMARY KEY (cliente_id, mes),
+     FOREIGN KEY (cliente_id) REFERENCES clientes(id)
+);
+
+CREATE TABLE fechamento_mensal_empresa (
+     empresa_id bigint not null,
+     mes DATE not null,
+     saldo_inicial DECIMAL(18,2) not null,
+     saldo_final DECIMAL(18,2) not null,
+     PRIMARY KEY (empresa_id, mes),
+     FOREIGN KEY (empresa_id) REFERENCES empresas(id)
+);
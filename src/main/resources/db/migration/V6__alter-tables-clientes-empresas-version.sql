@@ -0,0 +1,2 @@
+ALTER TABLE clientes ADD COLUMN version bigint not null default 0;
+ALTER TABLE empresas ADD COLUMN version bigint not null default 0;
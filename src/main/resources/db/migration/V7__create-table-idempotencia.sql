@@ -0,0 +1,5 @@
+CREATE TABLE idempotencia (
+     chave varchar(255) PRIMARY KEY,
+     resposta text,
+     criada_em TIMESTAMP not null
+);
@@ -0,0 +1,3 @@
+CREATE INDEX idx_transacao_data_id ON transacao (data, id);
+CREATE INDEX idx_transacao_cliente_data_id ON transacao (cliente_id, data, id);
+CREATE INDEX idx_transacao_empresa_data_id ON transacao (empresa_id, data, id);
@@ -0,0 +1,25 @@
+ALTER TABLE transacao ADD COLUMN valor_taxa DECIMAL(18,2);
+
+CREATE TABLE resumo_diario_cliente (
+     cliente_id bigint not null,
+     dia date not null,
+     quantidade_depositos bigint not null default 0,
+     quantidade_saques bigint not null default 0,
+     volume_depositos DECIMAL(18,2) not null default 0,
+     volume_saques DECIMAL(18,2) not null default 0,
+     taxas DECIMAL(18,2) not null default 0,
+     PRIMARY KEY (cliente_id, dia),
+     FOREIGN KEY (cliente_id) REFERENCES clientes(id)
+);
+
+CREATE TABLE resumo_diario_empresa (
+     empresa_id bigint not null,
+     dia date not null,
+     quantidade_depositos bigint not null default 0,
+     quantidade_saques bigint not null default 0,
+     volume_depositos DECIMAL(18,2) not null default 0,
+     volume_saques DECIMAL(18,2) not null default 0,
+     taxas DECIMAL(18,2) not null default 0,
+     PRIMARY KEY (empresa_id, dia),
+     FOREIGN KEY (empresa_id) REFERENCES empresas(id)
+);
@@ -2,8 +2,10 @@ package com.tigd.api;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles(resolver = PerfisTeste.class)
 class ApiApplicationTests {
 
 	@Test
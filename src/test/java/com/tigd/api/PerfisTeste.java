@@ -0,0 +1,24 @@
+package com.tigd.api;
+
+import org.springframework.test.context.ActiveProfilesResolver;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Perfis ativos nos testes: sempre {@code test}, seguido dos perfis da propriedade de sistema {@code api.teste.perfis}.
+ * <br>
+ * Os perfis seguintes têm precedência sobre {@code test}; com {@code mvn test -Pperf} os testes usam o banco H2
+ * embutido do perfil {@code perf} no lugar do MySQL.
+ */
+public class PerfisTeste implements ActiveProfilesResolver {
+
+    @Override
+    public String[] resolve(Class<?> classeTeste) {
+        String adicionais = System.getProperty("api.teste.perfis", "");
+        return Stream.concat(Stream.of("test"), Arrays.stream(adicionais.split(",")).map(String::trim))
+                .filter(perfil -> !perfil.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+}
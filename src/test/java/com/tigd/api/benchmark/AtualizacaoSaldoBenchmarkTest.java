@@ -0,0 +1,122 @@
+package com.tigd.api.benchmark;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.GeradorDocumentosTeste;
+import com.tigd.api.service.ModoConcorrencia;
+import com.tigd.api.service.TransacaoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a atualização de saldo por leitura seguida de gravação ({@link ModoConcorrencia#PESSIMISTA})
+ * com a atualização condicional numa única instrução ({@link ModoConcorrencia#ATOMICO}).
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles(resolver = PerfisTeste.class)
+@Tag("performance")
+class AtualizacaoSaldoBenchmarkTest {
+    private static final int THREADS = 16;
+    private static final int TRANSACOES = 2000;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Instruções SQL por transação e vazão: leitura e gravação versus UPDATE condicional.")
+    void compararModos() throws Exception {
+        Resultado pessimista = medir(ModoConcorrencia.PESSIMISTA);
+        Resultado atomico = medir(ModoConcorrencia.ATOMICO);
+
+        System.out.println(pessimista);
+        System.out.println(atomico);
+
+        assertThat(atomico.instrucoesPorTransacao()).isLessThan(pessimista.instrucoesPorTransacao());
+    }
+
+    private Resultado medir(ModoConcorrencia modo) throws Exception {
+        ReflectionTestUtils.setField(transacaoService, "modoConcorrencia", modo);
+        List<Long> clientes = criarClientes(8);
+        List<Long> empresas = criarEmpresas(4);
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> execucoes = new ArrayList<>(TRANSACOES);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < TRANSACOES; i++) {
+            execucoes.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                TransacaoDTO dto = new TransacaoDTO(BigDecimal.valueOf(random.nextInt(1, 20)), random.nextBoolean() ? 'D' : 'S',
+                        clientes.get(random.nextInt(clientes.size())), empresas.get(random.nextInt(empresas.size())));
+                transacaoService.processarTransacao(new Transacao(dto));
+                return null;
+            }));
+        }
+        for (Future<?> execucao : execucoes) {
+            execucao.get();
+        }
+        long duracao = System.nanoTime() - inicio;
+        executor.shutdown();
+
+        return new Resultado(modo, (double) estatisticas.getPrepareStatementCount() / TRANSACOES,
+                TRANSACOES / (duracao / 1e9));
+    }
+
+    private List<Long> criarClientes(int quantidade) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            ids.add(clienteRepository.save(new Cliente(null, "Cliente benchmark", GeradorDocumentosTeste.cpf(),
+                    GeradorDocumentosTeste.email("cliente"), new BigDecimal("1000000.00"), true)).getId());
+        }
+        return ids;
+    }
+
+    private List<Long> criarEmpresas(int quantidade) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            ids.add(empresaRepository.save(new Empresa(null, "Empresa benchmark", GeradorDocumentosTeste.cnpj(),
+                    GeradorDocumentosTeste.email("empresa"), new BigDecimal("1000000.00"), new BigDecimal("0.01"), true)).getId());
+        }
+        return ids;
+    }
+
+    private record Resultado(ModoConcorrencia modo, double instrucoesPorTransacao, double transacoesPorSegundo) {
+        @Override
+        public String toString() {
+            return String.format("%-10s %.2f instruções SQL/transação, %.1f transações/s", modo, instrucoesPorTransacao, transacoesPorSegundo);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.tigd.api.benchmark;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Money;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.GeradorDocumentosTeste;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a inserção de transações pelo Hibernate uma linha por ida ao banco, como acontecia com
+ * {@code GenerationType.IDENTITY}, com a inserção em lotes de {@code hibernate.jdbc.batch_size} linhas que os ids do
+ * {@link com.tigd.api.service.id.GeradorIds} permitem.
+ * <br>
+ * O teste confere a quantidade de comandos enviados ao banco, que não depende da rede: com o H2 embutido do perfil
+ * {@code perf} não há ida ao banco a economizar e os tempos das duas inserções ficam próximos.
+ */
+@SpringBootTest(properties = {
+        "api.saldo.checkpoint.intervalo-ms=3600000",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles(resolver = PerfisTeste.class)
+@Tag("performance")
+class InsercaoTransacoesBenchmarkTest {
+    private static final int TRANSACOES = 20_000;
+    private static final int POR_TRANSACAO_DE_BANCO = 1_000;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Inserção de transações: uma linha por ida ao banco e em lotes JDBC.")
+    void inserirTransacoes() {
+        Long cliente = clienteRepository.save(new Cliente(null, "Cliente inserção", GeradorDocumentosTeste.cpf(),
+                GeradorDocumentosTeste.email("cliente"), new BigDecimal("100.00"), true)).getId();
+        Long empresa = empresaRepository.save(new Empresa(null, "Empresa inserção", GeradorDocumentosTeste.cnpj(),
+                GeradorDocumentosTeste.email("empresa"), new BigDecimal("100.00"), new BigDecimal("0.01"), true)).getId();
+
+        Statistics estatisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        inserir(cliente, empresa, POR_TRANSACAO_DE_BANCO, 1);
+        long comandos = estatisticas.getPrepareStatementCount();
+        long linhaALinha = inserir(cliente, empresa, TRANSACOES, 1);
+        long comandosLinhaALinha = estatisticas.getPrepareStatementCount() - comandos;
+        comandos = estatisticas.getPrepareStatementCount();
+        long emLote = inserir(cliente, empresa, TRANSACOES, null);
+        long comandosEmLote = estatisticas.getPrepareStatementCount() - comandos;
+
+        System.out.printf("Uma linha por ida ao banco: %d transações em %.0f ms (%.0f por segundo), %d comandos%n",
+                TRANSACOES, linhaALinha / 1e6, TRANSACOES / (linhaALinha / 1e9), comandosLinhaALinha);
+        System.out.printf("Em lotes: %d transações em %.0f ms (%.0f por segundo), %d comandos%n",
+                TRANSACOES, emLote / 1e6, TRANSACOES / (emLote / 1e9), comandosEmLote);
+
+        Long gravadas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transacao WHERE cliente_id = ?", Long.class, cliente);
+        assertThat(gravadas).isEqualTo(2L * TRANSACOES + POR_TRANSACAO_DE_BANCO);
+        assertThat(comandosLinhaALinha).isGreaterThanOrEqualTo(TRANSACOES);
+        assertThat(comandosEmLote).isLessThan(comandosLinhaALinha / 10);
+    }
+
+    /**
+     * Persiste as transações em transações de banco de {@value #POR_TRANSACAO_DE_BANCO} linhas.
+     *
+     * @param tamanhoLote o tamanho do lote JDBC da sessão, ou {@code null} para o {@code hibernate.jdbc.batch_size}.
+     * @return a duração, em nanossegundos.
+     */
+    private long inserir(Long cliente, Long empresa, int quantidade, Integer tamanhoLote) {
+        long comeco = System.nanoTime();
+        for (int inseridas = 0; inseridas < quantidade; inseridas += POR_TRANSACAO_DE_BANCO) {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+                Cliente referenciaCliente = entityManager.getReference(Cliente.class, cliente);
+                Empresa referenciaEmpresa = entityManager.getReference(Empresa.class, empresa);
+                for (int i = 0; i < POR_TRANSACAO_DE_BANCO; i++) {
+                    entityManager.persist(new Transacao(null, Money.deCentavos(1_000), LocalDateTime.now(),
+                            Money.deCentavos(10), 'D', referenciaCliente, referenciaEmpresa));
+                }
+            });
+        }
+        return System.nanoTime() - comeco;
+    }
+}
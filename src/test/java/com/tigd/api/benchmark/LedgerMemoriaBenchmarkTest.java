@@ -0,0 +1,137 @@
+package com.tigd.api.benchmark;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.exceptions.SaldoNegativoException;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.GeradorDocumentosTeste;
+import com.tigd.api.service.ModoConcorrencia;
+import com.tigd.api.service.TransacaoService;
+import com.tigd.api.service.ledger.LedgerMemoria;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara vazão e latência do ledger em memória ({@link ModoConcorrencia#MEMORIA}) com o caminho síncrono
+ * via JPA ({@link ModoConcorrencia#ATOMICO}), com poucas contas muito disputadas.
+ */
+@SpringBootTest(properties = "api.transacao.modo-concorrencia=MEMORIA")
+@ActiveProfiles(resolver = PerfisTeste.class)
+@Tag("performance")
+class LedgerMemoriaBenchmarkTest {
+    private static final int THREADS = 32;
+    private static final int TRANSACOES = 20_000;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private LedgerMemoria ledgerMemoria;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Test
+    @DisplayName("Vazão e latência: ledger em memória versus JPA síncrono.")
+    void compararLedgerComJpa() throws Exception {
+        List<Long> clientes = criarClientes(16);
+        List<Long> empresas = criarEmpresas(4);
+
+        Resultado jpa = medir(ModoConcorrencia.ATOMICO, clientes, empresas);
+        Resultado memoria = medir(ModoConcorrencia.MEMORIA, clientes, empresas);
+
+        System.out.println(jpa);
+        System.out.println(memoria);
+        while (ledgerMemoria.transacoesPendentesDeGravacao() > 0) {
+            Thread.sleep(50);
+        }
+
+        assertThat(memoria.transacoesPorSegundo()).isGreaterThan(jpa.transacoesPorSegundo());
+    }
+
+    private Resultado medir(ModoConcorrencia modo, List<Long> clientes, List<Long> empresas) throws Exception {
+        ReflectionTestUtils.setField(transacaoService, "modoConcorrencia", modo);
+        long[] latencias = new long[TRANSACOES];
+        AtomicInteger proxima = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> execucoes = new ArrayList<>(TRANSACOES);
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < TRANSACOES; i++) {
+            execucoes.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                TransacaoDTO dto = new TransacaoDTO(BigDecimal.valueOf(random.nextInt(1, 20)), random.nextBoolean() ? 'D' : 'S',
+                        clientes.get(random.nextInt(clientes.size())), empresas.get(random.nextInt(empresas.size())));
+                long antes = System.nanoTime();
+                try {
+                    transacaoService.processarTransacao(new Transacao(dto));
+                } catch (SaldoNegativoException ignorada) {
+                    // uma recusa também é uma resposta medida
+                }
+                latencias[proxima.getAndIncrement()] = System.nanoTime() - antes;
+                return null;
+            }));
+        }
+        for (Future<?> execucao : execucoes) {
+            execucao.get();
+        }
+        long duracao = System.nanoTime() - inicio;
+        executor.shutdown();
+
+        Arrays.sort(latencias);
+        return new Resultado(modo, TRANSACOES / (duracao / 1e9), percentil(latencias, 0.50), percentil(latencias, 0.99));
+    }
+
+    private double percentil(long[] ordenadas, double percentil) {
+        return ordenadas[(int) Math.min(ordenadas.length - 1, Math.ceil(percentil * ordenadas.length) - 1)] / 1_000_000.0;
+    }
+
+    private List<Long> criarClientes(int quantidade) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            ids.add(clienteRepository.save(new Cliente(null, "Cliente benchmark", GeradorDocumentosTeste.cpf(),
+                    GeradorDocumentosTeste.email("cliente"), new BigDecimal("1000000.00"), true)).getId());
+        }
+        return ids;
+    }
+
+    private List<Long> criarEmpresas(int quantidade) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            ids.add(empresaRepository.save(new Empresa(null, "Empresa benchmark", GeradorDocumentosTeste.cnpj(),
+                    GeradorDocumentosTeste.email("empresa"), new BigDecimal("1000000.00"), new BigDecimal("0.01"), true)).getId());
+        }
+        return ids;
+    }
+
+    private record Resultado(ModoConcorrencia modo, double transacoesPorSegundo, double p50Ms, double p99Ms) {
+        @Override
+        public String toString() {
+            return String.format("%-8s %.1f transações/s, p50 %.2f ms, p99 %.2f ms", modo, transacoesPorSegundo, p50Ms, p99Ms);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.tigd.api.benchmark;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.dto.PaginaClientesDTO;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.service.ClienteService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a listagem de clientes antiga, que carregava a tabela inteira como entidades gerenciadas, com a listagem
+ * paginada por cursor e projetada em DTOs, numa tabela de 1 milhão de clientes.
+ * <br>
+ * A listagem antiga não cabe no heap de 256 MB do perfil {@code performance} com 1 milhão de entidades, então ela é
+ * medida sobre {@value #ENTIDADES_ANTIGA} clientes e os números são extrapolados para a tabela inteira.
+ */
+@SpringBootTest(properties = "api.saldo.checkpoint.intervalo-ms=3600000")
+@ActiveProfiles(resolver = PerfisTeste.class)
+@Tag("performance")
+class ListagemContasBenchmarkTest {
+    private static final int CLIENTES = 1_000_000;
+    private static final int ENTIDADES_ANTIGA = 100_000;
+    private static final int TAMANHO_LOTE = 10_000;
+    private static final int LIMITE = 50;
+    private static final int PAGINAS_MEDIDAS = 2_000;
+    private static final String INSERIR_CLIENTE =
+            "INSERT IGNORE INTO clientes (nome, cpf, email, saldo, ativo, version) VALUES (?, ?, ?, ?, ?, 0)";
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Listagem de clientes: tempo e memória da tabela inteira como entidades e da página projetada.")
+    void listagemClientes() {
+        completarClientes();
+
+        long alocadoAntes = alocado();
+        long usadoAntes = heapUsado();
+        long comeco = System.nanoTime();
+        List<Cliente> entidades = clienteRepository.findAll(PageRequest.of(0, ENTIDADES_ANTIGA)).getContent();
+        long duracaoAntiga = System.nanoTime() - comeco;
+        long alocadoAntiga = alocado() - alocadoAntes;
+        long retidoAntiga = heapUsado() - usadoAntes;
+        Reference.reachabilityFence(entidades);
+        entidades = null;
+
+        clienteService.buscarPagina(true, null, LIMITE);
+        long[] duracoes = new long[PAGINAS_MEDIDAS];
+        long alocadoPaginas = 0;
+        String cursor = null;
+        for (int i = 0; i < PAGINAS_MEDIDAS; i++) {
+            alocadoAntes = alocado();
+            comeco = System.nanoTime();
+            PaginaClientesDTO pagina = clienteService.buscarPagina(true, cursor, LIMITE);
+            duracoes[i] = System.nanoTime() - comeco;
+            alocadoPaginas += alocado() - alocadoAntes;
+            assertThat(pagina.clientes()).hasSize(LIMITE).allMatch(cliente -> cliente.ativo());
+            cursor = pagina.proximoCursor();
+        }
+        Arrays.sort(duracoes);
+        long p50 = duracoes[PAGINAS_MEDIDAS / 2];
+        long p99 = duracoes[(int) Math.ceil(PAGINAS_MEDIDAS * 0.99) - 1];
+        long alocadoPorPagina = alocadoPaginas / PAGINAS_MEDIDAS;
+
+        comeco = System.nanoTime();
+        long ativos = percorrer(true);
+        long inativos = percorrer(false);
+        long duracaoPercurso = System.nanoTime() - comeco;
+
+        double escala = (double) CLIENTES / ENTIDADES_ANTIGA;
+        System.out.printf("Antes: %d entidades em %.0f ms, %.1f MB alocados, %.1f MB retidos"
+                        + " (1M extrapolado: %.0f ms, %.1f MB retidos)%n",
+                ENTIDADES_ANTIGA, duracaoAntiga / 1e6, alocadoAntiga / 1e6, retidoAntiga / 1e6,
+                duracaoAntiga * escala / 1e6, retidoAntiga * escala / 1e6);
+        System.out.printf("Depois: página de %d, p50 %.2f ms, p99 %.2f ms, %.1f KB alocados por página%n",
+                LIMITE, p50 / 1e6, p99 / 1e6, alocadoPorPagina / 1e3);
+        System.out.printf("Depois: %d ativos e %d inativos percorridos página a página em %.0f ms%n",
+                ativos, inativos, duracaoPercurso / 1e6);
+
+        assertThat(ativos + inativos).isGreaterThanOrEqualTo(CLIENTES);
+        assertThat(alocadoPorPagina).isLessThan(alocadoAntiga / 100);
+        assertThat(p99).isLessThan(50_000_000L);
+    }
+
+    /**
+     * Completa a tabela de clientes até {@value #CLIENTES} linhas, com um em cada dez clientes inativo. Os documentos
+     * gerados não são CPFs válidos, então não colidem com os clientes criados pelos outros testes.
+     */
+    private void completarClientes() {
+        Long existentes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clientes", Long.class);
+        if (existentes != null && existentes >= CLIENTES) {
+            return;
+        }
+        List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < CLIENTES; i++) {
+            lote.add(new Object[]{"Cliente listagem " + i, String.format("L%013d", i), "listagem" + i + "@benchmark.test",
+                    new BigDecimal("100.00"), i % 10 != 0});
+            if (lote.size() == TAMANHO_LOTE) {
+                jdbcTemplate.batchUpdate(INSERIR_CLIENTE, lote);
+                lote.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERIR_CLIENTE, lote);
+    }
+
+    private long percorrer(boolean ativo) {
+        long clientes = 0;
+        String cursor = null;
+        do {
+            PaginaClientesDTO pagina = clienteService.buscarPagina(ativo, cursor, 500);
+            clientes += pagina.clientes().size();
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+        return clientes;
+    }
+
+    private static long alocado() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long heapUsado() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
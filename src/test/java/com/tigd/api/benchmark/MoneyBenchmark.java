@@ -0,0 +1,68 @@
+package com.tigd.api.benchmark;
+
+import com.tigd.api.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aritmética de uma transação de depósito (valor com taxa, verificação de saldo, débito do cliente e crédito
+ * da empresa) com {@link BigDecimal}, como era feita antes, e com {@link Money}.
+ * Executado por {@link MoneyBenchmarkTest}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+    private final BigDecimal valor = new BigDecimal("123.45");
+    private final BigDecimal taxa = new BigDecimal("0.05");
+    private final BigDecimal saldoCliente = new BigDecimal("10000.00");
+    private final BigDecimal saldoEmpresa = new BigDecimal("25000.00");
+
+    private final Money valorMoney = Money.of(valor);
+    private final long taxaCentesimos = Money.taxaEmCentesimos(taxa);
+    private final Money saldoClienteMoney = Money.of(saldoCliente);
+    private final Money saldoEmpresaMoney = Money.of(saldoEmpresa);
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal valorComTaxa = valor.add(valor.multiply(taxa));
+        if (saldoCliente.compareTo(valorComTaxa) < 0) {
+            return saldoCliente;
+        }
+        return saldoCliente.subtract(valorComTaxa).add(saldoEmpresa.add(valor));
+    }
+
+    @Benchmark
+    public Money money() {
+        Money valorComTaxa = valorMoney.comTaxa(taxaCentesimos);
+        if (saldoClienteMoney.menorQue(valorComTaxa)) {
+            return saldoClienteMoney;
+        }
+        return saldoClienteMoney.subtrair(valorComTaxa).somar(saldoEmpresaMoney.somar(valorMoney));
+    }
+
+    /**
+     * Como {@link #money()}, mas convertendo a taxa lida da entidade, como faz o caminho que usa o JPA.
+     */
+    @Benchmark
+    public Money moneyComTaxaDecimal() {
+        Money valorComTaxa = valorMoney.comTaxa(taxa);
+        if (saldoClienteMoney.menorQue(valorComTaxa)) {
+            return saldoClienteMoney;
+        }
+        return saldoClienteMoney.subtrair(valorComTaxa).somar(saldoEmpresaMoney.somar(valorMoney));
+    }
+}
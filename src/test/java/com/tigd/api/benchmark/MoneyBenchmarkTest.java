@@ -0,0 +1,53 @@
+package com.tigd.api.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Executa o {@link MoneyBenchmark} com o perfilador de GC do JMH e mostra ns/op e bytes alocados por operação.
+ */
+@Tag("performance")
+class MoneyBenchmarkTest {
+
+    @Test
+    @DisplayName("Taxa e saldo com Money alocam menos por operação que com BigDecimal.")
+    void compararAritmetica() throws Exception {
+        Options opcoes = new OptionsBuilder()
+                .include(MoneyBenchmark.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> resultados = new Runner(opcoes).run();
+
+        Map<String, Double> alocacaoPorOperacao = new HashMap<>();
+        for (RunResult resultado : resultados) {
+            String benchmark = resultado.getParams().getBenchmark();
+            String nome = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            double alocacao = alocacaoNormalizada(resultado);
+            alocacaoPorOperacao.put(nome, alocacao);
+            System.out.printf("%-20s %8.2f ns/op %8.1f B/op%n", nome, resultado.getPrimaryResult().getScore(), alocacao);
+        }
+
+        assertThat(alocacaoPorOperacao.get("money")).isLessThan(alocacaoPorOperacao.get("bigDecimal"));
+    }
+
+    private double alocacaoNormalizada(RunResult resultado) {
+        Map<String, Result> secundarios = resultado.getSecondaryResults();
+        Result alocacao = secundarios.containsKey("gc.alloc.rate.norm")
+                ? secundarios.get("gc.alloc.rate.norm")
+                : secundarios.get("·gc.alloc.rate.norm");
+        return alocacao.getScore();
+    }
+}
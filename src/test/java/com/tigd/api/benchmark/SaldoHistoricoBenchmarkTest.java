@@ -0,0 +1,144 @@
+package com.tigd.api.benchmark;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.GeradorDocumentosTeste;
+import com.tigd.api.service.id.GeradorIds;
+import com.tigd.api.service.saldo.CheckpointSaldoService;
+import com.tigd.api.service.saldo.TipoConta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede a latência da consulta de saldo num momento passado em função da profundidade no histórico da conta:
+ * sem checkpoints a consulta desfaz todas as transações desde o momento, com checkpoints soma apenas as transações
+ * até o checkpoint mais próximo.
+ */
+@SpringBootTest(properties = {
+        "api.saldo.checkpoint.transacoes=1000",
+        "api.saldo.checkpoint.atraso-segundos=0",
+        "api.saldo.checkpoint.intervalo-ms=3600000"
+})
+@ActiveProfiles(resolver = PerfisTeste.class)
+@Tag("performance")
+class SaldoHistoricoBenchmarkTest {
+    private static final int TRANSACOES = 200_000;
+    private static final int TAMANHO_LOTE = 10_000;
+    private static final int[] PROFUNDIDADES = {100, 1_000, 10_000, 100_000, TRANSACOES};
+    private static final int REPETICOES = 20;
+    private static final long SALDO_INICIAL_CENTAVOS = 1_000_000_000L;
+    private static final String INSERIR_TRANSACAO =
+            "INSERT INTO transacao (id, valor, valor_taxa, data, tipo, cliente_id, empresa_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private CheckpointSaldoService checkpointSaldoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GeradorIds geradorIds;
+
+    @Test
+    @DisplayName("Saldo num momento: latência por profundidade no histórico, sem e com checkpoints.")
+    void saldoEmPorProfundidade() {
+        Long cliente = clienteRepository.save(new Cliente(null, "Cliente histórico", GeradorDocumentosTeste.cpf(),
+                GeradorDocumentosTeste.email("cliente"), BigDecimal.valueOf(SALDO_INICIAL_CENTAVOS, 2), true)).getId();
+        Long empresa = empresaRepository.save(new Empresa(null, "Empresa histórico", GeradorDocumentosTeste.cnpj(),
+                GeradorDocumentosTeste.email("empresa"), BigDecimal.valueOf(SALDO_INICIAL_CENTAVOS, 2),
+                new BigDecimal("0.01"), true)).getId();
+        LocalDateTime[] datas = new LocalDateTime[TRANSACOES];
+        long[] saldos = gerarHistorico(cliente, empresa, datas);
+
+        long[] semCheckpoints = medir(cliente, datas, saldos);
+        ReflectionTestUtils.setField(checkpointSaldoService, "ultimaMarca", null);
+        assertThat(checkpointSaldoService.gerarCheckpoints()).isGreaterThanOrEqualTo(TRANSACOES / 1000 - 1);
+        long[] comCheckpoints = medir(cliente, datas, saldos);
+
+        System.out.println("Profundidade | sem checkpoints (ms) | com checkpoints (ms)");
+        for (int i = 0; i < PROFUNDIDADES.length; i++) {
+            System.out.printf("%12d | %20.2f | %20.2f%n", PROFUNDIDADES[i], semCheckpoints[i] / 1e6, comCheckpoints[i] / 1e6);
+        }
+
+        int maisProfundo = PROFUNDIDADES.length - 1;
+        assertThat(comCheckpoints[maisProfundo]).isLessThan(semCheckpoints[maisProfundo]);
+        assertThat(comCheckpoints[maisProfundo]).isLessThan(50_000_000L);
+    }
+
+    /**
+     * Grava o histórico diretamente na base de dados, uma transação por segundo terminando uma hora atrás,
+     * e ajusta o saldo do cliente para o saldo final.
+     *
+     * @return o saldo do cliente em centavos depois de cada transação.
+     */
+    private long[] gerarHistorico(Long cliente, Long empresa, LocalDateTime[] datas) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime primeira = LocalDateTime.now().withNano(0).minusHours(1).minusSeconds(TRANSACOES);
+        long[] saldos = new long[TRANSACOES];
+        long saldo = SALDO_INICIAL_CENTAVOS;
+        long primeiroId = geradorIds.reservar(GeradorIds.TRANSACAO, TRANSACOES);
+        List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < TRANSACOES; i++) {
+            long valor = random.nextLong(100, 5001);
+            long taxa = (valor + 50) / 100;
+            char tipo = random.nextBoolean() ? 'D' : 'S';
+            saldo += tipo == 'D' ? -(valor + taxa) : valor;
+            saldos[i] = saldo;
+            datas[i] = primeira.plusSeconds(i);
+            lote.add(new Object[]{primeiroId + i, BigDecimal.valueOf(valor, 2), BigDecimal.valueOf(taxa, 2), Timestamp.valueOf(datas[i]),
+                    String.valueOf(tipo), cliente, empresa});
+            if (lote.size() == TAMANHO_LOTE) {
+                jdbcTemplate.batchUpdate(INSERIR_TRANSACAO, lote);
+                lote.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERIR_TRANSACAO, lote);
+        jdbcTemplate.update("UPDATE clientes SET saldo = ? WHERE id = ?", BigDecimal.valueOf(saldo, 2), cliente);
+        return saldos;
+    }
+
+    /**
+     * @return a mediana da latência, em nanossegundos, para cada profundidade de {@link #PROFUNDIDADES}.
+     */
+    private long[] medir(Long cliente, LocalDateTime[] datas, long[] saldos) {
+        long[] medianas = new long[PROFUNDIDADES.length];
+        for (int i = 0; i < PROFUNDIDADES.length; i++) {
+            int indice = TRANSACOES - PROFUNDIDADES[i];
+            long[] duracoes = new long[REPETICOES];
+            for (int r = 0; r < REPETICOES; r++) {
+                long comeco = System.nanoTime();
+                BigDecimal saldo = checkpointSaldoService.saldoEm(TipoConta.CLIENTE, cliente, datas[indice]).saldo();
+                duracoes[r] = System.nanoTime() - comeco;
+                assertThat(saldo).isEqualByComparingTo(BigDecimal.valueOf(saldos[indice], 2));
+            }
+            Arrays.sort(duracoes);
+            medianas[i] = duracoes[REPETICOES / 2];
+        }
+        return medianas;
+    }
+}
@@ -0,0 +1,68 @@
+package com.tigd.api.benchmark;
+
+import com.tigd.api.validators.DocumentValidator;
+import com.tigd.api.validators.ValidacaoDocumento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de CPF e CNPJ pelo {@link DocumentValidator#isValid(String, String)} e pela
+ * {@link ValidacaoDocumento}, com documentos formatados e só com dígitos.
+ * Executado por {@link ValidacaoDocumentoBenchmarkTest}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoDocumentoBenchmark {
+
+    @Param({"formatado", "digitos"})
+    private String formato;
+
+    private String cpf;
+
+    private String cnpj;
+
+    private DocumentValidator documentValidator;
+
+    @Setup
+    public void preparar() {
+        boolean formatado = formato.equals("formatado");
+        cpf = formatado ? "375.243.170-93" : "37524317093";
+        cnpj = formatado ? "11.222.333/0001-81" : "11222333000181";
+        documentValidator = new DocumentValidator();
+    }
+
+    @Benchmark
+    public String documentValidatorCpf() {
+        return documentValidator.isValid(cpf, "cliente");
+    }
+
+    @Benchmark
+    public String documentValidatorCnpj() {
+        return documentValidator.isValid(cnpj, "empresa");
+    }
+
+    @Benchmark
+    public boolean validacaoDocumentoCpf() {
+        return ValidacaoDocumento.isCpfValido(cpf);
+    }
+
+    @Benchmark
+    public boolean validacaoDocumentoCnpj() {
+        return ValidacaoDocumento.isCnpjValido(cnpj);
+    }
+}
@@ -0,0 +1,64 @@
+package com.tigd.api.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Executa o {@link ValidacaoDocumentoBenchmark} com o perfilador de GC do JMH e mostra ns/op e bytes alocados
+ * por operação de cada validador, para documentos formatados e só com dígitos.
+ */
+@Tag("performance")
+class ValidacaoDocumentoBenchmarkTest {
+
+    @Test
+    @DisplayName("Validação em uma passada não aloca e é mais rápida que o DocumentValidator.")
+    void compararValidadores() throws Exception {
+        Options opcoes = new OptionsBuilder()
+                .include(ValidacaoDocumentoBenchmark.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> resultados = new Runner(opcoes).run();
+
+        Map<String, Double> tempoPorOperacao = new HashMap<>();
+        Map<String, Double> alocacaoPorOperacao = new HashMap<>();
+        for (RunResult resultado : resultados) {
+            String benchmark = resultado.getParams().getBenchmark();
+            String nome = benchmark.substring(benchmark.lastIndexOf('.') + 1) + "/" + resultado.getParams().getParam("formato");
+            double tempo = resultado.getPrimaryResult().getScore();
+            double alocacao = alocacaoNormalizada(resultado);
+            tempoPorOperacao.put(nome, tempo);
+            alocacaoPorOperacao.put(nome, alocacao);
+            System.out.printf("%-32s %8.2f ns/op %8.1f B/op%n", nome, tempo, alocacao);
+        }
+
+        for (String formato : new String[]{"formatado", "digitos"}) {
+            assertThat(alocacaoPorOperacao.get("validacaoDocumentoCpf/" + formato)).isLessThan(1.0);
+            assertThat(alocacaoPorOperacao.get("validacaoDocumentoCnpj/" + formato)).isLessThan(1.0);
+        }
+        assertThat(tempoPorOperacao.get("validacaoDocumentoCpf/formatado"))
+                .isLessThan(tempoPorOperacao.get("documentValidatorCpf/formatado"));
+        assertThat(tempoPorOperacao.get("validacaoDocumentoCnpj/formatado"))
+                .isLessThan(tempoPorOperacao.get("documentValidatorCnpj/formatado"));
+    }
+
+    private double alocacaoNormalizada(RunResult resultado) {
+        Map<String, Result> secundarios = resultado.getSecondaryResults();
+        Result alocacao = secundarios.containsKey("gc.alloc.rate.norm")
+                ? secundarios.get("gc.alloc.rate.norm")
+                : secundarios.get("·gc.alloc.rate.norm");
+        return alocacao.getScore();
+    }
+}
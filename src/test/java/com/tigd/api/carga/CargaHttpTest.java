@@ -0,0 +1,125 @@
+package com.tigd.api.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tigd.api.exceptions.ClienteNotFoundException;
+import com.tigd.api.exceptions.ElementNotFoundException;
+import com.tigd.api.exceptions.EmpresaNotFoundException;
+import com.tigd.api.service.carga.GeradorCarga;
+import com.tigd.api.service.carga.PlanoCarga;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga de ponta a ponta: sobe a API numa porta aleatória com o banco H2 do perfil {@code perf}, cria a carga
+ * sintética do {@link GeradorCarga} e envia requisições HTTP em três cenários, gravando latências, vazão e erros em
+ * {@code api.carga-http.diretorio}.
+ * <br>
+ * A taxa, a concorrência e a duração vêm das propriedades {@code api.carga-http.*}, que podem ser passadas na linha de
+ * comando: {@code mvn test -Pperformance -Dtest=CargaHttpTest -Dapi.carga-http.taxa=500}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "api.saldo.checkpoint.intervalo-ms=3600000")
+@ActiveProfiles({"test", "perf"})
+@Tag("performance")
+class CargaHttpTest {
+    private static final Map<Operacao, Integer> MISTO = new EnumMap<>(Map.of(
+            Operacao.CRIAR_TRANSACAO, 50,
+            Operacao.LISTAR_TRANSACOES, 15,
+            Operacao.EXTRATO_CLIENTE, 10,
+            Operacao.SALDO_CLIENTE, 10,
+            Operacao.RESUMO_EMPRESA, 5,
+            Operacao.CRIAR_CLIENTE, 5,
+            Operacao.LISTAR_CLIENTES, 5));
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private GeradorCarga geradorCarga;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${api.carga-http.clientes:2000}")
+    private int clientes;
+
+    @Value("${api.carga-http.empresas:50}")
+    private int empresas;
+
+    @Value("${api.carga-http.transacoes-iniciais:20000}")
+    private long transacoesIniciais;
+
+    @Value("${api.carga-http.taxa:200}")
+    private double taxa;
+
+    @Value("${api.carga-http.concorrencia:32}")
+    private int concorrencia;
+
+    @Value("${api.carga-http.duracao-segundos:20}")
+    private long duracaoSegundos;
+
+    @Value("${api.carga-http.aquecimento-segundos:5}")
+    private long aquecimentoSegundos;
+
+    @Value("${api.carga-http.diretorio:target/carga-http}")
+    private String diretorio;
+
+    @Test
+    @DisplayName("Carga HTTP: cenário misto, empresa quente e capacidade máxima, com relatório de latências e erros.")
+    void cargaHttp() throws Exception {
+        geradorCarga.gerar(new PlanoCarga(clientes, empresas, transacoesIniciais, 1.1, 30, 42));
+        ExecutorCarga executor = new ExecutorCarga("http://localhost:" + porta, objectMapper,
+                ids("SELECT id FROM clientes WHERE email LIKE 'carga.cliente%' ORDER BY id LIMIT ?", clientes),
+                ids("SELECT id FROM empresas WHERE email LIKE 'carga.empresa%' ORDER BY id LIMIT ?", empresas));
+        Duration duracao = Duration.ofSeconds(duracaoSegundos);
+
+        executor.executar(new CenarioCarga("aquecimento", 0, concorrencia, Duration.ofSeconds(aquecimentoSegundos),
+                MISTO, 0, 0), 1);
+        List<ResultadoCarga> resultados = new ArrayList<>();
+        resultados.add(executor.executar(new CenarioCarga("misto", taxa, concorrencia, duracao, MISTO, 0, 0.02), 2));
+        resultados.add(executor.executar(new CenarioCarga("empresa-quente", taxa, concorrencia, duracao,
+                new EnumMap<>(Map.of(Operacao.CRIAR_TRANSACAO, 1)), 0.9, 0), 3));
+        resultados.add(executor.executar(new CenarioCarga("capacidade", 0, concorrencia, duracao, MISTO, 0, 0), 4));
+        Path relatorio = RelatorioCarga.gravar(Path.of(diretorio), resultados, objectMapper);
+
+        for (ResultadoCarga resultado : resultados) {
+            System.out.printf("%s: %d requisições em %.1f s (%.0f por segundo), p50 %.2f ms, p99 %.2f ms, erros %s%n",
+                    resultado.cenario().nome(), resultado.requisicoes(), resultado.duracaoSegundos(),
+                    resultado.requisicoes() / resultado.duracaoSegundos(),
+                    resultado.latencias().getValueAtPercentile(50) / 1000.0,
+                    resultado.latencias().getValueAtPercentile(99) / 1000.0, resultado.erros());
+            assertThat(resultado.requisicoes()).isPositive();
+            assertThat(resultado.erros().keySet()).isSubsetOf(ErrosApi.ESPERADOS);
+        }
+        System.out.println("Relatório: " + relatorio.toAbsolutePath());
+
+        assertThat(resultados.get(0).erros().keySet()).containsAnyOf(ElementNotFoundException.class.getSimpleName(),
+                ClienteNotFoundException.class.getSimpleName(), EmpresaNotFoundException.class.getSimpleName());
+        assertThat(relatorio).exists();
+        assertThat(Files.exists(Path.of(diretorio).resolve("relatorio-carga.html"))).isTrue();
+    }
+
+    private long[] ids(String sql, int limite) {
+        return jdbcTemplate.queryForList(sql, Long.class, limite).stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,35 @@
+package com.tigd.api.carga;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Um cenário de carga sobre a API.
+ *
+ * @param nome o nome do cenário nos relatórios.
+ * @param requisicoesPorSegundo a taxa média de chegada, em modelo aberto: as requisições chegam num processo de
+ *                              Poisson, sem esperar as respostas anteriores. Com {@code 0}, o modelo é fechado: cada
+ *                              um dos {@code concorrencia} usuários envia a próxima requisição ao receber a resposta.
+ * @param concorrencia o número de requisições em andamento ao mesmo tempo, no máximo.
+ * @param duracao o tempo durante o qual as requisições são enviadas.
+ * @param pesos o peso de cada operação no sorteio da próxima requisição, guardados na ordem de {@link Operacao} para
+ *              que a mesma semente sorteie as mesmas operações em qualquer execução.
+ * @param fracaoEmpresaQuente a fração das transações destinadas à mesma empresa, a de maior movimento; as outras
+ *                            sorteiam a empresa pela lei de Zipf, como os clientes.
+ * @param fracaoContasInexistentes a fração das transações e consultas feitas com ids de contas que não existem.
+ */
+record CenarioCarga(String nome, double requisicoesPorSegundo, int concorrencia, Duration duracao,
+                    Map<Operacao, Integer> pesos, double fracaoEmpresaQuente, double fracaoContasInexistentes) {
+
+    CenarioCarga {
+        EnumMap<Operacao, Integer> ordenados = new EnumMap<>(Operacao.class);
+        ordenados.putAll(pesos);
+        pesos = Collections.unmodifiableMap(ordenados);
+    }
+
+    boolean modeloAberto() {
+        return requisicoesPorSegundo > 0;
+    }
+}
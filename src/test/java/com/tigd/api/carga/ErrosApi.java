@@ -0,0 +1,88 @@
+package com.tigd.api.carga;
+
+import com.tigd.api.exceptions.ChaveIdempotenciaEmUsoException;
+import com.tigd.api.exceptions.ClienteNotFoundException;
+import com.tigd.api.exceptions.CnpjUniqueException;
+import com.tigd.api.exceptions.ConflitoConcorrenciaException;
+import com.tigd.api.exceptions.ContaInativaException;
+import com.tigd.api.exceptions.CpfUniqueException;
+import com.tigd.api.exceptions.CursorInvalidoException;
+import com.tigd.api.exceptions.ElementNotFoundException;
+import com.tigd.api.exceptions.EmailUniqueException;
+import com.tigd.api.exceptions.EmpresaNotFoundException;
+import com.tigd.api.exceptions.FilaTransacoesCheiaException;
+import com.tigd.api.exceptions.PeriodoInvalidoException;
+import com.tigd.api.exceptions.SaldoNegativoException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Identifica a exceção da API por trás de uma resposta de erro.
+ * <br>
+ * O corpo do erro traz apenas o status e a mensagem; cada exceção tratada pelo {@code RestExceptionHandler} tem uma
+ * mensagem padrão, então o par status e mensagem aponta a exceção. Uma resposta que não corresponde a nenhuma é
+ * identificada pelo status HTTP.
+ */
+final class ErrosApi {
+    private static final List<Class<? extends RuntimeException>> EXCECOES = List.of(
+            SaldoNegativoException.class,
+            ElementNotFoundException.class,
+            ClienteNotFoundException.class,
+            EmpresaNotFoundException.class,
+            ContaInativaException.class,
+            ConflitoConcorrenciaException.class,
+            FilaTransacoesCheiaException.class,
+            ChaveIdempotenciaEmUsoException.class,
+            CpfUniqueException.class,
+            CnpjUniqueException.class,
+            EmailUniqueException.class,
+            CursorInvalidoException.class,
+            PeriodoInvalidoException.class);
+
+    /**
+     * As exceções de regra de negócio que uma carga sobre contas existentes e inexistentes pode provocar; qualquer
+     * outro erro indica falha da API.
+     */
+    static final Set<String> ESPERADOS = Set.of(
+            SaldoNegativoException.class.getSimpleName(),
+            ElementNotFoundException.class.getSimpleName(),
+            ClienteNotFoundException.class.getSimpleName(),
+            EmpresaNotFoundException.class.getSimpleName());
+
+    private static final Map<String, String> POR_RESPOSTA = new HashMap<>();
+
+    static {
+        for (Class<? extends RuntimeException> excecao : EXCECOES) {
+            try {
+                String mensagem = excecao.getDeclaredConstructor().newInstance().getMessage();
+                POR_RESPOSTA.putIfAbsent(mensagem, excecao.getSimpleName());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private ErrosApi() {
+    }
+
+    /**
+     * @param status o status HTTP da resposta de erro.
+     * @param mensagem a mensagem do corpo da resposta, ou {@code null} se não houver.
+     * @return o nome simples da exceção, ou {@code HTTP <status>} se a resposta não corresponder a nenhuma.
+     */
+    static String classificar(int status, String mensagem) {
+        String excecao = mensagem == null || status >= 500 ? null : POR_RESPOSTA.get(mensagem);
+        return excecao != null ? excecao : "HTTP " + status;
+    }
+
+    /**
+     * @param falha a falha ao enviar a requisição ou ao ler a resposta.
+     * @return o nome simples da exceção do cliente HTTP.
+     */
+    static String classificar(Throwable falha) {
+        return falha.getClass().getSimpleName();
+    }
+}
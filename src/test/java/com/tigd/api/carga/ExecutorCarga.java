@@ -0,0 +1,288 @@
+package com.tigd.api.carga;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tigd.api.dto.ClienteDTO;
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.service.carga.DistribuicaoZipf;
+import com.tigd.api.service.carga.DocumentosSinteticos;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Envia as requisições de um {@link CenarioCarga} à API em execução e mede cada uma no {@link ResultadoCarga}.
+ * <br>
+ * Os clientes das transações e consultas são sorteados pela lei de Zipf, como na carga sintética do
+ * {@code GeradorCarga}: poucos clientes concentram a maior parte das requisições. A empresa de maior movimento é a
+ * primeira das empresas informadas.
+ * <br>
+ * Tudo o que é sorteado vem da semente do cenário, inclusive os documentos dos clientes criados, para que a mesma
+ * semente repita a mesma sequência de requisições.
+ */
+final class ExecutorCarga {
+    private static final double EXPOENTE_ZIPF = 1.1;
+    private static final long ID_INEXISTENTE = Long.MAX_VALUE;
+    private static final int LIMITE_PAGINA = 50;
+    private static final int DIAS_CONSULTADOS = 30;
+    private static final Duration TEMPO_LIMITE = Duration.ofSeconds(30);
+    private static final Duration ESPERA_FINAL = Duration.ofMinutes(1);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TEMPO_LIMITE)
+            .build();
+    private final String base;
+    private final ObjectMapper objectMapper;
+    private final long[] clientes;
+    private final long[] empresas;
+    private final DistribuicaoZipf sorteioClientes;
+    private final DistribuicaoZipf sorteioEmpresas;
+    private final Set<Integer> documentosUsados = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param base o endereço da API, sem barra no fim.
+     * @param clientes os ids dos clientes existentes, criados pelo {@code GeradorCarga} com os documentos sintéticos de
+     *                 {@code 0} até a quantidade de clientes; os clientes criados nas requisições usam os seguintes.
+     * @param empresas os ids das empresas existentes; a primeira é a de maior movimento.
+     */
+    ExecutorCarga(String base, ObjectMapper objectMapper, long[] clientes, long[] empresas) {
+        this.base = base;
+        this.objectMapper = objectMapper;
+        this.clientes = clientes;
+        this.empresas = empresas;
+        this.sorteioClientes = new DistribuicaoZipf(clientes.length, EXPOENTE_ZIPF);
+        this.sorteioEmpresas = new DistribuicaoZipf(empresas.length, EXPOENTE_ZIPF);
+    }
+
+    /**
+     * Executa o cenário até o fim da duração e espera as respostas das requisições em andamento.
+     *
+     * @param cenario o cenário.
+     * @param semente a semente dos sorteios, para repetir a mesma sequência de requisições.
+     * @return as medições do cenário.
+     */
+    ResultadoCarga executar(CenarioCarga cenario, long semente) throws InterruptedException {
+        ResultadoCarga resultado = new ResultadoCarga(cenario);
+        Sorteio sorteio = new Sorteio(cenario);
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        long inicio = System.nanoTime();
+        if (cenario.modeloAberto()) {
+            executarAberto(cenario, sorteio, aleatorio, resultado, inicio);
+        } else {
+            executarFechado(cenario, sorteio, aleatorio, resultado, inicio);
+        }
+        resultado.concluir(System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    /**
+     * Envia as requisições nos momentos de chegada de um processo de Poisson, sem esperar as respostas. Com todas as
+     * conexões ocupadas, as requisições seguintes esperam na fila do executor, e a espera entra na latência.
+     */
+    private void executarAberto(CenarioCarga cenario, Sorteio sorteio, SplittableRandom aleatorio,
+                                ResultadoCarga resultado, long inicio) throws InterruptedException {
+        ExecutorService conexoes = Executors.newFixedThreadPool(cenario.concorrencia());
+        long fim = inicio + cenario.duracao().toNanos();
+        double intervaloMedio = TimeUnit.SECONDS.toNanos(1) / cenario.requisicoesPorSegundo();
+        long previsto = inicio;
+        while (true) {
+            previsto += (long) (-Math.log(1 - aleatorio.nextDouble()) * intervaloMedio);
+            if (previsto >= fim) {
+                break;
+            }
+            Envio envio = new Envio(montar(sorteio, aleatorio), previsto, resultado);
+            esperarAte(previsto);
+            conexoes.execute(envio);
+        }
+        conexoes.shutdown();
+        if (!conexoes.awaitTermination(ESPERA_FINAL.toNanos(), TimeUnit.NANOSECONDS)) {
+            for (Runnable pendente : conexoes.shutdownNow()) {
+                resultado.registrarNaoEnviadas(((Envio) pendente).requisicao().operacao(), 1);
+            }
+        }
+    }
+
+    /**
+     * Cada um dos usuários envia uma requisição, espera a resposta e envia a próxima, até o fim da duração.
+     */
+    private void executarFechado(CenarioCarga cenario, Sorteio sorteio, SplittableRandom aleatorio,
+                                 ResultadoCarga resultado, long inicio) throws InterruptedException {
+        ExecutorService usuarios = Executors.newFixedThreadPool(cenario.concorrencia());
+        long fim = inicio + cenario.duracao().toNanos();
+        for (int i = 0; i < cenario.concorrencia(); i++) {
+            SplittableRandom aleatorioUsuario = aleatorio.split();
+            usuarios.execute(() -> {
+                while (System.nanoTime() < fim && !Thread.currentThread().isInterrupted()) {
+                    new Envio(montar(sorteio, aleatorioUsuario), System.nanoTime(), resultado).run();
+                }
+            });
+        }
+        usuarios.shutdown();
+        if (!usuarios.awaitTermination(cenario.duracao().plus(ESPERA_FINAL).toNanos(), TimeUnit.NANOSECONDS)) {
+            usuarios.shutdownNow();
+        }
+    }
+
+    private static void esperarAte(long momento) {
+        long espera;
+        while ((espera = momento - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(espera);
+        }
+    }
+
+    private Requisicao montar(Sorteio sorteio, SplittableRandom aleatorio) {
+        Operacao operacao = sorteio.operacao(aleatorio);
+        CenarioCarga cenario = sorteio.cenario();
+        boolean inexistente = aleatorio.nextDouble() < cenario.fracaoContasInexistentes();
+        long cliente = inexistente ? ID_INEXISTENTE : clientes[sorteioClientes.sortear(aleatorio)];
+        long empresa = inexistente ? ID_INEXISTENTE : aleatorio.nextDouble() < cenario.fracaoEmpresaQuente()
+                ? empresas[0] : empresas[sorteioEmpresas.sortear(aleatorio)];
+        HttpRequest http = switch (operacao) {
+            case CRIAR_TRANSACAO -> post("/transacoes", new TransacaoDTO(BigDecimal.valueOf(100 + aleatorio.nextInt(5_000), 2),
+                    aleatorio.nextBoolean() ? 'D' : 'S', cliente, empresa));
+            case CRIAR_CLIENTE -> {
+                int documento = sortearDocumento(aleatorio);
+                yield post("/clientes", new ClienteDTO("Cliente carga HTTP", DocumentosSinteticos.cpf(documento),
+                        "carga.http" + documento + "@tgid.com", new BigDecimal("1000.00")));
+            }
+            case LISTAR_TRANSACOES -> get("/transacoes?cliente=" + cliente + "&limite=" + LIMITE_PAGINA);
+            case LISTAR_CLIENTES -> get("/clientes?limite=" + LIMITE_PAGINA);
+            case EXTRATO_CLIENTE -> get("/clientes/" + cliente + "/extrato?limite=" + LIMITE_PAGINA);
+            case SALDO_CLIENTE -> get("/clientes/" + cliente + "/saldo?momento=" + LocalDateTime.now()
+                    .minusMinutes(aleatorio.nextInt(DIAS_CONSULTADOS * 24 * 60)).truncatedTo(ChronoUnit.SECONDS));
+            case RESUMO_EMPRESA -> get("/empresas/" + empresa + "/resumo");
+        };
+        return new Requisicao(operacao, http);
+    }
+
+    /**
+     * Sorteia o número de um documento sintético ainda não usado nesta execução, acima dos números dos clientes da
+     * carga, para que o cliente criado não seja recusado por CPF ou email repetido.
+     */
+    private int sortearDocumento(SplittableRandom aleatorio) {
+        int documento;
+        do {
+            documento = aleatorio.nextInt(clientes.length, DocumentosSinteticos.MAXIMO);
+        } while (!documentosUsados.add(documento));
+        return documento;
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(base + caminho)).timeout(TEMPO_LIMITE).GET().build();
+    }
+
+    private HttpRequest post(String caminho, Object corpo) {
+        try {
+            return HttpRequest.newBuilder(URI.create(base + caminho))
+                    .timeout(TEMPO_LIMITE)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(corpo)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String mensagem(String corpo) {
+        try {
+            return objectMapper.readTree(corpo).path("message").asText(null);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private record Requisicao(Operacao operacao, HttpRequest http) {
+    }
+
+    /**
+     * O envio de uma requisição prevista para um momento, medido a partir desse momento.
+     */
+    private final class Envio implements Runnable {
+        private final Requisicao requisicao;
+        private final long previsto;
+        private final ResultadoCarga resultado;
+
+        Envio(Requisicao requisicao, long previsto, ResultadoCarga resultado) {
+            this.requisicao = requisicao;
+            this.previsto = previsto;
+            this.resultado = resultado;
+        }
+
+        Requisicao requisicao() {
+            return requisicao;
+        }
+
+        @Override
+        public void run() {
+            String erro;
+            try {
+                HttpResponse<String> resposta = http.send(requisicao.http(), HttpResponse.BodyHandlers.ofString());
+                erro = resposta.statusCode() < 400 ? null : ErrosApi.classificar(resposta.statusCode(), mensagem(resposta.body()));
+            } catch (IOException e) {
+                erro = ErrosApi.classificar(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            resultado.registrar(requisicao.operacao(), System.nanoTime() - previsto, erro);
+        }
+    }
+
+    /**
+     * O sorteio da operação de cada requisição, proporcional aos pesos do cenário.
+     */
+    private static final class Sorteio {
+        private final CenarioCarga cenario;
+        private final Operacao[] operacoes;
+        private final int[] pesosAcumulados;
+
+        Sorteio(CenarioCarga cenario) {
+            this.cenario = cenario;
+            List<Map.Entry<Operacao, Integer>> pesos = cenario.pesos().entrySet().stream()
+                    .filter(peso -> peso.getValue() > 0)
+                    .toList();
+            if (pesos.isEmpty()) {
+                throw new IllegalArgumentException("O cenário " + cenario.nome() + " não tem operações.");
+            }
+            operacoes = new Operacao[pesos.size()];
+            pesosAcumulados = new int[pesos.size()];
+            int acumulado = 0;
+            for (int i = 0; i < pesos.size(); i++) {
+                acumulado += pesos.get(i).getValue();
+                operacoes[i] = pesos.get(i).getKey();
+                pesosAcumulados[i] = acumulado;
+            }
+        }
+
+        CenarioCarga cenario() {
+            return cenario;
+        }
+
+        Operacao operacao(SplittableRandom aleatorio) {
+            int sorteado = aleatorio.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+            int i = 0;
+            while (pesosAcumulados[i] <= sorteado) {
+                i++;
+            }
+            return operacoes[i];
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.tigd.api.carga;
+
+/**
+ * As requisições que o {@link ExecutorCarga} envia à API, cada uma medida num histograma próprio.
+ */
+enum Operacao {
+    CRIAR_TRANSACAO("POST /transacoes"),
+    CRIAR_CLIENTE("POST /clientes"),
+    LISTAR_TRANSACOES("GET /transacoes"),
+    LISTAR_CLIENTES("GET /clientes"),
+    EXTRATO_CLIENTE("GET /clientes/{id}/extrato"),
+    SALDO_CLIENTE("GET /clientes/{id}/saldo"),
+    RESUMO_EMPRESA("GET /empresas/{id}/resumo");
+
+    private final String rota;
+
+    Operacao(String rota) {
+        this.rota = rota;
+    }
+
+    String rota() {
+        return rota;
+    }
+}
@@ -0,0 +1,142 @@
+package com.tigd.api.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grava as medições dos cenários em {@code relatorio-carga.json}, para comparar execuções e dimensionar a
+ * infraestrutura, e em {@code relatorio-carga.html}, para leitura.
+ * <br>
+ * O HTML traz também a distribuição de percentis de cada operação no formato do HdrHistogram, que pode ser colada no
+ * plotter do HdrHistogram para comparar curvas de latência.
+ */
+final class RelatorioCarga {
+    private static final double[] PERCENTIS = {50, 90, 99, 99.9, 99.99};
+    private static final double MICROS_POR_MS = 1000.0;
+
+    private RelatorioCarga() {
+    }
+
+    /**
+     * @param diretorio o diretório dos relatórios, criado se não existir.
+     * @param resultados as medições de cada cenário, na ordem em que foram executados.
+     * @return o caminho do relatório JSON.
+     */
+    static Path gravar(Path diretorio, List<ResultadoCarga> resultados, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(diretorio);
+        List<Cenario> cenarios = resultados.stream().map(RelatorioCarga::cenario).toList();
+        Path json = diretorio.resolve("relatorio-carga.json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(json.toFile(), cenarios);
+        Files.writeString(diretorio.resolve("relatorio-carga.html"), html(cenarios), StandardCharsets.UTF_8);
+        return json;
+    }
+
+    private static Cenario cenario(ResultadoCarga resultado) {
+        CenarioCarga cenario = resultado.cenario();
+        List<Medicao> operacoes = new ArrayList<>();
+        for (Operacao operacao : Operacao.values()) {
+            Map<String, Long> erros = resultado.erros(operacao);
+            if (resultado.requisicoes(operacao) > 0 || !erros.isEmpty()) {
+                operacoes.add(medicao(operacao.rota(), resultado.latencias(operacao), erros, resultado.duracaoSegundos()));
+            }
+        }
+        return new Cenario(cenario.nome(), cenario.modeloAberto() ? "aberto" : "fechado", cenario.requisicoesPorSegundo(),
+                cenario.concorrencia(), cenario.duracao().toSeconds(), cenario.fracaoEmpresaQuente(),
+                cenario.fracaoContasInexistentes(), resultado.duracaoSegundos(),
+                medicao("total", resultado.latencias(), resultado.erros(), resultado.duracaoSegundos()), operacoes);
+    }
+
+    private static Medicao medicao(String nome, Histogram latencias, Map<String, Long> erros, double duracaoSegundos) {
+        long requisicoes = latencias.getTotalCount();
+        long totalErros = erros.values().stream().mapToLong(Long::longValue).sum();
+        Latencias latenciasMs = new Latencias(
+                ms(latencias.getMinValue()),
+                latencias.getMean() / MICROS_POR_MS,
+                ms(latencias.getValueAtPercentile(PERCENTIS[0])),
+                ms(latencias.getValueAtPercentile(PERCENTIS[1])),
+                ms(latencias.getValueAtPercentile(PERCENTIS[2])),
+                ms(latencias.getValueAtPercentile(PERCENTIS[3])),
+                ms(latencias.getValueAtPercentile(PERCENTIS[4])),
+                ms(latencias.getMaxValue()));
+        return new Medicao(nome, requisicoes, duracaoSegundos > 0 ? requisicoes / duracaoSegundos : 0, totalErros,
+                requisicoes > 0 ? (double) totalErros / requisicoes : 0, latenciasMs, erros, distribuicao(latencias));
+    }
+
+    private static double ms(long micros) {
+        return micros / MICROS_POR_MS;
+    }
+
+    private static String distribuicao(Histogram latencias) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (PrintStream impressao = new PrintStream(saida, true, StandardCharsets.UTF_8)) {
+            latencias.outputPercentileDistribution(impressao, MICROS_POR_MS);
+        }
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String html(List<Cenario> cenarios) {
+        StringBuilder html = new StringBuilder("<!DOCTYPE html>\n<html lang=\"pt-BR\"><head><meta charset=\"UTF-8\">"
+                + "<title>Relatório de carga</title><style>body{font-family:sans-serif}table{border-collapse:collapse}"
+                + "td,th{border:1px solid #999;padding:4px 8px;text-align:right}td:first-child{text-align:left}"
+                + "pre{font-size:11px}</style></head><body><h1>Relatório de carga</h1>\n");
+        for (Cenario cenario : cenarios) {
+            html.append("<h2>").append(texto(cenario.nome())).append("</h2>\n<p>Modelo ").append(cenario.modelo())
+                    .append(cenario.requisicoesPorSegundoPrevistas() > 0
+                            ? ", " + cenario.requisicoesPorSegundoPrevistas() + " requisições/s previstas" : "")
+                    .append(", ").append(cenario.concorrencia()).append(" conexões, ")
+                    .append(String.format("%.1f", cenario.duracaoSegundos())).append(" s, empresa quente em ")
+                    .append(cenario.fracaoEmpresaQuente() * 100).append("% das requisições, contas inexistentes em ")
+                    .append(cenario.fracaoContasInexistentes() * 100).append("%.</p>\n")
+                    .append("<table><tr><th>Operação</th><th>Requisições</th><th>Vazão (req/s)</th><th>Erros</th>"
+                            + "<th>p50 (ms)</th><th>p90 (ms)</th><th>p99 (ms)</th><th>p99,9 (ms)</th><th>máx (ms)</th>"
+                            + "<th>Erros por exceção</th></tr>\n");
+            List<Medicao> linhas = new ArrayList<>(cenario.operacoes());
+            linhas.add(cenario.total());
+            for (Medicao medicao : linhas) {
+                Latencias latencias = medicao.latenciasMs();
+                html.append("<tr><td>").append(texto(medicao.operacao())).append("</td><td>").append(medicao.requisicoes())
+                        .append("</td><td>").append(String.format("%.1f", medicao.vazao()))
+                        .append("</td><td>").append(medicao.erros())
+                        .append(String.format("</td><td>%.2f</td><td>%.2f</td><td>%.2f</td><td>%.2f</td><td>%.2f</td><td>",
+                                latencias.p50(), latencias.p90(), latencias.p99(), latencias.p999(), latencias.maxima()));
+                medicao.errosPorExcecao().forEach((erro, contagem) ->
+                        html.append(texto(erro)).append(": ").append(contagem).append("<br>"));
+                html.append("</td></tr>\n");
+            }
+            html.append("</table>\n");
+            for (Medicao medicao : cenario.operacoes()) {
+                html.append("<details><summary>Distribuição de ").append(texto(medicao.operacao()))
+                        .append(" (ms)</summary><pre>").append(texto(medicao.distribuicao())).append("</pre></details>\n");
+            }
+        }
+        return html.append("</body></html>\n").toString();
+    }
+
+    private static String texto(String texto) {
+        return HtmlUtils.htmlEscape(texto, StandardCharsets.UTF_8.name());
+    }
+
+    record Cenario(String nome, String modelo, double requisicoesPorSegundoPrevistas, int concorrencia,
+                   long duracaoPrevistaSegundos, double fracaoEmpresaQuente, double fracaoContasInexistentes,
+                   double duracaoSegundos, Medicao total, List<Medicao> operacoes) {
+    }
+
+    record Medicao(String operacao, long requisicoes, double vazao, long erros, double taxaErros,
+                   Latencias latenciasMs, Map<String, Long> errosPorExcecao, String distribuicao) {
+    }
+
+    record Latencias(double minima, double media, double p50, double p90, double p99, double p999, double p9999,
+                     double maxima) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.tigd.api.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * As medições de um cenário: um histograma de latências em microssegundos e as contagens de erro por exceção de cada
+ * operação.
+ * <br>
+ * No modelo aberto, a latência é contada a partir do momento previsto para o envio, e não do envio de fato: uma
+ * requisição que esperou por uma conexão livre porque a API atrasou as anteriores entra com essa espera, e o
+ * histograma não esconde a fila que se forma quando a API não acompanha a taxa de chegada.
+ */
+final class ResultadoCarga {
+    private static final int DIGITOS_SIGNIFICATIVOS = 3;
+
+    private final CenarioCarga cenario;
+    private final Map<Operacao, Histogram> latencias = new EnumMap<>(Operacao.class);
+    private final Map<Operacao, Map<String, LongAdder>> erros = new EnumMap<>(Operacao.class);
+    private long duracaoNanos;
+
+    ResultadoCarga(CenarioCarga cenario) {
+        this.cenario = cenario;
+        for (Operacao operacao : Operacao.values()) {
+            latencias.put(operacao, new ConcurrentHistogram(DIGITOS_SIGNIFICATIVOS));
+            erros.put(operacao, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * @param operacao a operação da requisição.
+     * @param latenciaNanos o tempo entre o envio previsto e o fim da resposta.
+     * @param erro a exceção identificada pelo {@link ErrosApi}, ou {@code null} se a resposta foi de sucesso.
+     */
+    void registrar(Operacao operacao, long latenciaNanos, String erro) {
+        latencias.get(operacao).recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latenciaNanos)));
+        if (erro != null) {
+            erros.get(operacao).computeIfAbsent(erro, chave -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Conta como erro as requisições previstas que não chegaram a ser enviadas, sem latência.
+     */
+    void registrarNaoEnviadas(Operacao operacao, long quantidade) {
+        erros.get(operacao).computeIfAbsent("NaoEnviada", chave -> new LongAdder()).add(quantidade);
+    }
+
+    void concluir(long duracaoNanos) {
+        this.duracaoNanos = duracaoNanos;
+    }
+
+    CenarioCarga cenario() {
+        return cenario;
+    }
+
+    double duracaoSegundos() {
+        return duracaoNanos / 1e9;
+    }
+
+    Histogram latencias(Operacao operacao) {
+        return latencias.get(operacao);
+    }
+
+    /**
+     * @return o histograma de todas as operações juntas.
+     */
+    Histogram latencias() {
+        Histogram todas = new Histogram(DIGITOS_SIGNIFICATIVOS);
+        latencias.values().forEach(todas::add);
+        return todas;
+    }
+
+    long requisicoes(Operacao operacao) {
+        return latencias.get(operacao).getTotalCount();
+    }
+
+    long requisicoes() {
+        return latencias.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    /**
+     * @return as contagens de erro da operação por exceção, em ordem de nome.
+     */
+    Map<String, Long> erros(Operacao operacao) {
+        Map<String, Long> contagens = new TreeMap<>();
+        erros.get(operacao).forEach((erro, contagem) -> contagens.put(erro, contagem.sum()));
+        return contagens;
+    }
+
+    /**
+     * @return as contagens de erro de todas as operações por exceção, em ordem de nome.
+     */
+    Map<String, Long> erros() {
+        Map<String, Long> contagens = new TreeMap<>();
+        for (Operacao operacao : Operacao.values()) {
+            erros(operacao).forEach((erro, contagem) -> contagens.merge(erro, contagem, Long::sum));
+        }
+        return contagens;
+    }
+}
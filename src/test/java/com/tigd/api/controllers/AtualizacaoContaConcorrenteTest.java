@@ -0,0 +1,91 @@
+package com.tigd.api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.ClienteUpdateDTO;
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.GeradorDocumentosTeste;
+import com.tigd.api.service.TransacaoService;
+import com.tigd.api.service.unicidade.CampoUnico;
+import com.tigd.api.service.unicidade.FiltroUnicidade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Atualiza o cadastro de um cliente enquanto uma transação altera o saldo da mesma conta. O cliente lido pela
+ * atualização fica com a versão antiga e a gravação é recusada com 409 (Conflict), como os demais conflitos de
+ * concorrência, em vez de um erro interno.
+ */
+@SpringBootTest(properties = "api.saldo.checkpoint.intervalo-ms=3600000")
+@AutoConfigureMockMvc
+@ActiveProfiles(resolver = PerfisTeste.class)
+class AtualizacaoContaConcorrenteTest {
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000.00");
+    private static final BigDecimal TAXA = new BigDecimal("0.01");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @SpyBean
+    private FiltroUnicidade filtroUnicidade;
+
+    @Test
+    @DisplayName("PUT /clientes/{id} responde 409 quando uma transação altera a conta durante a atualização.")
+    void updateClientCase1() throws Exception {
+        Long cliente = clienteRepository.save(new Cliente(null, "Cliente concorrente", GeradorDocumentosTeste.cpf(),
+                GeradorDocumentosTeste.email("cliente"), SALDO_INICIAL, true)).getId();
+        Long empresa = empresaRepository.save(new Empresa(null, "Empresa concorrente", GeradorDocumentosTeste.cnpj(),
+                GeradorDocumentosTeste.email("empresa"), SALDO_INICIAL, TAXA, true)).getId();
+        ClienteUpdateDTO atualizacao = new ClienteUpdateDTO("Cliente atualizado", GeradorDocumentosTeste.email("cliente"));
+
+        // A transação roda noutra thread depois que a atualização já leu o cliente e antes de gravá-lo.
+        doAnswer(invocacao -> {
+            CompletableFuture.runAsync(() -> transacaoService.processarTransacao(
+                    new Transacao(new TransacaoDTO(BigDecimal.TEN, 'D', cliente, empresa)))).join();
+            return invocacao.callRealMethod();
+        }).when(filtroUnicidade).existe(eq(CampoUnico.EMAIL_CLIENTE), eq(atualizacao.email()), any());
+
+        mockMvc.perform(put("/clientes/" + cliente)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(atualizacao)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value("CONFLICT"));
+
+        assertThat(clienteRepository.findById(cliente).orElseThrow().getNome()).isEqualTo("Cliente concorrente");
+    }
+}
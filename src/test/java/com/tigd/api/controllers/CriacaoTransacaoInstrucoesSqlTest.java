@@ -0,0 +1,91 @@
+package com.tigd.api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.controllers.ListagemInstrucoesSqlTest.ContadorInstrucoes;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.GeradorDocumentosTeste;
+import com.tigd.api.service.TransacaoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conta as instruções SQL de um POST /transacoes. A resposta não pode carregar o cliente e a empresa depois do
+ * processamento: o endpoint deve enviar à base de dados exatamente as instruções do próprio processamento.
+ */
+@SpringBootTest(properties = "api.saldo.checkpoint.intervalo-ms=3600000")
+@AutoConfigureMockMvc
+@ActiveProfiles(resolver = PerfisTeste.class)
+@Import(ContadorInstrucoes.class)
+class CriacaoTransacaoInstrucoesSqlTest {
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000.00");
+    private static final BigDecimal TAXA = new BigDecimal("0.01");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    private Long cliente;
+
+    private Long empresa;
+
+    @BeforeEach
+    void criarContas() {
+        cliente = clienteRepository.save(new Cliente(null, "Cliente criação", GeradorDocumentosTeste.cpf(),
+                GeradorDocumentosTeste.email("cliente"), SALDO_INICIAL, true)).getId();
+        empresa = empresaRepository.save(new Empresa(null, "Empresa criação", GeradorDocumentosTeste.cnpj(),
+                GeradorDocumentosTeste.email("empresa"), SALDO_INICIAL, TAXA, true)).getId();
+    }
+
+    @Test
+    @DisplayName("POST /transacoes usa as mesmas instruções SQL do processamento e responde apenas com os ids das contas.")
+    void createTransacaoCase1() throws Exception {
+        TransacaoDTO deposito = new TransacaoDTO(BigDecimal.TEN, 'D', cliente, empresa);
+        transacaoService.processarTransacao(new Transacao(deposito));
+
+        ContadorInstrucoes.zerar();
+        transacaoService.processarTransacao(new Transacao(deposito));
+        int processamento = ContadorInstrucoes.total();
+
+        ContadorInstrucoes.zerar();
+        mockMvc.perform(post("/transacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(deposito)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.cliente").value(cliente))
+                .andExpect(jsonPath("$.empresa").value(empresa));
+
+        assertThat(ContadorInstrucoes.total()).isEqualTo(processamento);
+    }
+}
@@ -0,0 +1,200 @@
+package com.tigd.api.controllers;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.GeradorDocumentosTeste;
+import com.tigd.api.service.TransacaoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conta as instruções SQL enviadas à base de dados por cada endpoint de listagem. A contagem não pode depender da
+ * quantidade de linhas listadas: uma instrução a mais por linha indica que as contas de cada transação estão sendo
+ * carregadas uma a uma (N+1).
+ */
+@SpringBootTest(properties = "api.saldo.checkpoint.intervalo-ms=3600000")
+@AutoConfigureMockMvc
+@ActiveProfiles(resolver = PerfisTeste.class)
+class ListagemInstrucoesSqlTest {
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000.00");
+    private static final BigDecimal TAXA = new BigDecimal("0.01");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    private final List<Long> clientes = new ArrayList<>();
+
+    private final List<Long> empresas = new ArrayList<>();
+
+    @BeforeEach
+    void criarMovimento() {
+        for (int i = 0; i < 3; i++) {
+            clientes.add(clienteRepository.save(new Cliente(null, "Cliente listagem", GeradorDocumentosTeste.cpf(),
+                    GeradorDocumentosTeste.email("cliente"), SALDO_INICIAL, true)).getId());
+        }
+        for (int i = 0; i < 2; i++) {
+            empresas.add(empresaRepository.save(new Empresa(null, "Empresa listagem", GeradorDocumentosTeste.cnpj(),
+                    GeradorDocumentosTeste.email("empresa"), SALDO_INICIAL, TAXA, true)).getId());
+        }
+        for (int i = 0; i < 12; i++) {
+            char tipo = i % 2 == 0 ? 'D' : 'S';
+            transacaoService.processarTransacao(new Transacao(new TransacaoDTO(BigDecimal.TEN, tipo,
+                    clientes.get(i % clientes.size()), empresas.get(i % empresas.size()))));
+        }
+    }
+
+    @Test
+    @DisplayName("GET /clientes lista os clientes com uma única instrução SQL.")
+    void listAllClientCase1() throws Exception {
+        assertThat(instrucoes(get("/clientes"))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /empresas lista as empresas com uma única instrução SQL.")
+    void listFindAllEmpresaCase1() throws Exception {
+        assertThat(instrucoes(get("/empresas"))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /transacoes lista as transações com uma única instrução SQL, sem carregar clientes e empresas.")
+    void listAllTransacaoCase1() throws Exception {
+        assertThat(instrucoes(get("/transacoes"))).isEqualTo(1);
+        assertThat(instrucoes(get("/transacoes").param("empresa", empresas.get(0).toString()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /transacoes/exportacao exporta as transações com uma única instrução SQL.")
+    void exportTransacoesCase1() throws Exception {
+        ContadorInstrucoes.zerar();
+        MvcResult resultado = mockMvc.perform(get("/transacoes/exportacao"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(resultado)).andExpect(status().isOk());
+        assertThat(ContadorInstrucoes.total()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /clientes/{id}/resumo e /empresas/{id}/resumo leem o período com uma única instrução SQL.")
+    void resumoCase1() throws Exception {
+        String cliente = "/clientes/" + clientes.get(0) + "/resumo";
+        String empresa = "/empresas/" + empresas.get(0) + "/resumo";
+        instrucoes(get(cliente));
+        instrucoes(get(empresa));
+
+        assertThat(instrucoes(get(cliente))).isEqualTo(1);
+        assertThat(instrucoes(get(empresa))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /clientes/{id}/extrato usa um número fixo de instruções SQL, qualquer que seja o tamanho da página.")
+    void extratoClienteCase1() throws Exception {
+        String extrato = "/clientes/" + clientes.get(0) + "/extrato";
+        instrucoes(get(extrato));
+
+        int paginaPequena = instrucoes(get(extrato).param("limite", "1"));
+        int paginaGrande = instrucoes(get(extrato).param("limite", "500"));
+
+        assertThat(paginaGrande).isEqualTo(paginaPequena).isLessThanOrEqualTo(5);
+    }
+
+    private int instrucoes(RequestBuilder requisicao) throws Exception {
+        ContadorInstrucoes.zerar();
+        mockMvc.perform(requisicao).andExpect(status().is2xxSuccessful());
+        return ContadorInstrucoes.total();
+    }
+
+    /**
+     * Envolve o {@link DataSource} da aplicação e conta as instruções preparadas em cada conexão, exceto as das
+     * tarefas agendadas, que rodam em paralelo aos testes.
+     */
+    @TestConfiguration
+    static class ContadorInstrucoes {
+        private static final AtomicInteger INSTRUCOES = new AtomicInteger();
+
+        static void zerar() {
+            INSTRUCOES.set(0);
+        }
+
+        static int total() {
+            return INSTRUCOES.get();
+        }
+
+        @Bean
+        static BeanPostProcessor contadorInstrucoesSql() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String nome) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                            (proxy, metodo, argumentos) -> {
+                                Object retorno = invocar(dataSource, metodo, argumentos);
+                                return retorno instanceof Connection conexao ? contar(conexao) : retorno;
+                            });
+                }
+            };
+        }
+
+        private static Connection contar(Connection conexao) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, metodo, argumentos) -> {
+                        if (metodo.getName().startsWith("prepare") || metodo.getName().equals("createStatement")) {
+                            if (!Thread.currentThread().getName().startsWith("scheduling")) {
+                                INSTRUCOES.incrementAndGet();
+                            }
+                        }
+                        return invocar(conexao, metodo, argumentos);
+                    });
+        }
+
+        private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+            try {
+                return metodo.invoke(alvo, argumentos);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
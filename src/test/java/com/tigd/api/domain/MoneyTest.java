@@ -0,0 +1,55 @@
+package com.tigd.api.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    @DisplayName("Convertendo BigDecimal para centavos com arredondamento HALF_UP.")
+    void ofCase1() {
+        assertThat(Money.of(new BigDecimal("10.005")).centavos()).isEqualTo(1001L);
+        assertThat(Money.of(new BigDecimal("10.004")).centavos()).isEqualTo(1000L);
+        assertThat(Money.of(new BigDecimal("-10.005")).centavos()).isEqualTo(-1001L);
+        assertThat(Money.of(new BigDecimal("100")).toBigDecimal()).isEqualTo(new BigDecimal("100.00"));
+    }
+
+    @Test
+    @DisplayName("Calculando valor com taxa igual ao cálculo com BigDecimal arredondado para o centavo.")
+    void comTaxaCase1() {
+        BigDecimal[] valores = {new BigDecimal("0.01"), new BigDecimal("0.10"), new BigDecimal("123.45"),
+                new BigDecimal("999999.99"), new BigDecimal("50.50")};
+        BigDecimal[] taxas = {new BigDecimal("0.00"), new BigDecimal("0.01"), new BigDecimal("0.05"),
+                new BigDecimal("0.15"), new BigDecimal("1.00")};
+        for (BigDecimal valor : valores) {
+            for (BigDecimal taxa : taxas) {
+                BigDecimal esperado = valor.add(valor.multiply(taxa).setScale(Money.ESCALA, RoundingMode.HALF_UP));
+                assertThat(Money.of(valor).comTaxa(taxa).toBigDecimal()).isEqualByComparingTo(esperado);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Lançando exceção(ArithmeticException) em caso de estouro.")
+    void somarCase1() {
+        Money maximo = Money.deCentavos(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> maximo.somar(Money.deCentavos(1L)));
+    }
+
+    @Test
+    @DisplayName("Somando, subtraindo e comparando valores.")
+    void somarCase2() {
+        Money saldo = Money.of(new BigDecimal("100.00"));
+        Money valor = Money.of(new BigDecimal("30.25"));
+        assertThat(saldo.subtrair(valor)).isEqualTo(Money.of(new BigDecimal("69.75")));
+        assertThat(saldo.somar(valor).centavos()).isEqualTo(13025L);
+        assertThat(valor.menorQue(saldo)).isTrue();
+        assertThat(valor.negar().signum()).isEqualTo(-1);
+    }
+}
@@ -1,5 +1,7 @@
 package com.tigd.api.repository;
 
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.service.id.GeradorIds;
 import com.tigd.api.domain.Cliente;
 import com.tigd.api.dto.ClienteDTO;
 import jakarta.persistence.EntityManager;
@@ -8,12 +10,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import static org.assertj.core.api.Assertions.assertThat;
 import java.math.BigDecimal;
 
 @DataJpaTest
-@ActiveProfiles("test")
+@Import(GeradorIds.class)
+@ActiveProfiles(resolver = PerfisTeste.class)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class ClienteRepositoryTest {
 
@@ -25,7 +29,7 @@ class ClienteRepositoryTest {
     @Test
     @DisplayName("Buscando cliente ativo no DB.")
     void findByAtivoCase1() {
-        Cliente newCliente = new Cliente(1L, "Gemeos Lemes", "005.284.860-47", "gemeos@tidg.com", new BigDecimal(100), true);
+        Cliente newCliente = new Cliente(null, "Gemeos Lemes", "005.284.860-47", "gemeos@tidg.com", new BigDecimal(100), true);
         Cliente clientePersistido = this.createCliente(newCliente);
         Cliente buscaClienteAtivo = this.clienteRepository.findByAtivo(clientePersistido.getId(), clientePersistido.isAtivo());
         assertThat(buscaClienteAtivo).isNotNull();
@@ -34,7 +38,7 @@ class ClienteRepositoryTest {
     @Test
     @DisplayName("Buscando cliente inativo no DB.")
     void findByAtivoCase2() {
-        Cliente newCliente = new Cliente(1L, "Gemeos Lemes", "005.284.860-47", "gemeos@tidg.com", new BigDecimal(100), false);
+        Cliente newCliente = new Cliente(null, "Gemeos Lemes", "005.284.860-47", "gemeos@tidg.com", new BigDecimal(100), false);
         Cliente clientePersistido = this.createCliente(newCliente);
         Cliente buscaClienteAtivo = this.clienteRepository.findByAtivo(clientePersistido.getId(), clientePersistido.isAtivo());
         assertThat(buscaClienteAtivo.isAtivo()).isFalse();
@@ -1,11 +1,14 @@
 package com.tigd.api.repository;
 
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.service.id.GeradorIds;
 import com.tigd.api.domain.Empresa;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
@@ -13,7 +16,8 @@ import java.math.BigDecimal;
 import static org.assertj.core.api.Assertions.*;
 
 @DataJpaTest
-@ActiveProfiles("test")
+@Import(GeradorIds.class)
+@ActiveProfiles(resolver = PerfisTeste.class)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class EmpresaRepositoryTest {
 
@@ -23,7 +27,7 @@ class EmpresaRepositoryTest {
     @Test
     @DisplayName("Buscando empresa ativa")
     void findByEmailCase1() {
-        Empresa empresa = new Empresa(1L, "testeEmpresa", "33.494.022/0001-04",
+        Empresa empresa = new Empresa(null, "testeEmpresa", "33.494.022/0001-04",
                 "testeempresa@tgid.com", new BigDecimal(1000),
                 new BigDecimal(0.02), true);
 
@@ -38,7 +42,7 @@ class EmpresaRepositoryTest {
     @Test
     @DisplayName("Buscando empresa inativa")
     void findByEmailCase2() {
-        Empresa empresa = new Empresa(1L, "testeEmpresa", "33.494.022/0001-04",
+        Empresa empresa = new Empresa(null, "testeEmpresa", "33.494.022/0001-04",
                 "testeempresa@tgid.com", new BigDecimal(1000),
                 new BigDecimal(0.02), false);
 
@@ -53,7 +57,7 @@ class EmpresaRepositoryTest {
     @Test
     @DisplayName("Buscando empresa ativa pelo CNPJ")
     void findByCnpjCase1() {
-        Empresa empresa = new Empresa(1L, "testeEmpresa", "33.494.022/0001-04",
+        Empresa empresa = new Empresa(null, "testeEmpresa", "33.494.022/0001-04",
                 "testeempresa@tgid.com", new BigDecimal(1000),
                 new BigDecimal(0.02), true);
 
@@ -69,7 +73,7 @@ class EmpresaRepositoryTest {
     @Test
     @DisplayName("Buscando empresa inativa pelo CNPJ")
     void findByCnpjCase2() {
-        Empresa empresa = new Empresa(1L, "testeEmpresa", "33.494.022/0001-04",
+        Empresa empresa = new Empresa(null, "testeEmpresa", "33.494.022/0001-04",
                 "testeempresa@tgid.com", new BigDecimal(1000),
                 new BigDecimal(0.02), false);
 
@@ -0,0 +1,85 @@
+package com.tigd.api.service;
+
+import com.tigd.api.dto.DadosContaDTO;
+import com.tigd.api.exceptions.EmpresaNotFoundException;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+public class CacheContasTest {
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private EmpresaRepository empresaRepository;
+
+    @InjectMocks
+    private CacheContas cacheContas;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(cacheContas, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(cacheContas, "maximoEntradas", 100L);
+        ReflectionTestUtils.setField(cacheContas, "expiracaoSegundos", 60L);
+        cacheContas.iniciar();
+    }
+
+    @Test
+    @DisplayName("Consultas repetidas da mesma empresa vão à base de dados uma única vez")
+    void empresaCase1() {
+        when(empresaRepository.findDadosContaById(1L))
+                .thenReturn(Optional.of(new DadosContaDTO(1L, new BigDecimal("2.50"), true)));
+
+        DadosContaDTO primeira = cacheContas.empresa(1L);
+        DadosContaDTO segunda = cacheContas.empresa(1L);
+
+        assertThat(segunda).isEqualTo(primeira);
+        assertThat(segunda.taxaSistema()).isEqualByComparingTo("2.50");
+        verify(empresaRepository, times(1)).findDadosContaById(1L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "contas.empresas").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Cliente invalidado é lido novamente da base de dados")
+    void clienteCase1() {
+        when(clienteRepository.findDadosContaById(1L))
+                .thenReturn(Optional.of(new DadosContaDTO(1L, true)))
+                .thenReturn(Optional.of(new DadosContaDTO(1L, false)));
+
+        assertThat(cacheContas.cliente(1L).ativo()).isTrue();
+        cacheContas.invalidarCliente(1L);
+
+        assertThat(cacheContas.cliente(1L).ativo()).isFalse();
+        verify(clienteRepository, times(2)).findDadosContaById(1L);
+    }
+
+    @Test
+    @DisplayName("Empresa inexistente lança exceção e não fica no cache")
+    void empresaCase2() {
+        when(empresaRepository.findDadosContaById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(EmpresaNotFoundException.class, () -> cacheContas.empresa(2L));
+        assertThrows(EmpresaNotFoundException.class, () -> cacheContas.empresa(2L));
+        verify(empresaRepository, times(2)).findDadosContaById(2L);
+    }
+}
@@ -1,9 +1,11 @@
 package com.tigd.api.service;
 
+import com.tigd.api.PerfisTeste;
 import com.tigd.api.domain.Cliente;
 import com.tigd.api.exceptions.CpfUniqueException;
 import com.tigd.api.exceptions.EmailUniqueException;
 import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.service.unicidade.FiltroUnicidade;
 import com.tigd.api.validators.DocumentValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,8 +18,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.util.function.Predicate;
 
-@ActiveProfiles("test")
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles(resolver = PerfisTeste.class)
 class ClienteSaveServiceTest {
     @Mock
     private ClienteRepository clienteRepository;
@@ -25,6 +31,9 @@ class ClienteSaveServiceTest {
     @Mock
     private DocumentValidator documentValidator;
 
+    @Mock
+    private FiltroUnicidade filtroUnicidade;
+
     @Autowired
     @InjectMocks
     private ClienteService clienteService;
@@ -34,6 +43,8 @@ class ClienteSaveServiceTest {
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        when(filtroUnicidade.existe(any(), any(), any()))
+                .thenAnswer(invocacao -> invocacao.<Predicate<String>>getArgument(2).test(invocacao.getArgument(1)));
         testAuxiliaresClienteService = new TestAuxiliaresClienteService(clienteRepository, documentValidator, clienteService);
     }
 
@@ -1,8 +1,10 @@
 package com.tigd.api.service;
 
+import com.tigd.api.PerfisTeste;
 import com.tigd.api.domain.Cliente;
 import com.tigd.api.dto.ClienteUpdateDTO;
 import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.service.unicidade.FiltroUnicidade;
 import com.tigd.api.validators.DocumentValidator;
 import com.tigd.api.validators.ValidadorAtualizadorEntidade;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,10 +19,11 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.util.Optional;
+import java.util.function.Predicate;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
-@ActiveProfiles("test")
+@ActiveProfiles(resolver = PerfisTeste.class)
 public class ClienteUpdateServiceTest {
 
     @Mock
@@ -32,6 +35,12 @@ public class ClienteUpdateServiceTest {
     @Mock
     private ValidadorAtualizadorEntidade atualizadorEntidade;
 
+    @Mock
+    private CacheContas cacheContas;
+
+    @Mock
+    private FiltroUnicidade filtroUnicidade;
+
     @InjectMocks
     private ClienteService clienteService;
 
@@ -40,6 +49,8 @@ public class ClienteUpdateServiceTest {
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        when(filtroUnicidade.existe(any(), any(), any()))
+                .thenAnswer(invocacao -> invocacao.<Predicate<String>>getArgument(2).test(invocacao.getArgument(1)));
         testAuxiliaresClienteService = new TestAuxiliaresClienteService(clienteRepository, documentValidator, clienteService);
     }
 
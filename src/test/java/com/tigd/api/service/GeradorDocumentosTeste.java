@@ -0,0 +1,71 @@
+package com.tigd.api.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera CPFs e CNPJs válidos e distintos para os testes que precisam persistir várias contas.
+ */
+public class GeradorDocumentosTeste {
+    private static final int[] PESOS_CNPJ = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    private static final AtomicLong SEQUENCIA = new AtomicLong(ThreadLocalRandom.current().nextLong(100_000_000L));
+
+    public static String cpf() {
+        int[] digitos = new int[11];
+        preencherBase(digitos, 9, SEQUENCIA.incrementAndGet() % 1_000_000_000L);
+        digitos[9] = digitoCpf(digitos, 9);
+        digitos[10] = digitoCpf(digitos, 10);
+        return paraTexto(digitos);
+    }
+
+    public static String cnpj() {
+        int[] digitos = new int[14];
+        preencherBase(digitos, 8, SEQUENCIA.incrementAndGet() % 100_000_000L);
+        digitos[11] = 1;
+        digitos[12] = digitoCnpj(digitos, 12);
+        digitos[13] = digitoCnpj(digitos, 13);
+        return paraTexto(digitos);
+    }
+
+    public static String email(String prefixo) {
+        return prefixo + SEQUENCIA.incrementAndGet() + "@tgid.com";
+    }
+
+    private static void preencherBase(int[] digitos, int tamanho, long valor) {
+        for (int i = tamanho - 1; i >= 0; i--) {
+            digitos[i] = (int) (valor % 10);
+            valor /= 10;
+        }
+        if (digitos[0] == digitos[tamanho - 1]) {
+            digitos[0] = (digitos[0] + 1) % 10;
+        }
+    }
+
+    private static int digitoCpf(int[] digitos, int quantidade) {
+        int soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += digitos[i] * (quantidade + 1 - i);
+        }
+        int resto = 11 - (soma % 11);
+        return resto > 9 ? 0 : resto;
+    }
+
+    private static int digitoCnpj(int[] digitos, int quantidade) {
+        int soma = 0;
+        int deslocamento = PESOS_CNPJ.length - quantidade;
+        for (int i = 0; i < quantidade; i++) {
+            soma += digitos[i] * PESOS_CNPJ[deslocamento + i];
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+
+    private static String paraTexto(int[] digitos) {
+        StringBuilder texto = new StringBuilder(digitos.length);
+        for (int digito : digitos) {
+            texto.append(digito);
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package com.tigd.api.service;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Money;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.exceptions.SaldoNegativoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles(resolver = PerfisTeste.class)
+class IdempotenciaServiceTest {
+
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("A mesma chave processa a transação uma vez e guarda a resposta apenas com os ids das contas")
+    void executarCase1() {
+        String chave = UUID.randomUUID().toString();
+        AtomicInteger execucoes = new AtomicInteger();
+
+        Transacao primeira = idempotenciaService.executar(chave, gravarResposta -> processar(execucoes, gravarResposta));
+        Transacao repetida = idempotenciaService.executar(chave, gravarResposta -> processar(execucoes, gravarResposta));
+
+        assertThat(execucoes).hasValue(1);
+        assertThat(repetida.getId()).isEqualTo(primeira.getId());
+        assertThat(repetida.getValorTaxa()).isEqualTo(Money.of(new BigDecimal("0.25")));
+        assertThat(repetida.getCliente().getId()).isEqualTo(10L);
+        String resposta = jdbcTemplate.queryForObject("SELECT resposta FROM idempotencia WHERE chave = ?", String.class, chave);
+        assertThat(resposta).doesNotContain("cpf", "saldo", "email");
+    }
+
+    @Test
+    @DisplayName("Se a transação de banco for desfeita, a chave não fica gravada e a requisição pode ser repetida")
+    void executarCase2() {
+        String chave = UUID.randomUUID().toString();
+        AtomicInteger execucoes = new AtomicInteger();
+
+        assertThrows(SaldoNegativoException.class, () -> idempotenciaService.executar(chave, gravarResposta ->
+                transactionTemplate.execute(status -> {
+                    gravarResposta.accept(transacao(1L));
+                    throw new SaldoNegativoException();
+                })));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotencia WHERE chave = ?", Long.class, chave))
+                .isZero();
+        idempotenciaService.executar(chave, gravarResposta -> processar(execucoes, gravarResposta));
+        assertThat(execucoes).hasValue(1);
+    }
+
+    private Transacao processar(AtomicInteger execucoes, Consumer<Transacao> gravarResposta) {
+        return transactionTemplate.execute(status -> {
+            Transacao transacao = transacao(execucoes.incrementAndGet());
+            gravarResposta.accept(transacao);
+            return transacao;
+        });
+    }
+
+    private Transacao transacao(long id) {
+        Transacao transacao = new Transacao(new TransacaoDTO(new BigDecimal("25.00"), 'D', 10L, 20L));
+        transacao.setId(id);
+        transacao.setValorTaxa(Money.of(new BigDecimal("0.25")));
+        return transacao;
+    }
+}
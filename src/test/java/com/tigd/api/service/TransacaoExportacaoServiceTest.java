@@ -0,0 +1,123 @@
+package com.tigd.api.service;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.id.GeradorIds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exporta mais de dois milhões de transações com o heap do perfil {@code performance} ({@code -Xmx256m}).
+ * Montar a lista dessas transações não caberia nesse heap, então o teste só passa se a exportação for em fluxo.
+ */
+@SpringBootTest
+@ActiveProfiles(resolver = PerfisTeste.class)
+@Tag("performance")
+class TransacaoExportacaoServiceTest {
+    private static final int DUPLICACOES = 21;
+    private static final long HEAP_MAXIMO = 300L * 1024 * 1024;
+
+    @Autowired
+    private TransacaoExportacaoService exportacaoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GeradorIds geradorIds;
+
+    private Long clienteId;
+
+    @AfterEach
+    void removerTransacoes() {
+        if (clienteId != null) {
+            jdbcTemplate.update("DELETE FROM transacao WHERE cliente_id = ?", clienteId);
+        }
+    }
+
+    @Test
+    @DisplayName("Exportando milhões de transações em NDJSON com heap limitado.")
+    void exportarCase1() throws Exception {
+        assertThat(Runtime.getRuntime().maxMemory()).isLessThan(HEAP_MAXIMO);
+        long esperadas = criarTransacoes();
+
+        ContadorDeLinhas saida = new ContadorDeLinhas();
+        long inicio = System.nanoTime();
+        exportacaoService.exportar(FormatoExportacao.NDJSON, saida);
+        long duracao = System.nanoTime() - inicio;
+
+        System.out.printf("Exportadas %d transações (%d MB) em %d ms com heap máximo de %d MB%n",
+                saida.linhas, saida.bytes / (1024 * 1024), duracao / 1_000_000, Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        assertThat(saida.linhas).isEqualTo(esperadas);
+    }
+
+    /**
+     * Insere uma transação e a duplica {@value #DUPLICACOES} vezes dentro do próprio banco. Cada cópia desloca os ids
+     * para uma faixa reservada do tamanho da faixa atual, sem numerar as linhas, para que o H2 embutido do perfil
+     * {@code perf} não precise montar a cópia inteira no heap do teste.
+     *
+     * @return a quantidade total de transações na tabela.
+     */
+    private long criarTransacoes() {
+        Cliente cliente = clienteRepository.save(new Cliente(null, "Cliente exportação", GeradorDocumentosTeste.cpf(),
+                GeradorDocumentosTeste.email("cliente"), new BigDecimal("100.00"), true));
+        Empresa empresa = empresaRepository.save(new Empresa(null, "Empresa exportação", GeradorDocumentosTeste.cnpj(),
+                GeradorDocumentosTeste.email("empresa"), new BigDecimal("100.00"), new BigDecimal("0.01"), true));
+        clienteId = cliente.getId();
+
+        jdbcTemplate.update("INSERT INTO transacao (id, valor, data, tipo, cliente_id, empresa_id) VALUES (?, 10.00, NOW(), 'D', ?, ?)",
+                geradorIds.proximo(GeradorIds.TRANSACAO), clienteId, empresa.getId());
+        for (int i = 0; i < DUPLICACOES; i++) {
+            Long menorId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM transacao WHERE cliente_id = ?", Long.class, clienteId);
+            Long maiorId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM transacao WHERE cliente_id = ?", Long.class, clienteId);
+            long primeiroId = geradorIds.reservar(GeradorIds.TRANSACAO, Math.toIntExact(maiorId - menorId + 1));
+            jdbcTemplate.update("INSERT INTO transacao (id, valor, data, tipo, cliente_id, empresa_id) "
+                    + "SELECT id - ? + ?, valor, data, tipo, cliente_id, empresa_id "
+                    + "FROM transacao WHERE cliente_id = ?", menorId, primeiroId, clienteId);
+        }
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transacao", Long.class);
+    }
+
+    /**
+     * Descarta o que recebe, contando linhas e bytes.
+     */
+    private static class ContadorDeLinhas extends OutputStream {
+        private long linhas;
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                linhas++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
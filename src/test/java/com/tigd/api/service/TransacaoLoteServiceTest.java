@@ -0,0 +1,59 @@
+package com.tigd.api.service;
+
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.exceptions.LoteMuitoGrandeException;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class TransacaoLoteServiceTest {
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private EmpresaRepository empresaRepository;
+
+    @Mock
+    private TransacaoService transacaoService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TransacaoLoteService transacaoLoteService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(transacaoLoteService, "modoConcorrencia", ModoConcorrencia.ATOMICO);
+        ReflectionTestUtils.setField(transacaoLoteService, "maximoItens", 2);
+    }
+
+    @Test
+    @DisplayName("Lote maior que o máximo é recusado inteiro, sem acessar a base de dados")
+    void processarLoteCase1() {
+        List<TransacaoDTO> itens = Collections.nCopies(3, new TransacaoDTO(BigDecimal.TEN, 'D', 1L, 1L));
+
+        for (ModoLote modo : ModoLote.values()) {
+            assertThatThrownBy(() -> transacaoLoteService.processarLote(itens, modo))
+                    .isInstanceOf(LoteMuitoGrandeException.class)
+                    .hasMessage("Lote com 3 transações excede o máximo de 2.");
+        }
+        verifyNoInteractions(transactionTemplate, transacaoService, clienteRepository, empresaRepository);
+    }
+}
@@ -0,0 +1,309 @@
+package com.tigd.api.service;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.exceptions.ConflitoConcorrenciaException;
+import com.tigd.api.exceptions.SaldoNegativoException;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.ledger.LedgerMemoria;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * O contexto sobe no modo {@link ModoConcorrencia#MEMORIA} para que o {@link LedgerMemoria} exista; cada teste escolhe
+ * o modo que exercita e o modo padrão da aplicação volta depois de cada teste.
+ */
+@SpringBootTest(properties = {
+        "api.transacao.modo-concorrencia=MEMORIA",
+        "api.saldo.checkpoint.intervalo-ms=3600000"
+})
+@ActiveProfiles(resolver = PerfisTeste.class)
+@Tag("performance")
+class TransacaoServiceConcorrenciaTest {
+    private static final int THREADS = 32;
+    private static final int TRANSACOES = 4000;
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("10000.00");
+    private static final BigDecimal TAXA = new BigDecimal("0.01");
+
+    private static final List<ModoConcorrencia> MODOS = List.of(ModoConcorrencia.PESSIMISTA, ModoConcorrencia.OTIMISTA,
+            ModoConcorrencia.ATOMICO, ModoConcorrencia.MEMORIA);
+    private static final int[] THREADS_POR_RODADA = {4, 48};
+    private static final int TRANSACOES_POR_RODADA = 3000;
+    private static final BigDecimal SALDO_DISPUTADO = new BigDecimal("500.00");
+    private static final long INTERVALO_AMOSTRAS_MS = 10;
+    private static final long ESPERA_GRAVACAO_SEGUNDOS = 60;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private LedgerMemoria ledgerMemoria;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void restaurarModo() {
+        ReflectionTestUtils.setField(transacaoService, "modoConcorrencia", ModoConcorrencia.ATOMICO);
+    }
+
+    @Test
+    @DisplayName("Depósitos e saques concorrentes conservam o saldo total descontadas as taxas.")
+    void processarTransacaoConcorrenteCase1() throws Exception {
+        ReflectionTestUtils.setField(transacaoService, "modoConcorrencia", ModoConcorrencia.ATOMICO);
+        List<Long> clientes = criarClientes(4, SALDO_INICIAL);
+        List<Long> empresas = criarEmpresas(2, SALDO_INICIAL);
+        BigDecimal totalInicial = somarSaldos(clientes, empresas);
+
+        LongAdder taxasEmCentavos = new LongAdder();
+        LongAdder aplicadas = new LongAdder();
+        LongAdder recusadas = new LongAdder();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> execucoes = new ArrayList<>(TRANSACOES);
+
+        for (int i = 0; i < TRANSACOES; i++) {
+            execucoes.add(executor.submit(() -> {
+                largada.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int valor = random.nextInt(1, 51);
+                char tipo = random.nextBoolean() ? 'D' : 'S';
+                Long cliente = clientes.get(random.nextInt(clientes.size()));
+                Long empresa = empresas.get(random.nextInt(empresas.size()));
+                try {
+                    transacaoService.processarTransacao(new Transacao(new TransacaoDTO(BigDecimal.valueOf(valor), tipo, cliente, empresa)));
+                    taxasEmCentavos.add(valor);
+                    aplicadas.increment();
+                } catch (SaldoNegativoException e) {
+                    recusadas.increment();
+                }
+                return null;
+            }));
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Future<?> execucao : execucoes) {
+            execucao.get();
+        }
+        long duracao = System.nanoTime() - inicio;
+        executor.shutdown();
+
+        BigDecimal taxas = BigDecimal.valueOf(taxasEmCentavos.sum(), 2);
+        BigDecimal totalFinal = somarSaldos(clientes, empresas);
+
+        System.out.printf("Transações: %d aplicadas, %d recusadas em %d ms (%.1f transações/s com %d threads)%n",
+                aplicadas.sum(), recusadas.sum(), duracao / 1_000_000, TRANSACOES / (duracao / 1e9), THREADS);
+
+        assertThat(aplicadas.sum() + recusadas.sum()).isEqualTo(TRANSACOES);
+        assertThat(totalFinal.add(taxas)).isEqualByComparingTo(totalInicial);
+    }
+
+    /**
+     * Submete o {@link TransacaoService} a depósitos e saques simultâneos sobre poucas contas de saldo baixo, em cada
+     * modo de concorrência que protege os saldos, e confere depois de cada rodada que a soma dos saldos com as taxas
+     * cobradas não mudou e que nenhum saldo ficou negativo, nem no fim nem nas amostras lidas durante a rodada.
+     * <br>
+     * Cada modo roda com poucas e com muitas threads e imprime a vazão das duas rodadas: a mesma execução mostra se a
+     * conservação foi violada e se a vazão deixou de crescer com as threads. A proporção de depósitos de cada rodada é
+     * sorteada a partir da semente impressa, que pode ser repetida com {@code -Dapi.teste.semente}.
+     */
+    @Test
+    @DisplayName("Depósitos e saques concorrentes em contas disputadas conservam saldos mais taxas, sem saldo negativo, em todos os modos.")
+    void processarTransacaoConcorrenteCase2() throws Exception {
+        long semente = Long.getLong("api.teste.semente", System.currentTimeMillis());
+        System.out.println("Semente: " + semente);
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        for (ModoConcorrencia modo : MODOS) {
+            ReflectionTestUtils.setField(transacaoService, "modoConcorrencia", modo);
+            List<Rodada> rodadas = new ArrayList<>();
+            for (int threads : THREADS_POR_RODADA) {
+                rodadas.add(rodar(modo, threads, aleatorio.split()));
+            }
+            rodadas.forEach(System.out::println);
+            System.out.printf("%-10s ganho de vazão de %d para %d threads: %.2fx%n", modo, THREADS_POR_RODADA[0],
+                    THREADS_POR_RODADA[THREADS_POR_RODADA.length - 1], rodadas.get(rodadas.size() - 1).transacoesPorSegundo()
+                            / rodadas.get(0).transacoesPorSegundo());
+        }
+    }
+
+    /**
+     * Executa uma rodada sobre contas novas e confere a conservação do dinheiro e os saldos ao fim dela.
+     */
+    private Rodada rodar(ModoConcorrencia modo, int threads, SplittableRandom aleatorio) throws Exception {
+        List<Long> clientes = criarClientes(4, SALDO_DISPUTADO);
+        List<Long> empresas = criarEmpresas(2, SALDO_DISPUTADO);
+        BigDecimal totalInicial = somarSaldos(clientes, empresas);
+        double proporcaoDepositos = 0.3 + 0.4 * aleatorio.nextDouble();
+
+        LongAdder aplicadas = new LongAdder();
+        LongAdder recusadas = new LongAdder();
+        LongAdder conflitos = new LongAdder();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> execucoes = new ArrayList<>(TRANSACOES_POR_RODADA);
+        for (int i = 0; i < TRANSACOES_POR_RODADA; i++) {
+            TransacaoDTO dto = new TransacaoDTO(BigDecimal.valueOf(aleatorio.nextInt(1, 10_001), 2),
+                    aleatorio.nextDouble() < proporcaoDepositos ? 'D' : 'S',
+                    clientes.get(aleatorio.nextInt(clientes.size())), empresas.get(aleatorio.nextInt(empresas.size())));
+            execucoes.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    transacaoService.processarTransacao(new Transacao(dto));
+                    aplicadas.increment();
+                } catch (SaldoNegativoException e) {
+                    recusadas.increment();
+                } catch (ConflitoConcorrenciaException e) {
+                    conflitos.increment();
+                }
+                return null;
+            }));
+        }
+
+        AmostraSaldos amostras = new AmostraSaldos(clientes, empresas);
+        ScheduledExecutorService amostragem = Executors.newSingleThreadScheduledExecutor();
+        amostragem.scheduleWithFixedDelay(amostras, 0, INTERVALO_AMOSTRAS_MS, TimeUnit.MILLISECONDS);
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Future<?> execucao : execucoes) {
+            execucao.get();
+        }
+        long duracao = System.nanoTime() - inicio;
+        executor.shutdown();
+        aguardarGravacaoDoLedger(modo);
+        amostragem.shutdown();
+        assertThat(amostragem.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        amostras.run();
+
+        String idsClientes = ids(clientes);
+        BigDecimal taxas = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(valor_taxa), 0) FROM transacao WHERE cliente_id IN ("
+                + idsClientes + ")", BigDecimal.class);
+        Long gravadas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transacao WHERE cliente_id IN (" + idsClientes + ")",
+                Long.class);
+        Rodada rodada = new Rodada(modo, threads, proporcaoDepositos, aplicadas.sum(), recusadas.sum(), conflitos.sum(),
+                TRANSACOES_POR_RODADA / (duracao / 1e9));
+
+        assertThat(aplicadas.sum() + recusadas.sum() + conflitos.sum()).as("%s", rodada).isEqualTo(TRANSACOES_POR_RODADA);
+        assertThat(gravadas).as("%s", rodada).isEqualTo(aplicadas.sum());
+        assertThat(somarSaldos(clientes, empresas).add(taxas)).as("%s", rodada).isEqualByComparingTo(totalInicial);
+        assertThat(amostras.menorSaldo()).as("%s", rodada).isNotNegative();
+        return rodada;
+    }
+
+    /**
+     * No modo {@link ModoConcorrencia#MEMORIA}, espera até que todas as transações aplicadas estejam confirmadas na
+     * base de dados, falhando se isso não acontecer em {@value #ESPERA_GRAVACAO_SEGUNDOS} segundos.
+     */
+    private void aguardarGravacaoDoLedger(ModoConcorrencia modo) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(ESPERA_GRAVACAO_SEGUNDOS);
+        while (modo == ModoConcorrencia.MEMORIA && ledgerMemoria.dataMaisAntigaNaoGravada().isPresent()) {
+            assertThat(System.nanoTime())
+                    .as("%d transações do ledger não gravadas em %d s", ledgerMemoria.transacoesPendentesDeGravacao(),
+                            ESPERA_GRAVACAO_SEGUNDOS)
+                    .isLessThan(limite);
+            Thread.sleep(50);
+        }
+    }
+
+    private List<Long> criarClientes(int quantidade, BigDecimal saldo) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Cliente cliente = new Cliente(null, "Cliente concorrência", GeradorDocumentosTeste.cpf(),
+                    GeradorDocumentosTeste.email("cliente"), saldo, true);
+            ids.add(clienteRepository.save(cliente).getId());
+        }
+        return ids;
+    }
+
+    private List<Long> criarEmpresas(int quantidade, BigDecimal saldo) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Empresa empresa = new Empresa(null, "Empresa concorrência", GeradorDocumentosTeste.cnpj(),
+                    GeradorDocumentosTeste.email("empresa"), saldo, TAXA, true);
+            ids.add(empresaRepository.save(empresa).getId());
+        }
+        return ids;
+    }
+
+    private BigDecimal somarSaldos(List<Long> clientes, List<Long> empresas) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Cliente cliente : clienteRepository.findAllById(clientes)) {
+            total = total.add(cliente.getSaldo().toBigDecimal());
+        }
+        for (Empresa empresa : empresaRepository.findAllById(empresas)) {
+            total = total.add(empresa.getSaldo().toBigDecimal());
+        }
+        return total;
+    }
+
+    private static String ids(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Lê o menor saldo das contas da rodada, guardando o menor já lido. Executada por uma única thread por vez.
+     */
+    private final class AmostraSaldos implements Runnable {
+        private final String sql;
+        private BigDecimal menorSaldo;
+
+        AmostraSaldos(List<Long> clientes, List<Long> empresas) {
+            this.sql = "SELECT LEAST((SELECT MIN(saldo) FROM clientes WHERE id IN (" + ids(clientes) + ")),"
+                    + " (SELECT MIN(saldo) FROM empresas WHERE id IN (" + ids(empresas) + ")))";
+        }
+
+        @Override
+        public void run() {
+            BigDecimal saldo = jdbcTemplate.queryForObject(sql, BigDecimal.class);
+            if (menorSaldo == null || saldo.compareTo(menorSaldo) < 0) {
+                menorSaldo = saldo;
+            }
+        }
+
+        BigDecimal menorSaldo() {
+            return menorSaldo;
+        }
+    }
+
+    private record Rodada(ModoConcorrencia modo, int threads, double proporcaoDepositos, long aplicadas, long recusadas,
+                          long conflitos, double transacoesPorSegundo) {
+        @Override
+        public String toString() {
+            return String.format("%-10s %2d threads, %.0f%% depósitos: %d aplicadas, %d recusadas, %d conflitos, %.1f transações/s",
+                    modo, threads, proporcaoDepositos * 100, aplicadas, recusadas, conflitos, transacoesPorSegundo);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.tigd.api.service.arquivo;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.ExtratoDTO;
+import com.tigd.api.dto.LancamentoExtratoDTO;
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.infra.banco.BancoDados;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.GeradorDocumentosTeste;
+import com.tigd.api.service.TransacaoService;
+import com.tigd.api.service.id.GeradorIds;
+import com.tigd.api.service.saldo.CheckpointSaldoService;
+import com.tigd.api.service.saldo.ExtratoService;
+import com.tigd.api.service.saldo.TipoConta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@SpringBootTest(properties = {
+        "api.saldo.checkpoint.transacoes=5",
+        "api.saldo.checkpoint.atraso-segundos=0",
+        "api.saldo.checkpoint.intervalo-ms=3600000",
+        "api.arquivo.meses-retidos=12",
+        "api.arquivo.cron=-",
+        "api.transacao.particoes.cron=-"
+})
+@ActiveProfiles(resolver = PerfisTeste.class)
+class ArquivamentoTransacoesServiceTest {
+    private static final int TRANSACOES_POR_MES = 20;
+    private static final int LIMITE = 7;
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("10000.00");
+    private static final BigDecimal TAXA = new BigDecimal("0.01");
+    private static final String INSERIR_TRANSACAO =
+            "INSERT INTO transacao (id, valor, valor_taxa, data, tipo, cliente_id, empresa_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @TempDir
+    static Path diretorio;
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registro) {
+        registro.add("api.arquivo.diretorio", () -> diretorio.toString());
+    }
+
+    @Autowired
+    private ArquivamentoTransacoesService arquivamentoTransacoesService;
+
+    @Autowired
+    private ArquivoTransacoes arquivoTransacoes;
+
+    @Autowired
+    private CheckpointSaldoService checkpointSaldoService;
+
+    @Autowired
+    private ExtratoService extratoService;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GeradorIds geradorIds;
+
+    @Autowired
+    private BancoDados bancoDados;
+
+    @Test
+    @DisplayName("Arquivar meses fechados remove as transações da tabela sem alterar o extrato nem o saldo num momento.")
+    void arquivarCase1() {
+        jdbcTemplate.update("DELETE FROM arquivo_transacao");
+        arquivoTransacoes.atualizarLimite();
+        Long cliente = clienteRepository.save(new Cliente(null, "Cliente arquivo", GeradorDocumentosTeste.cpf(),
+                GeradorDocumentosTeste.email("cliente"), SALDO_INICIAL, true)).getId();
+        Long empresa = empresaRepository.save(new Empresa(null, "Empresa arquivo", GeradorDocumentosTeste.cnpj(),
+                GeradorDocumentosTeste.email("empresa"), SALDO_INICIAL, TAXA, true)).getId();
+        YearMonth primeiroMes = YearMonth.now().minusMonths(15);
+        YearMonth segundoMes = primeiroMes.plusMonths(1);
+        inserirHistorico(cliente, empresa, primeiroMes);
+        inserirHistorico(cliente, empresa, segundoMes);
+        for (int i = 0; i < TRANSACOES_POR_MES; i++) {
+            transacaoService.processarTransacao(new Transacao(
+                    new TransacaoDTO(BigDecimal.valueOf(i + 1), i % 2 == 0 ? 'D' : 'S', cliente, empresa)));
+        }
+        checkpointSaldoService.gerarCheckpoints();
+
+        LocalDateTime inicio = primeiroMes.atDay(1).atStartOfDay();
+        LocalDateTime fim = LocalDateTime.now().plusDays(1);
+        List<LocalDateTime> momentos = List.of(inicio.plusDays(10), segundoMes.atDay(1).atStartOfDay(),
+                segundoMes.atDay(20).atStartOfDay(), segundoMes.plusMonths(3).atDay(1).atStartOfDay(), LocalDateTime.now());
+        List<LancamentoExtratoDTO> extratoAntes = percorrer(cliente, inicio, fim);
+        List<BigDecimal> saldosAntes = saldos(cliente, empresa, momentos);
+
+        assertThat(arquivamentoTransacoesService.arquivar()).containsExactly(primeiroMes, segundoMes);
+
+        assertThat(arquivoTransacoes.limite()).isEqualTo(segundoMes.plusMonths(1).atDay(1).atStartOfDay());
+        assertThat(Files.exists(diretorio.resolve(arquivoTransacoes.nome(primeiroMes)))).isTrue();
+        assertThat(Files.exists(diretorio.resolve(arquivoTransacoes.nome(segundoMes)))).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transacao WHERE data < ?", Long.class,
+                Timestamp.valueOf(arquivoTransacoes.limite()))).isZero();
+        assertThat(percorrer(cliente, inicio, fim)).isEqualTo(extratoAntes);
+        assertThat(saldos(cliente, empresa, momentos)).isEqualTo(saldosAntes);
+        assertThat(arquivamentoTransacoesService.arquivar()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("As partições mensais são criadas e uma consulta de um mês lê apenas a partição do mês.")
+    void criarParticoesCase1() {
+        assumeTrue(bancoDados.isMySql(), "particionamento só existe no MySQL");
+        arquivamentoTransacoesService.criarParticoes();
+        String particao = YearMonth.now().format(DateTimeFormatter.ofPattern("'p'yyyyMM"));
+
+        YearMonth mes = YearMonth.now();
+        Map<String, Object> plano = jdbcTemplate.queryForMap("EXPLAIN SELECT COUNT(*) FROM transacao WHERE data >= ? AND data < ?",
+                Timestamp.valueOf(mes.atDay(1).atStartOfDay()), Timestamp.valueOf(mes.atEndOfMonth().atTime(23, 59, 59)));
+
+        assertThat(jdbcTemplate.queryForList("SELECT partition_name FROM information_schema.partitions"
+                + " WHERE table_schema = DATABASE() AND table_name = 'transacao'", String.class)).contains(particao);
+        assertThat(String.valueOf(plano.get("partitions"))).isEqualTo(particao);
+        assertThat(arquivamentoTransacoesService.criarParticoes()).isEmpty();
+    }
+
+    /**
+     * Grava transações de um mês diretamente na base de dados e soma a variação de cada uma aos saldos das contas.
+     */
+    private void inserirHistorico(Long cliente, Long empresa, YearMonth mes) {
+        long primeiroId = geradorIds.reservar(GeradorIds.TRANSACAO, TRANSACOES_POR_MES);
+        List<Object[]> linhas = new ArrayList<>(TRANSACOES_POR_MES);
+        BigDecimal variacaoCliente = BigDecimal.ZERO;
+        BigDecimal variacaoEmpresa = BigDecimal.ZERO;
+        for (int i = 0; i < TRANSACOES_POR_MES; i++) {
+            BigDecimal valor = BigDecimal.valueOf(1000 + i * 10L, 2);
+            BigDecimal taxa = BigDecimal.valueOf(10 + i / 10, 2);
+            char tipo = i % 3 == 0 ? 'S' : 'D';
+            variacaoCliente = variacaoCliente.add(TipoConta.CLIENTE.variacao(tipo, valor, taxa));
+            variacaoEmpresa = variacaoEmpresa.add(TipoConta.EMPRESA.variacao(tipo, valor, taxa));
+            linhas.add(new Object[]{primeiroId + i, valor, taxa, Timestamp.valueOf(mes.atDay(1 + i).atTime(12, 0)),
+                    String.valueOf(tipo), cliente, empresa});
+        }
+        jdbcTemplate.batchUpdate(INSERIR_TRANSACAO, linhas);
+        jdbcTemplate.update("UPDATE clientes SET saldo = saldo + ? WHERE id = ?", variacaoCliente, cliente);
+        jdbcTemplate.update("UPDATE empresas SET saldo = saldo + ? WHERE id = ?", variacaoEmpresa, empresa);
+    }
+
+    private List<LancamentoExtratoDTO> percorrer(Long cliente, LocalDateTime inicio, LocalDateTime fim) {
+        List<LancamentoExtratoDTO> lancamentos = new ArrayList<>();
+        String cursor = null;
+        do {
+            ExtratoDTO extrato = extratoService.extratoCliente(cliente, inicio, fim, cursor, LIMITE);
+            lancamentos.addAll(extrato.lancamentos());
+            cursor = extrato.proximoCursor();
+        } while (cursor != null);
+        return lancamentos;
+    }
+
+    private List<BigDecimal> saldos(Long cliente, Long empresa, List<LocalDateTime> momentos) {
+        List<BigDecimal> saldos = new ArrayList<>();
+        for (LocalDateTime momento : momentos) {
+            saldos.add(checkpointSaldoService.saldoEm(TipoConta.CLIENTE, cliente, momento).saldo().stripTrailingZeros());
+            saldos.add(checkpointSaldoService.saldoEm(TipoConta.EMPRESA, empresa, momento).saldo().stripTrailingZeros());
+        }
+        return saldos;
+    }
+}
@@ -0,0 +1,115 @@
+package com.tigd.api.service.carga;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.dto.ResultadoCargaDTO;
+import com.tigd.api.service.saldo.CheckpointSaldoService;
+import com.tigd.api.validators.ValidacaoDocumento;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "api.saldo.checkpoint.intervalo-ms=3600000",
+        "api.saldo.checkpoint.transacoes=50"
+})
+@ActiveProfiles(resolver = PerfisTeste.class)
+class GeradorCargaTest {
+    private static final int CLIENTES = 300;
+    private static final int EMPRESAS = 30;
+    private static final int TRANSACOES = 10_000;
+
+    private static final String SALDOS_CLIENTES = "SELECT COALESCE(SUM(saldo), 0) FROM clientes WHERE email LIKE 'carga.cliente%'";
+    private static final String SALDOS_EMPRESAS = "SELECT COALESCE(SUM(saldo), 0) FROM empresas WHERE email LIKE 'carga.empresa%'";
+    private static final String TAXAS = "SELECT COALESCE(SUM(t.valor_taxa), 0) FROM transacao t"
+            + " JOIN clientes c ON c.id = t.cliente_id WHERE c.email LIKE 'carga.cliente%'";
+    private static final String CONTAS = "SELECT (SELECT COUNT(*) FROM clientes WHERE email LIKE 'carga.cliente%')"
+            + " + (SELECT COUNT(*) FROM empresas WHERE email LIKE 'carga.empresa%')";
+
+    @Autowired
+    private GeradorCarga geradorCarga;
+
+    @Autowired
+    private CheckpointSaldoService checkpointSaldoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${api.carga.saldo-inicial:1000000.00}")
+    private BigDecimal saldoInicial;
+
+    @Test
+    @DisplayName("A carga cria contas com documentos válidos e transações concentradas em poucos clientes, sem criar nem perder dinheiro.")
+    void gerarCase1() {
+        BigDecimal antes = dinheiroForaDoSaldoInicial();
+
+        ResultadoCargaDTO resultado = geradorCarga.gerar(new PlanoCarga(CLIENTES, EMPRESAS, TRANSACOES, 1.1, 30, 7));
+
+        assertThat(resultado.transacoes()).isEqualTo(TRANSACOES);
+        assertThat(dinheiroForaDoSaldoInicial()).isEqualByComparingTo(antes);
+        assertThat(jdbcTemplate.queryForList("SELECT cpf FROM clientes WHERE email LIKE 'carga.cliente%'", String.class))
+                .hasSizeGreaterThanOrEqualTo(CLIENTES)
+                .allMatch(ValidacaoDocumento::isCpfValido);
+        assertThat(jdbcTemplate.queryForList("SELECT cnpj FROM empresas WHERE email LIKE 'carga.empresa%'", String.class))
+                .hasSizeGreaterThanOrEqualTo(EMPRESAS)
+                .allMatch(ValidacaoDocumento::isCnpjValido);
+        assertThat(jdbcTemplate.queryForObject("SELECT MIN(saldo) FROM clientes WHERE email LIKE 'carga.cliente%'",
+                BigDecimal.class)).isNotNegative();
+        assertThat(jdbcTemplate.queryForObject("SELECT MIN(saldo) FROM empresas WHERE email LIKE 'carga.empresa%'",
+                BigDecimal.class)).isNotNegative();
+
+        List<Long> porCliente = jdbcTemplate.queryForList("SELECT COUNT(*) FROM transacao t JOIN clientes c ON c.id = t.cliente_id"
+                + " WHERE c.email LIKE 'carga.cliente%' GROUP BY t.cliente_id ORDER BY COUNT(*) DESC", Long.class);
+        long total = porCliente.stream().mapToLong(Long::longValue).sum();
+        long maisMovimentados = porCliente.stream().limit(Math.max(1, porCliente.size() / 100)).mapToLong(Long::longValue).sum();
+        assertThat(maisMovimentados * 5).isGreaterThan(total);
+
+        assertThat(geradorCarga.gerar(new PlanoCarga(CLIENTES, EMPRESAS, 0, 1.1, 30, 7)))
+                .extracting(ResultadoCargaDTO::clientesCriados, ResultadoCargaDTO::empresasCriadas, ResultadoCargaDTO::transacoes)
+                .containsExactly(0L, 0L, 0L);
+    }
+
+    @Test
+    @DisplayName("Gerar a carga de novo, com transações anteriores aos checkpoints já gravados, mantém os checkpoints corretos.")
+    void gerarCase2() {
+        geradorCarga.gerar(new PlanoCarga(CLIENTES, EMPRESAS, 2_000, 1.1, 30, 11));
+        checkpointSaldoService.gerarCheckpoints();
+        geradorCarga.gerar(new PlanoCarga(CLIENTES, EMPRESAS, 2_000, 1.1, 30, 12));
+
+        Long cliente = jdbcTemplate.queryForObject("SELECT t.cliente_id FROM transacao t JOIN clientes c ON c.id = t.cliente_id"
+                + " WHERE c.email LIKE 'carga.cliente%' GROUP BY t.cliente_id ORDER BY COUNT(*) DESC LIMIT 1", Long.class);
+        List<Map<String, Object>> checkpoints = jdbcTemplate.queryForList(
+                "SELECT data, transacao_id, saldo FROM checkpoint_saldo_cliente WHERE cliente_id = ?", cliente);
+        assertThat(checkpoints).isNotEmpty();
+        BigDecimal saldo = jdbcTemplate.queryForObject("SELECT saldo FROM clientes WHERE id = ?", BigDecimal.class, cliente);
+        for (Map<String, Object> checkpoint : checkpoints) {
+            BigDecimal variacaoPosterior = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(CASE WHEN tipo = 'D'"
+                    + " THEN -(valor + valor_taxa) ELSE valor END), 0) FROM transacao WHERE cliente_id = ?"
+                    + " AND (data > ? OR (data = ? AND id > ?))", BigDecimal.class,
+                    cliente, checkpoint.get("data"), checkpoint.get("data"), checkpoint.get("transacao_id"));
+            assertThat((BigDecimal) checkpoint.get("saldo")).as("%s", checkpoint)
+                    .isEqualByComparingTo(saldo.subtract(variacaoPosterior));
+        }
+    }
+
+    /**
+     * Soma dos saldos das contas da carga com as taxas cobradas nas suas transações, menos o saldo inicial de cada
+     * conta: não muda quando a carga cria contas ou grava transações.
+     */
+    private BigDecimal dinheiroForaDoSaldoInicial() {
+        BigDecimal saldos = jdbcTemplate.queryForObject(SALDOS_CLIENTES, BigDecimal.class)
+                .add(jdbcTemplate.queryForObject(SALDOS_EMPRESAS, BigDecimal.class));
+        BigDecimal taxas = jdbcTemplate.queryForObject(TAXAS, BigDecimal.class);
+        Long contas = jdbcTemplate.queryForObject(CONTAS, Long.class);
+        return saldos.add(taxas).subtract(saldoInicial.multiply(BigDecimal.valueOf(contas)));
+    }
+}
@@ -0,0 +1,81 @@
+package com.tigd.api.service.id;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Transacao;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "api.id.tamanho-bloco=100")
+@ActiveProfiles(resolver = PerfisTeste.class)
+class GeradorIdsTest {
+    private static final int THREADS = 8;
+    private static final int IDS_POR_THREAD = 1_000;
+
+    @Autowired
+    private GeradorIds geradorIds;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Threads concorrentes recebem ids distintos, atravessando vários blocos.")
+    void proximoCase1() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<Long>>> execucoes = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            execucoes.add(executor.submit(() -> {
+                List<Long> ids = new ArrayList<>(IDS_POR_THREAD);
+                for (int j = 0; j < IDS_POR_THREAD; j++) {
+                    ids.add(geradorIds.proximo(GeradorIds.TRANSACAO));
+                }
+                return ids;
+            }));
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Future<List<Long>> execucao : execucoes) {
+            List<Long> daThread = execucao.get();
+            assertThat(daThread).isSorted();
+            ids.addAll(daThread);
+        }
+        executor.shutdown();
+
+        assertThat(ids).hasSize(THREADS * IDS_POR_THREAD);
+    }
+
+    @Test
+    @DisplayName("Uma faixa reservada não se sobrepõe aos ids entregues pelos blocos.")
+    void reservarCase1() {
+        long antes = geradorIds.proximo(GeradorIds.TRANSACAO);
+        long primeiro = geradorIds.reservar(GeradorIds.TRANSACAO, 500);
+        long depois = geradorIds.proximo(GeradorIds.TRANSACAO);
+
+        assertThat(primeiro).isGreaterThan(antes);
+        assertThat(depois < primeiro || depois > primeiro + 499).isTrue();
+    }
+
+    @Test
+    @DisplayName("O Hibernate gera os ids pelo gerador do próprio contexto, mesmo com outros contextos abertos.")
+    void geradorIdSequencialCase1() {
+        Object gerador = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .getEntityDescriptor(Transacao.class).getGenerator();
+
+        assertThat(gerador).isInstanceOf(GeradorIdSequencial.class);
+        assertThat(ReflectionTestUtils.getField(gerador, "gerador")).isSameAs(geradorIds);
+    }
+}
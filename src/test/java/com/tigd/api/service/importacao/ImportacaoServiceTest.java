@@ -0,0 +1,131 @@
+package com.tigd.api.service.importacao;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.dto.ResultadoImportacaoDTO;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.service.GeradorDocumentosTeste;
+import com.tigd.api.service.TipoImportacao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importa centenas de milhares de clientes gerados sob demanda, com o heap do perfil {@code performance}
+ * ({@code -Xmx256m}), conferindo os totais e o relatório de recusas.
+ */
+@SpringBootTest
+@ActiveProfiles(resolver = PerfisTeste.class)
+@Tag("performance")
+class ImportacaoServiceTest {
+    private static final int REGISTROS = 300_000;
+    private static final int INTERVALO_INVALIDOS = 100;
+    private static final String PREFIXO_EMAIL = "importacao";
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void removerClientes() {
+        jdbcTemplate.update("DELETE FROM clientes WHERE email LIKE ?", PREFIXO_EMAIL + "%");
+    }
+
+    @Test
+    @DisplayName("Importando clientes em lotes com recusa de documentos inválidos e já cadastrados.")
+    void importarCase1() {
+        Cliente existente = clienteRepository.save(new Cliente(null, "Cliente existente", GeradorDocumentosTeste.cpf(),
+                GeradorDocumentosTeste.email(PREFIXO_EMAIL), new BigDecimal("10.00"), true));
+
+        long inicio = System.nanoTime();
+        ResultadoImportacaoDTO resultado = importacaoService.importar(TipoImportacao.CLIENTES, new ArquivoGerado(existente.getCpf()));
+        long duracao = System.nanoTime() - inicio;
+
+        long invalidos = REGISTROS / INTERVALO_INVALIDOS;
+        System.out.printf("Importados %d clientes em %d ms (%d recusados) com heap máximo de %d MB%n",
+                resultado.importados(), duracao / 1_000_000, resultado.recusados(), Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        assertThat(resultado.registros()).isEqualTo(REGISTROS + 1);
+        assertThat(resultado.recusados()).isEqualTo(invalidos + 1);
+        assertThat(resultado.importados()).isEqualTo(REGISTROS - invalidos);
+        assertThat(resultado.erros().get(0).linha()).isEqualTo(2);
+        assertThat(resultado.erros().get(0).motivo()).isEqualTo("CPF já está cadastrado.");
+        assertThat(resultado.erros()).hasSizeLessThanOrEqualTo(1000);
+        assertThat(resultado.errosOmitidos()).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clientes WHERE email LIKE ?", Long.class, PREFIXO_EMAIL + "%"))
+                .isEqualTo(REGISTROS - invalidos + 1);
+    }
+
+    /**
+     * Arquivo CSV produzido linha a linha enquanto é lido. A primeira linha de dados repete o CPF de um cliente
+     * já cadastrado e uma a cada {@value #INTERVALO_INVALIDOS} tem o dígito verificador errado.
+     */
+    private static class ArquivoGerado extends InputStream {
+        private final String cpfExistente;
+        private byte[] linha = "nome,cpf,email,saldo\n".getBytes(StandardCharsets.UTF_8);
+        private int posicao;
+        private int geradas;
+
+        ArquivoGerado(String cpfExistente) {
+            this.cpfExistente = cpfExistente;
+        }
+
+        @Override
+        public int read() {
+            if (!disponivel()) {
+                return -1;
+            }
+            return linha[posicao++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] destino, int inicio, int tamanho) {
+            if (!disponivel()) {
+                return -1;
+            }
+            int copiados = Math.min(tamanho, linha.length - posicao);
+            System.arraycopy(linha, posicao, destino, inicio, copiados);
+            posicao += copiados;
+            return copiados;
+        }
+
+        private boolean disponivel() {
+            if (posicao < linha.length) {
+                return true;
+            }
+            if (geradas > REGISTROS) {
+                return false;
+            }
+            String cpf;
+            if (geradas == 0) {
+                cpf = cpfExistente;
+            } else {
+                cpf = GeradorDocumentosTeste.cpf();
+                if (geradas % INTERVALO_INVALIDOS == 0) {
+                    int ultimo = cpf.charAt(10) - '0';
+                    cpf = cpf.substring(0, 10) + (ultimo + 1) % 10;
+                }
+            }
+            String texto = "Cliente " + geradas + "," + cpf + "," + GeradorDocumentosTeste.email(PREFIXO_EMAIL) + ",100.00\n";
+            linha = texto.getBytes(StandardCharsets.UTF_8);
+            posicao = 0;
+            geradas++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.tigd.api.service.importacao;
+
+import com.tigd.api.exceptions.ArquivoImportacaoInvalidoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LeitorCsvTest {
+
+    @Test
+    @DisplayName("Lê registros simples, com \\r\\n, linhas vazias e campo final vazio")
+    void proximoCase1() throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new StringReader("nome,cpf,email,saldo\r\n\r\nAna,375.243.170-93,ana@tgid.com,\nBia,57059938036,bia@tgid.com,10.50"));
+
+        assertThat(leitor.proximo()).containsExactly("nome", "cpf", "email", "saldo");
+        assertThat(leitor.getLinhaRegistro()).isEqualTo(1);
+        assertThat(leitor.proximo()).containsExactly("Ana", "375.243.170-93", "ana@tgid.com", "");
+        assertThat(leitor.getLinhaRegistro()).isEqualTo(3);
+        assertThat(leitor.proximo()).containsExactly("Bia", "57059938036", "bia@tgid.com", "10.50");
+        assertThat(leitor.getLinhaRegistro()).isEqualTo(4);
+        assertThat(leitor.proximo()).isNull();
+    }
+
+    @Test
+    @DisplayName("Campos entre aspas podem conter vírgulas, aspas duplicadas e quebras de linha")
+    void proximoCase2() throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new StringReader("\"Silva, Ana\",\"diz \"\"oi\"\"\",\"linha\num\"\nfim"));
+
+        assertThat(leitor.proximo()).containsExactly("Silva, Ana", "diz \"oi\"", "linha\num");
+        assertThat(leitor.proximo()).containsExactly("fim");
+        assertThat(leitor.getLinhaRegistro()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Lançando exceção(ArquivoImportacaoInvalidoException) para aspas não fechadas")
+    void proximoCase3() {
+        LeitorCsv leitor = new LeitorCsv(new StringReader("\"Ana,375.243.170-93"));
+
+        assertThrows(ArquivoImportacaoInvalidoException.class, leitor::proximo);
+    }
+
+    @Test
+    @DisplayName("Lançando exceção(ArquivoImportacaoInvalidoException) para campo acima do tamanho máximo")
+    void proximoCase4() {
+        LeitorCsv leitor = new LeitorCsv(new StringReader("a".repeat(LeitorCsv.TAMANHO_MAXIMO_CAMPO + 1)));
+
+        assertThrows(ArquivoImportacaoInvalidoException.class, leitor::proximo);
+    }
+}
@@ -0,0 +1,159 @@
+package com.tigd.api.service.resumo;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.ResultadoReconstrucaoDTO;
+import com.tigd.api.dto.ResumoContaDTO;
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.exceptions.PeriodoInvalidoException;
+import com.tigd.api.exceptions.SaldoNegativoException;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.GeradorDocumentosTeste;
+import com.tigd.api.service.TransacaoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles(resolver = PerfisTeste.class)
+@Tag("performance")
+class ResumoDiarioServiceTest {
+    private static final int THREADS = 16;
+    private static final int TRANSACOES = 2000;
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("10000.00");
+    private static final BigDecimal TAXA = new BigDecimal("0.01");
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Test
+    @DisplayName("Os resumos mantidos por transações concorrentes são iguais aos reconstruídos a partir das transações.")
+    void registrarCase1() throws Exception {
+        List<Long> clientes = criarClientes(4);
+        List<Long> empresas = criarEmpresas(2);
+        LocalDate hoje = LocalDate.now();
+
+        LongAdder aplicadas = new LongAdder();
+        LongAdder taxasEmCentavos = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> execucoes = new ArrayList<>(TRANSACOES);
+        for (int i = 0; i < TRANSACOES; i++) {
+            execucoes.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int valor = random.nextInt(1, 51);
+                char tipo = random.nextBoolean() ? 'D' : 'S';
+                Long cliente = clientes.get(random.nextInt(clientes.size()));
+                Long empresa = empresas.get(random.nextInt(empresas.size()));
+                try {
+                    transacaoService.processarTransacao(new Transacao(new TransacaoDTO(BigDecimal.valueOf(valor), tipo, cliente, empresa)));
+                    aplicadas.increment();
+                    taxasEmCentavos.add(valor);
+                } catch (SaldoNegativoException e) {
+                    // recusada por saldo: não entra no resumo
+                }
+                return null;
+            }));
+        }
+        for (Future<?> execucao : execucoes) {
+            execucao.get();
+        }
+        executor.shutdown();
+
+        List<ResumoContaDTO> mantidos = resumos(clientes, empresas, hoje);
+        long quantidadeEmpresas = 0;
+        BigDecimal taxasEmpresas = BigDecimal.ZERO;
+        for (ResumoContaDTO resumo : mantidos.subList(clientes.size(), mantidos.size())) {
+            quantidadeEmpresas += resumo.quantidadeDepositos() + resumo.quantidadeSaques();
+            taxasEmpresas = taxasEmpresas.add(resumo.taxas());
+        }
+        assertThat(quantidadeEmpresas).isEqualTo(aplicadas.sum());
+        assertThat(taxasEmpresas).isEqualByComparingTo(BigDecimal.valueOf(taxasEmCentavos.sum(), 2));
+
+        ResultadoReconstrucaoDTO resultado = resumoDiarioService.reconstruir(hoje, hoje);
+        System.out.printf("Reconstrução de %d dia(s): %d resumos em %d ms%n",
+                resultado.dias(), resultado.resumosGravados(), resultado.duracaoMs());
+
+        assertThat(resumos(clientes, empresas, hoje))
+                .usingRecursiveFieldByFieldElementComparator()
+                .isEqualTo(mantidos);
+    }
+
+    @Test
+    @DisplayName("Consultar um período com início depois do fim lança PeriodoInvalidoException.")
+    void resumoEmpresaCase1() {
+        Long empresa = criarEmpresas(1).get(0);
+        LocalDate hoje = LocalDate.now();
+
+        assertThatThrownBy(() -> resumoDiarioService.resumoEmpresa(empresa, hoje, hoje.minusDays(1)))
+                .isInstanceOf(PeriodoInvalidoException.class);
+    }
+
+    @Test
+    @DisplayName("Consultar um período de mais de 366 dias lança PeriodoInvalidoException.")
+    void resumoClienteCase1() {
+        Long cliente = criarClientes(1).get(0);
+        LocalDate hoje = LocalDate.now();
+
+        assertThatThrownBy(() -> resumoDiarioService.resumoCliente(cliente, hoje.minusDays(366), hoje))
+                .isInstanceOf(PeriodoInvalidoException.class);
+    }
+
+    private List<ResumoContaDTO> resumos(List<Long> clientes, List<Long> empresas, LocalDate dia) {
+        List<ResumoContaDTO> resumos = new ArrayList<>();
+        for (Long cliente : clientes) {
+            resumos.add(resumoDiarioService.resumoCliente(cliente, dia, dia));
+        }
+        for (Long empresa : empresas) {
+            resumos.add(resumoDiarioService.resumoEmpresa(empresa, dia, dia));
+        }
+        return resumos;
+    }
+
+    private List<Long> criarClientes(int quantidade) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Cliente cliente = new Cliente(null, "Cliente resumo", GeradorDocumentosTeste.cpf(),
+                    GeradorDocumentosTeste.email("cliente"), SALDO_INICIAL, true);
+            ids.add(clienteRepository.save(cliente).getId());
+        }
+        return ids;
+    }
+
+    private List<Long> criarEmpresas(int quantidade) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Empresa empresa = new Empresa(null, "Empresa resumo", GeradorDocumentosTeste.cnpj(),
+                    GeradorDocumentosTeste.email("empresa"), SALDO_INICIAL, TAXA, true);
+            ids.add(empresaRepository.save(empresa).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,133 @@
+package com.tigd.api.service.saldo;
+
+import com.tigd.api.PerfisTeste;
+import com.tigd.api.domain.Cliente;
+import com.tigd.api.domain.Empresa;
+import com.tigd.api.domain.Transacao;
+import com.tigd.api.dto.ExtratoDTO;
+import com.tigd.api.dto.LancamentoExtratoDTO;
+import com.tigd.api.dto.TransacaoDTO;
+import com.tigd.api.exceptions.SaldoNegativoException;
+import com.tigd.api.repository.ClienteRepository;
+import com.tigd.api.repository.EmpresaRepository;
+import com.tigd.api.service.GeradorDocumentosTeste;
+import com.tigd.api.service.TransacaoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "api.saldo.checkpoint.transacoes=200",
+        "api.saldo.checkpoint.atraso-segundos=0",
+        "api.saldo.checkpoint.intervalo-ms=3600000"
+})
+@ActiveProfiles(resolver = PerfisTeste.class)
+@Tag("performance")
+class ExtratoServiceTest {
+    private static final int THREADS = 8;
+    private static final int TRANSACOES = 5000;
+    private static final int LIMITE = 50;
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("100000.00");
+    private static final BigDecimal TAXA = new BigDecimal("0.01");
+
+    @Autowired
+    private ExtratoService extratoService;
+
+    @Autowired
+    private CheckpointSaldoService checkpointSaldoService;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Test
+    @DisplayName("O extrato parte do saldo inicial, acumula cada transação e termina no saldo atual, com ou sem checkpoints.")
+    void extratoClienteCase1() throws Exception {
+        Long cliente = clienteRepository.save(new Cliente(null, "Cliente extrato", GeradorDocumentosTeste.cpf(),
+                GeradorDocumentosTeste.email("cliente"), SALDO_INICIAL, true)).getId();
+        Long empresa = empresaRepository.save(new Empresa(null, "Empresa extrato", GeradorDocumentosTeste.cnpj(),
+                GeradorDocumentosTeste.email("empresa"), SALDO_INICIAL, TAXA, true)).getId();
+        LocalDateTime inicio = LocalDateTime.now().minusDays(1);
+        LocalDateTime fim = LocalDateTime.now().plusDays(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> execucoes = new ArrayList<>(TRANSACOES);
+        for (int i = 0; i < TRANSACOES; i++) {
+            execucoes.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                char tipo = random.nextBoolean() ? 'D' : 'S';
+                try {
+                    transacaoService.processarTransacao(new Transacao(
+                            new TransacaoDTO(BigDecimal.valueOf(random.nextInt(1, 51)), tipo, cliente, empresa)));
+                } catch (SaldoNegativoException e) {
+                    // recusada por saldo: não aparece no extrato
+                }
+                return null;
+            }));
+        }
+        for (Future<?> execucao : execucoes) {
+            execucao.get();
+        }
+        executor.shutdown();
+
+        List<LancamentoExtratoDTO> semCheckpoints = percorrer(cliente, inicio, fim, new long[TRANSACOES]);
+
+        assertThat(checkpointSaldoService.gerarCheckpoints()).isPositive();
+        long[] duracoes = new long[TRANSACOES];
+        List<LancamentoExtratoDTO> comCheckpoints = percorrer(cliente, inicio, fim, duracoes);
+
+        BigDecimal saldoAtual = clienteRepository.findById(cliente).orElseThrow().getSaldo().toBigDecimal();
+        BigDecimal saldo = SALDO_INICIAL;
+        for (LancamentoExtratoDTO lancamento : comCheckpoints) {
+            saldo = saldo.add(lancamento.variacao());
+            assertThat(lancamento.saldo()).isEqualByComparingTo(saldo);
+        }
+        assertThat(saldo).isEqualByComparingTo(saldoAtual);
+        assertThat(comCheckpoints).isEqualTo(semCheckpoints);
+
+        int paginas = (comCheckpoints.size() + LIMITE - 1) / LIMITE;
+        long[] medidas = Arrays.copyOf(duracoes, paginas);
+        Arrays.sort(medidas);
+        long p99 = medidas[(int) Math.ceil(paginas * 0.99) - 1];
+        System.out.printf("Extrato: %d transações em %d páginas, p99 de %.2f ms por página%n",
+                comCheckpoints.size(), paginas, p99 / 1e6);
+        assertThat(p99).isLessThan(50_000_000L);
+    }
+
+    private List<LancamentoExtratoDTO> percorrer(Long cliente, LocalDateTime inicio, LocalDateTime fim, long[] duracoes) {
+        List<LancamentoExtratoDTO> lancamentos = new ArrayList<>();
+        String cursor = null;
+        int pagina = 0;
+        do {
+            long comeco = System.nanoTime();
+            ExtratoDTO extrato = extratoService.extratoCliente(cliente, inicio, fim, cursor, LIMITE);
+            duracoes[pagina++] = System.nanoTime() - comeco;
+            if (lancamentos.isEmpty()) {
+                assertThat(extrato.saldoAnterior()).isEqualByComparingTo(SALDO_INICIAL);
+            }
+            lancamentos.addAll(extrato.lancamentos());
+            cursor = extrato.proximoCursor();
+        } while (cursor != null);
+        return lancamentos;
+    }
+}
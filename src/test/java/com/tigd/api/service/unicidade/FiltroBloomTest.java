@@ -0,0 +1,62 @@
+package com.tigd.api.service.unicidade;
+
+import com.tigd.api.service.GeradorDocumentosTeste;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FiltroBloomTest {
+
+    private static final int QUANTIDADE = 100_000;
+
+    @Test
+    @DisplayName("Todo valor adicionado é reconhecido pelo filtro")
+    void talvezContenhaCase1() {
+        FiltroBloom filtro = new FiltroBloom(QUANTIDADE, 0.01);
+        Set<String> cpfs = new HashSet<>();
+        while (cpfs.size() < QUANTIDADE) {
+            cpfs.add(GeradorDocumentosTeste.cpf());
+        }
+        cpfs.forEach(filtro::adicionar);
+
+        assertThat(cpfs).allMatch(filtro::talvezContenha);
+    }
+
+    @Test
+    @DisplayName("Taxa de falsos positivos fica próxima da configurada na capacidade máxima")
+    void talvezContenhaCase2() {
+        FiltroBloom filtro = new FiltroBloom(QUANTIDADE, 0.01);
+        for (int i = 0; i < QUANTIDADE; i++) {
+            filtro.adicionar("cadastrado" + i + "@tgid.com");
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 0; i < QUANTIDADE; i++) {
+            if (filtro.talvezContenha("novo" + i + "@tgid.com")) {
+                falsosPositivos++;
+            }
+        }
+
+        assertThat((double) falsosPositivos / QUANTIDADE).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("Filtro vazio descarta qualquer valor")
+    void talvezContenhaCase3() {
+        FiltroBloom filtro = new FiltroBloom(1_000, 0.01);
+
+        assertThat(filtro.talvezContenha("375.243.170-93")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Lançando exceção(IllegalArgumentException) para capacidade ou taxa inválidas")
+    void construtorCase1() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(1_000, 1));
+    }
+}
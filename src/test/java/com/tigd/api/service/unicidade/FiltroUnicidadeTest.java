@@ -0,0 +1,36 @@
+package com.tigd.api.service.unicidade;
+
+import com.tigd.api.PerfisTeste;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles(resolver = PerfisTeste.class)
+class FiltroUnicidadeTest {
+
+    @Autowired
+    private FiltroUnicidade filtroUnicidade;
+
+    @Test
+    @DisplayName("Valor que a base de dados considera igual a um registrado, com outras maiúsculas, acentos ou espaços, não é descartado")
+    void existeCase1() {
+        filtroUnicidade.registrar(CampoUnico.EMAIL_CLIENTE, "  Joao.Unicidade@TGID.com ");
+
+        assertThat(filtroUnicidade.existe(CampoUnico.EMAIL_CLIENTE, "joão.unicidade@tgid.com", valor -> true)).isTrue();
+        assertThat(filtroUnicidade.existe(CampoUnico.EMAIL_CLIENTE, "JOAO.UNICIDADE@TGID.COM", valor -> true)).isTrue();
+    }
+
+    @Test
+    @DisplayName("A consulta à base de dados recebe o valor original, sem a normalização do filtro")
+    void existeCase2() {
+        filtroUnicidade.registrar(CampoUnico.EMAIL_EMPRESA, "original.unicidade@tgid.com");
+
+        assertThat(filtroUnicidade.existe(CampoUnico.EMAIL_EMPRESA, " Original.Unicidade@TGID.com",
+                valor -> valor.equals(" Original.Unicidade@TGID.com"))).isTrue();
+    }
+}
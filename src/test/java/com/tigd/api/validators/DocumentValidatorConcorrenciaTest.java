@@ -0,0 +1,136 @@
+package com.tigd.api.validators;
+
+import com.tigd.api.exceptions.CnpjIllegalArgException;
+import com.tigd.api.exceptions.CpfIllegalArgException;
+import com.tigd.api.service.GeradorDocumentosTeste;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("performance")
+class DocumentValidatorConcorrenciaTest {
+    private static final int DOCUMENTOS = 20_000;
+    private static final int VALIDACOES_POR_RODADA = 4_000_000;
+
+    /**
+     * Um documento de entrada, o contexto e o resultado esperado: o documento só com dígitos
+     * ou a exceção lançada.
+     */
+    private record Caso(String documento, String contexto, String esperado, Class<? extends RuntimeException> excecao) {
+    }
+
+    @Test
+    @DisplayName("Validações simultâneas de CPFs e CNPJs retornam sempre o documento da própria chamada.")
+    void isValidConcorrenteCase1() throws Exception {
+        DocumentValidator validator = new DocumentValidator();
+        Caso[] casos = gerarCasos();
+
+        double vazaoUmaThread = 0;
+        for (int threads : quantidadesDeThreads()) {
+            LongAdder divergencias = new LongAdder();
+            long inicio = System.nanoTime();
+            executar(threads, validator, casos, divergencias);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            double vazao = VALIDACOES_POR_RODADA / segundos;
+            if (threads == 1) {
+                vazaoUmaThread = vazao;
+            }
+            System.out.printf("%3d threads: %,12.0f validações/s (%.2fx)%n", threads, vazao, vazao / vazaoUmaThread);
+
+            assertThat(divergencias.sum()).isZero();
+        }
+    }
+
+    /**
+     * 1, 2, 4... até o número de processadores disponíveis, sempre incluindo esse número.
+     */
+    private List<Integer> quantidadesDeThreads() {
+        int processadores = Runtime.getRuntime().availableProcessors();
+        List<Integer> quantidades = new ArrayList<>();
+        for (int threads = 1; threads < processadores; threads *= 2) {
+            quantidades.add(threads);
+        }
+        quantidades.add(processadores);
+        return quantidades;
+    }
+
+    private void executar(int threads, DocumentValidator validator, Caso[] casos, LongAdder divergencias) throws Exception {
+        int porThread = VALIDACOES_POR_RODADA / threads;
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> execucoes = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            execucoes.add(executor.submit(() -> {
+                largada.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < porThread; i++) {
+                    if (!confere(validator, casos[random.nextInt(casos.length)])) {
+                        divergencias.increment();
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> execucao : execucoes) {
+            execucao.get();
+        }
+        executor.shutdown();
+    }
+
+    private boolean confere(DocumentValidator validator, Caso caso) {
+        try {
+            String resultado = validator.isValid(caso.documento(), caso.contexto());
+            return caso.excecao() == null && caso.esperado().equals(resultado);
+        } catch (RuntimeException e) {
+            return e.getClass() == caso.excecao();
+        }
+    }
+
+    private Caso[] gerarCasos() {
+        Caso[] casos = new Caso[DOCUMENTOS];
+        for (int i = 0; i < DOCUMENTOS; i++) {
+            boolean cliente = i % 2 == 0;
+            String digitos = cliente ? GeradorDocumentosTeste.cpf() : GeradorDocumentosTeste.cnpj();
+            String contexto = cliente ? "cliente" : "empresa";
+            Class<? extends RuntimeException> excecao = cliente ? CpfIllegalArgException.class : CnpjIllegalArgException.class;
+            switch (i % 8 / 2) {
+                case 0 -> casos[i] = new Caso(digitos, contexto, digitos, null);
+                case 1 -> casos[i] = new Caso(formatar(digitos), contexto, digitos, null);
+                case 2 -> casos[i] = new Caso(formatar(trocarUltimoDigito(digitos)), contexto, null, excecao);
+                default -> casos[i] = cliente
+                        ? new Caso(String.valueOf(digitos.charAt(0)).repeat(digitos.length()), contexto, null, excecao)
+                        : new Caso(trocarDigito(digitos, digitos.length() - 2), contexto, null, excecao);
+            }
+        }
+        return casos;
+    }
+
+    private String formatar(String digitos) {
+        if (digitos.length() == 11) {
+            return digitos.substring(0, 3) + "." + digitos.substring(3, 6) + "." + digitos.substring(6, 9) + "-" + digitos.substring(9);
+        }
+        return digitos.substring(0, 2) + "." + digitos.substring(2, 5) + "." + digitos.substring(5, 8) + "/"
+                + digitos.substring(8, 12) + "-" + digitos.substring(12);
+    }
+
+    private String trocarUltimoDigito(String documento) {
+        return trocarDigito(documento, documento.length() - 1);
+    }
+
+    private String trocarDigito(String documento, int posicao) {
+        int digito = documento.charAt(posicao) - '0';
+        return documento.substring(0, posicao) + (digito + 1) % 10 + documento.substring(posicao + 1);
+    }
+}
@@ -0,0 +1,63 @@
+package com.tigd.api.validators;
+
+import com.tigd.api.service.GeradorDocumentosTeste;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValidacaoDocumentoTest {
+
+    @Test
+    @DisplayName("CPF válido com e sem formatação")
+    void isCpfValidoCase1() {
+        assertThat(ValidacaoDocumento.isCpfValido("375.243.170-93")).isTrue();
+        assertThat(ValidacaoDocumento.isCpfValido("37524317093")).isTrue();
+        assertThat(ValidacaoDocumento.isCpfValido(new StringBuilder("570.599.380-36"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("CPF inválido por dígito verificador, dígitos iguais, tamanho ou caractere")
+    void isCpfValidoCase2() {
+        assertThat(ValidacaoDocumento.isCpfValido("375.243.170-94")).isFalse();
+        assertThat(ValidacaoDocumento.isCpfValido("111.111.111-11")).isFalse();
+        assertThat(ValidacaoDocumento.isCpfValido("3752431709")).isFalse();
+        assertThat(ValidacaoDocumento.isCpfValido("375243170930")).isFalse();
+        assertThat(ValidacaoDocumento.isCpfValido("375 243 170 93")).isFalse();
+        assertThat(ValidacaoDocumento.isCpfValido("")).isFalse();
+    }
+
+    @Test
+    @DisplayName("CNPJ válido com e sem formatação")
+    void isCnpjValidoCase1() {
+        assertThat(ValidacaoDocumento.isCnpjValido("11.222.333/0001-81")).isTrue();
+        assertThat(ValidacaoDocumento.isCnpjValido("11222333000181")).isTrue();
+    }
+
+    @Test
+    @DisplayName("CNPJ inválido por dígito verificador, dígitos iguais, tamanho ou caractere")
+    void isCnpjValidoCase2() {
+        assertThat(ValidacaoDocumento.isCnpjValido("11.222.333/0001-82")).isFalse();
+        assertThat(ValidacaoDocumento.isCnpjValido("00.000.000/0000-00")).isFalse();
+        assertThat(ValidacaoDocumento.isCnpjValido("1122233300018")).isFalse();
+        assertThat(ValidacaoDocumento.isCnpjValido("11.222.333/0001-8a")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Documentos gerados são aceitos e a troca do último dígito é rejeitada")
+    void geradosCase1() {
+        for (int i = 0; i < 10_000; i++) {
+            String cpf = GeradorDocumentosTeste.cpf();
+            String cnpj = GeradorDocumentosTeste.cnpj();
+            assertThat(ValidacaoDocumento.isCpfValido(cpf)).isTrue();
+            assertThat(ValidacaoDocumento.isCnpjValido(cnpj)).isTrue();
+            assertThat(ValidacaoDocumento.isCpfValido(trocarUltimoDigito(cpf))).isFalse();
+            assertThat(ValidacaoDocumento.isCnpjValido(trocarUltimoDigito(cnpj))).isFalse();
+        }
+    }
+
+    private String trocarUltimoDigito(String documento) {
+        int ultimo = documento.charAt(documento.length() - 1) - '0';
+        return documento.substring(0, documento.length() - 1) + (ultimo + 1) % 10;
+    }
+}